@@ -0,0 +1,73 @@
+package benchmarks;
+
+// Imports for building the employees with the application's own generator and number allocator.
+import controllers.EmployeeGenerator;
+import controllers.EmployeeNumberAllocator;
+import controllers.GenericDoublyLinkedList;
+import models.Employee;
+import models.EmployeeNumberRangeExhaustedException;
+
+// For shuffling the employee numbers reproducibly.
+import java.util.SplittableRandom;
+
+/**
+ * Builds the employees shared by the benchmarks, so every benchmark measures the same data for a given size.
+ */
+final class BenchmarkData {
+
+    /**
+     * Seed of the random numbers used to build the data, fixed so every run measures the same employees.
+     */
+    static final long SEED = 20240101L;
+
+    /**
+     * Highest employee number given to the employees.
+     */
+    static final int MAX_EMPLOYEE_NUMBER = 9_999_999;
+
+    /**
+     * Prevents instantiation of this utility class.
+     */
+    private BenchmarkData() {
+    }
+
+    /**
+     * Allocates distinct random employee numbers and shuffles them, so the list built from them is not sorted.
+     *
+     * @param rows The number of employee numbers.
+     * @return The employee numbers, in random order.
+     */
+    static int[] shuffledNumbers(int rows) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        int[] numbers;
+        try {
+            numbers = new EmployeeNumberAllocator(1, MAX_EMPLOYEE_NUMBER).allocate(rows, random);
+        } catch (EmployeeNumberRangeExhaustedException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+        for (int i = numbers.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = numbers[i];
+            numbers[i] = numbers[j];
+            numbers[j] = swap;
+        }
+        return numbers;
+    }
+
+    /**
+     * Builds a list of employees in random order of employee number, half of them programmers.
+     *
+     * @param rows The number of employees.
+     * @return The list of employees, with its changes cleared as if it had just been loaded.
+     */
+    static GenericDoublyLinkedList<Employee> employees(int rows) {
+        try {
+            GenericDoublyLinkedList<Employee> list = EmployeeGenerator.generate(shuffledNumbers(rows), 50, null);
+            list.clearChanges();
+            return list;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while building the benchmark data.", e);
+        }
+    }
+}
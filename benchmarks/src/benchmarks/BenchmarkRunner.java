@@ -0,0 +1,52 @@
+package benchmarks;
+
+// For running the benchmarks and writing their report.
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Runs the benchmarks and writes their results to a JSON report named after the date and time of the run, in
+ * benchmarks/results, so successive reports can be compared to spot regressions.
+ * <p>
+ * Usage: {@code java benchmarks.BenchmarkRunner [benchmark name pattern]}, for example {@code ListBenchmark.exists}.
+ * Every benchmark is run when no pattern is given.
+ */
+public final class BenchmarkRunner {
+
+    /**
+     * Prevents instantiation of this command-line tool.
+     */
+    private BenchmarkRunner() {
+    }
+
+    /**
+     * Runs the benchmarks matching the optional pattern and writes the JSON report.
+     *
+     * @param args The optional regular expression selecting the benchmarks to run.
+     * @throws IOException     If the results directory cannot be created.
+     * @throws RunnerException If a benchmark fails.
+     */
+    public static void main(String... args) throws IOException, RunnerException {
+        String pattern = (args.length > 0) ? args[0] : BenchmarkRunner.class.getPackageName() + "\\..*Benchmark";
+        Path report = Path.of("benchmarks", "results",
+                "jmh-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".json");
+        Files.createDirectories(report.getParent());
+
+        Options options = new OptionsBuilder()
+                .include(pattern)
+                .resultFormat(ResultFormatType.JSON)
+                .result(report.toString())
+                .build();
+        new Runner(options).run();
+        System.out.println("Results written to " + report);
+    }
+}
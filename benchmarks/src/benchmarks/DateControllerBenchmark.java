@@ -0,0 +1,138 @@
+package benchmarks;
+
+// Import for the date conversions being measured.
+import controllers.DateController;
+import models.InvalidDateException;
+
+// For declaring the benchmarks.
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.GregorianCalendar;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of parsing and formatting hire dates, through the calendars used by the dialogs and through the
+ * epoch days used by the file formats. Each benchmark converts a single date, so they are not parameterized by
+ * a number of rows: converting n dates costs n times as much.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DateControllerBenchmark {
+
+    /**
+     * The dates converted, cycled through so the results cannot be folded into constants.
+     */
+    private static final String[] DATES = {"12-03-2015", "01-01-1907", "29-02-2000", "31-12-1999", "15-06-2023", "07-11-1984", "23-09-1962", "30-04-2010"};
+
+    /**
+     * The converter being measured.
+     */
+    private final DateController dateController = new DateController();
+
+    /**
+     * The dates as characters, for parseEpochDay.
+     */
+    private final char[][] dateChars = new char[DATES.length][];
+
+    /**
+     * The dates as calendars, for calendarToString.
+     */
+    private final GregorianCalendar[] calendars = new GregorianCalendar[DATES.length];
+
+    /**
+     * The dates as epoch days, for formatEpochDay.
+     */
+    private final long[] epochDays = new long[DATES.length];
+
+    /**
+     * The characters written by formatEpochDay.
+     */
+    private final char[] target = new char[10];
+
+    /**
+     * Index of the next date.
+     */
+    private int next;
+
+    /**
+     * Converts the dates into every form once.
+     *
+     * @throws InvalidDateException Never, as the dates are valid.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws InvalidDateException {
+        for (int i = 0; i < DATES.length; i++) {
+            dateChars[i] = DATES[i].toCharArray();
+            calendars[i] = dateController.createGregorianCalendar(DATES[i]);
+            epochDays[i] = dateController.parseEpochDay(dateChars[i], 0, dateChars[i].length);
+        }
+    }
+
+    /**
+     * Retrieves the index of the next date.
+     *
+     * @return The index.
+     */
+    private int nextIndex() {
+        next = (next + 1) & (DATES.length - 1);
+        return next;
+    }
+
+    /**
+     * Parses a date into a calendar, as the creation dialogs and the Employee constructor do.
+     *
+     * @return The calendar.
+     * @throws InvalidDateException Never, as the dates are valid.
+     */
+    @Benchmark
+    public GregorianCalendar createGregorianCalendar() throws InvalidDateException {
+        return dateController.createGregorianCalendar(DATES[nextIndex()]);
+    }
+
+    /**
+     * Formats a calendar, as the detail panel used to.
+     *
+     * @return The formatted date.
+     */
+    @Benchmark
+    public String calendarToString() {
+        return dateController.calendarToString(calendars[nextIndex()]);
+    }
+
+    /**
+     * Parses a date into an epoch day, as the CSV import does.
+     *
+     * @return The epoch day.
+     * @throws InvalidDateException Never, as the dates are valid.
+     */
+    @Benchmark
+    public long parseEpochDay() throws InvalidDateException {
+        char[] chars = dateChars[nextIndex()];
+        return dateController.parseEpochDay(chars, 0, chars.length);
+    }
+
+    /**
+     * Formats an epoch day, as the CSV export and the detail panel do.
+     *
+     * @return The characters written.
+     */
+    @Benchmark
+    public char[] formatEpochDay() {
+        dateController.formatEpochDay(epochDays[nextIndex()], target, 0);
+        return target;
+    }
+}
@@ -0,0 +1,83 @@
+package benchmarks;
+
+// Imports for the employees being built.
+import models.Analyst;
+import models.InvalidDateException;
+import models.Programmer;
+import models.SalaryExceedsMaxException;
+
+// For declaring the benchmarks.
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of building one employee, through the validating constructors used by the creation dialogs and
+ * through the setters used by the codecs and the generator. Like the date conversions, they are not
+ * parameterized by a number of rows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmployeeBenchmark {
+
+    /**
+     * The employee number of the next employee, changed on every call so nothing is folded into constants.
+     */
+    private int number;
+
+    /**
+     * Builds a programmer with its constructor, which parses and validates the hire date.
+     *
+     * @return The programmer.
+     * @throws SalaryExceedsMaxException Never, as the salary is below the maximum.
+     * @throws InvalidDateException      Never, as the date is valid.
+     */
+    @Benchmark
+    public Programmer programmerConstructor() throws SalaryExceedsMaxException, InvalidDateException {
+        return new Programmer(++number, "Ada Lovelace", "12-03-2015", 2500, 4000, 150, "Java");
+    }
+
+    /**
+     * Builds an analyst with its constructor, which parses and validates the hire date.
+     *
+     * @return The analyst.
+     * @throws SalaryExceedsMaxException Never, as the salary is below the maximum.
+     * @throws InvalidDateException      Never, as the date is valid.
+     */
+    @Benchmark
+    public Analyst analystConstructor() throws SalaryExceedsMaxException, InvalidDateException {
+        return new Analyst(++number, "Grace Hopper", "12-03-2015", 2500, 4000, 1200, "MBA");
+    }
+
+    /**
+     * Builds a programmer through its setters, with the hire date already converted to an epoch day.
+     *
+     * @return The programmer.
+     * @throws SalaryExceedsMaxException Never, as the salary is below the maximum.
+     */
+    @Benchmark
+    public Programmer programmerSetters() throws SalaryExceedsMaxException {
+        Programmer programmer = new Programmer();
+        programmer.setEmployeeNumber(++number);
+        programmer.setName("Ada Lovelace");
+        programmer.nameMasker();
+        programmer.setHireEpochDay(16506);
+        programmer.setMaxSalary(4000);
+        programmer.setSalary(2500);
+        programmer.setMonthlyExtra(150);
+        programmer.setMainLanguage("Java");
+        return programmer;
+    }
+}
@@ -0,0 +1,147 @@
+package benchmarks;
+
+// Imports for the file formats being measured.
+import controllers.CompressionCodec;
+import controllers.FileHandler;
+import controllers.GenericDoublyLinkedList;
+import models.Employee;
+
+// For declaring the benchmarks.
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// For the temporary files written and read.
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Benchmarks of saving and loading the employees with FileHandler, in the compact format written by default and
+ * in the block format compressed with Deflate. The files are written to a temporary directory deleted at the end.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class FileHandlerBenchmark {
+
+    /**
+     * Number of employees saved and loaded.
+     */
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    /**
+     * The employees being saved.
+     */
+    private GenericDoublyLinkedList<Employee> list;
+
+    /**
+     * The temporary directory holding the files.
+     */
+    private Path directory;
+
+    /**
+     * The compact file loaded by loadCompact.
+     */
+    private String compactFile;
+
+    /**
+     * The block file loaded by loadBlock.
+     */
+    private String blockFile;
+
+    /**
+     * The file overwritten by the save benchmarks.
+     */
+    private String savedFile;
+
+    /**
+     * Builds the employees and writes the files to load, once per parameter value.
+     *
+     * @throws IOException If the files cannot be written.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        list = BenchmarkData.employees(rows);
+        directory = Files.createTempDirectory("employee-benchmark");
+        compactFile = directory.resolve("load." + FileHandler.COMPACT_EXTENSION).toString();
+        blockFile = directory.resolve("load." + FileHandler.BLOCK_EXTENSION).toString();
+        savedFile = directory.resolve("save").toString();
+        FileHandler.saveCompactFile(list, compactFile, null);
+        FileHandler.saveBlockFile(list, blockFile, CompressionCodec.DEFLATE, CompressionCodec.DEFAULT_LEVEL, null);
+    }
+
+    /**
+     * Deletes the temporary directory and its files.
+     *
+     * @throws IOException If a file cannot be deleted.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    /**
+     * Saves the employees to a compact file.
+     *
+     * @throws IOException If the file cannot be written.
+     */
+    @Benchmark
+    public void saveCompact() throws IOException {
+        FileHandler.saveCompactFile(list, savedFile + "." + FileHandler.COMPACT_EXTENSION, null);
+    }
+
+    /**
+     * Loads the employees from a compact file.
+     *
+     * @return The loaded employees.
+     * @throws IOException If the file cannot be read.
+     */
+    @Benchmark
+    public GenericDoublyLinkedList<Employee> loadCompact() throws IOException {
+        return FileHandler.loadCompactFile(compactFile, null);
+    }
+
+    /**
+     * Saves the employees to a block file compressed with Deflate.
+     *
+     * @throws IOException If the file cannot be written.
+     */
+    @Benchmark
+    public void saveBlock() throws IOException {
+        FileHandler.saveBlockFile(list, savedFile + "." + FileHandler.BLOCK_EXTENSION, CompressionCodec.DEFLATE,
+                CompressionCodec.DEFAULT_LEVEL, null);
+    }
+
+    /**
+     * Loads the employees from a block file, decoding its blocks in parallel.
+     *
+     * @return The loaded employees.
+     * @throws IOException If the file cannot be read.
+     */
+    @Benchmark
+    public GenericDoublyLinkedList<Employee> loadBlock() throws IOException {
+        return FileHandler.loadBlockFile(blockFile, null);
+    }
+}
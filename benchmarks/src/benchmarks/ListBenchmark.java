@@ -0,0 +1,123 @@
+package benchmarks;
+
+// Imports for the list and the employees being measured.
+import controllers.GenericDoublyLinkedList;
+import models.Employee;
+
+// For declaring the benchmarks.
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the GenericDoublyLinkedList operations the GUI runs on every action: appending employees,
+ * looking an employee number up, and finding the position of the current employee after moving to it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ListBenchmark {
+
+    /**
+     * Number of precomputed lookups, a power of two cycled through by the benchmarks.
+     */
+    private static final int PROBES = 1024;
+
+    /**
+     * Number of employees in the list.
+     */
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    /**
+     * The list being measured.
+     */
+    private GenericDoublyLinkedList<Employee> list;
+
+    /**
+     * The employees of the list, in list order, appended again by the add benchmark.
+     */
+    private Employee[] employees;
+
+    /**
+     * Employee numbers looked up, alternately present in the list and absent from it.
+     */
+    private final int[] numbers = new int[PROBES];
+
+    /**
+     * Positions moved to before asking for the current position.
+     */
+    private final int[] positions = new int[PROBES];
+
+    /**
+     * Index of the next lookup.
+     */
+    private int probe;
+
+    /**
+     * Builds the list and the lookups once per parameter value.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        list = BenchmarkData.employees(rows);
+        employees = list.snapshot().toArray(new Employee[0]);
+        SplittableRandom random = new SplittableRandom(BenchmarkData.SEED);
+        for (int i = 0; i < PROBES; i++) {
+            // Numbers above the allocated range are never in the list, so half the lookups walk the whole list.
+            numbers[i] = (i % 2 == 0) ? employees[random.nextInt(rows)].getEmployeeNumber()
+                    : BenchmarkData.MAX_EMPLOYEE_NUMBER + 1 + i;
+            positions[i] = random.nextInt(rows);
+        }
+    }
+
+    /**
+     * Appends every employee to a new list, as loading a file does.
+     *
+     * @return The new list.
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public GenericDoublyLinkedList<Employee> add() {
+        GenericDoublyLinkedList<Employee> built = new GenericDoublyLinkedList<>();
+        for (Employee employee : employees) {
+            built.add(employee, employee.getEmployeeNumber());
+        }
+        return built;
+    }
+
+    /**
+     * Looks an employee number up, as creating an employee does.
+     *
+     * @return Whether the number is in the list.
+     */
+    @Benchmark
+    public boolean exists() {
+        return list.exists(numbers[probe++ & (PROBES - 1)]);
+    }
+
+    /**
+     * Moves to a position and asks for the current position, as selecting a row of the JList does.
+     *
+     * @return The current position.
+     */
+    @Benchmark
+    public int getCurrentPosition() {
+        list.moveTo(positions[probe++ & (PROBES - 1)]);
+        return list.getCurrentPosition();
+    }
+}
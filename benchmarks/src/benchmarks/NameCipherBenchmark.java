@@ -0,0 +1,176 @@
+package benchmarks;
+
+// Imports for the names being encrypted.
+import controllers.FileHandler;
+import controllers.GenericDoublyLinkedList;
+import controllers.NameCipher;
+import models.Employee;
+
+// For declaring the benchmarks.
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// For the temporary files written and read.
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Benchmarks of the encrypted names files, against writing the same names in the clear, to measure what the
+ * AES-GCM encryption adds. The key is derived once in the setup, as it is once per session in the application.
+ * The files are written to a temporary directory deleted at the end.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class NameCipherBenchmark {
+
+    /**
+     * A full batch of encoded names, its content being irrelevant to the cipher.
+     */
+    private static final byte[] BATCH = new byte[1 << 16];
+
+    /**
+     * A names file header, authenticated with every batch.
+     */
+    private static final byte[] HEADER = new byte[40];
+
+    /**
+     * Number of names saved and loaded.
+     */
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    /**
+     * The employees whose names are saved.
+     */
+    private GenericDoublyLinkedList<Employee> list;
+
+    /**
+     * The cipher, whose key is derived in the setup.
+     */
+    private NameCipher cipher;
+
+    /**
+     * The temporary directory holding the files.
+     */
+    private Path directory;
+
+    /**
+     * The data file whose names file is loaded by loadEncrypted.
+     */
+    private String loadedFile;
+
+    /**
+     * The data file whose names file is overwritten by saveEncrypted.
+     */
+    private String savedFile;
+
+    /**
+     * The file overwritten by savePlain.
+     */
+    private String plainFile;
+
+    /**
+     * Builds the employees, derives the key and writes the names file to load, once per parameter value.
+     *
+     * @throws IOException If the names file cannot be written.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        list = BenchmarkData.employees(rows);
+        cipher = new NameCipher("benchmark".toCharArray());
+        directory = Files.createTempDirectory("names-benchmark");
+        loadedFile = directory.resolve("load." + FileHandler.COMPACT_EXTENSION).toString();
+        savedFile = directory.resolve("save." + FileHandler.COMPACT_EXTENSION).toString();
+        plainFile = directory.resolve("plain.bin").toString();
+        FileHandler.saveEncryptedNames(list, loadedFile, cipher);
+    }
+
+    /**
+     * Deletes the temporary directory and its files.
+     *
+     * @throws IOException If a file cannot be deleted.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    /**
+     * Saves the names encrypted, in batches encrypted in parallel.
+     *
+     * @return The number of names saved.
+     * @throws IOException If the file cannot be written.
+     */
+    @Benchmark
+    public long saveEncrypted() throws IOException {
+        return FileHandler.saveEncryptedNames(list, savedFile, cipher);
+    }
+
+    /**
+     * Loads the encrypted names, decrypting the batches in parallel.
+     *
+     * @return The names by employee number.
+     * @throws IOException If the file cannot be read.
+     */
+    @Benchmark
+    public Map<Integer, String> loadEncrypted() throws IOException {
+        return FileHandler.loadEncryptedNames(loadedFile, cipher);
+    }
+
+    /**
+     * Saves the names in the clear, encoded the same way as in an encrypted batch.
+     *
+     * @throws IOException If the file cannot be written.
+     */
+    @Benchmark
+    public void savePlain() throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(plainFile)))) {
+            for (Employee employee : list) {
+                byte[] bytes = employee.getName().getBytes(StandardCharsets.UTF_8);
+                out.writeInt(employee.getEmployeeNumber());
+                out.writeShort(bytes.length);
+                out.write(bytes);
+            }
+        }
+    }
+
+    /**
+     * Encrypts a single full batch of names, without any file access.
+     *
+     * @return The encrypted batch.
+     * @throws GeneralSecurityException If the batch cannot be encrypted.
+     */
+    @Benchmark
+    public byte[] encryptBatch() throws GeneralSecurityException {
+        return cipher.encryptBatch(BATCH, BATCH.length, HEADER, 0);
+    }
+}
@@ -0,0 +1,344 @@
+package benchmarks;
+
+// Imports for the employees being serialized.
+import controllers.DateController;
+import controllers.GenericDoublyLinkedList;
+import models.Analyst;
+import models.Employee;
+import models.Programmer;
+
+// For declaring the benchmarks.
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// For the temporary files written and read.
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serial;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.GregorianCalendar;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Benchmarks of the legacy serialized files, comparing the Externalizable layout of the employees with the default
+ * serialization of the original Serializable classes, whose fields are mirrored by the nested classes below. The
+ * files are written to a temporary directory deleted at the end.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class SerializationBenchmark {
+
+    /**
+     * Number of employees written and read.
+     */
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    /**
+     * The employees being written with their Externalizable layout.
+     */
+    private GenericDoublyLinkedList<Employee> list;
+
+    /**
+     * The same employees as instances of the original Serializable classes.
+     */
+    private OriginalEmployee[] originals;
+
+    /**
+     * The temporary directory holding the files.
+     */
+    private Path directory;
+
+    /**
+     * The file of Externalizable employees read by readExternalizable.
+     */
+    private String externalizableFile;
+
+    /**
+     * The file of Serializable employees read by readSerializable.
+     */
+    private String serializableFile;
+
+    /**
+     * The file overwritten by the write benchmarks.
+     */
+    private String savedFile;
+
+    /**
+     * Builds the employees and writes the files to read, once per parameter value.
+     *
+     * @throws IOException If the files cannot be written.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        list = BenchmarkData.employees(rows);
+        originals = new OriginalEmployee[rows];
+        int i = 0;
+        for (Employee employee : list) {
+            originals[i++] = OriginalEmployee.of(employee);
+        }
+        directory = Files.createTempDirectory("serialization-benchmark");
+        externalizableFile = directory.resolve("externalizable.ser").toString();
+        serializableFile = directory.resolve("serializable.ser").toString();
+        savedFile = directory.resolve("save.ser").toString();
+        writeExternalizable(externalizableFile);
+        writeSerializable(serializableFile);
+    }
+
+    /**
+     * Deletes the temporary directory and its files.
+     *
+     * @throws IOException If a file cannot be deleted.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    /**
+     * Writes the employees with their Externalizable layout.
+     *
+     * @throws IOException If the file cannot be written.
+     */
+    @Benchmark
+    public void writeExternalizable() throws IOException {
+        writeExternalizable(savedFile);
+    }
+
+    /**
+     * Writes the employees with the default serialization of the original classes.
+     *
+     * @throws IOException If the file cannot be written.
+     */
+    @Benchmark
+    public void writeSerializable() throws IOException {
+        writeSerializable(savedFile);
+    }
+
+    /**
+     * Reads the employees written with their Externalizable layout.
+     *
+     * @return The last employee read.
+     * @throws IOException            If the file cannot be read.
+     * @throws ClassNotFoundException Never, as the classes are on the class path.
+     */
+    @Benchmark
+    public Object readExternalizable() throws IOException, ClassNotFoundException {
+        return readAll(externalizableFile);
+    }
+
+    /**
+     * Reads the employees written with the default serialization of the original classes.
+     *
+     * @return The last employee read.
+     * @throws IOException            If the file cannot be read.
+     * @throws ClassNotFoundException Never, as the classes are on the class path.
+     */
+    @Benchmark
+    public Object readSerializable() throws IOException, ClassNotFoundException {
+        return readAll(serializableFile);
+    }
+
+    /**
+     * Writes the employees of the list to a file, the way FileHandler saves a legacy file.
+     *
+     * @param filename The name of the file.
+     * @throws IOException If the file cannot be written.
+     */
+    private void writeExternalizable(String filename) throws IOException {
+        try (ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(new FileOutputStream(filename)))) {
+            for (Employee employee : list) {
+                out.writeObject(employee);
+            }
+        }
+    }
+
+    /**
+     * Writes the original employees to a file, the way FileHandler saved a legacy file.
+     *
+     * @param filename The name of the file.
+     * @throws IOException If the file cannot be written.
+     */
+    private void writeSerializable(String filename) throws IOException {
+        try (ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(new FileOutputStream(filename)))) {
+            for (OriginalEmployee employee : originals) {
+                out.writeObject(employee);
+            }
+        }
+    }
+
+    /**
+     * Reads every employee of a file.
+     *
+     * @param filename The name of the file.
+     * @return The last employee read.
+     * @throws IOException            If the file cannot be read.
+     * @throws ClassNotFoundException Never, as the classes are on the class path.
+     */
+    private Object readAll(String filename) throws IOException, ClassNotFoundException {
+        Object last = null;
+        try (ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(new FileInputStream(filename)))) {
+            for (int i = 0; i < rows; i++) {
+                last = in.readObject();
+            }
+        }
+        return last;
+    }
+
+    /**
+     * Mirror of the fields of the original Serializable Employee class.
+     */
+    private static class OriginalEmployee implements Serializable {
+
+        /**
+         * Stores a unique ID for object identification purposes throughout serialization.
+         */
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * The unique identifier of the employee.
+         */
+        private int employeeNumber;
+
+        /**
+         * The employee's name masked with asterisks.
+         */
+        private String maskedName;
+
+        /**
+         * The date when the employee was hired.
+         */
+        private GregorianCalendar hireDate;
+
+        /**
+         * The employee's salary.
+         */
+        private double salary;
+
+        /**
+         * The employee's maximum salary.
+         */
+        private double maxSalary;
+
+        /**
+         * The date controller every original employee held.
+         */
+        private DateController dateController = new DateController();
+
+        /**
+         * Builds the original counterpart of an employee.
+         *
+         * @param employee The employee.
+         * @return The original employee holding the same data.
+         */
+        static OriginalEmployee of(Employee employee) {
+            OriginalEmployee original;
+            if (employee instanceof Analyst) {
+                Analyst analyst = (Analyst) employee;
+                OriginalAnalyst originalAnalyst = new OriginalAnalyst();
+                originalAnalyst.annualBonus = analyst.getAnnualBonus();
+                originalAnalyst.additionalQualification = analyst.getAdditionalQualification();
+                originalAnalyst.annualBonusCalculable = analyst.getAnnualBonusCalculable();
+                original = originalAnalyst;
+            } else if (employee instanceof Programmer) {
+                Programmer programmer = (Programmer) employee;
+                OriginalProgrammer originalProgrammer = new OriginalProgrammer();
+                originalProgrammer.monthlyExtra = programmer.getMonthlyExtra();
+                originalProgrammer.mainLanguage = programmer.getMainLanguage();
+                originalProgrammer.monthlyExtraCalculable = programmer.getMonthlyExtraCalculable();
+                original = originalProgrammer;
+            } else {
+                original = new OriginalEmployee();
+            }
+            original.employeeNumber = employee.getEmployeeNumber();
+            original.maskedName = employee.getMaskedName();
+            original.hireDate = employee.getHireDate();
+            original.salary = employee.getSalary();
+            original.maxSalary = employee.getMaxSalary();
+            return original;
+        }
+    }
+
+    /**
+     * Mirror of the fields of the original Serializable Analyst class.
+     */
+    private static final class OriginalAnalyst extends OriginalEmployee {
+
+        /**
+         * Stores a unique ID for object identification purposes throughout serialization.
+         */
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * The annual bonus as a percentage extra on the monthly salary.
+         */
+        private double annualBonus;
+
+        /**
+         * The additional qualification of the Analyst.
+         */
+        private String additionalQualification;
+
+        /**
+         * Whether the annual bonus can be calculated.
+         */
+        private boolean annualBonusCalculable;
+    }
+
+    /**
+     * Mirror of the fields of the original Serializable Programmer class.
+     */
+    private static final class OriginalProgrammer extends OriginalEmployee {
+
+        /**
+         * Stores a unique ID for object identification purposes throughout serialization.
+         */
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * The monthly extra salary.
+         */
+        private double monthlyExtra;
+
+        /**
+         * The main programming language of the Programmer.
+         */
+        private String mainLanguage;
+
+        /**
+         * Whether the monthly extra can be calculated.
+         */
+        private boolean monthlyExtraCalculable;
+    }
+}
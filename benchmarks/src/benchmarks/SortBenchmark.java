@@ -0,0 +1,102 @@
+package benchmarks;
+
+// Imports for the list and the employees being sorted.
+import controllers.GenericDoublyLinkedList;
+import models.Employee;
+
+// For declaring the benchmarks.
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the two sorts compared by the Sort button: the list's own bubble sort and Collections.sort on a
+ * copy of the employees. Every sort starts from the same shuffled order, rebuilt before each invocation, and is
+ * timed once per invocation, since a sorted list would make later invocations meaningless.
+ * <p>
+ * The bubble sort is quadratic, so the sizes stop at 100,000 employees: a million would take hours per invocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class SortBenchmark {
+
+    /**
+     * Number of employees sorted.
+     */
+    @Param({"1000", "10000", "100000"})
+    public int rows;
+
+    /**
+     * The employees, in shuffled order.
+     */
+    private Employee[] shuffled;
+
+    /**
+     * The list sorted by the next invocation.
+     */
+    private GenericDoublyLinkedList<Employee> list;
+
+    /**
+     * The copy sorted by the next invocation.
+     */
+    private List<Employee> copy;
+
+    /**
+     * Builds the shuffled employees once per parameter value.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        shuffled = BenchmarkData.employees(rows).snapshot().toArray(new Employee[0]);
+    }
+
+    /**
+     * Restores the shuffled order before every invocation.
+     */
+    @Setup(Level.Invocation)
+    public void shuffle() {
+        list = new GenericDoublyLinkedList<>();
+        for (Employee employee : shuffled) {
+            list.add(employee, employee.getEmployeeNumber());
+        }
+        copy = new ArrayList<>(List.of(shuffled));
+    }
+
+    /**
+     * Sorts the list with its bubble sort.
+     *
+     * @return Whether the list was sorted.
+     */
+    @Benchmark
+    public boolean listSort() {
+        return list.sort();
+    }
+
+    /**
+     * Sorts the copy of the employees with Collections.sort.
+     *
+     * @return The sorted copy.
+     */
+    @Benchmark
+    public List<Employee> collectionSort() {
+        Collections.sort(copy);
+        return copy;
+    }
+}
@@ -0,0 +1,217 @@
+package controllers;
+
+// For looking employees up through the block table of a block data file.
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Sparse in-memory index of a block data file, used to fetch single employees by their number without
+ * loading the file.
+ * <p>
+ * The index holds, for every block, its position, its lowest and highest employee number and a Bloom filter
+ * of its employee numbers, all read from the footer when the index is opened. A number outside every range,
+ * or rejected by the Bloom filter, is known to be absent without touching the disk; otherwise only the block
+ * that may hold it is read. In files saved in employee number order the block is found by a binary search
+ * over the lowest numbers, so a lookup reads at most one block.
+ *
+ * @param <E> The type of elements read, either Analyst or Programmer instances.
+ */
+public class BlockFileIndex<E> implements Closeable {
+
+    /**
+     * The reader giving positional access to the blocks.
+     */
+    private final BlockFileReader<E> reader;
+
+    /**
+     * The position of every block.
+     */
+    private final long[] positions;
+
+    /**
+     * The lowest employee number of every block.
+     */
+    private final int[] minIds;
+
+    /**
+     * The highest employee number of every block.
+     */
+    private final int[] maxIds;
+
+    /**
+     * The Bloom filter of the employee numbers of every block.
+     */
+    private final IdBloomFilter[] filters;
+
+    /**
+     * Whether the blocks hold the employees in strictly ascending employee number order.
+     */
+    private final boolean sorted;
+
+    /**
+     * The number of blocks read by lookups so far.
+     */
+    private long blocksRead;
+
+    /**
+     * Opens a block data file and reads its index into memory.
+     *
+     * @param filename The name of the block data file.
+     * @throws IOException If the file cannot be read, or was written before block files had an index.
+     */
+    public BlockFileIndex(String filename) throws IOException {
+        reader = new BlockFileReader<>(filename);
+        try {
+            if (!reader.hasIdIndex()) {
+                throw new StreamCorruptedException("Block data file has no employee number index; save it again: " + filename);
+            }
+            int blockCount = reader.getBlockCount();
+            positions = new long[blockCount];
+            minIds = new int[blockCount];
+            maxIds = new int[blockCount];
+            filters = new IdBloomFilter[blockCount];
+            sorted = reader.isSorted();
+
+            // The block table comes first, followed by the Bloom filters in block order.
+            ByteBuffer footer = reader.readFooter();
+            int[] records = new int[blockCount];
+            for (int i = 0; i < blockCount; i++) {
+                positions[i] = footer.getLong();
+                records[i] = footer.getInt();
+                minIds[i] = footer.getInt();
+                maxIds[i] = footer.getInt();
+            }
+            for (int i = 0; i < blockCount; i++) {
+                filters[i] = IdBloomFilter.readFrom(footer, records[i]);
+            }
+        } catch (BufferUnderflowException e) {
+            reader.close();
+            throw new StreamCorruptedException("Block data file index is truncated: " + filename);
+        } catch (IOException e) {
+            reader.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Checks, without reading the disk, if the file may hold an employee.
+     *
+     * @param id The employee number.
+     * @return false if the file definitely does not hold the employee, true if it probably does.
+     */
+    public boolean mightContain(int id) {
+        if (sorted) {
+            int block = candidateBlock(id);
+            return block >= 0 && filters[block].mightContain(id);
+        }
+        for (int i = 0; i < positions.length; i++) {
+            if (id >= minIds[i] && id <= maxIds[i] && filters[i].mightContain(id)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks if the file holds an employee, only reading a block when the index cannot rule the employee out.
+     *
+     * @param id The employee number.
+     * @return true if the file holds the employee, false otherwise.
+     * @throws IOException If an I/O error occurs or a block is corrupted.
+     */
+    public boolean exists(int id) throws IOException {
+        return find(id) != null;
+    }
+
+    /**
+     * Fetches a single employee from the file by reading only the block that may hold it.
+     *
+     * @param id The employee number.
+     * @return The employee, or null if the file does not hold it.
+     * @throws IOException If an I/O error occurs or a block is corrupted.
+     */
+    public E find(int id) throws IOException {
+        if (sorted) {
+            int block = candidateBlock(id);
+            return (block >= 0 && filters[block].mightContain(id)) ? readFrom(block, id) : null;
+        }
+        // Without an order, every block whose range and filter accept the number may hold it.
+        for (int i = 0; i < positions.length; i++) {
+            if (id >= minIds[i] && id <= maxIds[i] && filters[i].mightContain(id)) {
+                E employee = readFrom(i, id);
+                if (employee != null) {
+                    return employee;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Retrieves the number of employees stored in the file.
+     *
+     * @return The record count from the file header.
+     */
+    public long getRecordCount() {
+        return reader.getRecordCount();
+    }
+
+    /**
+     * Retrieves the number of blocks read by lookups so far, which shows how often the index had to touch the disk.
+     *
+     * @return The number of blocks read.
+     */
+    public synchronized long getBlocksRead() {
+        return blocksRead;
+    }
+
+    /**
+     * Checks if the file stores the employees in employee number order, so lookups read at most one block.
+     *
+     * @return true if the file is sorted by employee number, false otherwise.
+     */
+    public boolean isSorted() {
+        return sorted;
+    }
+
+    /**
+     * Closes the file.
+     *
+     * @throws IOException If an I/O error occurs.
+     */
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * Finds the only block of a sorted file whose range may include an employee number.
+     *
+     * @param id The employee number.
+     * @return The index of the block, or -1 if no block's range includes the number.
+     */
+    private int candidateBlock(int id) {
+        int found = Arrays.binarySearch(minIds, id);
+        int block = (found >= 0) ? found : -found - 2;
+        return (block >= 0 && id <= maxIds[block]) ? block : -1;
+    }
+
+    /**
+     * Reads a block and decodes the employee with the given number from it.
+     *
+     * @param block The index of the block.
+     * @param id    The employee number.
+     * @return The employee, or null if the block does not hold it (a Bloom filter false positive).
+     * @throws IOException If an I/O error occurs or the block is corrupted.
+     */
+    private E readFrom(int block, int id) throws IOException {
+        synchronized (this) {
+            blocksRead++;
+        }
+        return reader.findInBlockAt(positions[block], id);
+    }
+}
@@ -0,0 +1,461 @@
+package controllers;
+
+// For reading compressed blocks through a file channel.
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Reads employees from a block data file written by BlockFileWriter, decompressing one block at a time.
+ *
+ * @param <E> The type of elements read, either Analyst or Programmer instances.
+ */
+public class BlockFileReader<E> implements EmployeeReader<E> {
+
+    /**
+     * The channel the blocks are read from.
+     */
+    private final FileChannel channel;
+
+    /**
+     * The codec the blocks were compressed with.
+     */
+    private final CompressionCodec codec;
+
+    /**
+     * The compression level the blocks were compressed with.
+     */
+    private final int level;
+
+    /**
+     * The format version of the file.
+     */
+    private final short version;
+
+    /**
+     * The flags stored in the header, such as BlockFileWriter.FLAG_SORTED.
+     */
+    private final int flags;
+
+    /**
+     * The number of records stored in the file, as stated by its header.
+     */
+    private final long recordCount;
+
+    /**
+     * The number of blocks stored in the file, as stated by its header.
+     */
+    private final int blockCount;
+
+    /**
+     * The position of the footer holding the block table, or -1 for version 1 files, which have none.
+     */
+    private final long footerOffset;
+
+    /**
+     * The buffer holding the header of the block being read.
+     */
+    private final ByteBuffer blockHeader = ByteBuffer.allocate(BlockFileWriter.BLOCK_HEADER_SIZE);
+
+    /**
+     * Array receiving the compressed bytes of a block.
+     */
+    private byte[] compressed = new byte[BlockFileWriter.BLOCK_SIZE];
+
+    /**
+     * The records of the decompressed block being decoded.
+     */
+    private ByteBuffer block = ByteBuffer.allocate(0);
+
+    /**
+     * The number of records of the current block not decoded yet.
+     */
+    private int blockRecordsLeft;
+
+    /**
+     * The number of blocks read so far.
+     */
+    private int blocksRead;
+
+    /**
+     * The number of records read so far.
+     */
+    private long recordsRead;
+
+    /**
+     * Opens the given file and reads its header.
+     *
+     * @param filename The name of the file to read from.
+     * @throws IOException If the file cannot be opened or is not a block employee data file.
+     */
+    public BlockFileReader(String filename) throws IOException {
+        channel = FileChannel.open(Path.of(filename), StandardOpenOption.READ);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(BlockFileWriter.HEADER_SIZE);
+            header.limit(BlockFileWriter.VERSION_1_HEADER_SIZE);
+            readFully(header);
+            header.flip();
+            if (header.getInt() != BlockFileWriter.MAGIC) {
+                throw new StreamCorruptedException("Not a block employee data file: " + filename);
+            }
+            version = header.getShort();
+            if (version < 1 || version > BlockFileWriter.VERSION) {
+                throw new StreamCorruptedException("Unsupported block data file version: " + version);
+            }
+            codec = CompressionCodec.fromId(header.get());
+            level = header.get();
+            recordCount = header.getLong();
+            blockCount = header.getInt();
+            flags = (version >= 3) ? header.getInt() : 0; // Reserved before version 3.
+
+            // Newer files also store where their block table starts.
+            if (version == 1) {
+                footerOffset = -1;
+            } else {
+                header.clear();
+                header.limit(BlockFileWriter.HEADER_SIZE - BlockFileWriter.VERSION_1_HEADER_SIZE);
+                readFully(header);
+                header.flip();
+                footerOffset = header.getLong();
+                if (footerOffset < BlockFileWriter.HEADER_SIZE
+                        || footerOffset + (long) blockCount * footerEntrySize() > channel.size()) {
+                    throw new StreamCorruptedException("Invalid block table position in " + filename);
+                }
+            }
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Retrieves the number of records stored in the file.
+     *
+     * @return The record count from the file header.
+     */
+    @Override
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Retrieves the number of records read so far.
+     *
+     * @return The number of employees returned by read().
+     */
+    @Override
+    public long getRecordsRead() {
+        return recordsRead;
+    }
+
+    /**
+     * Retrieves the codec the blocks were compressed with.
+     *
+     * @return The codec stored in the file header.
+     */
+    public CompressionCodec getCodec() {
+        return codec;
+    }
+
+    /**
+     * Retrieves the compression level the blocks were compressed with, so the file can be saved again the same way.
+     *
+     * @return The compression level stored in the file header.
+     */
+    public int getLevel() {
+        return level;
+    }
+
+    /**
+     * Checks if the footer holds the employee numbers and Bloom filters of the blocks, which version 3 added.
+     *
+     * @return true if BlockFileIndex can look employees up in the file, false otherwise.
+     */
+    boolean hasIdIndex() {
+        return version >= 3;
+    }
+
+    /**
+     * Checks if the employees are stored in strictly ascending employee number order.
+     *
+     * @return true if the header has the sorted flag, false otherwise.
+     */
+    boolean isSorted() {
+        return (flags & BlockFileWriter.FLAG_SORTED) != 0;
+    }
+
+    /**
+     * Retrieves the number of blocks stored in the file.
+     *
+     * @return The block count from the file header.
+     */
+    int getBlockCount() {
+        return blockCount;
+    }
+
+    /**
+     * Reads the position and record count of every block from the footer, without moving the sequential position.
+     *
+     * @return An array holding, for every block, its position followed by its record count,
+     * or null if the file has no block table.
+     * @throws IOException If an I/O error occurs.
+     */
+    long[] readBlockTable() throws IOException {
+        if (footerOffset < 0) {
+            return null;
+        }
+        ByteBuffer footer = readFooter();
+        int entrySize = footerEntrySize();
+        long[] table = new long[blockCount * 2];
+        for (int i = 0; i < blockCount; i++) {
+            table[i * 2] = footer.getLong(i * entrySize);
+            table[i * 2 + 1] = footer.getInt(i * entrySize + Long.BYTES);
+        }
+        return table;
+    }
+
+    /**
+     * Reads the whole footer, from the block table to the end of the file, without moving the sequential position.
+     *
+     * @return A buffer holding the footer, ready to be read.
+     * @throws IOException If an I/O error occurs or the file has no footer.
+     */
+    ByteBuffer readFooter() throws IOException {
+        if (footerOffset < 0) {
+            throw new StreamCorruptedException("Block data file version " + version + " has no block table.");
+        }
+        long size = channel.size() - footerOffset;
+        if (size > Integer.MAX_VALUE) {
+            throw new StreamCorruptedException("Block table is too large: " + size + " bytes.");
+        }
+        ByteBuffer footer = ByteBuffer.allocate((int) size);
+        readFullyAt(footer, footerOffset);
+        footer.flip();
+        return footer;
+    }
+
+    /**
+     * Reads and decodes the block at the given position with positional reads, so several threads can
+     * decode different blocks of the same file at the same time.
+     *
+     * @param position The position of the block's header.
+     * @param target   The list receiving the decoded employees, in order.
+     * @return The number of employees decoded.
+     * @throws IOException If an I/O error occurs or the block is corrupted.
+     */
+    int decodeBlockAt(long position, GenericDoublyLinkedList<E> target) throws IOException {
+        ByteBuffer original = readBlockAt(position);
+        int records = 0;
+        while (original.hasRemaining()) {
+            E employee = decodeRecord(original);
+            target.add(employee, FileHandler.getIdForGenericList(employee));
+            records++;
+        }
+        return records;
+    }
+
+    /**
+     * Reads the block at the given position with positional reads and decodes only the employee with the given
+     * number, skipping the other records by their length prefix.
+     *
+     * @param position The position of the block's header.
+     * @param id       The employee number to look for.
+     * @return The employee, or null if the block does not hold it.
+     * @throws IOException If an I/O error occurs or the block is corrupted.
+     */
+    E findInBlockAt(long position, int id) throws IOException {
+        ByteBuffer original = readBlockAt(position);
+        while (original.remaining() >= Integer.BYTES + 1 + Integer.BYTES) {
+            int start = original.position();
+            int length = original.getInt(start);
+            if (EmployeeCodec.employeeNumberAt(original, start + Integer.BYTES) == id) {
+                return decodeRecord(original);
+            }
+            if (length <= 0 || length > original.remaining() - Integer.BYTES) {
+                throw new StreamCorruptedException("Invalid record length " + length + " in block.");
+            }
+            original.position(start + Integer.BYTES + length);
+        }
+        return null;
+    }
+
+    /**
+     * Reads and decompresses the block at the given position with positional reads.
+     *
+     * @param position The position of the block's header.
+     * @return A buffer holding the records of the block.
+     * @throws IOException If an I/O error occurs or the block is corrupted.
+     */
+    private ByteBuffer readBlockAt(long position) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(BlockFileWriter.BLOCK_HEADER_SIZE);
+        readFullyAt(header, position);
+        header.flip();
+        int length = header.getInt();
+        int compressedLength = header.getInt();
+        int records = header.getInt();
+        int checksum = header.getInt();
+        if (length <= 0 || length > BlockFileWriter.BLOCK_SIZE || compressedLength < 0 || records <= 0) {
+            throw new StreamCorruptedException("Invalid header for block at position " + position + ".");
+        }
+        byte[] bytes = new byte[compressedLength];
+        readFullyAt(ByteBuffer.wrap(bytes), position + BlockFileWriter.BLOCK_HEADER_SIZE);
+        return decompressBlock(codec, bytes, compressedLength, length, checksum);
+    }
+
+    /**
+     * Retrieves the size of the footer entries of this file's version.
+     *
+     * @return The size in bytes of every footer entry.
+     */
+    private int footerEntrySize() {
+        return (version >= 3) ? BlockFileWriter.FOOTER_ENTRY_SIZE : BlockFileWriter.VERSION_2_FOOTER_ENTRY_SIZE;
+    }
+
+    /**
+     * Reads the next employee, decompressing the next block when the current one is exhausted.
+     *
+     * @return The next employee, or null if every record has been read.
+     * @throws IOException If an I/O error occurs or the file is corrupted.
+     */
+    @Override
+    public E read() throws IOException {
+        while (blockRecordsLeft == 0) {
+            if (blocksRead == blockCount) {
+                if (recordsRead != recordCount) {
+                    throw new StreamCorruptedException("Blocks hold " + recordsRead + " of " + recordCount + " records.");
+                }
+                return null;
+            }
+            readBlock();
+        }
+        E employee = decodeRecord(block);
+        blockRecordsLeft--;
+        recordsRead++;
+        return employee;
+    }
+
+    /**
+     * Closes the file.
+     *
+     * @throws IOException If an I/O error occurs.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Decodes the length-prefixed record at the buffer's position, restricting the buffer to that record
+     * so a corrupted one cannot be decoded from its neighbour's bytes.
+     *
+     * @param records The buffer holding the decompressed records of a block.
+     * @param <E>     The type of elements decoded.
+     * @return The decoded employee.
+     * @throws IOException If the record is corrupted.
+     */
+    static <E> E decodeRecord(ByteBuffer records) throws IOException {
+        if (records.remaining() < Integer.BYTES) {
+            throw new StreamCorruptedException("Block holds fewer records than its header claims.");
+        }
+        int length = records.getInt();
+        if (length <= 0 || length > records.remaining()) {
+            throw new StreamCorruptedException("Invalid record length " + length + " in block.");
+        }
+        int end = records.position() + length;
+        int limit = records.limit();
+        records.limit(end);
+        try {
+            return EmployeeCodec.decode(records);
+        } catch (BufferUnderflowException e) {
+            throw new StreamCorruptedException("Record is shorter than its fields.");
+        } finally {
+            records.limit(limit);
+            records.position(end);
+        }
+    }
+
+    /**
+     * Decompresses a block and checks it against the CRC32 stored in its header.
+     *
+     * @param codec            The codec the block was compressed with.
+     * @param compressed       The array holding the compressed bytes.
+     * @param compressedLength The number of compressed bytes.
+     * @param length           The original length of the block.
+     * @param checksum         The CRC32 of the original bytes.
+     * @return A buffer holding the original bytes of the block.
+     * @throws IOException If the block is corrupted.
+     */
+    static ByteBuffer decompressBlock(CompressionCodec codec, byte[] compressed, int compressedLength,
+                                      int length, int checksum) throws IOException {
+        byte[] original = new byte[length];
+        codec.decompress(compressed, compressedLength, original, length);
+        CRC32 crc = new CRC32();
+        crc.update(original, 0, length);
+        if ((int) crc.getValue() != checksum) {
+            throw new StreamCorruptedException("Block checksum mismatch.");
+        }
+        return ByteBuffer.wrap(original);
+    }
+
+    /**
+     * Reads and decompresses the next block.
+     *
+     * @throws IOException If an I/O error occurs or the block is corrupted.
+     */
+    private void readBlock() throws IOException {
+        blockHeader.clear();
+        readFully(blockHeader);
+        blockHeader.flip();
+        int length = blockHeader.getInt();
+        int compressedLength = blockHeader.getInt();
+        int records = blockHeader.getInt();
+        int checksum = blockHeader.getInt();
+        if (length <= 0 || length > BlockFileWriter.BLOCK_SIZE || compressedLength < 0 || records <= 0) {
+            throw new StreamCorruptedException("Invalid header for block " + blocksRead + ".");
+        }
+        if (compressed.length < compressedLength) {
+            compressed = new byte[compressedLength];
+        }
+        readFully(ByteBuffer.wrap(compressed, 0, compressedLength));
+        block = decompressBlock(codec, compressed, compressedLength, length, checksum);
+        blockRecordsLeft = records;
+        blocksRead++;
+    }
+
+    /**
+     * Reads from a position of the channel until the buffer is full, without moving the channel's position.
+     *
+     * @param buffer   The buffer to fill.
+     * @param position The position of the first byte to read.
+     * @throws IOException If an I/O error occurs or the file is truncated.
+     */
+    private void readFullyAt(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new EOFException("Unexpected end of file at position " + position + ".");
+            }
+            position += read;
+        }
+    }
+
+    /**
+     * Reads from the channel until the buffer is full.
+     *
+     * @param buffer The buffer to fill.
+     * @throws IOException If an I/O error occurs or the file is truncated.
+     */
+    private void readFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException("Unexpected end of file after " + recordsRead + " of " + recordCount + " records.");
+            }
+        }
+    }
+}
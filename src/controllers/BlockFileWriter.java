@@ -0,0 +1,350 @@
+package controllers;
+
+// For writing compressed blocks through a file channel.
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * Writes employees to a block data file, in which records are grouped into blocks that are compressed
+ * independently of each other with the chosen codec.
+ * <p>
+ * The file starts with a header holding a magic number, the format version, the codec, the compression level,
+ * the record count, the block count and the position of the footer. Every block starts with its original length,
+ * its compressed length, its record count and the CRC32 of its original bytes, followed by the compressed bytes.
+ * Inside a block, records use the same length-prefixed layout as compact data files. The footer is a table
+ * holding the position, record count and lowest and highest employee number of every block, so blocks can be
+ * read and decoded independently, followed by a Bloom filter of the employee numbers of every block. Together
+ * they let BlockFileIndex fetch a single employee by reading one block. When the employees are written in
+ * ascending employee number order, the header says so and lookups use a binary search over the blocks.
+ *
+ * @param <E> The type of elements written, either Analyst or Programmer instances.
+ */
+public class BlockFileWriter<E> implements Closeable {
+
+    /**
+     * Magic number identifying block employee data files ("EMPB").
+     */
+    static final int MAGIC = 0x454D5042;
+
+    /**
+     * Current schema version of the block format. Version 1 files have no footer and can only be read sequentially;
+     * version 2 files have a block table without employee numbers or Bloom filters.
+     */
+    static final short VERSION = 3;
+
+    /**
+     * Flag set in the header when the employees are stored in strictly ascending employee number order.
+     */
+    static final int FLAG_SORTED = 1;
+
+    /**
+     * Size in bytes of the version 1 file header: magic (4), version (2), codec (1), level (1), record count (8),
+     * block count (4) and flags (4, reserved before version 3).
+     */
+    static final int VERSION_1_HEADER_SIZE = 24;
+
+    /**
+     * Size in bytes of the file header: the version 1 fields followed by the position of the footer (8).
+     */
+    static final int HEADER_SIZE = 32;
+
+    /**
+     * Size in bytes of every footer entry: block position (8), record count (4), lowest employee number (4)
+     * and highest employee number (4).
+     */
+    static final int FOOTER_ENTRY_SIZE = 20;
+
+    /**
+     * Size in bytes of every footer entry of version 2 files: block position (8) and record count (4).
+     */
+    static final int VERSION_2_FOOTER_ENTRY_SIZE = 12;
+
+    /**
+     * Size in bytes of the header of every block: original length (4), compressed length (4),
+     * record count (4) and CRC32 (4).
+     */
+    static final int BLOCK_HEADER_SIZE = 16;
+
+    /**
+     * Maximum original size in bytes of a block.
+     */
+    static final int BLOCK_SIZE = 1 << 18;
+
+    /**
+     * The channel the blocks are written to.
+     */
+    private final FileChannel channel;
+
+    /**
+     * The codec compressing the blocks.
+     */
+    private final CompressionCodec codec;
+
+    /**
+     * The compression level passed to the codec.
+     */
+    private final int level;
+
+    /**
+     * The buffer holding the records of the block being filled.
+     */
+    private final ByteBuffer block = ByteBuffer.allocate(BLOCK_SIZE);
+
+    /**
+     * The buffer holding the header of the block being written.
+     */
+    private final ByteBuffer blockHeader = ByteBuffer.allocate(BLOCK_HEADER_SIZE);
+
+    /**
+     * Checksum calculator reused for every block.
+     */
+    private final CRC32 crc = new CRC32();
+
+    /**
+     * The footer entries of the blocks written so far.
+     */
+    private ByteBuffer footer = ByteBuffer.allocate(64 * FOOTER_ENTRY_SIZE);
+
+    /**
+     * The Bloom filters of the blocks written so far.
+     */
+    private ByteBuffer filters = ByteBuffer.allocate(64 * 64);
+
+    /**
+     * The employee numbers of the block being filled, added to its Bloom filter once the block is complete.
+     */
+    private int[] blockIds = new int[1024];
+
+    /**
+     * The number of records in the block being filled.
+     */
+    private int blockRecords;
+
+    /**
+     * The employee number of the last record written.
+     */
+    private int lastId;
+
+    /**
+     * Whether every record so far has a higher employee number than the one before it.
+     */
+    private boolean sorted = true;
+
+    /**
+     * The number of blocks written so far.
+     */
+    private int blockCount;
+
+    /**
+     * The number of records written so far.
+     */
+    private long recordCount;
+
+    /**
+     * Whether the file has already been finished and forced to disk.
+     */
+    private boolean committed;
+
+    /**
+     * Creates (or truncates) the given file and reserves space for the header.
+     *
+     * @param filename The name of the file to write to.
+     * @param codec    The codec compressing the blocks.
+     * @param level    The compression level, from 1 (fastest) to 9 (smallest).
+     * @throws IOException If the file cannot be opened for writing.
+     */
+    public BlockFileWriter(String filename, CompressionCodec codec, int level) throws IOException {
+        this.codec = codec;
+        this.level = level;
+        channel = FileChannel.open(Path.of(filename), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        channel.position(HEADER_SIZE);
+    }
+
+    /**
+     * Appends an employee to the current block, writing the block out once it is full.
+     *
+     * @param employee The employee to write, either an Analyst or a Programmer.
+     * @throws IOException If an I/O error occurs or the record does not fit in a block.
+     */
+    public void write(E employee) throws IOException {
+        int start = block.position();
+        try {
+            encodeRecord(employee);
+        } catch (BufferOverflowException e) {
+            // The record did not fit in what was left of the block, so write the block and start a new one.
+            block.position(start);
+            flushBlock();
+            try {
+                encodeRecord(employee);
+            } catch (BufferOverflowException tooLarge) {
+                throw new IOException("Employee record exceeds the " + BLOCK_SIZE + " byte block size.", tooLarge);
+            }
+        }
+        // Remember the employee number for the block table and the Bloom filter.
+        int id = FileHandler.getIdForGenericList(employee);
+        if (recordCount > 0 && id <= lastId) {
+            sorted = false;
+        }
+        lastId = id;
+        if (blockRecords == blockIds.length) {
+            blockIds = Arrays.copyOf(blockIds, blockIds.length * 2);
+        }
+        blockIds[blockRecords] = id;
+
+        blockRecords++;
+        recordCount++;
+    }
+
+    /**
+     * Retrieves the number of records written so far.
+     *
+     * @return The number of employees written.
+     */
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Writes the last block and the header, then forces the file to the storage device.
+     *
+     * @throws IOException If an I/O error occurs.
+     */
+    public void commit() throws IOException {
+        finish();
+        channel.force(true);
+        committed = true;
+    }
+
+    /**
+     * Writes the last block and the header, unless already committed, and closes the file.
+     *
+     * @throws IOException If an I/O error occurs.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            if (!committed) {
+                finish();
+            }
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Writes the last block, the footer with the Bloom filters and the header holding the final counts.
+     *
+     * @throws IOException If an I/O error occurs.
+     */
+    private void finish() throws IOException {
+        flushBlock();
+        long footerOffset = channel.position();
+        footer.flip();
+        filters.flip();
+        while (footer.hasRemaining() || filters.hasRemaining()) {
+            channel.write(new ByteBuffer[] {footer, filters});
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC);
+        header.putShort(VERSION);
+        header.put(codec.getId());
+        header.put((byte) level);
+        header.putLong(recordCount);
+        header.putInt(blockCount);
+        header.putInt(sorted ? FLAG_SORTED : 0);
+        header.putLong(footerOffset);
+        header.flip();
+        while (header.hasRemaining()) {
+            channel.write(header, header.position());
+        }
+    }
+
+    /**
+     * Encodes a record, preceded by its length, into the current block.
+     *
+     * @param employee The employee to encode.
+     * @throws BufferOverflowException If the record does not fit in what is left of the block.
+     */
+    private void encodeRecord(E employee) {
+        if (block.remaining() < Integer.BYTES) {
+            throw new BufferOverflowException();
+        }
+        int start = block.position();
+        block.position(start + Integer.BYTES);
+        EmployeeCodec.encode(employee, block);
+        block.putInt(start, block.position() - start - Integer.BYTES);
+    }
+
+    /**
+     * Compresses the current block and writes it with its header, if it holds any record.
+     *
+     * @throws IOException If an I/O error occurs.
+     */
+    private void flushBlock() throws IOException {
+        if (blockRecords == 0) {
+            return;
+        }
+        // Record where the block starts and which employee numbers it holds in the footer.
+        int minId = Integer.MAX_VALUE;
+        int maxId = Integer.MIN_VALUE;
+        IdBloomFilter filter = new IdBloomFilter(blockRecords);
+        for (int i = 0; i < blockRecords; i++) {
+            minId = Math.min(minId, blockIds[i]);
+            maxId = Math.max(maxId, blockIds[i]);
+            filter.add(blockIds[i]);
+        }
+        footer = ensureRemaining(footer, FOOTER_ENTRY_SIZE);
+        footer.putLong(channel.position());
+        footer.putInt(blockRecords);
+        footer.putInt(minId);
+        footer.putInt(maxId);
+        filters = ensureRemaining(filters, IdBloomFilter.wordCount(blockRecords) * Long.BYTES);
+        filter.writeTo(filters);
+
+        int length = block.position();
+        crc.reset();
+        crc.update(block.array(), 0, length);
+        byte[] compressed = codec.compress(block.array(), length, level);
+
+        blockHeader.clear();
+        blockHeader.putInt(length);
+        blockHeader.putInt(compressed.length);
+        blockHeader.putInt(blockRecords);
+        blockHeader.putInt((int) crc.getValue());
+        blockHeader.flip();
+        ByteBuffer body = ByteBuffer.wrap(compressed);
+        while (blockHeader.hasRemaining() || body.hasRemaining()) {
+            channel.write(new ByteBuffer[] {blockHeader, body});
+        }
+
+        block.clear();
+        blockRecords = 0;
+        blockCount++;
+    }
+
+    /**
+     * Makes sure a growing buffer has the given space left, copying it into a larger one if needed.
+     *
+     * @param buffer The buffer being filled.
+     * @param space  The number of bytes about to be put.
+     * @return The buffer itself, or a larger buffer holding the same bytes.
+     */
+    private static ByteBuffer ensureRemaining(ByteBuffer buffer, int space) {
+        if (buffer.remaining() >= space) {
+            return buffer;
+        }
+        ByteBuffer larger = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + space));
+        buffer.flip();
+        larger.put(buffer);
+        return larger;
+    }
+}
@@ -0,0 +1,196 @@
+package controllers;
+
+// For compressing blocks of records.
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.Inflater;
+
+/**
+ * Enumerates the codecs that can compress the blocks of a block data file.
+ * Each block is compressed on its own, so blocks can later be decompressed independently of each other.
+ */
+public enum CompressionCodec {
+    /**
+     * Stores blocks as they are.
+     */
+    NONE((byte) 0, "None"),
+
+    /**
+     * Compresses blocks with a raw Deflater at the chosen level.
+     */
+    DEFLATE((byte) 1, "Deflate"),
+
+    /**
+     * Compresses blocks as GZIP members, which adds a header and a CRC32 to every block.
+     */
+    GZIP((byte) 2, "GZIP");
+
+    /**
+     * Compression level used when none is chosen, a balance between speed and ratio.
+     */
+    public static final int DEFAULT_LEVEL = 6;
+
+    /**
+     * Identifier stored in the header of block data files.
+     */
+    private final byte id;
+
+    /**
+     * Name shown to the user.
+     */
+    private final String displayName;
+
+    /**
+     * Constructor for the CompressionCodec enum.
+     *
+     * @param id          Identifier stored in the header of block data files.
+     * @param displayName Name shown to the user.
+     */
+    CompressionCodec(byte id, String displayName) {
+        this.id = id;
+        this.displayName = displayName;
+    }
+
+    /**
+     * Getter method for retrieving the identifier stored in file headers.
+     *
+     * @return The identifier of the codec.
+     */
+    public byte getId() {
+        return id;
+    }
+
+    /**
+     * Checks if the codec takes a compression level.
+     *
+     * @return true for Deflate and GZIP, false otherwise.
+     */
+    public boolean hasLevel() {
+        return this != NONE;
+    }
+
+    /**
+     * Finds the codec with the given identifier.
+     *
+     * @param id The identifier read from a file header.
+     * @return The matching codec.
+     * @throws StreamCorruptedException If no codec has this identifier.
+     */
+    public static CompressionCodec fromId(byte id) throws StreamCorruptedException {
+        for (CompressionCodec codec : values()) {
+            if (codec.id == id) {
+                return codec;
+            }
+        }
+        throw new StreamCorruptedException("Unknown compression codec: " + id);
+    }
+
+    /**
+     * Compresses the first bytes of an array.
+     *
+     * @param data   The array holding the bytes to compress.
+     * @param length The number of bytes to compress.
+     * @param level  The compression level, from 1 (fastest) to 9 (smallest); ignored by NONE.
+     * @return The compressed bytes, in an array of exactly their length.
+     * @throws IOException If the bytes cannot be compressed.
+     */
+    public byte[] compress(byte[] data, int length, int level) throws IOException {
+        switch (this) {
+            case DEFLATE: {
+                Deflater deflater = new Deflater(level, true);
+                try {
+                    deflater.setInput(data, 0, length);
+                    deflater.finish();
+                    ByteArrayOutputStream out = new ByteArrayOutputStream(length / 2 + 64);
+                    byte[] chunk = new byte[16384];
+                    while (!deflater.finished()) {
+                        out.write(chunk, 0, deflater.deflate(chunk));
+                    }
+                    return out.toByteArray();
+                } finally {
+                    deflater.end();
+                }
+            }
+            case GZIP: {
+                ByteArrayOutputStream out = new ByteArrayOutputStream(length / 2 + 64);
+                try (GZIPOutputStream gzip = new GZIPOutputStream(out, 16384) {
+                    {
+                        def.setLevel(level);
+                    }
+                }) {
+                    gzip.write(data, 0, length);
+                }
+                return out.toByteArray();
+            }
+            default:
+                byte[] copy = new byte[length];
+                System.arraycopy(data, 0, copy, 0, length);
+                return copy;
+        }
+    }
+
+    /**
+     * Decompresses a block into an array of the block's original length.
+     *
+     * @param source       The array holding the compressed bytes.
+     * @param sourceLength The number of compressed bytes.
+     * @param target       The array receiving the original bytes.
+     * @param targetLength The original length of the block.
+     * @throws IOException If the block is corrupted or does not have the expected length.
+     */
+    public void decompress(byte[] source, int sourceLength, byte[] target, int targetLength) throws IOException {
+        switch (this) {
+            case DEFLATE: {
+                Inflater inflater = new Inflater(true);
+                try {
+                    inflater.setInput(source, 0, sourceLength);
+                    int inflated = 0;
+                    while (inflated < targetLength && !inflater.finished()) {
+                        int count = inflater.inflate(target, inflated, targetLength - inflated);
+                        if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                            break;
+                        }
+                        inflated += count;
+                    }
+                    if (inflated != targetLength) {
+                        throw new StreamCorruptedException("Compressed block is shorter than expected.");
+                    }
+                } catch (DataFormatException e) {
+                    throw new StreamCorruptedException("Corrupted compressed block: " + e.getMessage());
+                } finally {
+                    inflater.end();
+                }
+                break;
+            }
+            case GZIP: {
+                try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(source, 0, sourceLength), 16384)) {
+                    if (gzip.readNBytes(target, 0, targetLength) != targetLength) {
+                        throw new StreamCorruptedException("Compressed block is shorter than expected.");
+                    }
+                }
+                break;
+            }
+            default:
+                if (sourceLength != targetLength) {
+                    throw new StreamCorruptedException("Uncompressed block has an unexpected length.");
+                }
+                System.arraycopy(source, 0, target, 0, targetLength);
+        }
+    }
+
+    /**
+     * Retrieves the name shown to the user.
+     *
+     * @return The display name of the codec.
+     */
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
@@ -0,0 +1,591 @@
+package controllers;
+
+// For decoding the file into a reusable character buffer.
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StreamCorruptedException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import models.Analyst;
+import models.Employee;
+import models.InvalidDateException;
+import models.Programmer;
+import models.SalaryExceedsMaxException;
+
+/**
+ * Streams employees out of a CSV file with the columns written by CsvEmployeeWriter.
+ * <p>
+ * Characters are decoded into a single reusable buffer and every row is split in place by recording where
+ * each field starts and ends, so numbers, dates and the employee type are parsed straight from the buffer
+ * and only the name and the detail become strings. Memory use therefore depends on the longest row, not on
+ * the size of the file. Fields may be quoted, with doubled quotes inside them, and quoted fields may span lines.
+ * A header row and blank lines are skipped.
+ *
+ * @param <E> The type of elements read, either Analyst or Programmer instances.
+ */
+public class CsvEmployeeReader<E> implements EmployeeReader<E> {
+
+    /**
+     * Number of columns of every row.
+     */
+    static final int COLUMNS = 9;
+
+    /**
+     * Initial size in characters of the buffer, which only grows for rows longer than it.
+     */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Result of parsing a row that needs more characters than the buffer holds.
+     */
+    private static final int NEED_MORE = -2;
+
+    /**
+     * Result of parsing a row when the whole file has been read.
+     */
+    private static final int END = -1;
+
+    /**
+     * Largest mantissa that a double represents exactly.
+     */
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+    /**
+     * Powers of ten that a double represents exactly.
+     */
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+            1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    // Indexes of the columns.
+    private static final int TYPE = 0;
+    private static final int NUMBER = 1;
+    private static final int NAME = 2;
+    private static final int HIRE_DATE = 3;
+    private static final int SALARY = 4;
+    private static final int MAX_SALARY = 5;
+    private static final int EXTRA = 6;
+    private static final int DETAIL = 7;
+    private static final int CALCULABLE = 8;
+
+    /**
+     * The reader decoding the file.
+     */
+    private final Reader in;
+
+    /**
+     * The buffer holding decoded characters.
+     */
+    private char[] buffer = new char[BUFFER_SIZE];
+
+    /**
+     * The index of the first character not parsed yet.
+     */
+    private int position;
+
+    /**
+     * The number of valid characters in the buffer.
+     */
+    private int limit;
+
+    /**
+     * Whether the whole file has been decoded into the buffer.
+     */
+    private boolean endOfInput;
+
+    /**
+     * Index of the first character of every field of the current row.
+     */
+    private final int[] fieldStart = new int[COLUMNS];
+
+    /**
+     * Index after the last character of every field of the current row.
+     */
+    private final int[] fieldEnd = new int[COLUMNS];
+
+    /**
+     * Whether every field of the current row holds doubled quotes that must be unescaped.
+     */
+    private final boolean[] fieldEscaped = new boolean[COLUMNS];
+
+    /**
+     * The line on which the current row starts, for error messages.
+     */
+    private long lineNumber;
+
+    /**
+     * The line on which the next row starts.
+     */
+    private long nextLineNumber = 1;
+
+    /**
+     * The number of lines the current row spans.
+     */
+    private int rowLines;
+
+    /**
+     * Whether the start of the file has been checked for a byte order mark.
+     */
+    private boolean byteOrderMarkChecked;
+
+    /**
+     * Whether the first row has been checked for being a header.
+     */
+    private boolean headerChecked;
+
+    /**
+     * The number of employees read so far.
+     */
+    private long recordsRead;
+
+    /**
+     * Date controller parsing hire dates from the buffer.
+     */
+    private final DateController dateController = new DateController();
+
+    /**
+     * Earliest hire date accepted, matching the check made when creating employees.
+     */
+    private final long earliestHireDay = LocalDate.of(1907, 1, 1).toEpochDay();
+
+    /**
+     * Latest hire date accepted, as hire dates cannot be in the future.
+     */
+    private final long latestHireDay = LocalDate.now().toEpochDay();
+
+    /**
+     * Opens the given CSV file.
+     *
+     * @param filename The name of the file to read from.
+     * @throws IOException If the file cannot be opened.
+     */
+    public CsvEmployeeReader(String filename) throws IOException {
+        in = new InputStreamReader(Files.newInputStream(Path.of(filename)), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Retrieves the number of employees in the file, which is unknown until the file has been read.
+     *
+     * @return -1.
+     */
+    @Override
+    public long getRecordCount() {
+        return -1;
+    }
+
+    /**
+     * Retrieves the number of employees read so far.
+     *
+     * @return The number of employees returned by read().
+     */
+    @Override
+    public long getRecordsRead() {
+        return recordsRead;
+    }
+
+    /**
+     * Reads the next row and builds the employee it describes.
+     *
+     * @return The next employee, or null if every row has been read.
+     * @throws IOException If an I/O error occurs or a row is not valid, with its line number.
+     */
+    @Override
+    public E read() throws IOException {
+        while (true) {
+            int fields = parseRow();
+            if (fields == END) {
+                return null;
+            }
+            nextLineNumber += rowLines;
+
+            // Skip blank lines and the header row.
+            if (fields == 1 && fieldStart[0] == fieldEnd[0]) {
+                continue;
+            }
+            if (!headerChecked) {
+                headerChecked = true;
+                if (fieldEquals(TYPE, "type")) {
+                    continue;
+                }
+            }
+            if (fields != COLUMNS) {
+                throw error("Expected " + COLUMNS + " fields but found " + fields + ".");
+            }
+            E employee = (E) toEmployee();
+            recordsRead++;
+            return employee;
+        }
+    }
+
+    /**
+     * Closes the file.
+     *
+     * @throws IOException If an I/O error occurs.
+     */
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    /**
+     * Splits the next row into fields, decoding more of the file whenever the row is not complete in the buffer.
+     *
+     * @return The number of fields of the row, or END if every row has been read.
+     * @throws IOException If an I/O error occurs or a quoted field is not terminated.
+     */
+    private int parseRow() throws IOException {
+        while (true) {
+            if (position >= limit && endOfInput) {
+                return END;
+            }
+            int fields = splitRow();
+            if (fields != NEED_MORE) {
+                return fields;
+            }
+            fill();
+        }
+    }
+
+    /**
+     * Splits the row starting at the current position into fields, if the buffer holds all of it.
+     *
+     * @return The number of fields of the row, or NEED_MORE if the buffer ends before the row does.
+     * @throws IOException If a quoted field is not terminated or is followed by other characters.
+     */
+    private int splitRow() throws IOException {
+        int p = position;
+        int fields = 0;
+        lineNumber = nextLineNumber;
+        rowLines = 1;
+        while (true) {
+            int start;
+            int end;
+            boolean escaped = false;
+            if (p < limit && buffer[p] == '"') {
+                // Quoted field: runs until a quote that is not doubled.
+                start = ++p;
+                while (true) {
+                    if (p >= limit) {
+                        if (endOfInput) {
+                            throw error("Quoted field is not terminated.");
+                        }
+                        return NEED_MORE;
+                    }
+                    char c = buffer[p];
+                    if (c == '"') {
+                        if (p + 1 >= limit && !endOfInput) {
+                            return NEED_MORE;
+                        }
+                        if (p + 1 < limit && buffer[p + 1] == '"') {
+                            escaped = true;
+                            p += 2;
+                            continue;
+                        }
+                        end = p++;
+                        break;
+                    }
+                    if (c == '\n') {
+                        rowLines++;
+                    }
+                    p++;
+                }
+            } else {
+                // Plain field: runs until a comma or the end of the line.
+                start = p;
+                while (p < limit) {
+                    char c = buffer[p];
+                    if (c == ',' || c == '\n' || c == '\r') {
+                        break;
+                    }
+                    p++;
+                }
+                if (p >= limit && !endOfInput) {
+                    return NEED_MORE;
+                }
+                end = p;
+            }
+            if (fields < COLUMNS) {
+                fieldStart[fields] = start;
+                fieldEnd[fields] = end;
+                fieldEscaped[fields] = escaped;
+            }
+            fields++;
+
+            // A field is followed by a comma, the end of the line or the end of the file.
+            if (p >= limit) {
+                if (!endOfInput) {
+                    return NEED_MORE;
+                }
+                position = p;
+                return fields;
+            }
+            char c = buffer[p];
+            if (c == ',') {
+                p++;
+            } else if (c == '\n') {
+                position = p + 1;
+                return fields;
+            } else if (c == '\r') {
+                if (p + 1 >= limit && !endOfInput) {
+                    return NEED_MORE;
+                }
+                position = (p + 1 < limit && buffer[p + 1] == '\n') ? p + 2 : p + 1;
+                return fields;
+            } else {
+                throw error("Unexpected character after a quoted field.");
+            }
+        }
+    }
+
+    /**
+     * Moves the characters not parsed yet to the start of the buffer and decodes more of the file after them,
+     * growing the buffer only if a single row fills it.
+     *
+     * @throws IOException If an I/O error occurs.
+     */
+    private void fill() throws IOException {
+        int remaining = limit - position;
+        if (position == 0 && limit == buffer.length) {
+            char[] larger = new char[buffer.length * 2];
+            System.arraycopy(buffer, 0, larger, 0, limit);
+            buffer = larger;
+        } else {
+            System.arraycopy(buffer, position, buffer, 0, remaining);
+        }
+        position = 0;
+        limit = remaining;
+
+        int read = in.read(buffer, limit, buffer.length - limit);
+        if (read < 0) {
+            endOfInput = true;
+        } else {
+            limit += read;
+        }
+
+        // Skip the byte order mark some tools write at the start of UTF-8 files.
+        if (!byteOrderMarkChecked && limit > 0) {
+            byteOrderMarkChecked = true;
+            if (buffer[0] == '\uFEFF') {
+                position = 1;
+            }
+        }
+    }
+
+    /**
+     * Builds the employee described by the fields of the current row.
+     *
+     * @return The Analyst or Programmer of the row.
+     * @throws IOException If a field is not valid.
+     */
+    private Employee toEmployee() throws IOException {
+        Employee employee;
+        if (fieldEquals(TYPE, "Analyst")) {
+            Analyst analyst = new Analyst();
+            analyst.setAnnualBonus(parseDecimal(EXTRA));
+            analyst.setAdditionalQualification(text(DETAIL));
+            analyst.setAnnualBonusCalculable(parseBoolean(CALCULABLE));
+            employee = analyst;
+        } else if (fieldEquals(TYPE, "Programmer")) {
+            Programmer programmer = new Programmer();
+            programmer.setMonthlyExtra(parseDecimal(EXTRA));
+            programmer.setMainLanguage(text(DETAIL));
+            programmer.setMonthlyExtraCalculable(parseBoolean(CALCULABLE));
+            employee = programmer;
+        } else {
+            throw error("Unknown employee type '" + text(TYPE) + "'.");
+        }
+
+        employee.setEmployeeNumber(parseInt(NUMBER));
+        employee.setName(text(NAME));
+        employee.nameMasker();
+        employee.setHireEpochDay(parseHireDate(HIRE_DATE));
+        try {
+            employee.setMaxSalary(parseDecimal(MAX_SALARY));
+            employee.setSalary(parseDecimal(SALARY));
+        } catch (SalaryExceedsMaxException e) {
+            throw error("Salary exceeds the maximum salary.");
+        }
+        return employee;
+    }
+
+    /**
+     * Checks if a field holds the given text, ignoring case.
+     *
+     * @param field The index of the field.
+     * @param text  The text to compare with.
+     * @return true if the field holds the text, false otherwise.
+     */
+    private boolean fieldEquals(int field, String text) {
+        int start = fieldStart[field];
+        int length = fieldEnd[field] - start;
+        if (length != text.length()) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (Character.toLowerCase(buffer[start + i]) != Character.toLowerCase(text.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Creates a string from a field, unescaping doubled quotes.
+     *
+     * @param field The index of the field.
+     * @return The text of the field.
+     */
+    private String text(int field) {
+        int start = fieldStart[field];
+        int end = fieldEnd[field];
+        if (!fieldEscaped[field]) {
+            return new String(buffer, start, end - start);
+        }
+        StringBuilder text = new StringBuilder(end - start);
+        for (int i = start; i < end; i++) {
+            text.append(buffer[i]);
+            if (buffer[i] == '"') {
+                i++;
+            }
+        }
+        return text.toString();
+    }
+
+    /**
+     * Parses a field holding an integer.
+     *
+     * @param field The index of the field.
+     * @return The value of the field.
+     * @throws IOException If the field is not a valid integer.
+     */
+    private int parseInt(int field) throws IOException {
+        int p = fieldStart[field];
+        int end = fieldEnd[field];
+        boolean negative = p < end && buffer[p] == '-';
+        if (negative) {
+            p++;
+        }
+        if (p == end || end - p > 10) {
+            throw error("Invalid number '" + text(field) + "'.");
+        }
+        long value = 0;
+        for (; p < end; p++) {
+            int digit = buffer[p] - '0';
+            if (digit < 0 || digit > 9) {
+                throw error("Invalid number '" + text(field) + "'.");
+            }
+            value = value * 10 + digit;
+        }
+        value = negative ? -value : value;
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw error("Number out of range '" + text(field) + "'.");
+        }
+        return (int) value;
+    }
+
+    /**
+     * Parses a field holding a decimal number. Plain decimals whose digits fit in a double's mantissa are
+     * computed with a single exactly rounded division; anything else is left to Double.parseDouble.
+     *
+     * @param field The index of the field.
+     * @return The value of the field.
+     * @throws IOException If the field is not a valid number.
+     */
+    private double parseDecimal(int field) throws IOException {
+        int start = fieldStart[field];
+        int end = fieldEnd[field];
+        int p = start;
+        boolean negative = p < end && buffer[p] == '-';
+        if (negative || (p < end && buffer[p] == '+')) {
+            p++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int fractionDigits = -1;
+        for (; p < end; p++) {
+            char c = buffer[p];
+            if (c >= '0' && c <= '9') {
+                mantissa = mantissa * 10 + (c - '0');
+                digits++;
+                if (fractionDigits >= 0) {
+                    fractionDigits++;
+                }
+                if (mantissa > MAX_EXACT_MANTISSA) {
+                    break;
+                }
+            } else if (c == '.' && fractionDigits < 0) {
+                fractionDigits = 0;
+            } else {
+                break;
+            }
+        }
+        if (p == end && digits > 0 && fractionDigits < POWERS_OF_TEN.length) {
+            double value = (fractionDigits > 0) ? mantissa / POWERS_OF_TEN[fractionDigits] : mantissa;
+            return negative ? -value : value;
+        }
+
+        // Exponents, very long numbers and special values.
+        try {
+            return Double.parseDouble(text(field));
+        } catch (NumberFormatException e) {
+            throw error("Invalid decimal number '" + text(field) + "'.");
+        }
+    }
+
+    /**
+     * Parses a field holding true, false, 1 or 0.
+     *
+     * @param field The index of the field.
+     * @return The value of the field.
+     * @throws IOException If the field is not a valid boolean.
+     */
+    private boolean parseBoolean(int field) throws IOException {
+        if (fieldEquals(field, "true") || fieldEquals(field, "1")) {
+            return true;
+        }
+        if (fieldEquals(field, "false") || fieldEquals(field, "0")) {
+            return false;
+        }
+        throw error("Invalid boolean '" + text(field) + "'.");
+    }
+
+    /**
+     * Parses a field holding a hire date, which may be empty if the date is not specified.
+     *
+     * @param field The index of the field.
+     * @return The epoch day of the date, or Employee.NO_DATE if the field is empty.
+     * @throws IOException If the field is not a valid hire date.
+     */
+    private long parseHireDate(int field) throws IOException {
+        int start = fieldStart[field];
+        int length = fieldEnd[field] - start;
+        if (length == 0) {
+            return Employee.NO_DATE;
+        }
+        long epochDay;
+        try {
+            epochDay = dateController.parseEpochDay(buffer, start, length);
+        } catch (InvalidDateException e) {
+            throw error(e.getMessage());
+        }
+        if (epochDay < earliestHireDay || epochDay > latestHireDay) {
+            throw error("Invalid hire date. The date cannot be in the future or before 1907.");
+        }
+        return epochDay;
+    }
+
+    /**
+     * Creates an exception for a row that is not valid, mentioning its line.
+     *
+     * @param message The description of the problem.
+     * @return The exception to throw.
+     */
+    private StreamCorruptedException error(String message) {
+        return new StreamCorruptedException("Line " + lineNumber + ": " + message);
+    }
+}
@@ -0,0 +1,307 @@
+package controllers;
+
+// For encoding the rows from a reusable character buffer.
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import models.Analyst;
+import models.Employee;
+import models.Programmer;
+
+/**
+ * Writes employees to a CSV file, one row per employee after a header row.
+ * <p>
+ * The columns are type, employeeNumber, name, hireDate (DD-MM-YYYY, empty if not specified), salary, maxSalary,
+ * extra (the annual bonus or monthly extra), detail (the additional qualification or main language) and
+ * calculable. Rows are formatted into a reusable character buffer without creating intermediate strings, and
+ * fields holding commas, quotes or line breaks are quoted. The unmasked name is written when it is known.
+ *
+ * @param <E> The type of elements written, either Analyst or Programmer instances.
+ */
+public class CsvEmployeeWriter<E> implements Closeable {
+
+    /**
+     * The header row naming the columns.
+     */
+    static final String HEADER = "type,employeeNumber,name,hireDate,salary,maxSalary,extra,detail,calculable";
+
+    /**
+     * Size in characters of the buffer rows are formatted into.
+     */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Largest absolute value written with the fast decimal formatting, so that its cents fit exactly in a long.
+     */
+    private static final double MAX_FAST_DECIMAL = 1e13;
+
+    /**
+     * The channel of the file, kept to force it to disk on commit.
+     */
+    private final FileChannel channel;
+
+    /**
+     * The writer encoding characters into the file.
+     */
+    private final Writer out;
+
+    /**
+     * The buffer rows are formatted into.
+     */
+    private final char[] buffer = new char[BUFFER_SIZE];
+
+    /**
+     * The number of characters in the buffer.
+     */
+    private int position;
+
+    /**
+     * The number of employees written so far.
+     */
+    private long recordCount;
+
+    /**
+     * Whether commit has already flushed and forced the file to disk.
+     */
+    private boolean committed;
+
+    /**
+     * Date controller formatting hire dates into the buffer.
+     */
+    private final DateController dateController = new DateController();
+
+    /**
+     * Creates (or truncates) the given file and writes the header row.
+     *
+     * @param filename The name of the file to write to.
+     * @throws IOException If the file cannot be opened for writing.
+     */
+    public CsvEmployeeWriter(String filename) throws IOException {
+        channel = FileChannel.open(Path.of(filename), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        out = new OutputStreamWriter(Channels.newOutputStream(channel), StandardCharsets.UTF_8);
+        appendText(HEADER, false);
+        append('\n');
+    }
+
+    /**
+     * Appends an employee's row to the file.
+     *
+     * @param employee The employee to write, either an Analyst or a Programmer.
+     * @throws IOException If an I/O error occurs.
+     */
+    public void write(E employee) throws IOException {
+        Employee data = (Employee) employee;
+        double extra;
+        String detail;
+        boolean calculable;
+        if (employee instanceof Analyst analyst) {
+            appendText("Analyst", false);
+            extra = analyst.getAnnualBonus();
+            detail = analyst.getAdditionalQualification();
+            calculable = analyst.getAnnualBonusCalculable();
+        } else if (employee instanceof Programmer programmer) {
+            appendText("Programmer", false);
+            extra = programmer.getMonthlyExtra();
+            detail = programmer.getMainLanguage();
+            calculable = programmer.getMonthlyExtraCalculable();
+        } else {
+            throw new IOException("Unsupported employee type: " + employee.getClass().getName());
+        }
+        append(',');
+        appendLong(data.getEmployeeNumber());
+        append(',');
+        appendText(data.getName() != null ? data.getName() : data.getMaskedName(), true);
+        append(',');
+        if (data.getHireEpochDay() != Employee.NO_DATE) {
+            ensureCapacity(10);
+            position += dateController.formatEpochDay(data.getHireEpochDay(), buffer, position);
+        }
+        append(',');
+        appendDecimal(data.getSalary());
+        append(',');
+        appendDecimal(data.getMaxSalary());
+        append(',');
+        appendDecimal(extra);
+        append(',');
+        appendText(detail, true);
+        append(',');
+        appendText(calculable ? "true" : "false", false);
+        append('\n');
+        recordCount++;
+    }
+
+    /**
+     * Retrieves the number of employees written so far.
+     *
+     * @return The number of employees written.
+     */
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Flushes the remaining rows and forces the file to the storage device, so the file is complete on disk
+     * before it is, for example, moved over another one. No more employees can be written afterwards.
+     *
+     * @throws IOException If an I/O error occurs.
+     */
+    public void commit() throws IOException {
+        flush();
+        out.flush();
+        channel.force(true);
+        committed = true;
+    }
+
+    /**
+     * Flushes the remaining rows (unless commit already did) and closes the file.
+     *
+     * @throws IOException If an I/O error occurs.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            if (!committed) {
+                flush();
+            }
+        } finally {
+            out.close();
+        }
+    }
+
+    /**
+     * Appends a character to the buffer.
+     *
+     * @param c The character to append.
+     * @throws IOException If the buffer had to be flushed and an I/O error occurred.
+     */
+    private void append(char c) throws IOException {
+        ensureCapacity(1);
+        buffer[position++] = c;
+    }
+
+    /**
+     * Appends a text field to the buffer, quoting it if it holds a comma, a quote or a line break.
+     *
+     * @param text    The text to append, or null for an empty field.
+     * @param escaped Whether the text may need quoting.
+     * @throws IOException If the buffer had to be flushed and an I/O error occurred.
+     */
+    private void appendText(String text, boolean escaped) throws IOException {
+        if (text == null) {
+            return;
+        }
+        int length = text.length();
+        boolean quoted = false;
+        if (escaped) {
+            for (int i = 0; i < length && !quoted; i++) {
+                char c = text.charAt(i);
+                quoted = c == ',' || c == '"' || c == '\n' || c == '\r';
+            }
+        }
+        if (!quoted) {
+            // Copy the text in chunks, so texts longer than the buffer are also written.
+            int copied = 0;
+            while (copied < length) {
+                ensureCapacity(1);
+                int chunk = Math.min(length - copied, buffer.length - position);
+                text.getChars(copied, copied + chunk, buffer, position);
+                position += chunk;
+                copied += chunk;
+            }
+            return;
+        }
+        append('"');
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c == '"') {
+                append('"');
+            }
+            append(c);
+        }
+        append('"');
+    }
+
+    /**
+     * Appends the decimal digits of a number to the buffer.
+     *
+     * @param value The number to append.
+     * @throws IOException If the buffer had to be flushed and an I/O error occurred.
+     */
+    private void appendLong(long value) throws IOException {
+        ensureCapacity(20);
+        if (value < 0) {
+            buffer[position++] = '-';
+            value = -value;
+        }
+        int digits = 1;
+        for (long rest = value / 10; rest > 0; rest /= 10) {
+            digits++;
+        }
+        for (int i = position + digits - 1; i >= position; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        position += digits;
+    }
+
+    /**
+     * Appends a decimal number to the buffer. Amounts with at most two decimals, which is what salaries hold,
+     * are formatted from their cents; other values are written with Double.toString so they read back exactly.
+     *
+     * @param value The number to append.
+     * @throws IOException If the buffer had to be flushed and an I/O error occurred.
+     */
+    private void appendDecimal(double value) throws IOException {
+        if (Math.abs(value) < MAX_FAST_DECIMAL) {
+            long cents = Math.round(value * 100);
+            if (cents / 100.0 == value) {
+                if (cents < 0) {
+                    append('-');
+                    cents = -cents;
+                }
+                appendLong(cents / 100);
+                long fraction = cents % 100;
+                if (fraction != 0) {
+                    ensureCapacity(3);
+                    buffer[position++] = '.';
+                    buffer[position++] = (char) ('0' + fraction / 10);
+                    if (fraction % 10 != 0) {
+                        buffer[position++] = (char) ('0' + fraction % 10);
+                    }
+                }
+                return;
+            }
+        }
+        appendText(Double.toString(value), false);
+    }
+
+    /**
+     * Flushes the buffer if it has less than the given room left.
+     *
+     * @param room The number of characters about to be appended.
+     * @throws IOException If an I/O error occurs.
+     */
+    private void ensureCapacity(int room) throws IOException {
+        if (buffer.length - position < room) {
+            flush();
+        }
+    }
+
+    /**
+     * Passes the buffered characters to the writer and clears the buffer.
+     *
+     * @throws IOException If an I/O error occurs.
+     */
+    private void flush() throws IOException {
+        out.write(buffer, 0, position);
+        position = 0;
+    }
+}
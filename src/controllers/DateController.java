@@ -1,9 +1,12 @@
 package controllers;
 
 // Required to allow proper serialization of objects that utilize this controller.
+import java.io.Serial;
 import java.io.Serializable;
 // For working with dates.
 import java.text.SimpleDateFormat;
+import java.time.DateTimeException;
+import java.time.LocalDate;
 import java.util.GregorianCalendar;
 // For the use of a custom date exception.
 import models.InvalidDateException;
@@ -13,6 +16,13 @@ import models.InvalidDateException;
  */
 public class DateController implements Serializable {
 
+    /**
+     * Stores a unique ID for object identification purposes throughout serialization, pinned to the value computed
+     * for the original class, as legacy files hold a DateController inside every employee.
+     */
+    @Serial
+    private static final long serialVersionUID = 6696667767645566863L;
+
     /**
      * Creates a GregorianCalendar instance from a date string in "DD/MM/YYYY" format.
      *
@@ -54,4 +64,128 @@ public class DateController implements Serializable {
         }
     }
 
+    /**
+     * Converts a GregorianCalendar instance to the number of days elapsed since 01-01-1970.
+     * Used by the compact binary formats so a date costs a single primitive instead of a calendar object graph.
+     *
+     * @param calendar The GregorianCalendar instance to convert.
+     * @return The epoch day of the calendar's date.
+     */
+    public long toEpochDay(GregorianCalendar calendar) {
+        return LocalDate.of(calendar.get(GregorianCalendar.YEAR), calendar.get(GregorianCalendar.MONTH) + 1,
+                calendar.get(GregorianCalendar.DAY_OF_MONTH)).toEpochDay();
+    }
+
+    /**
+     * Creates a GregorianCalendar instance from a number of days elapsed since 01-01-1970.
+     *
+     * @param epochDay The epoch day to convert.
+     * @return A GregorianCalendar instance representing the same date as createGregorianCalendar would.
+     */
+    public GregorianCalendar fromEpochDay(long epochDay) {
+        LocalDate date = LocalDate.ofEpochDay(epochDay);
+        return new GregorianCalendar(date.getYear(), date.getMonthValue() - 1, date.getDayOfMonth());
+    }
+
+    /**
+     * Parses a date straight from a range of characters, without creating strings or calendars.
+     * Both the "DD-MM-YYYY" format used throughout the application and the ISO "YYYY-MM-DD" format are accepted,
+     * with either dashes or slashes as separators.
+     *
+     * @param chars  The characters holding the date.
+     * @param offset The index of the first character of the date.
+     * @param length The number of characters of the date.
+     * @return The number of days elapsed since 01-01-1970.
+     * @throws InvalidDateException If the characters do not hold a valid date in one of the accepted formats.
+     */
+    public long parseEpochDay(char[] chars, int offset, int length) throws InvalidDateException {
+        if (length != 10) {
+            throw new InvalidDateException("Invalid date format. The date should be in 'DD-MM-YYYY' format.");
+        }
+        int day;
+        int month;
+        int year;
+        if (isSeparator(chars[offset + 2]) && isSeparator(chars[offset + 5])) {
+            day = parseDigits(chars, offset, 2);
+            month = parseDigits(chars, offset + 3, 2);
+            year = parseDigits(chars, offset + 6, 4);
+        } else if (isSeparator(chars[offset + 4]) && isSeparator(chars[offset + 7])) {
+            year = parseDigits(chars, offset, 4);
+            month = parseDigits(chars, offset + 5, 2);
+            day = parseDigits(chars, offset + 8, 2);
+        } else {
+            throw new InvalidDateException("Invalid date format. The date should be in 'DD-MM-YYYY' format.");
+        }
+        if (day < 0 || month < 0 || year < 0) {
+            throw new InvalidDateException("Invalid date format. The date should only contain digits and separators.");
+        }
+        try {
+            return LocalDate.of(year, month, day).toEpochDay();
+        } catch (DateTimeException e) {
+            throw new InvalidDateException("Invalid date: " + new String(chars, offset, length));
+        }
+    }
+
+    /**
+     * Writes a date in "DD-MM-YYYY" format straight into a character array, without creating strings or calendars.
+     *
+     * @param epochDay The number of days elapsed since 01-01-1970, for a year between 0 and 9999.
+     * @param target   The array receiving the characters.
+     * @param offset   The index of the first character to write.
+     * @return The number of characters written, which is always 10.
+     */
+    public int formatEpochDay(long epochDay, char[] target, int offset) {
+        LocalDate date = LocalDate.ofEpochDay(epochDay);
+        writeDigits(date.getDayOfMonth(), target, offset, 2);
+        target[offset + 2] = '-';
+        writeDigits(date.getMonthValue(), target, offset + 3, 2);
+        target[offset + 5] = '-';
+        writeDigits(date.getYear(), target, offset + 6, 4);
+        return 10;
+    }
+
+    /**
+     * Checks if a character separates the parts of a date.
+     *
+     * @param c The character to check.
+     * @return true for a dash or a slash, false otherwise.
+     */
+    private static boolean isSeparator(char c) {
+        return c == '-' || c == '/';
+    }
+
+    /**
+     * Parses a fixed number of decimal digits.
+     *
+     * @param chars  The characters holding the digits.
+     * @param offset The index of the first digit.
+     * @param count  The number of digits.
+     * @return The value of the digits, or -1 if one of the characters is not a digit.
+     */
+    private static int parseDigits(char[] chars, int offset, int count) {
+        int value = 0;
+        for (int i = offset; i < offset + count; i++) {
+            int digit = chars[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    /**
+     * Writes a value as a fixed number of decimal digits, padded with zeros.
+     *
+     * @param value  The value to write.
+     * @param target The array receiving the digits.
+     * @param offset The index of the first digit.
+     * @param count  The number of digits.
+     */
+    private static void writeDigits(int value, char[] target, int offset, int count) {
+        for (int i = offset + count - 1; i >= offset; i--) {
+            target[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
 }
@@ -0,0 +1,87 @@
+package controllers;
+
+// For encoding records into buffers.
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+
+import models.Analyst;
+import models.Employee;
+import models.Programmer;
+
+/**
+ * Utility class for encoding employees as tagged binary records, shared by the compact file formats.
+ * Each record starts with a type tag followed by the fields written by Employee.writeTo.
+ */
+final class EmployeeCodec {
+
+    /**
+     * Type tag for Analyst records.
+     */
+    static final byte ANALYST = 1;
+
+    /**
+     * Type tag for Programmer records.
+     */
+    static final byte PROGRAMMER = 2;
+
+    /**
+     * Prevents instantiation of this utility class.
+     */
+    private EmployeeCodec() {
+    }
+
+    /**
+     * Encodes an employee as a tagged record at the buffer's current position.
+     *
+     * @param employee The employee to encode, either an Analyst or a Programmer.
+     * @param buffer   The buffer to write the record to.
+     * @throws java.nio.BufferOverflowException If the buffer does not have enough space left.
+     * @throws IllegalArgumentException         If the object is not a supported employee type.
+     */
+    static void encode(Object employee, ByteBuffer buffer) {
+        if (employee instanceof Analyst) {
+            buffer.put(ANALYST);
+        } else if (employee instanceof Programmer) {
+            buffer.put(PROGRAMMER);
+        } else {
+            throw new IllegalArgumentException("Unsupported employee type: " + employee);
+        }
+        ((Employee) employee).writeTo(buffer);
+    }
+
+    /**
+     * Reads the employee number of a tagged record without decoding the rest of it.
+     *
+     * @param buffer   The buffer holding the record.
+     * @param position The position of the record's type tag.
+     * @return The employee number, which Employee.writeTo puts first.
+     * @throws IndexOutOfBoundsException If the buffer does not hold the employee number.
+     */
+    static int employeeNumberAt(ByteBuffer buffer, int position) {
+        return buffer.getInt(position + 1);
+    }
+
+    /**
+     * Decodes a tagged record starting at the buffer's current position.
+     *
+     * @param buffer The buffer to read the record from.
+     * @param <E>    The type of elements the caller reads, which the decoded employee is returned as.
+     * @return The decoded Analyst or Programmer.
+     * @throws IOException If the record has an unknown type tag.
+     * @throws java.nio.BufferUnderflowException If the buffer does not hold the whole record.
+     */
+    static <E> E decode(ByteBuffer buffer) throws IOException {
+        byte type = buffer.get();
+        Employee employee;
+        if (type == ANALYST) {
+            employee = new Analyst();
+        } else if (type == PROGRAMMER) {
+            employee = new Programmer();
+        } else {
+            throw new StreamCorruptedException("Unknown employee record type: " + type);
+        }
+        employee.readFrom(buffer);
+        return (E) employee;
+    }
+}
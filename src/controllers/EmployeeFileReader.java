@@ -0,0 +1,179 @@
+package controllers;
+
+// For reading data through a file channel.
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads employees from a compact data file written by EmployeeFileWriter.
+ * <p>
+ * The record count stored in the header tells the reader when to stop, so reaching the end of the
+ * data never relies on an EOFException; one is only thrown if the file turns out to be truncated.
+ *
+ * @param <E> The type of elements read, either Analyst or Programmer instances.
+ */
+public class EmployeeFileReader<E> implements EmployeeReader<E> {
+
+    /**
+     * The channel the records are read from.
+     */
+    private final FileChannel channel;
+
+    /**
+     * The buffer holding the bytes read from the channel but not yet decoded.
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * The number of records stored in the file, as stated by its header.
+     */
+    private final long recordCount;
+
+    /**
+     * The number of records read so far.
+     */
+    private long recordsRead;
+
+    /**
+     * Opens the given file and reads its header.
+     *
+     * @param filename The name of the file to read from.
+     * @throws IOException If the file cannot be opened or is not a compact employee data file.
+     */
+    public EmployeeFileReader(String filename) throws IOException {
+        this(filename, EmployeeFileWriter.BUFFER_SIZE);
+    }
+
+    /**
+     * Opens the given file with a read buffer of the given size, so that many files can be read at once
+     * without each holding a full-sized buffer.
+     *
+     * @param filename   The name of the file to read from.
+     * @param bufferSize The size in bytes of the read buffer, which also bounds the size of a record.
+     * @throws IOException If the file cannot be opened or is not a compact employee data file.
+     */
+    EmployeeFileReader(String filename, int bufferSize) throws IOException {
+        channel = FileChannel.open(Path.of(filename), StandardOpenOption.READ);
+        buffer = ByteBuffer.allocateDirect(bufferSize);
+        buffer.flip();
+        try {
+            if (channel.size() < EmployeeFileWriter.HEADER_SIZE) {
+                throw new StreamCorruptedException("Not an employee data file: " + filename);
+            }
+            require(EmployeeFileWriter.HEADER_SIZE);
+            if (buffer.getInt() != EmployeeFileWriter.MAGIC) {
+                throw new StreamCorruptedException("Not an employee data file: " + filename);
+            }
+            short version = buffer.getShort();
+            if (version != EmployeeFileWriter.VERSION) {
+                throw new StreamCorruptedException("Unsupported employee data file version: " + version);
+            }
+            buffer.getShort(); // Reserved flags.
+            recordCount = buffer.getLong();
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Retrieves the number of records stored in the file.
+     *
+     * @return The record count from the file header.
+     */
+    @Override
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Retrieves the number of records read so far.
+     *
+     * @return The number of records read.
+     */
+    @Override
+    public long getRecordsRead() {
+        return recordsRead;
+    }
+
+    /**
+     * Checks if there are records left to read.
+     *
+     * @return true if at least one more record can be read, false otherwise.
+     */
+    public boolean hasNext() {
+        return recordsRead < recordCount;
+    }
+
+    /**
+     * Reads the next employee from the file.
+     *
+     * @return The next employee, or null if every record has already been read.
+     * @throws IOException If an I/O error occurs or the file is truncated or corrupted.
+     */
+    @Override
+    public E read() throws IOException {
+        if (!hasNext()) {
+            return null;
+        }
+        require(Integer.BYTES);
+        int length = buffer.getInt();
+        if (length <= 0 || length > buffer.capacity()) {
+            throw new StreamCorruptedException("Invalid record length " + length + " at record " + recordsRead + ".");
+        }
+        require(length);
+
+        // Restrict the buffer to this record so a corrupted one cannot be decoded from its neighbour's bytes.
+        int end = buffer.position() + length;
+        int limit = buffer.limit();
+        buffer.limit(end);
+        try {
+            E employee = EmployeeCodec.decode(buffer);
+            recordsRead++;
+            return employee;
+        } catch (BufferUnderflowException e) {
+            throw new StreamCorruptedException("Record " + recordsRead + " is shorter than its fields.");
+        } finally {
+            buffer.limit(limit);
+            buffer.position(end);
+        }
+    }
+
+    /**
+     * Closes the underlying file.
+     *
+     * @throws IOException If an I/O error occurs.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Makes sure the buffer holds at least the given number of undecoded bytes, reading more from the channel if needed.
+     *
+     * @param bytes The number of bytes required.
+     * @throws IOException If an I/O error occurs or the file ends before enough bytes are available.
+     */
+    private void require(int bytes) throws IOException {
+        if (buffer.remaining() >= bytes) {
+            return;
+        }
+        buffer.compact();
+        try {
+            while (buffer.position() < bytes) {
+                if (channel.read(buffer) < 0) {
+                    throw new EOFException("Unexpected end of file after " + recordsRead + " of " + recordCount + " records.");
+                }
+            }
+        } finally {
+            buffer.flip();
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package controllers;
+
+// For writing data through a file channel.
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes employees to a compact data file through a large direct buffer over a FileChannel.
+ * <p>
+ * The file starts with a header holding a magic number, the schema version, reserved flags and the
+ * record count, followed by one length-prefixed record per employee. The record count is only known
+ * once every employee has been written, so it is patched into the header when the writer is closed.
+ *
+ * @param <E> The type of elements written, either Analyst or Programmer instances.
+ */
+public class EmployeeFileWriter<E> implements Closeable {
+
+    /**
+     * Magic number identifying compact employee data files ("EMPL").
+     */
+    static final int MAGIC = 0x454D504C;
+
+    /**
+     * Current schema version of the compact format.
+     */
+    static final short VERSION = 1;
+
+    /**
+     * Size in bytes of the file header: magic (4), version (2), flags (2) and record count (8).
+     */
+    static final int HEADER_SIZE = 16;
+
+    /**
+     * Size in bytes of the direct buffer used for both writing and reading.
+     */
+    static final int BUFFER_SIZE = 1 << 20;
+
+    /**
+     * The channel the records are written to.
+     */
+    private final FileChannel channel;
+
+    /**
+     * The buffer records are encoded into before being written to the channel.
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * The number of records written so far.
+     */
+    private long recordCount;
+
+    /**
+     * Whether commit has already written the header and forced the file to disk.
+     */
+    private boolean committed;
+
+    /**
+     * Creates (or truncates) the given file and reserves space for its header.
+     *
+     * @param filename The name of the file to write to.
+     * @throws IOException If the file cannot be opened for writing.
+     */
+    public EmployeeFileWriter(String filename) throws IOException {
+        channel = FileChannel.open(Path.of(filename), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        putHeader(buffer, 0);
+    }
+
+    /**
+     * Appends an employee to the file.
+     *
+     * @param employee The employee to write, either an Analyst or a Programmer.
+     * @throws IOException If an I/O error occurs or the record is larger than the write buffer.
+     */
+    public void write(E employee) throws IOException {
+        int start = buffer.position();
+        try {
+            encodeRecord(employee);
+        } catch (BufferOverflowException e) {
+            // The record did not fit in what was left of the buffer, so flush and encode it again from the start.
+            buffer.position(start);
+            flush();
+            try {
+                encodeRecord(employee);
+            } catch (BufferOverflowException tooLarge) {
+                throw new IOException("Employee record exceeds the " + BUFFER_SIZE + " byte write buffer.", tooLarge);
+            }
+        }
+        recordCount++;
+    }
+
+    /**
+     * Retrieves the number of records written so far.
+     *
+     * @return The number of records written.
+     */
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Flushes the remaining records, patches the record count into the header and forces everything to the
+     * storage device, so the file is complete on disk before it is, for example, moved over another one.
+     * No more employees can be written afterwards.
+     *
+     * @throws IOException If an I/O error occurs.
+     */
+    public void commit() throws IOException {
+        finish();
+        channel.force(true);
+        committed = true;
+    }
+
+    /**
+     * Flushes the remaining records, patches the record count into the header (unless commit already did)
+     * and closes the file.
+     *
+     * @throws IOException If an I/O error occurs.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            if (!committed) {
+                finish();
+            }
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Flushes the remaining records and patches the record count into the header.
+     *
+     * @throws IOException If an I/O error occurs.
+     */
+    private void finish() throws IOException {
+        flush();
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        putHeader(header, recordCount);
+        header.flip();
+        while (header.hasRemaining()) {
+            channel.write(header, header.position());
+        }
+    }
+
+    /**
+     * Encodes a record at the buffer's position, prefixed with its length.
+     *
+     * @param employee The employee to encode.
+     */
+    private void encodeRecord(E employee) {
+        if (buffer.remaining() < Integer.BYTES) {
+            throw new BufferOverflowException();
+        }
+        int start = buffer.position();
+        buffer.position(start + Integer.BYTES);
+        EmployeeCodec.encode(employee, buffer);
+        buffer.putInt(start, buffer.position() - start - Integer.BYTES);
+    }
+
+    /**
+     * Writes the buffered bytes to the channel and clears the buffer.
+     *
+     * @throws IOException If an I/O error occurs.
+     */
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Puts a file header with the given record count into a buffer.
+     *
+     * @param target      The buffer to write the header to.
+     * @param recordCount The number of records stored in the file.
+     */
+    private static void putHeader(ByteBuffer target, long recordCount) {
+        target.putInt(MAGIC);
+        target.putShort(VERSION);
+        target.putShort((short) 0);
+        target.putLong(recordCount);
+    }
+}
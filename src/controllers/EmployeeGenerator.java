@@ -0,0 +1,147 @@
+package controllers;
+
+// For generating the employees in parallel, one chunk per task.
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+// For the hire date of the generated employees.
+import java.time.LocalDate;
+
+import models.Analyst;
+import models.Employee;
+import models.Programmer;
+
+/**
+ * Generates large numbers of placeholder employees, for testing the application with big lists.
+ * <p>
+ * The employees are generated in chunks on the common fork-join pool, every chunk into its own list, and the
+ * lists are then spliced together in constant time each, so the time taken grows linearly with the number of
+ * employees and is shared by every available core. Each chunk receives its exact share of programmers, placed at
+ * random positions, so the requested mix holds for the whole batch.
+ */
+public final class EmployeeGenerator {
+
+    /**
+     * Number of employees generated by each task.
+     */
+    static final int CHUNK_SIZE = 1 << 15;
+
+    /**
+     * Hire date given to every generated employee, as a number of days since 01-01-1970 (10-10-1910).
+     */
+    private static final long HIRE_EPOCH_DAY = LocalDate.of(1910, 10, 10).toEpochDay();
+
+    /**
+     * Name given to every generated programmer.
+     */
+    private static final String PROGRAMMER_NAME = "ProgrammerDummy";
+
+    /**
+     * Name given to every generated analyst.
+     */
+    private static final String ANALYST_NAME = "AnalystDummy";
+
+    /**
+     * Prevents instantiation of this utility class.
+     */
+    private EmployeeGenerator() {
+    }
+
+    /**
+     * Generates one employee for each of the given employee numbers, a given share of them being programmers and
+     * the rest analysts. The employees are returned in the order of their numbers.
+     *
+     * @param numbers           The employee numbers of the employees to generate, as allocated by EmployeeNumberAllocator.
+     * @param programmerPercent The percentage of programmers among them, from 0 to 100.
+     * @param listener          The listener notified of the progress, possibly from several threads, or null if none is needed.
+     * @param <E>               The type of elements in the GenericDoublyLinkedList.
+     * @return A GenericDoublyLinkedList holding the generated employees.
+     * @throws InterruptedException If the thread is interrupted; the tasks not yet finished are then canceled.
+     */
+    public static <E> GenericDoublyLinkedList<E> generate(int[] numbers, int programmerPercent,
+                                                          ProgressListener listener) throws InterruptedException {
+        if (programmerPercent < 0 || programmerPercent > 100) {
+            throw new IllegalArgumentException("Invalid percentage of programmers: " + programmerPercent + "%.");
+        }
+        int count = numbers.length;
+
+        // The programmers of the whole batch, shared out between the chunks in proportion to their size.
+        long programmers = Math.round(count * (programmerPercent / 100.0));
+
+        AtomicLong generated = new AtomicLong();
+        List<Callable<GenericDoublyLinkedList<E>>> tasks = new ArrayList<>(count / CHUNK_SIZE + 1);
+        for (int start = 0; start < count; start += CHUNK_SIZE) {
+            int from = start;
+            int to = (int) Math.min((long) start + CHUNK_SIZE, count);
+            int chunkProgrammers = (int) (programmers * to / count - programmers * from / count);
+            tasks.add(() -> {
+                GenericDoublyLinkedList<E> chunk = generateChunk(numbers, from, to, chunkProgrammers);
+                long done = generated.addAndGet(to - from);
+                if (listener != null) {
+                    listener.progressChanged(done, count);
+                }
+                return chunk;
+            });
+        }
+
+        // Splice the chunks together in order, so the employees keep the order of their numbers.
+        GenericDoublyLinkedList<E> list = new GenericDoublyLinkedList<>();
+        try {
+            for (Future<GenericDoublyLinkedList<E>> chunk : ForkJoinPool.commonPool().invokeAll(tasks)) {
+                list.addAll(chunk.get());
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Could not generate the employees: " + e.getCause(), e.getCause());
+        }
+        return list;
+    }
+
+    /**
+     * Generates one chunk of employees, choosing which of them are programmers by selection sampling, so the chunk
+     * holds exactly the given number of programmers.
+     *
+     * @param numbers     The employee numbers of every employee being generated.
+     * @param from        The index of the chunk's first employee number.
+     * @param to          The index following the chunk's last employee number.
+     * @param programmers The number of programmers among them.
+     * @param <E>         The type of elements in the GenericDoublyLinkedList.
+     * @return A GenericDoublyLinkedList holding the chunk's employees.
+     */
+    private static <E> GenericDoublyLinkedList<E> generateChunk(int[] numbers, int from, int to, int programmers) {
+        SplittableRandom random = new SplittableRandom();
+        String programmerMask = "*".repeat(PROGRAMMER_NAME.length());
+        String analystMask = "*".repeat(ANALYST_NAME.length());
+        GenericDoublyLinkedList<E> chunk = new GenericDoublyLinkedList<>();
+        int programmersLeft = programmers;
+        for (int i = from; i < to; i++) {
+            // Each remaining position is a programmer with the probability that keeps the total exact.
+            // The employees are filled in the way the codecs decode them, without parsing a date for each one;
+            // their salaries, maximum salaries and extras are left at zero.
+            Employee employee;
+            if (random.nextInt(to - i) < programmersLeft) {
+                Programmer programmer = new Programmer();
+                programmer.setName(PROGRAMMER_NAME);
+                programmer.setMaskedName(programmerMask);
+                programmer.setMainLanguage("None");
+                employee = programmer;
+                programmersLeft--;
+            } else {
+                Analyst analyst = new Analyst();
+                analyst.setName(ANALYST_NAME);
+                analyst.setMaskedName(analystMask);
+                analyst.setAdditionalQualification("None");
+                employee = analyst;
+            }
+            employee.setEmployeeNumber(numbers[i]);
+            employee.setHireEpochDay(HIRE_EPOCH_DAY);
+            chunk.add((E) employee, numbers[i]);
+        }
+        return chunk;
+    }
+}
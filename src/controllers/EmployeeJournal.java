@@ -0,0 +1,409 @@
+package controllers;
+
+// For appending entries through a file channel.
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import models.Analyst;
+import models.Employee;
+import models.Programmer;
+import models.SalaryExceedsMaxException;
+
+/**
+ * Append-only write-ahead log of the changes made to the employees of a data file since it was last saved.
+ * <p>
+ * The journal lives next to the data file (with a ".journal" suffix), so a single change costs one small
+ * append instead of rewriting the whole data file. Loading the data file and replaying the journal gives back
+ * the latest state; compaction saves a new data file and then truncates the journal.
+ * <p>
+ * Each entry is stored as its payload length, a CRC32 of the payload and the payload itself (an operation code
+ * followed by its arguments). Every operation stores absolute values, so replaying an entry whose effect is
+ * already part of the data file leaves it unchanged, which keeps a crash between saving and truncating harmless.
+ *
+ * @param <E> The type of elements in the journaled list.
+ */
+public class EmployeeJournal<E> implements Closeable {
+
+    /**
+     * Suffix appended to the data file name to get the journal file name.
+     */
+    public static final String SUFFIX = ".journal";
+
+    /**
+     * Operation code of an entry adding an employee.
+     */
+    private static final byte CREATE = 1;
+
+    /**
+     * Operation code of an entry removing an employee.
+     */
+    private static final byte REMOVE = 2;
+
+    /**
+     * Operation code of an entry changing an employee's salary.
+     */
+    private static final byte SALARY_UPDATE = 3;
+
+    /**
+     * Operation code of an entry changing an employee's bonus calculation flag.
+     */
+    private static final byte FLAG_CHANGE = 4;
+
+    /**
+     * Size in bytes of the length and checksum preceding each payload.
+     */
+    private static final int ENTRY_HEADER_SIZE = 8;
+
+    /**
+     * Size in bytes of the buffer entries are encoded into before being appended.
+     */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * The path of the journal file.
+     */
+    private final Path path;
+
+    /**
+     * The channel entries are appended to.
+     */
+    private final FileChannel channel;
+
+    /**
+     * The buffer entries are encoded into.
+     */
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+
+    /**
+     * Checksum calculator reused for every entry.
+     */
+    private final CRC32 crc = new CRC32();
+
+    /**
+     * The number of entries in the journal file.
+     */
+    private long entryCount;
+
+    /**
+     * Opens (or creates) the journal of the given data file, ready for appending.
+     *
+     * @param dataFilename The name of the data file the journal belongs to.
+     * @throws IOException If the journal file cannot be opened.
+     */
+    public EmployeeJournal(String dataFilename) throws IOException {
+        path = Path.of(dataFilename + SUFFIX);
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        channel.position(channel.size());
+    }
+
+    /**
+     * Checks whether the given data file has a journal with entries to replay.
+     *
+     * @param dataFilename The name of the data file.
+     * @return true if a non-empty journal exists next to the data file, false otherwise.
+     * @throws IOException If the size of the journal cannot be read.
+     */
+    public static boolean hasEntries(String dataFilename) throws IOException {
+        Path journalPath = Path.of(dataFilename + SUFFIX);
+        return Files.exists(journalPath) && Files.size(journalPath) > 0;
+    }
+
+    /**
+     * Records that an employee was added at the end of the list.
+     *
+     * @param employee The employee added.
+     * @throws IOException If the entry cannot be appended.
+     */
+    public void logCreate(E employee) throws IOException {
+        buffer.clear();
+        putCreate(employee);
+        append();
+    }
+
+    /**
+     * Records that several employees were added at the end of the list, with a single append.
+     *
+     * @param employees The employees added, in the order they were added.
+     * @throws IOException If the entries cannot be appended.
+     */
+    public void logCreateAll(Collection<? extends E> employees) throws IOException {
+        buffer.clear();
+        for (E employee : employees) {
+            int start = buffer.position();
+            try {
+                putCreate(employee);
+            } catch (BufferOverflowException e) {
+                // Write what fits so far and encode this entry again into the emptied buffer.
+                buffer.position(start);
+                writeBuffer();
+                buffer.clear();
+                putCreate(employee);
+            }
+        }
+        append();
+    }
+
+    /**
+     * Records that an employee was removed.
+     *
+     * @param employeeNumber The number of the employee removed.
+     * @throws IOException If the entry cannot be appended.
+     */
+    public void logRemove(int employeeNumber) throws IOException {
+        buffer.clear();
+        int start = beginEntry(REMOVE);
+        buffer.putInt(employeeNumber);
+        endEntry(start);
+        append();
+    }
+
+    /**
+     * Records an employee's new salary.
+     *
+     * @param employeeNumber The number of the employee.
+     * @param salary         The new salary.
+     * @throws IOException If the entry cannot be appended.
+     */
+    public void logSalaryUpdate(int employeeNumber, double salary) throws IOException {
+        buffer.clear();
+        int start = beginEntry(SALARY_UPDATE);
+        buffer.putInt(employeeNumber);
+        buffer.putDouble(salary);
+        endEntry(start);
+        append();
+    }
+
+    /**
+     * Records a change of an employee's flag telling whether its annual bonus or monthly extra can be calculated.
+     *
+     * @param employeeNumber The number of the employee.
+     * @param calculable     The new value of the flag.
+     * @throws IOException If the entry cannot be appended.
+     */
+    public void logFlagChange(int employeeNumber, boolean calculable) throws IOException {
+        buffer.clear();
+        int start = beginEntry(FLAG_CHANGE);
+        buffer.putInt(employeeNumber);
+        buffer.put((byte) (calculable ? 1 : 0));
+        endEntry(start);
+        append();
+    }
+
+    /**
+     * Applies every entry of the journal, in order, to a list loaded from the data file.
+     * A torn entry at the end of the file, left by a crash while appending, is discarded.
+     *
+     * @param list The list loaded from the data file.
+     * @return The number of entries replayed.
+     * @throws IOException If the journal cannot be read or an entry cannot be applied.
+     */
+    public long replay(GenericDoublyLinkedList<E> list) throws IOException {
+        ByteBuffer journal = ByteBuffer.wrap(Files.readAllBytes(path));
+
+        // Index the employees by number once, so every entry is applied in constant time.
+        Map<Integer, E> employeesByNumber = new HashMap<>();
+        for (E employee : list) {
+            employeesByNumber.put(FileHandler.getIdForGenericList(employee), employee);
+        }
+
+        long replayed = 0;
+        while (journal.remaining() >= ENTRY_HEADER_SIZE) {
+            int start = journal.position();
+            int length = journal.getInt();
+            int checksum = journal.getInt();
+            if (length <= 0 || length > journal.remaining() || checksumOf(journal, journal.position(), length) != checksum) {
+                journal.position(start);
+                break;
+            }
+            int end = journal.position() + length;
+            apply(journal, list, employeesByNumber);
+            journal.position(end);
+            replayed++;
+        }
+
+        // Cut off anything after the last complete entry so new entries are appended right after it.
+        if (journal.hasRemaining()) {
+            System.out.println("Discarding " + journal.remaining() + " bytes of incomplete journal entries.");
+            channel.truncate(journal.position());
+            channel.position(journal.position());
+        }
+        entryCount = replayed;
+        return replayed;
+    }
+
+    /**
+     * Empties the journal once its entries are part of a newly saved data file.
+     *
+     * @throws IOException If the journal cannot be truncated.
+     */
+    public void truncate() throws IOException {
+        channel.truncate(0);
+        channel.position(0);
+        channel.force(true);
+        entryCount = 0;
+    }
+
+    /**
+     * Retrieves the number of entries in the journal.
+     *
+     * @return The number of entries appended or replayed since the journal was last truncated.
+     */
+    public long getEntryCount() {
+        return entryCount;
+    }
+
+    /**
+     * Closes the journal file.
+     *
+     * @throws IOException If an I/O error occurs.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Encodes an entry adding an employee.
+     *
+     * @param employee The employee added.
+     * @throws IOException If the employee is too large for the entry buffer.
+     */
+    private void putCreate(E employee) throws IOException {
+        int start = beginEntry(CREATE);
+        try {
+            EmployeeCodec.encode(employee, buffer);
+        } catch (BufferOverflowException e) {
+            if (start == 0) {
+                throw new IOException("Employee record exceeds the " + BUFFER_SIZE + " byte journal buffer.", e);
+            }
+            throw e;
+        }
+        endEntry(start);
+    }
+
+    /**
+     * Reserves space for an entry header and puts the operation code.
+     *
+     * @param operation The operation code of the entry.
+     * @return The position where the entry starts.
+     * @throws BufferOverflowException If the header and operation code do not fit in the buffer.
+     */
+    private int beginEntry(byte operation) {
+        int start = buffer.position();
+        // Checked here rather than left to position(), which would throw IllegalArgumentException instead.
+        if (buffer.remaining() < ENTRY_HEADER_SIZE + 1) {
+            throw new BufferOverflowException();
+        }
+        buffer.position(start + ENTRY_HEADER_SIZE);
+        buffer.put(operation);
+        return start;
+    }
+
+    /**
+     * Fills in the length and checksum of the entry that started at the given position.
+     *
+     * @param start The position where the entry starts.
+     */
+    private void endEntry(int start) {
+        int payloadStart = start + ENTRY_HEADER_SIZE;
+        int length = buffer.position() - payloadStart;
+        buffer.putInt(start, length);
+        buffer.putInt(start + Integer.BYTES, checksumOf(buffer, payloadStart, length));
+        entryCount++;
+    }
+
+    /**
+     * Writes the encoded entries to the end of the journal and forces them to disk.
+     *
+     * @throws IOException If an I/O error occurs.
+     */
+    private void append() throws IOException {
+        writeBuffer();
+        channel.force(false);
+    }
+
+    /**
+     * Writes the encoded entries to the end of the journal.
+     *
+     * @throws IOException If an I/O error occurs.
+     */
+    private void writeBuffer() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Computes the CRC32 of a range of a buffer without moving its position.
+     *
+     * @param source The buffer holding the bytes.
+     * @param offset The offset of the first byte.
+     * @param length The number of bytes.
+     * @return The checksum truncated to an int.
+     */
+    private int checksumOf(ByteBuffer source, int offset, int length) {
+        crc.reset();
+        crc.update(source.slice(offset, length));
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Applies the entry at the buffer's position to the list.
+     *
+     * @param journal           The buffer positioned at the entry's payload.
+     * @param list              The list to modify.
+     * @param employeesByNumber The employees of the list indexed by number, kept up to date.
+     * @throws IOException If the entry is corrupted or cannot be applied.
+     */
+    private void apply(ByteBuffer journal, GenericDoublyLinkedList<E> list, Map<Integer, E> employeesByNumber) throws IOException {
+        byte operation = journal.get();
+        if (operation == CREATE) {
+            E employee = EmployeeCodec.decode(journal);
+            int employeeNumber = FileHandler.getIdForGenericList(employee);
+            // The employee is already in the data file if it was saved after this entry was appended.
+            if (!employeesByNumber.containsKey(employeeNumber)) {
+                list.add(employee, employeeNumber);
+                employeesByNumber.put(employeeNumber, employee);
+            }
+        } else if (operation == REMOVE) {
+            int employeeNumber = journal.getInt();
+            if (employeesByNumber.remove(employeeNumber) != null) {
+                list.removeById(employeeNumber);
+            }
+        } else if (operation == SALARY_UPDATE) {
+            int employeeNumber = journal.getInt();
+            double salary = journal.getDouble();
+            E employee = employeesByNumber.get(employeeNumber);
+            if (employee != null) {
+                try {
+                    ((Employee) employee).setSalary(salary);
+                } catch (SalaryExceedsMaxException e) {
+                    throw new StreamCorruptedException("Journaled salary of employee " + employeeNumber + " exceeds its maximum.");
+                }
+            }
+        } else if (operation == FLAG_CHANGE) {
+            int employeeNumber = journal.getInt();
+            boolean calculable = journal.get() != 0;
+            E employee = employeesByNumber.get(employeeNumber);
+            if (employee instanceof Analyst) {
+                ((Analyst) employee).setAnnualBonusCalculable(calculable);
+            } else if (employee instanceof Programmer) {
+                ((Programmer) employee).setMonthlyExtraCalculable(calculable);
+            }
+        } else {
+            throw new StreamCorruptedException("Unknown journal operation: " + operation);
+        }
+    }
+}
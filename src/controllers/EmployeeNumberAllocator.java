@@ -0,0 +1,154 @@
+package controllers;
+
+// For choosing the numbers at random.
+import java.util.BitSet;
+import java.util.random.RandomGenerator;
+
+import models.EmployeeNumberRangeExhaustedException;
+
+/**
+ * Hands out unused employee numbers, chosen at random within a range, without ever drawing a number twice.
+ * <p>
+ * The numbers in use are kept in a dense bitmap with one bit per number of the range. Allocating k numbers picks
+ * k distinct ranks among the unused numbers with Floyd's sampling algorithm, which draws exactly k random
+ * values however full the range is, and then finds the numbers holding those ranks in a single pass over the
+ * bitmap's words. An allocation therefore costs O(k) plus one word per 64 numbers of the range, whether the range
+ * is empty or 99% full, instead of retrying random numbers until an unused one comes up.
+ */
+public class EmployeeNumberAllocator {
+
+    /**
+     * The lowest number of the range.
+     */
+    private final int lowest;
+
+    /**
+     * The number of numbers in the range.
+     */
+    private final int size;
+
+    /**
+     * One bit per number of the range, set when the number is in use.
+     */
+    private final long[] used;
+
+    /**
+     * The number of numbers in use.
+     */
+    private int usedCount;
+
+    /**
+     * Creates an allocator for a range of employee numbers, all of them unused.
+     *
+     * @param lowest  The lowest number of the range.
+     * @param highest The highest number of the range.
+     */
+    public EmployeeNumberAllocator(int lowest, int highest) {
+        if (highest < lowest || (long) highest - lowest + 1 > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid range of employee numbers: " + lowest + " to " + highest + ".");
+        }
+        this.lowest = lowest;
+        this.size = highest - lowest + 1;
+        this.used = new long[(int) (((long) size + 63) / 64)];
+    }
+
+    /**
+     * Marks a number as used, so it is never allocated. Numbers outside the range are ignored.
+     *
+     * @param number The number in use.
+     */
+    public void markUsed(int number) {
+        long offset = (long) number - lowest;
+        if (offset < 0 || offset >= size) {
+            return;
+        }
+        int word = (int) (offset >>> 6);
+        long bit = 1L << offset;
+        if ((used[word] & bit) == 0) {
+            used[word] |= bit;
+            usedCount++;
+        }
+    }
+
+    /**
+     * Checks whether a number of the range is used.
+     *
+     * @param number The number to check.
+     * @return true if the number is in the range and used, false otherwise.
+     */
+    public boolean isUsed(int number) {
+        long offset = (long) number - lowest;
+        return offset >= 0 && offset < size && (used[(int) (offset >>> 6)] & (1L << offset)) != 0;
+    }
+
+    /**
+     * Retrieves the number of unused numbers left in the range.
+     *
+     * @return The number of unused numbers.
+     */
+    public int getFreeCount() {
+        return size - usedCount;
+    }
+
+    /**
+     * Allocates distinct unused numbers chosen uniformly at random, and marks them as used.
+     *
+     * @param count  The number of numbers to allocate.
+     * @param random The source of randomness.
+     * @return The allocated numbers, in ascending order.
+     * @throws EmployeeNumberRangeExhaustedException If fewer than count numbers are left unused in the range.
+     */
+    public int[] allocate(int count, RandomGenerator random) throws EmployeeNumberRangeExhaustedException {
+        int free = getFreeCount();
+        if (count < 0) {
+            throw new IllegalArgumentException("Invalid number of employee numbers: " + count + ".");
+        }
+        if (count > free) {
+            throw new EmployeeNumberRangeExhaustedException("Only " + free + " employee numbers are left between " + lowest
+                    + " and " + (lowest + size - 1) + ", but " + count + " were requested.");
+        }
+
+        // Floyd's algorithm: choose count distinct ranks among the free numbers, with one random draw per rank.
+        BitSet ranks = new BitSet(free);
+        for (int j = free - count; j < free; j++) {
+            int rank = random.nextInt(j + 1);
+            ranks.set(ranks.get(rank) ? j : rank);
+        }
+
+        // Walk the words of the bitmap, counting the free numbers, to find the number holding each chosen rank.
+        int[] numbers = new int[count];
+        int found = 0;
+        int wordRank = 0;
+        int rank = ranks.nextSetBit(0);
+        for (int word = 0; rank >= 0; word++) {
+            long freeBits = ~used[word];
+            if (word == used.length - 1 && (size & 63) != 0) {
+                // The bits past the end of the range are not numbers.
+                freeBits &= (1L << size) - 1;
+            }
+            int wordFree = Long.bitCount(freeBits);
+
+            // Select the chosen ranks falling in this word, in ascending order, by dropping free bits up to each one.
+            long bits = freeBits;
+            int bitRank = wordRank;
+            while (rank >= 0 && rank < wordRank + wordFree) {
+                while (bitRank < rank) {
+                    bits &= bits - 1;
+                    bitRank++;
+                }
+                int offset = (word << 6) + Long.numberOfTrailingZeros(bits);
+                numbers[found++] = lowest + offset;
+                rank = ranks.nextSetBit(rank + 1);
+            }
+            wordRank += wordFree;
+        }
+
+        // The allocated numbers are in use from now on.
+        for (int number : numbers) {
+            long offset = (long) number - lowest;
+            used[(int) (offset >>> 6)] |= 1L << offset;
+        }
+        usedCount += count;
+        return numbers;
+    }
+}
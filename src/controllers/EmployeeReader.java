@@ -0,0 +1,36 @@
+package controllers;
+
+// For closing the underlying file.
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Common interface for reading employees from a data file one record at a time,
+ * so that callers can process them as they arrive instead of waiting for the whole file.
+ *
+ * @param <E> The type of elements read.
+ */
+public interface EmployeeReader<E> extends Closeable {
+
+    /**
+     * Reads the next employee from the file.
+     *
+     * @return The next employee, or null if every record has already been read.
+     * @throws IOException If an I/O error occurs or the file is corrupted.
+     */
+    E read() throws IOException;
+
+    /**
+     * Retrieves the number of records stored in the file.
+     *
+     * @return The number of records, or -1 if the format does not record it.
+     */
+    long getRecordCount();
+
+    /**
+     * Retrieves the number of records read so far.
+     *
+     * @return The number of records read.
+     */
+    long getRecordsRead();
+}
@@ -0,0 +1,85 @@
+package controllers;
+
+/**
+ * Common interface for the navigable collections employees can be browsed from,
+ * whether they are fully loaded in memory or read from a file on demand.
+ *
+ * @param <E> The type of elements in the store.
+ */
+public interface EmployeeStore<E> {
+
+    /**
+     * Retrieves the current element.
+     *
+     * @return the current element, or null if there is none.
+     */
+    E getCurrent();
+
+    /**
+     * Moves to the next element and retrieves it.
+     *
+     * @return the next element, or null if the end is reached.
+     */
+    E next();
+
+    /**
+     * Moves to the previous element and retrieves it.
+     *
+     * @return the previous element, or null if the beginning is reached.
+     */
+    E previous();
+
+    /**
+     * Sets the current element to the first one.
+     */
+    void moveToFirst();
+
+    /**
+     * Sets the current element to the last one.
+     */
+    void moveToLast();
+
+    /**
+     * Sets the current element to the one at the given position.
+     *
+     * @param index the zero-based position of the element, or -1 to clear the current element.
+     */
+    void moveTo(int index);
+
+    /**
+     * Checks if there is an element before the current one.
+     *
+     * @return true if there is a previous element, false otherwise.
+     */
+    boolean hasPrevious();
+
+    /**
+     * Checks if there is an element after the current one.
+     *
+     * @return true if there is a next element, false otherwise.
+     */
+    boolean hasNext();
+
+    /**
+     * Retrieves the position of the current element.
+     *
+     * @return the zero-based position of the current element, or -1 if there is none.
+     */
+    int getCurrentPosition();
+
+    /**
+     * Retrieves the total number of elements.
+     *
+     * @return the total number of elements.
+     */
+    int getTotalElements();
+
+    /**
+     * Retrieves the element at the given position without moving the current element.
+     *
+     * @param index the zero-based position of the element.
+     * @return the element at the given position.
+     * @throws IndexOutOfBoundsException if the position is out of range.
+     */
+    E get(int index);
+}
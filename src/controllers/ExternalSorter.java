@@ -0,0 +1,427 @@
+package controllers;
+
+// For the employees being sorted.
+import models.Employee;
+
+// For reading the input and spilling runs to temporary files.
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// For holding runs in memory and merging them.
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * Sorts data files larger than memory with an external merge sort.
+ * <p>
+ * The input is read one employee at a time into runs that fit the memory budget. Each run is sorted in memory and
+ * spilled to a temporary compact data file, and the runs are then merged through a heap holding the next employee
+ * of every run. When there are more runs than can be read at once, they are first merged in groups into longer
+ * runs. Employees that compare as equal keep their order from the input.
+ * <p>
+ * If the whole input fits in a single run, it is sorted in memory and written directly, without temporary files.
+ *
+ * @param <E> The type of elements sorted, either Analyst or Programmer instances.
+ */
+public class ExternalSorter<E> {
+
+    /**
+     * Orders employees by employee number.
+     */
+    public static final Comparator<Employee> BY_NUMBER = Comparator.comparingInt(Employee::getEmployeeNumber);
+
+    /**
+     * Orders employees by salary, from lowest to highest.
+     */
+    public static final Comparator<Employee> BY_SALARY = Comparator.comparingDouble(Employee::getSalary);
+
+    /**
+     * Orders employees by hire date, from earliest to latest.
+     */
+    public static final Comparator<Employee> BY_HIRE_DATE = Comparator.comparingLong(Employee::getHireEpochDay);
+
+    /**
+     * Estimated heap size in bytes of an employee held in a run, including its strings and its slot in the run.
+     */
+    public static final long ESTIMATED_RECORD_BYTES = 256;
+
+    /**
+     * Maximum number of runs merged at once, which bounds the number of open files and read buffers.
+     */
+    static final int MAX_MERGE_RUNS = 64;
+
+    /**
+     * Size in bytes of the read buffer of each run being merged.
+     */
+    static final int MERGE_BUFFER_SIZE = 1 << 18;
+
+    /**
+     * Smallest number of employees held in a run, however small the memory budget.
+     */
+    private static final int MIN_RUN_SIZE = 1024;
+
+    /**
+     * The order the employees are sorted in.
+     */
+    private final Comparator<? super E> comparator;
+
+    /**
+     * The maximum number of employees held in memory at once.
+     */
+    private final int runSize;
+
+    /**
+     * The number of runs spilled to temporary files by the last sort.
+     */
+    private int runCount;
+
+    /**
+     * Creates a sorter using a quarter of the maximum heap size for its runs.
+     *
+     * @param comparator The order the employees are sorted in.
+     */
+    public ExternalSorter(Comparator<? super E> comparator) {
+        this(comparator, Runtime.getRuntime().maxMemory() / 4);
+    }
+
+    /**
+     * Creates a sorter whose runs fit the given memory budget.
+     *
+     * @param comparator  The order the employees are sorted in.
+     * @param memoryBytes The amount of heap in bytes the employees of a run may use.
+     */
+    public ExternalSorter(Comparator<? super E> comparator, long memoryBytes) {
+        this.comparator = comparator;
+        this.runSize = Math.clamp(memoryBytes / ESTIMATED_RECORD_BYTES, MIN_RUN_SIZE, Integer.MAX_VALUE - 8);
+    }
+
+    /**
+     * Sorts a data file into another one. The input may be in any format FileHandler reads, and the format of the
+     * output is chosen from its extension. The temporary files are created next to the output and deleted
+     * once the sort ends, whether it succeeds or not.
+     *
+     * @param inputFilename  The name of the data file to sort, which is left unchanged.
+     * @param outputFilename The name of the sorted file to write.
+     * @param listener       The listener notified of the progress, counting each employee once when it is read
+     *                       and once when it is written, or null if none is needed.
+     * @return The number of employees sorted.
+     * @throws IOException If an I/O error occurs; the output file is then left as it was.
+     */
+    public long sort(String inputFilename, String outputFilename, ProgressListener listener) throws IOException {
+        Path directory = Path.of(outputFilename).toAbsolutePath().getParent();
+        List<Path> runs = new ArrayList<>();
+        List<Path> temporaries = new ArrayList<>();
+        runCount = 0;
+        try {
+            // Split the input into sorted runs, keeping the last one in memory.
+            List<E> run = new ArrayList<>();
+            long total;
+            try (EmployeeReader<E> reader = FileHandler.openReader(inputFilename)) {
+                long expected = reader.getRecordCount();
+                long progressTotal = (expected < 0) ? -1 : 2 * expected;
+                E employee;
+                while ((employee = reader.read()) != null) {
+                    if (run.size() == runSize) {
+                        runs.add(spill(run, directory, temporaries));
+                        run.clear();
+                    }
+                    run.add(employee);
+                    if (listener != null && reader.getRecordsRead() % FileHandler.PROGRESS_INTERVAL == 0) {
+                        listener.progressChanged(reader.getRecordsRead(), progressTotal);
+                    }
+                }
+                total = reader.getRecordsRead();
+            }
+            ProgressListener writeListener = (listener == null) ? null
+                    : (completed, ignored) -> listener.progressChanged(total + completed, 2 * total);
+
+            // A single run is written directly; otherwise the last one is spilled too and all of them are merged.
+            run.sort(comparator);
+            if (runs.isEmpty()) {
+                FileHandler.writeAtomically(run, total, outputFilename, CompressionCodec.DEFLATE,
+                        CompressionCodec.DEFAULT_LEVEL, writeListener);
+                return total;
+            }
+            runs.add(spill(run, directory, temporaries));
+            run = null;
+            runCount = runs.size();
+
+            // Merge groups of runs into longer ones until all of them can be read at once.
+            while (runs.size() > MAX_MERGE_RUNS) {
+                List<Path> merged = new ArrayList<>();
+                for (int start = 0; start < runs.size(); start += MAX_MERGE_RUNS) {
+                    List<Path> group = runs.subList(start, Math.min(start + MAX_MERGE_RUNS, runs.size()));
+                    merged.add(mergeToRun(group, directory, temporaries));
+                    for (Path path : group) {
+                        Files.deleteIfExists(path);
+                    }
+                }
+                runs = merged;
+            }
+
+            // Merge the remaining runs into the output.
+            try (MergeIterator<E> merge = MergeIterator.openRuns(runs, comparator)) {
+                FileHandler.writeAtomically(() -> merge, total, outputFilename, CompressionCodec.DEFLATE,
+                        CompressionCodec.DEFAULT_LEVEL, writeListener);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            return total;
+        } finally {
+            for (Path path : temporaries) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    /**
+     * Retrieves the number of runs the last sort spilled to temporary files.
+     *
+     * @return The number of runs, or 0 if the whole input fitted in memory.
+     */
+    public int getRunCount() {
+        return runCount;
+    }
+
+    /**
+     * Retrieves the maximum number of employees held in memory at once.
+     *
+     * @return The number of employees in a full run.
+     */
+    public int getRunSize() {
+        return runSize;
+    }
+
+    /**
+     * Sorts a run and writes it to a new temporary compact data file.
+     *
+     * @param run       The employees of the run.
+     * @param directory   The directory the temporary file is created in.
+     * @param temporaries The temporary files to delete once the sort ends, to which the new one is added.
+     * @return The path of the temporary file.
+     * @throws IOException If an I/O error occurs.
+     */
+    private Path spill(List<E> run, Path directory, List<Path> temporaries) throws IOException {
+        run.sort(comparator);
+        Path path = Files.createTempFile(directory, "run", ".tmp");
+        temporaries.add(path);
+        try (EmployeeFileWriter<E> writer = new EmployeeFileWriter<>(path.toString())) {
+            for (E employee : run) {
+                writer.write(employee);
+            }
+        }
+        return path;
+    }
+
+    /**
+     * Merges a group of runs into a new temporary compact data file.
+     *
+     * @param group       The paths of the runs to merge.
+     * @param directory   The directory the temporary file is created in.
+     * @param temporaries The temporary files to delete once the sort ends, to which the new one is added.
+     * @return The path of the merged run.
+     * @throws IOException If an I/O error occurs.
+     */
+    private Path mergeToRun(List<Path> group, Path directory, List<Path> temporaries) throws IOException {
+        Path path = Files.createTempFile(directory, "run", ".tmp");
+        temporaries.add(path);
+        try (MergeIterator<E> merge = MergeIterator.openRuns(group, comparator);
+             EmployeeFileWriter<E> writer = new EmployeeFileWriter<>(path.toString())) {
+            while (merge.hasNext()) {
+                writer.write(merge.next());
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return path;
+    }
+
+    /**
+     * Iterates over the employees of several sorted runs in order, through a heap holding the next employee
+     * of every run. I/O errors are thrown as UncheckedIOException since an Iterator cannot throw IOException.
+     *
+     * @param <E> The type of elements merged.
+     */
+    static final class MergeIterator<E> implements Iterator<E>, Closeable {
+
+        /**
+         * The runs that still have employees, ordered by their next employee and then by their position.
+         */
+        private final PriorityQueue<RunHead<E>> heads;
+
+        /**
+         * The readers of every run, closed together with the iterator.
+         */
+        private final List<EmployeeReader<E>> readers;
+
+        /**
+         * The position of the run the last employee returned came from.
+         */
+        private int lastSource = -1;
+
+        /**
+         * Reads the first employee of every run. The iterator takes ownership of the readers, which are closed
+         * together with it, or right away if a first employee cannot be read.
+         *
+         * @param readers    The readers of the runs, in input order.
+         * @param comparator The order the runs are sorted in.
+         * @throws IOException If a run cannot be read.
+         */
+        MergeIterator(List<? extends EmployeeReader<E>> readers, Comparator<? super E> comparator) throws IOException {
+            this.readers = new ArrayList<>(readers);
+            Comparator<RunHead<E>> byEmployee = (a, b) -> comparator.compare(a.next, b.next);
+            heads = new PriorityQueue<>(Math.max(1, readers.size()), byEmployee.thenComparingInt(head -> head.index));
+            try {
+                for (int i = 0; i < readers.size(); i++) {
+                    E first = readers.get(i).read();
+                    if (first != null) {
+                        heads.add(new RunHead<>(readers.get(i), i, first));
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                close();
+                throw e;
+            }
+        }
+
+        /**
+         * Opens the temporary files of several runs with small read buffers and merges them.
+         *
+         * @param runs       The paths of the runs, in input order.
+         * @param comparator The order the runs are sorted in.
+         * @param <E>        The type of elements merged.
+         * @return An iterator over the employees of every run, in order.
+         * @throws IOException If a run cannot be opened or read.
+         */
+        static <E> MergeIterator<E> openRuns(List<Path> runs, Comparator<? super E> comparator) throws IOException {
+            List<EmployeeReader<E>> readers = new ArrayList<>(runs.size());
+            try {
+                for (Path run : runs) {
+                    readers.add(new EmployeeFileReader<>(run.toString(), MERGE_BUFFER_SIZE));
+                }
+            } catch (IOException | RuntimeException e) {
+                closeAll(readers);
+                throw e;
+            }
+            return new MergeIterator<>(readers, comparator);
+        }
+
+        /**
+         * Checks if any run still has employees.
+         *
+         * @return true if there is a next employee, false otherwise.
+         */
+        @Override
+        public boolean hasNext() {
+            return !heads.isEmpty();
+        }
+
+        /**
+         * Retrieves the smallest next employee of all the runs and advances its run.
+         *
+         * @return The next employee in order.
+         * @throws UncheckedIOException If the run cannot be read.
+         */
+        @Override
+        public E next() {
+            RunHead<E> head = heads.poll();
+            if (head == null) {
+                throw new NoSuchElementException();
+            }
+            E employee = head.next;
+            lastSource = head.index;
+            try {
+                head.next = head.reader.read();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            if (head.next != null) {
+                heads.add(head);
+            }
+            return employee;
+        }
+
+        /**
+         * Retrieves the run the last employee returned by next came from.
+         *
+         * @return The position of the run among those being merged, or -1 if next has not been called.
+         */
+        int getLastSource() {
+            return lastSource;
+        }
+
+        /**
+         * Closes the readers of every run.
+         *
+         * @throws IOException If a reader cannot be closed.
+         */
+        @Override
+        public void close() throws IOException {
+            closeAll(readers);
+        }
+
+        /**
+         * Closes every reader, even if some of them fail to close.
+         *
+         * @param readers The readers to close.
+         * @param <E>     The type of elements read.
+         * @throws IOException If a reader cannot be closed.
+         */
+        private static <E> void closeAll(List<EmployeeReader<E>> readers) throws IOException {
+            IOException failure = null;
+            for (EmployeeReader<E> reader : readers) {
+                try {
+                    reader.close();
+                } catch (IOException e) {
+                    failure = e;
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+
+    /**
+     * The reader of a run being merged, together with its next employee.
+     *
+     * @param <E> The type of elements merged.
+     */
+    private static final class RunHead<E> {
+
+        /**
+         * The reader of the run.
+         */
+        final EmployeeReader<E> reader;
+
+        /**
+         * The position of the run among those being merged, which keeps equal employees in input order.
+         */
+        final int index;
+
+        /**
+         * The next employee of the run, not yet returned by the merge.
+         */
+        E next;
+
+        /**
+         * Creates the head of a run.
+         *
+         * @param reader The reader of the run.
+         * @param index  The position of the run among those being merged.
+         * @param next   The first employee of the run.
+         */
+        RunHead(EmployeeReader<E> reader, int index, E next) {
+            this.reader = reader;
+            this.index = index;
+            this.next = next;
+        }
+    }
+}
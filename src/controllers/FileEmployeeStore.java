@@ -0,0 +1,181 @@
+package controllers;
+
+// For releasing the file behind the store.
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Base class of the read-only stores browsing the employees of a fixed-width data file without loading it.
+ * <p>
+ * Records are turned into Analyst or Programmer objects only when they are asked for, and a small cache keeps
+ * the most recently materialized ones so repainting the same rows does not decode them again. Subclasses only
+ * decide how the bytes of a record are reached.
+ *
+ * @param <E> The type of elements in the file.
+ */
+public abstract class FileEmployeeStore<E> implements EmployeeStore<E>, Closeable {
+
+    /**
+     * Number of slots in the cache of materialized employees.
+     */
+    private static final int CACHE_SIZE = 1024;
+
+    /**
+     * The number of records in the file, set by subclasses once they have read the header.
+     */
+    protected int totalElements;
+
+    /**
+     * Cached employees, each stored in the slot given by its position modulo the cache size.
+     */
+    private final List<E> cachedElements = new ArrayList<>(Collections.nCopies(CACHE_SIZE, null));
+
+    /**
+     * Positions of the cached employees, or -1 for empty slots.
+     */
+    private final int[] cachedPositions = new int[CACHE_SIZE];
+
+    /**
+     * The position of the current element, or -1 if there is none.
+     */
+    private int currentPosition = -1;
+
+    /**
+     * Creates a store with an empty cache.
+     */
+    protected FileEmployeeStore() {
+        Arrays.fill(cachedPositions, -1);
+    }
+
+    /**
+     * Decodes the record at the given position, bypassing the cache.
+     *
+     * @param index the zero-based position of the record.
+     * @return the decoded employee.
+     * @throws java.io.UncheckedIOException if the record cannot be read or is corrupted.
+     */
+    protected abstract E decode(int index);
+
+    /**
+     * Retrieves the employee number of the element at the given position without materializing it.
+     *
+     * @param index the zero-based position of the element.
+     * @return the employee number stored at the given position.
+     */
+    public abstract int getId(int index);
+
+    /**
+     * Retrieves the element at the given position, materializing it if it is not cached.
+     *
+     * @param index the zero-based position of the element.
+     * @return the element at the given position.
+     * @throws IndexOutOfBoundsException     if the position is out of range.
+     * @throws java.io.UncheckedIOException if the record cannot be read or is corrupted.
+     */
+    @Override
+    public E get(int index) {
+        if (index < 0 || index >= totalElements) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of range for " + totalElements + " employees.");
+        }
+        int slot = index % CACHE_SIZE;
+        if (cachedPositions[slot] != index) {
+            cachedElements.set(slot, decode(index));
+            cachedPositions[slot] = index;
+        }
+        return cachedElements.get(slot);
+    }
+
+    /**
+     * Materializes every record into a new GenericDoublyLinkedList, for when the data has to be edited.
+     * The current position is carried over to the new list.
+     *
+     * @return A GenericDoublyLinkedList containing every employee of the file.
+     */
+    public GenericDoublyLinkedList<E> toList() {
+        GenericDoublyLinkedList<E> list = new GenericDoublyLinkedList<>();
+        for (int i = 0; i < totalElements; i++) {
+            list.add(decode(i), getId(i));
+        }
+        list.moveTo(currentPosition);
+        return list;
+    }
+
+    /**
+     * Releases the file behind the store. Nothing needs releasing unless a subclass says otherwise.
+     *
+     * @throws IOException If an I/O error occurs.
+     */
+    @Override
+    public void close() throws IOException {
+    }
+
+    @Override
+    public E getCurrent() {
+        return (currentPosition >= 0) ? get(currentPosition) : null;
+    }
+
+    @Override
+    public E next() {
+        // Like the linked list, moving forward with no current element starts from the first one.
+        currentPosition = (currentPosition < 0) ? firstPosition() : (currentPosition + 1 < totalElements ? currentPosition + 1 : -1);
+        return getCurrent();
+    }
+
+    @Override
+    public E previous() {
+        // Like the linked list, moving backwards with no current element starts from the last one.
+        currentPosition = (currentPosition < 0) ? totalElements - 1 : currentPosition - 1;
+        return getCurrent();
+    }
+
+    @Override
+    public void moveToFirst() {
+        currentPosition = firstPosition();
+    }
+
+    @Override
+    public void moveToLast() {
+        currentPosition = totalElements - 1;
+    }
+
+    @Override
+    public void moveTo(int index) {
+        if (index < -1 || index >= totalElements) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of range for " + totalElements + " employees.");
+        }
+        currentPosition = index;
+    }
+
+    @Override
+    public boolean hasPrevious() {
+        return currentPosition > 0;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return currentPosition >= 0 && currentPosition < totalElements - 1;
+    }
+
+    @Override
+    public int getCurrentPosition() {
+        return currentPosition;
+    }
+
+    @Override
+    public int getTotalElements() {
+        return totalElements;
+    }
+
+    /**
+     * Retrieves the position of the first element.
+     *
+     * @return 0, or -1 if the file holds no employees.
+     */
+    private int firstPosition() {
+        return (totalElements > 0) ? 0 : -1;
+    }
+}
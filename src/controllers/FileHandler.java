@@ -2,8 +2,34 @@ package controllers;
 
 // For reading and writing data.
 import java.io.*;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// For decoding the blocks of block data files in parallel.
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+// For reporting a wrong passphrase for the encrypted names.
+import javax.crypto.AEADBadTagException;
 
 import models.Analyst;
+import models.Employee;
 import models.Programmer;
 
 /**
@@ -12,7 +38,73 @@ import models.Programmer;
 public class FileHandler {
 
     /**
-     * Saves the data from a GenericDoublyLinkedList to a file using serialization.
+     * Extension of the compact data files written through a FileChannel.
+     */
+    public static final String COMPACT_EXTENSION = "emp";
+
+    /**
+     * Extension of the fixed-width data files that can be opened without loading them.
+     */
+    public static final String FIXED_WIDTH_EXTENSION = "empf";
+
+    /**
+     * Extension of the segmented data files that are saved again by rewriting only the segments that changed.
+     */
+    public static final String SEGMENTED_EXTENSION = "emps";
+
+    /**
+     * Extension of the block data files, whose blocks of records are compressed independently.
+     */
+    public static final String BLOCK_EXTENSION = "empz";
+
+    /**
+     * Extension of the CSV files used to exchange employees with other programs.
+     */
+    public static final String CSV_EXTENSION = "csv";
+
+    /**
+     * Extension added to a data file's name for the file holding its employees' encrypted names.
+     */
+    public static final String NAMES_EXTENSION = "names";
+
+    /**
+     * Magic number identifying encrypted names files ("EMPN").
+     */
+    private static final int NAMES_MAGIC = 0x454D504E;
+
+    /**
+     * Current schema version of the encrypted names format, whose batches authenticate the header along with them.
+     */
+    private static final short NAMES_VERSION = 2;
+
+    /**
+     * Schema version of the encrypted names files whose batches only authenticate their index, still read.
+     */
+    private static final short NAMES_VERSION_UNBOUND_HEADER = 1;
+
+    /**
+     * Size in bytes of the encrypted names file header: magic (4), version (2), reserved (2), iterations (4),
+     * salt (16), batch count (4) and name count (8).
+     */
+    private static final int NAMES_HEADER_SIZE = 40;
+
+    /**
+     * Maximum size in bytes of the names encrypted together as one batch, enough for the longest name allowed.
+     */
+    private static final int NAMES_BATCH_SIZE = 1 << 16;
+
+    /**
+     * Extension of the legacy data files written with Java serialization, kept for importing older data.
+     */
+    public static final String LEGACY_EXTENSION = "ser";
+
+    /**
+     * Number of records processed between two progress notifications.
+     */
+    static final int PROGRESS_INTERVAL = 4096;
+
+    /**
+     * Saves the data from a GenericDoublyLinkedList to a legacy file using serialization.
      *
      * @param list     The GenericDoublyLinkedList to save to the file.
      * @param filename The name of the file to which the data will be saved.
@@ -20,11 +112,9 @@ public class FileHandler {
      */
     public static <E> void saveDataToFile(GenericDoublyLinkedList<E> list, String filename) {
         try (ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(filename))) {
-            // Iterate through the list and serialize each element to the file.
-            list.moveToFirst();
-            while (list.getCurrent() != null) {
-                out.writeObject(list.getCurrent());
-                list.next();
+            // Iterate through the list, without moving its current element, and serialize each element to the file.
+            for (E employee : list) {
+                out.writeObject(employee);
             }
             System.out.println("Data saved to file: " + filename);
         } catch (IOException e) {
@@ -34,7 +124,7 @@ public class FileHandler {
     }
 
     /**
-     * Loads data from a file into a GenericDoublyLinkedList using deserialization.
+     * Loads data from a legacy file into a GenericDoublyLinkedList using deserialization.
      *
      * @param filename The name of the file from which data will be loaded.
      * @param <E>      The type of elements in the GenericDoublyLinkedList.
@@ -42,32 +132,1045 @@ public class FileHandler {
      */
     public static <E> GenericDoublyLinkedList<E> loadDataFromFile(String filename) {
         GenericDoublyLinkedList<E> list = new GenericDoublyLinkedList<>();
-        try (ObjectInputStream in = new ObjectInputStream(new FileInputStream(filename))) {
-            // Continuously read and deserialize objects from the file until the end is reached.
-            while (true) {
-                E data = (E) in.readObject();
+        // The reader also understands the files written before the employees became Externalizable.
+        try (LegacyEmployeeReader<E> reader = new LegacyEmployeeReader<>(filename)) {
+            // Read and deserialize objects from the file until the end is reached.
+            E data;
+            while ((data = reader.read()) != null) {
                 // Get the object's ID.
                 int id = getIdForGenericList(data);
                 // Add the deserialized data to the list.
                 list.add(data, id);
             }
-        } catch (EOFException e) {
-            // End of file, do nothing.
-        } catch (IOException | ClassNotFoundException e) {
-            // Print the stack trace in case of an IOException or ClassNotFoundException.
+        } catch (IOException e) {
+            // Print the stack trace in case of an IOException.
             e.printStackTrace();
         }
         System.out.println("Data loaded from file: " + filename);
         return list;
     }
 
+    /**
+     * Converts a legacy file into a compact data file one record at a time, without building a list of the
+     * employees. The compact file is written to a temporary file and moved over the target once complete.
+     *
+     * @param legacyFilename  The name of the legacy file to read.
+     * @param compactFilename The name of the compact data file to write.
+     * @param listener        The listener notified of the progress, whose total is unknown (-1), or null if none is needed.
+     * @param <E>             The type of elements converted.
+     * @return The number of records converted.
+     * @throws IOException If an I/O error occurs or the legacy file is corrupted; the target is then left as it was.
+     */
+    public static <E> long convertLegacyFile(String legacyFilename, String compactFilename, ProgressListener listener) throws IOException {
+        Path target = Path.of(compactFilename).toAbsolutePath();
+        Path temporary = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        long converted;
+        try (LegacyEmployeeReader<E> reader = new LegacyEmployeeReader<>(legacyFilename);
+             EmployeeFileWriter<E> writer = new EmployeeFileWriter<>(temporary.toString())) {
+            E data;
+            while ((data = reader.read()) != null) {
+                writer.write(data);
+                if (listener != null && writer.getRecordCount() % PROGRESS_INTERVAL == 0) {
+                    listener.progressChanged(writer.getRecordCount(), -1);
+                }
+            }
+            writer.commit();
+            converted = writer.getRecordCount();
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temporary);
+            throw e;
+        }
+        Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        if (listener != null) {
+            listener.progressChanged(converted, converted);
+        }
+        return converted;
+    }
+
+    /**
+     * Saves the data from a GenericDoublyLinkedList to a compact data file.
+     * The list is traversed without moving its current element.
+     *
+     * @param list     The GenericDoublyLinkedList to save to the file.
+     * @param filename The name of the file to which the data will be saved.
+     * @param listener The listener notified of the progress, or null if none is needed.
+     * @param <E>      The type of elements in the GenericDoublyLinkedList.
+     * @throws IOException If an I/O error occurs while writing the file.
+     */
+    public static <E> void saveCompactFile(GenericDoublyLinkedList<E> list, String filename, ProgressListener listener) throws IOException {
+        writeCompactFile(list, list.getTotalElements(), filename, false, listener);
+        System.out.println("Data saved to file: " + filename);
+    }
+
+    /**
+     * Loads data from a compact data file into a GenericDoublyLinkedList.
+     *
+     * @param filename The name of the file from which data will be loaded.
+     * @param listener The listener notified of the progress, or null if none is needed.
+     * @param <E>      The type of elements in the GenericDoublyLinkedList.
+     * @return A GenericDoublyLinkedList containing the loaded data.
+     * @throws IOException If an I/O error occurs or the file is not a valid compact data file.
+     */
+    public static <E> GenericDoublyLinkedList<E> loadCompactFile(String filename, ProgressListener listener) throws IOException {
+        GenericDoublyLinkedList<E> list = new GenericDoublyLinkedList<>();
+        try (EmployeeFileReader<E> reader = new EmployeeFileReader<>(filename)) {
+            long total = reader.getRecordCount();
+            while (reader.hasNext()) {
+                E data = reader.read();
+                list.add(data, getIdForGenericList(data));
+                if (listener != null && reader.getRecordsRead() % PROGRESS_INTERVAL == 0) {
+                    listener.progressChanged(reader.getRecordsRead(), total);
+                }
+            }
+            if (listener != null) {
+                listener.progressChanged(total, total);
+            }
+        }
+        list.clearChanges();
+        System.out.println("Data loaded from file: " + filename);
+        return list;
+    }
+
+    /**
+     * Saves the data from a GenericDoublyLinkedList to a fixed-width data file, which can later be opened
+     * instantly with openMappedFile. The list is traversed without moving its current element.
+     *
+     * @param list     The GenericDoublyLinkedList to save to the file.
+     * @param filename The name of the file to which the data will be saved.
+     * @param listener The listener notified of the progress, or null if none is needed.
+     * @param <E>      The type of elements in the GenericDoublyLinkedList.
+     * @throws IOException If an I/O error occurs while writing the file.
+     */
+    public static <E> void saveFixedWidthFile(GenericDoublyLinkedList<E> list, String filename, ProgressListener listener) throws IOException {
+        writeFixedWidthFile(list, list.getTotalElements(), filename, false, listener);
+        System.out.println("Data saved to file: " + filename);
+    }
+
+    /**
+     * Exports the data from a GenericDoublyLinkedList to a CSV file, one row per employee after a header row.
+     * The list is traversed without moving its current element.
+     *
+     * @param list     The GenericDoublyLinkedList to export.
+     * @param filename The name of the CSV file to write.
+     * @param listener The listener notified of the progress, or null if none is needed.
+     * @param <E>      The type of elements in the GenericDoublyLinkedList.
+     * @throws IOException If an I/O error occurs while writing the file.
+     */
+    public static <E> void exportCsvFile(GenericDoublyLinkedList<E> list, String filename, ProgressListener listener) throws IOException {
+        writeCsvFile(list, list.getTotalElements(), filename, false, listener);
+        System.out.println("Data exported to file: " + filename);
+    }
+
+    /**
+     * Imports the employees of a CSV file, streaming every row straight into the list so that memory use
+     * only grows with the employees themselves.
+     *
+     * @param filename The name of the CSV file to read.
+     * @param listener The listener notified of the progress, whose total is unknown (-1), or null if none is needed.
+     * @param <E>      The type of elements in the GenericDoublyLinkedList.
+     * @return A GenericDoublyLinkedList containing the imported employees.
+     * @throws IOException If an I/O error occurs or a row is not valid.
+     */
+    public static <E> GenericDoublyLinkedList<E> importCsvFile(String filename, ProgressListener listener) throws IOException {
+        GenericDoublyLinkedList<E> list = new GenericDoublyLinkedList<>();
+        try (CsvEmployeeReader<E> reader = new CsvEmployeeReader<>(filename)) {
+            E data;
+            while ((data = reader.read()) != null) {
+                list.add(data, getIdForGenericList(data));
+                if (listener != null && reader.getRecordsRead() % PROGRESS_INTERVAL == 0) {
+                    listener.progressChanged(reader.getRecordsRead(), -1);
+                }
+            }
+            if (listener != null) {
+                listener.progressChanged(reader.getRecordsRead(), reader.getRecordsRead());
+            }
+        }
+        list.clearChanges();
+        System.out.println("Data imported from file: " + filename);
+        return list;
+    }
+
+    /**
+     * Saves the data from a GenericDoublyLinkedList to a block data file, compressing every block with the given codec.
+     *
+     * @param list     The GenericDoublyLinkedList to save to the file.
+     * @param filename The name of the file to which the data will be saved.
+     * @param codec    The codec compressing the blocks.
+     * @param level    The compression level, from 1 (fastest) to 9 (smallest).
+     * @param listener The listener notified of the progress, or null if none is needed.
+     * @param <E>      The type of elements in the GenericDoublyLinkedList.
+     * @throws IOException If an I/O error occurs while writing the file.
+     */
+    public static <E> void saveBlockFile(GenericDoublyLinkedList<E> list, String filename, CompressionCodec codec, int level,
+                                         ProgressListener listener) throws IOException {
+        writeBlockFile(list, list.getTotalElements(), filename, codec, level, false, listener);
+        System.out.println("Data saved to file: " + filename);
+    }
+
+    /**
+     * Loads a block data file, decompressing and decoding its blocks at the same time on the common fork-join pool.
+     * Every block is decoded into its own list, and the lists are then spliced together in file order.
+     * Files without a block table, written before it was introduced, are decoded sequentially.
+     *
+     * @param filename The name of the file from which data will be loaded.
+     * @param listener The listener notified of the progress, possibly from several threads, or null if none is needed.
+     * @param <E>      The type of elements in the GenericDoublyLinkedList.
+     * @return A GenericDoublyLinkedList containing the loaded data.
+     * @throws IOException If an I/O error occurs or the file is not a valid block data file.
+     */
+    public static <E> GenericDoublyLinkedList<E> loadBlockFile(String filename, ProgressListener listener) throws IOException {
+        GenericDoublyLinkedList<E> list = new GenericDoublyLinkedList<>();
+        try (BlockFileReader<E> reader = new BlockFileReader<>(filename)) {
+            long total = reader.getRecordCount();
+            long[] blockTable = reader.readBlockTable();
+
+            if (blockTable == null) {
+                E data;
+                while ((data = reader.read()) != null) {
+                    list.add(data, getIdForGenericList(data));
+                }
+            } else {
+                // Decode one block per task; the reader only uses positional reads for this, so tasks can share it.
+                AtomicLong decoded = new AtomicLong();
+                List<Callable<GenericDoublyLinkedList<E>>> tasks = new ArrayList<>(blockTable.length / 2);
+                for (int i = 0; i < blockTable.length; i += 2) {
+                    long position = blockTable[i];
+                    tasks.add(() -> {
+                        GenericDoublyLinkedList<E> block = new GenericDoublyLinkedList<>();
+                        long done = decoded.addAndGet(reader.decodeBlockAt(position, block));
+                        if (listener != null) {
+                            listener.progressChanged(done, total);
+                        }
+                        return block;
+                    });
+                }
+
+                // Splice the decoded blocks together in file order.
+                for (Future<GenericDoublyLinkedList<E>> block : ForkJoinPool.commonPool().invokeAll(tasks)) {
+                    list.addAll(block.get());
+                }
+            }
+            if (list.getTotalElements() != total) {
+                throw new StreamCorruptedException("Blocks hold " + list.getTotalElements() + " of " + total + " records.");
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException("Could not decode a block: " + e.getCause(), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Loading interrupted.");
+        }
+        list.clearChanges();
+        if (listener != null) {
+            listener.progressChanged(list.getTotalElements(), list.getTotalElements());
+        }
+        System.out.println("Data loaded from file: " + filename);
+        return list;
+    }
+
+    /**
+     * Saves the data from a GenericDoublyLinkedList to a block data file sorted by employee number, so that
+     * BlockFileIndex finds any employee of the file by reading a single block. The list itself keeps its order.
+     *
+     * @param list     The GenericDoublyLinkedList to save to the file.
+     * @param filename The name of the file to which the data will be saved.
+     * @param codec    The codec compressing the blocks.
+     * @param level    The compression level, from 1 (fastest) to 9 (smallest).
+     * @param listener The listener notified of the progress, or null if none is needed.
+     * @param <E>      The type of elements in the GenericDoublyLinkedList.
+     * @throws IOException If an I/O error occurs; the target file is then left as it was.
+     */
+    public static <E> void saveSortedBlockFile(GenericDoublyLinkedList<E> list, String filename, CompressionCodec codec,
+                                               int level, ProgressListener listener) throws IOException {
+        List<E> snapshot = new ArrayList<>(list.snapshot());
+        snapshot.sort(Comparator.comparingInt(FileHandler::getIdForGenericList));
+        saveSnapshotAtomically(snapshot, filename, codec, level, listener);
+    }
+
+    /**
+     * Opens the employee number index of a block data file, to fetch single employees without loading the file.
+     *
+     * @param filename The name of the block data file.
+     * @param <E>      The type of elements in the file.
+     * @return A BlockFileIndex for the file, which must be closed once the lookups are done.
+     * @throws IOException If the file cannot be read or has no index.
+     */
+    public static <E> BlockFileIndex<E> openBlockIndex(String filename) throws IOException {
+        return new BlockFileIndex<>(filename);
+    }
+
+    /**
+     * Fetches a single employee from a block data file by reading only the block that may hold it.
+     *
+     * @param filename The name of the block data file.
+     * @param id       The employee number.
+     * @param <E>      The type of elements in the file.
+     * @return The employee, or null if the file does not hold it.
+     * @throws IOException If the file cannot be read or has no index.
+     */
+    public static <E> E findEmployee(String filename, int id) throws IOException {
+        try (BlockFileIndex<E> index = new BlockFileIndex<>(filename)) {
+            return index.find(id);
+        }
+    }
+
+    /**
+     * Saves a snapshot of employees atomically, compressing block data files with the default codec and level.
+     *
+     * @param snapshot The employees to save, which must not be modified while saving.
+     * @param filename The name of the file to which the data will be saved.
+     * @param listener The listener notified of the progress, or null if none is needed.
+     * @param <E>      The type of elements in the snapshot.
+     * @throws IOException If an I/O error occurs; the target file is then left as it was.
+     * @see #saveSnapshotAtomically(List, String, CompressionCodec, int, ProgressListener)
+     */
+    public static <E> void saveSnapshotAtomically(List<E> snapshot, String filename, ProgressListener listener) throws IOException {
+        saveSnapshotAtomically(snapshot, filename, CompressionCodec.DEFLATE, CompressionCodec.DEFAULT_LEVEL, listener);
+    }
+
+    /**
+     * Saves a snapshot of employees so that the target file is either left untouched or fully replaced, even if
+     * the program crashes midway. The snapshot is written to a temporary file next to the target, forced to disk
+     * and then atomically moved over the target. The format is chosen from the target's extension.
+     *
+     * @param snapshot The employees to save, which must not be modified while saving.
+     * @param filename The name of the file to which the data will be saved.
+     * @param codec    The codec compressing the blocks, if the target is a block data file.
+     * @param level    The compression level, from 1 (fastest) to 9 (smallest).
+     * @param listener The listener notified of the progress, or null if none is needed.
+     * @param <E>      The type of elements in the snapshot.
+     * @throws IOException If an I/O error occurs; the target file is then left as it was.
+     */
+    public static <E> void saveSnapshotAtomically(List<E> snapshot, String filename, CompressionCodec codec, int level,
+                                                  ProgressListener listener) throws IOException {
+        writeAtomically(snapshot, snapshot.size(), filename, codec, level, listener);
+
+        // Employees saved to a segmented file are now stored in the slot matching their position.
+        if (isSegmentedFile(filename)) {
+            Path storageFile = SegmentedFileUpdater.storageFile(Path.of(filename));
+            long slot = 0;
+            for (E employee : snapshot) {
+                ((Employee) employee).setStorageSlot(storageFile, slot++);
+            }
+        }
+        System.out.println("Data saved to file: " + filename);
+    }
+
+    /**
+     * Sorts a data file of any size into another one with a bounded amount of memory, spilling sorted runs to
+     * temporary files and merging them. The format of the output is chosen from its extension.
+     *
+     * @param inputFilename  The name of the data file to sort, which is left unchanged.
+     * @param outputFilename The name of the sorted file to write.
+     * @param comparator     The order of the employees, such as ExternalSorter.BY_SALARY.
+     * @param listener       The listener notified of the progress, or null if none is needed.
+     * @param <E>            The type of elements in the file.
+     * @return The number of employees sorted.
+     * @throws IOException If an I/O error occurs; the output file is then left as it was.
+     * @see ExternalSorter
+     */
+    public static <E> long sortFile(String inputFilename, String outputFilename, Comparator<? super E> comparator,
+                                    ProgressListener listener) throws IOException {
+        long sorted = new ExternalSorter<E>(comparator).sort(inputFilename, outputFilename, listener);
+        System.out.println("Data sorted to file: " + outputFilename);
+        return sorted;
+    }
+
+    /**
+     * Loads several data files into a single list sorted by employee number, in one pass over all of them.
+     * Sorted block data files are streamed as they are. Every other file is first scanned up to its first employee
+     * out of order: files already in order of employee number, such as those saved after sorting the list, are
+     * then streamed as they are too, and only the others are sorted by employee number into a temporary file with
+     * an ExternalSorter. The sorted streams are then merged through a heap, so the memory used is the resulting
+     * list plus one read buffer per file.
+     *
+     * @param filenames          The names of the files to merge, in order of precedence.
+     * @param replaceDuplicates  Whether an employee number found in several files keeps the employee of the last
+     *                           of them, instead of the first.
+     * @param names              The real names of every file's employees, as returned by loadEncryptedNames and
+     *                           in the same order as the files, or null to leave every name masked.
+     * @param listener           The listener notified of the progress, or null if none is needed.
+     * @param <E>                The type of elements in the files.
+     * @return A list holding one employee per employee number, sorted by employee number.
+     * @throws IOException If a file cannot be read or the thread is interrupted.
+     */
+    public static <E> GenericDoublyLinkedList<E> loadMergedFiles(List<String> filenames, boolean replaceDuplicates,
+                                                                 List<Map<Integer, String>> names,
+                                                                 ProgressListener listener) throws IOException {
+        Comparator<E> byNumber = Comparator.comparingInt(FileHandler::getIdForGenericList);
+        List<Path> temporaries = new ArrayList<>();
+        List<EmployeeReader<E>> readers = new ArrayList<>(filenames.size());
+        try {
+            // Open a stream sorted by employee number over every file.
+            long total = 0;
+            for (String filename : filenames) {
+                EmployeeReader<E> reader = openReader(filename);
+                if (!(reader instanceof BlockFileReader && ((BlockFileReader<E>) reader).isSorted())) {
+                    reader.close();
+                    if (isSortedByNumber(filename)) {
+                        reader = openReader(filename);
+                    } else {
+                        Path sorted = Files.createTempFile("merge", "." + COMPACT_EXTENSION);
+                        temporaries.add(sorted);
+                        new ExternalSorter<E>(byNumber).sort(filename, sorted.toString(), null);
+                        reader = new EmployeeFileReader<>(sorted.toString(), ExternalSorter.MERGE_BUFFER_SIZE);
+                    }
+                }
+                readers.add(reader);
+                total = (total < 0 || reader.getRecordCount() < 0) ? -1 : total + reader.getRecordCount();
+            }
+
+            // Merge the streams, keeping one employee per employee number.
+            GenericDoublyLinkedList<E> list = new GenericDoublyLinkedList<>();
+            try (ExternalSorter.MergeIterator<E> merge = new ExternalSorter.MergeIterator<>(readers, byNumber)) {
+                readers.clear();
+                E pending = null;
+                long merged = 0;
+                while (merge.hasNext()) {
+                    E employee = merge.next();
+                    if (names != null) {
+                        restoreName(employee, names.get(merge.getLastSource()));
+                    }
+                    if (pending != null && getIdForGenericList(pending) == getIdForGenericList(employee)) {
+                        // Equal employee numbers arrive in file order, so the last one comes from the last file.
+                        if (replaceDuplicates) {
+                            pending = employee;
+                        }
+                    } else {
+                        if (pending != null) {
+                            list.add(pending, getIdForGenericList(pending));
+                        }
+                        pending = employee;
+                    }
+                    if (++merged % PROGRESS_INTERVAL == 0) {
+                        if (Thread.currentThread().isInterrupted()) {
+                            throw new InterruptedIOException("Merge canceled.");
+                        }
+                        if (listener != null) {
+                            listener.progressChanged(merged, total);
+                        }
+                    }
+                }
+                if (pending != null) {
+                    list.add(pending, getIdForGenericList(pending));
+                }
+                if (listener != null) {
+                    listener.progressChanged(merged, merged);
+                }
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            return list;
+        } finally {
+            for (EmployeeReader<E> reader : readers) {
+                reader.close();
+            }
+            for (Path path : temporaries) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    /**
+     * Checks whether the employees of a data file are in strictly increasing order of employee number, reading it
+     * only up to the first employee out of order.
+     *
+     * @param filename The name of the file to check.
+     * @param <E>      The type of elements in the file.
+     * @return true if every employee number is greater than the one before it, false otherwise.
+     * @throws IOException If the file cannot be read.
+     */
+    private static <E> boolean isSortedByNumber(String filename) throws IOException {
+        try (EmployeeReader<E> reader = openReader(filename)) {
+            long previous = Long.MIN_VALUE;
+            E employee;
+            while ((employee = reader.read()) != null) {
+                int id = getIdForGenericList(employee);
+                if (id <= previous) {
+                    return false;
+                }
+                previous = id;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Writes employees to a temporary file next to the target, forces it to disk and atomically moves it over
+     * the target, so that the target is either left untouched or fully replaced. The format is chosen from the
+     * target's extension.
+     *
+     * @param employees The employees to write, which are traversed once.
+     * @param total     The number of employees, used for progress notifications.
+     * @param filename  The name of the file to which the data will be saved.
+     * @param codec     The codec compressing the blocks, if the target is a block data file.
+     * @param level     The compression level, from 1 (fastest) to 9 (smallest).
+     * @param listener  The listener notified of the progress, or null if none is needed.
+     * @param <E>       The type of elements written.
+     * @throws IOException If an I/O error occurs; the target file is then left as it was.
+     */
+    static <E> void writeAtomically(Iterable<E> employees, long total, String filename, CompressionCodec codec, int level,
+                                    ProgressListener listener) throws IOException {
+        Path target = Path.of(filename).toAbsolutePath();
+        Path temporary = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            if (isSegmentedFile(filename)) {
+                SegmentedFileUpdater.writeAll(employees, total, temporary, listener);
+            } else if (isBlockFile(filename)) {
+                writeBlockFile(employees, total, temporary.toString(), codec, level, true, listener);
+            } else if (isFixedWidthFile(filename)) {
+                writeFixedWidthFile(employees, total, temporary.toString(), true, listener);
+            } else if (isCsvFile(filename)) {
+                writeCsvFile(employees, total, temporary.toString(), true, listener);
+            } else {
+                writeCompactFile(employees, total, temporary.toString(), true, listener);
+            }
+            Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temporary);
+            throw e;
+        }
+    }
+
+    /**
+     * Saves a list to a segmented data file. If the list was loaded from or last saved to that same file and
+     * has not been reordered since, only the segments holding the employees added, modified or removed since
+     * then are rewritten; otherwise the whole file is replaced atomically. The tracked changes are cleared
+     * once the file is saved.
+     *
+     * @param list        The list to save, which must not be modified while saving.
+     * @param filename    The name of the segmented file.
+     * @param incremental Whether the list's employees are stored in this file, so that only its changes need saving.
+     * @param listener    The listener notified of the progress, or null if none is needed.
+     * @param <E>         The type of elements in the list.
+     * @return The number of records written.
+     * @throws IOException If an I/O error occurs.
+     * @see #saveSegmentedFile(List, Collection, Collection, String, boolean, ProgressListener)
+     */
+    public static <E> long saveSegmentedFile(GenericDoublyLinkedList<E> list, String filename, boolean incremental,
+                                             ProgressListener listener) throws IOException {
+        boolean changesOnly = incremental && !list.isReordered() && Files.exists(Path.of(filename));
+        long written = saveSegmentedFile(changesOnly ? null : list.snapshot(), list.getChangedElements(),
+                list.getRemovedElements(), filename, changesOnly, listener);
+        list.clearChanges();
+        return written;
+    }
+
+    /**
+     * Saves employees captured from a list to a segmented data file, so the list itself can keep being used while
+     * they are written. If the list was loaded from or last saved to that same file and has not been reordered
+     * since, only the segments holding the changed and removed employees are rewritten; otherwise the snapshot
+     * replaces the whole file atomically. The list's tracked changes are left for the caller to clear.
+     *
+     * @param snapshot    The employees of the list, or null if only its changes are saved to an existing file.
+     * @param changed     The employees added or modified since the file was loaded or saved.
+     * @param removed     The employees removed since the file was loaded or saved.
+     * @param filename    The name of the segmented file.
+     * @param incremental Whether the employees are stored in this file in the order of the snapshot, so that only
+     *                    the changes need saving.
+     * @param listener    The listener notified of the progress, or null if none is needed.
+     * @param <E>         The type of elements saved.
+     * @return The number of records written.
+     * @throws IOException If an I/O error occurs.
+     */
+    public static <E> long saveSegmentedFile(List<E> snapshot, Collection<E> changed, Collection<E> removed,
+                                             String filename, boolean incremental, ProgressListener listener) throws IOException {
+        Path path = Path.of(filename);
+        if (incremental && Files.exists(path)) {
+            long written = SegmentedFileUpdater.writeChanges(path, changed, removed, listener);
+            System.out.println("Changes saved to file: " + filename + " (" + written + " records)");
+            return written;
+        }
+        saveSnapshotAtomically(snapshot, filename, listener);
+        return snapshot.size();
+    }
+
+    /**
+     * Saves the real names of employees encrypted with AES-GCM to a file next to their data file, replacing it
+     * atomically. Names are grouped into batches encrypted in parallel on the common fork-join pool. Employees
+     * whose real name is unknown are skipped; if none is known, the names file is deleted.
+     *
+     * @param employees    The employees whose names to save, which must not be modified while saving.
+     * @param dataFilename The name of the data file the employees were saved to.
+     * @param cipher       The cipher of the session, whose key is derived only once.
+     * @param <E>          The type of elements saved.
+     * @return The number of names saved.
+     * @throws IOException If an I/O error occurs or a batch cannot be encrypted.
+     */
+    public static <E> long saveEncryptedNames(Iterable<E> employees, String dataFilename, NameCipher cipher) throws IOException {
+        Path target = Path.of(namesFilename(dataFilename)).toAbsolutePath();
+
+        // Encode the names into batches of plaintext: employee number, UTF-8 length and UTF-8 bytes.
+        List<ByteBuffer> batches = new ArrayList<>();
+        ByteBuffer batch = ByteBuffer.allocate(NAMES_BATCH_SIZE);
+        long count = 0;
+        for (E employee : employees) {
+            String name = ((Employee) employee).getName();
+            if (name == null) {
+                continue;
+            }
+            byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+            if (bytes.length > Short.MAX_VALUE) {
+                throw new IOException("Name of employee " + getIdForGenericList(employee) + " is too long to be saved.");
+            }
+            if (batch.remaining() < Integer.BYTES + Short.BYTES + bytes.length) {
+                batches.add(batch);
+                batch = ByteBuffer.allocate(NAMES_BATCH_SIZE);
+            }
+            batch.putInt(getIdForGenericList(employee));
+            batch.putShort((short) bytes.length);
+            batch.put(bytes);
+            count++;
+        }
+        if (batch.position() > 0) {
+            batches.add(batch);
+        }
+        if (count == 0) {
+            Files.deleteIfExists(target);
+            return 0;
+        }
+
+        // Build the header first, as every batch authenticates it.
+        ByteBuffer header = ByteBuffer.allocate(NAMES_HEADER_SIZE);
+        header.putInt(NAMES_MAGIC);
+        header.putShort(NAMES_VERSION);
+        header.putShort((short) 0);
+        header.putInt(NameCipher.ITERATIONS);
+        header.put(cipher.getSalt());
+        header.putInt(batches.size());
+        header.putLong(count);
+        byte[] headerBytes = header.array();
+
+        // Encrypt every batch as its own GCM message, in parallel.
+        List<Callable<byte[]>> tasks = new ArrayList<>(batches.size());
+        for (int i = 0; i < batches.size(); i++) {
+            ByteBuffer plaintext = batches.get(i);
+            int index = i;
+            tasks.add(() -> cipher.encryptBatch(plaintext.array(), plaintext.position(), headerBytes, index));
+        }
+        List<byte[]> encrypted = invokeAllBatches(tasks);
+
+        // Write the header and the batches to a temporary file and move it over the previous names file.
+        Path temporary = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+            writeFully(channel, header);
+            ByteBuffer length = ByteBuffer.allocate(Integer.BYTES);
+            for (byte[] bytes : encrypted) {
+                length.putInt(bytes.length);
+                writeFully(channel, length);
+                ByteBuffer body = ByteBuffer.wrap(bytes);
+                while (body.hasRemaining()) {
+                    channel.write(body);
+                }
+            }
+            channel.force(true);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temporary);
+            throw e;
+        }
+        Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        System.out.println("Names saved to file: " + target);
+        return count;
+    }
+
+    /**
+     * Reads and decrypts the names saved next to a data file, decrypting the batches in parallel on the common
+     * fork-join pool.
+     *
+     * @param dataFilename The name of the data file.
+     * @param cipher       The cipher of the session, whose key for the file's salt is derived only once.
+     * @return The real names by employee number, empty if the data file has no names file.
+     * @throws IOException If an I/O error occurs, the file is corrupted or the passphrase is wrong.
+     */
+    public static Map<Integer, String> loadEncryptedNames(String dataFilename, NameCipher cipher) throws IOException {
+        Path path = Path.of(namesFilename(dataFilename));
+        if (!Files.exists(path)) {
+            return new HashMap<>();
+        }
+        ByteBuffer file = ByteBuffer.wrap(Files.readAllBytes(path));
+        long count;
+        List<Callable<byte[]>> tasks = new ArrayList<>();
+        try {
+            short version = (file.getInt() == NAMES_MAGIC) ? file.getShort() : -1;
+            if (version != NAMES_VERSION && version != NAMES_VERSION_UNBOUND_HEADER) {
+                throw new StreamCorruptedException("Not a supported encrypted names file: " + path);
+            }
+            file.getShort(); // Reserved.
+            int iterations = file.getInt();
+            byte[] salt = new byte[NameCipher.SALT_SIZE];
+            file.get(salt);
+            int batchCount = file.getInt();
+            count = file.getLong();
+            byte[] header = (version == NAMES_VERSION) ? Arrays.copyOf(file.array(), NAMES_HEADER_SIZE) : null;
+            for (int i = 0; i < batchCount; i++) {
+                byte[] encrypted = new byte[file.getInt()];
+                file.get(encrypted);
+                int index = i;
+                tasks.add(() -> cipher.decryptBatch(salt, iterations, encrypted, header, index));
+            }
+            if (file.hasRemaining()) {
+                throw new StreamCorruptedException("Encrypted names file holds " + file.remaining()
+                        + " bytes after its last batch: " + path);
+            }
+        } catch (BufferUnderflowException | NegativeArraySizeException e) {
+            throw new StreamCorruptedException("Encrypted names file is truncated: " + path);
+        }
+
+        // Decrypt the batches in parallel, then decode them in file order.
+        Map<Integer, String> names = new HashMap<>((int) Math.min(Integer.MAX_VALUE, count * 4 / 3 + 1));
+        try {
+            for (byte[] plaintext : invokeAllBatches(tasks)) {
+                ByteBuffer batch = ByteBuffer.wrap(plaintext);
+                while (batch.hasRemaining()) {
+                    int id = batch.getInt();
+                    int length = batch.getShort();
+                    names.put(id, new String(plaintext, batch.position(), length, StandardCharsets.UTF_8));
+                    batch.position(batch.position() + length);
+                }
+            }
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new StreamCorruptedException("Encrypted names file holds a corrupted batch: " + path);
+        }
+        if (names.size() != count) {
+            throw new StreamCorruptedException("Encrypted names file holds " + names.size() + " of " + count + " names.");
+        }
+        System.out.println("Names loaded from file: " + path);
+        return names;
+    }
+
+    /**
+     * Checks if a data file has a file holding its employees' encrypted names next to it.
+     *
+     * @param dataFilename The name of the data file.
+     * @return true if the names file exists, false otherwise.
+     */
+    public static boolean hasEncryptedNames(String dataFilename) {
+        return Files.exists(Path.of(namesFilename(dataFilename)));
+    }
+
+    /**
+     * Gives an employee loaded from a file back its real name, if it is known.
+     *
+     * @param employee The employee, whose masked name was loaded from the file.
+     * @param names    The real names by employee number.
+     * @param <E>      The type of the employee.
+     */
+    public static <E> void restoreName(E employee, Map<Integer, String> names) {
+        String name = names.get(getIdForGenericList(employee));
+        if (name != null) {
+            ((Employee) employee).setName(name);
+        }
+    }
+
+    /**
+     * Opens a fixed-width data file for browsing without loading it. Files that fit in a single mapping are
+     * mapped into memory; larger ones are read through a PagedEmployeeStore with the default memory budget.
+     *
+     * @param filename The name of the file to open.
+     * @param <E>      The type of elements in the file.
+     * @return A FileEmployeeStore giving access to the employees of the file, which must be closed once done.
+     * @throws IOException If the file cannot be opened or is not a valid fixed-width data file.
+     */
+    public static <E> FileEmployeeStore<E> openFileStore(String filename) throws IOException {
+        if (Files.size(Path.of(filename)) <= Integer.MAX_VALUE) {
+            return openMappedFile(filename);
+        }
+        return openPagedStore(filename, PagedEmployeeStore.DEFAULT_POOL_BYTES);
+    }
+
+    /**
+     * Opens a fixed-width data file of any size through a buffer pool of fixed-size pages.
+     * Employees are only materialized when accessed, and at most poolBytes of pages are kept in memory.
+     *
+     * @param filename  The name of the file to open.
+     * @param poolBytes The memory budget of the buffer pool, in bytes.
+     * @param <E>       The type of elements in the file.
+     * @return A PagedEmployeeStore giving access to the employees of the file, which must be closed once done.
+     * @throws IOException If the file cannot be opened or is not a valid fixed-width data file.
+     */
+    public static <E> PagedEmployeeStore<E> openPagedStore(String filename, long poolBytes) throws IOException {
+        PagedEmployeeStore<E> store = new PagedEmployeeStore<>(filename, poolBytes);
+        System.out.println("Data paged from file: " + filename);
+        return store;
+    }
+
+    /**
+     * Opens a fixed-width data file by mapping it into memory. Employees are only materialized when accessed.
+     *
+     * @param filename The name of the file to open.
+     * @param <E>      The type of elements in the file.
+     * @return A MappedEmployeeFile giving access to the employees of the file.
+     * @throws IOException If the file cannot be mapped or is not a valid fixed-width data file.
+     */
+    public static <E> MappedEmployeeFile<E> openMappedFile(String filename) throws IOException {
+        MappedEmployeeFile<E> file = new MappedEmployeeFile<>(filename);
+        System.out.println("Data mapped from file: " + filename);
+        return file;
+    }
+
+    /**
+     * Checks if a file name refers to a fixed-width data file.
+     *
+     * @param filename The name of the file to check.
+     * @return true if the file has the fixed-width data file extension, false otherwise.
+     */
+    public static boolean isFixedWidthFile(String filename) {
+        return filename.toLowerCase().endsWith("." + FIXED_WIDTH_EXTENSION);
+    }
+
+    /**
+     * Opens a compact, fixed-width, segmented, block, CSV or legacy data file for reading its employees one at a time.
+     *
+     * @param filename The name of the file to read from.
+     * @param <E>      The type of elements in the file.
+     * @return An EmployeeReader for the file, chosen from its extension.
+     * @throws IOException If the file cannot be opened or is not a valid data file.
+     */
+    public static <E> EmployeeReader<E> openReader(String filename) throws IOException {
+        if (isCompactFile(filename)) {
+            return new EmployeeFileReader<>(filename);
+        }
+        if (isFixedWidthFile(filename)) {
+            return new FixedWidthEmployeeReader<>(filename);
+        }
+        if (isSegmentedFile(filename)) {
+            return new SegmentedEmployeeReader<>(filename);
+        }
+        if (isBlockFile(filename)) {
+            return new BlockFileReader<>(filename);
+        }
+        if (isCsvFile(filename)) {
+            return new CsvEmployeeReader<>(filename);
+        }
+        return new LegacyEmployeeReader<>(filename);
+    }
+
+    /**
+     * Checks if a file name refers to a segmented data file.
+     *
+     * @param filename The name of the file to check.
+     * @return true if the file has the segmented data file extension, false otherwise.
+     */
+    public static boolean isSegmentedFile(String filename) {
+        return filename.toLowerCase().endsWith("." + SEGMENTED_EXTENSION);
+    }
+
+    /**
+     * Checks if a file name refers to a block data file.
+     *
+     * @param filename The name of the file to check.
+     * @return true if the file has the block data file extension, false otherwise.
+     */
+    public static boolean isBlockFile(String filename) {
+        return filename.toLowerCase().endsWith("." + BLOCK_EXTENSION);
+    }
+
+    /**
+     * Checks if a file name refers to a CSV file.
+     *
+     * @param filename The name of the file to check.
+     * @return true if the file has the CSV file extension, false otherwise.
+     */
+    public static boolean isCsvFile(String filename) {
+        return filename.toLowerCase().endsWith("." + CSV_EXTENSION);
+    }
+
+    /**
+     * Checks if a file name refers to a compact data file rather than a legacy serialized one.
+     *
+     * @param filename The name of the file to check.
+     * @return true if the file has the compact data file extension, false otherwise.
+     */
+    public static boolean isCompactFile(String filename) {
+        return filename.toLowerCase().endsWith("." + COMPACT_EXTENSION);
+    }
+
+    /**
+     * Writes employees to a compact data file.
+     *
+     * @param employees The employees to write.
+     * @param total     The number of employees, used for progress notifications.
+     * @param filename  The name of the file to write.
+     * @param sync      Whether to force the file to the storage device before returning.
+     * @param listener  The listener notified of the progress, or null if none is needed.
+     * @throws IOException If an I/O error occurs.
+     */
+    private static <E> void writeCompactFile(Iterable<E> employees, long total, String filename, boolean sync,
+                                             ProgressListener listener) throws IOException {
+        try (EmployeeFileWriter<E> writer = new EmployeeFileWriter<>(filename)) {
+            for (E employee : employees) {
+                writer.write(employee);
+                if (listener != null && writer.getRecordCount() % PROGRESS_INTERVAL == 0) {
+                    listener.progressChanged(writer.getRecordCount(), total);
+                }
+            }
+            if (sync) {
+                writer.commit();
+            }
+        }
+        if (listener != null) {
+            listener.progressChanged(total, total);
+        }
+    }
+
+    /**
+     * Writes employees to a fixed-width data file.
+     *
+     * @param employees The employees to write.
+     * @param total     The number of employees, stored in the header.
+     * @param filename  The name of the file to write.
+     * @param sync      Whether to force the file to the storage device before returning.
+     * @param listener  The listener notified of the progress, or null if none is needed.
+     * @throws IOException If an I/O error occurs.
+     */
+    private static <E> void writeFixedWidthFile(Iterable<E> employees, long total, String filename, boolean sync,
+                                                ProgressListener listener) throws IOException {
+        long written = 0;
+        ByteBuffer buffer = ByteBuffer.allocateDirect(EmployeeFileWriter.BUFFER_SIZE);
+        try (FileChannel channel = FileChannel.open(Path.of(filename), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            FixedWidthCodec.putHeader(buffer, total);
+            for (E employee : employees) {
+                if (buffer.remaining() < FixedWidthCodec.RECORD_SIZE) {
+                    writeFully(channel, buffer);
+                }
+                FixedWidthCodec.encode(employee, buffer);
+                written++;
+                if (listener != null && written % PROGRESS_INTERVAL == 0) {
+                    listener.progressChanged(written, total);
+                }
+            }
+            writeFully(channel, buffer);
+            if (sync) {
+                channel.force(true);
+            }
+        }
+        if (listener != null) {
+            listener.progressChanged(total, total);
+        }
+    }
+
+    /**
+     * Writes employees to a block data file.
+     *
+     * @param employees The employees to write.
+     * @param total     The number of employees, used for progress notifications.
+     * @param filename  The name of the file to write.
+     * @param codec     The codec compressing the blocks.
+     * @param level     The compression level, from 1 (fastest) to 9 (smallest).
+     * @param sync      Whether to force the file to the storage device before returning.
+     * @param listener  The listener notified of the progress, or null if none is needed.
+     * @throws IOException If an I/O error occurs.
+     */
+    private static <E> void writeBlockFile(Iterable<E> employees, long total, String filename, CompressionCodec codec,
+                                           int level, boolean sync, ProgressListener listener) throws IOException {
+        try (BlockFileWriter<E> writer = new BlockFileWriter<>(filename, codec, level)) {
+            for (E employee : employees) {
+                writer.write(employee);
+                if (listener != null && writer.getRecordCount() % PROGRESS_INTERVAL == 0) {
+                    listener.progressChanged(writer.getRecordCount(), total);
+                }
+            }
+            if (sync) {
+                writer.commit();
+            }
+        }
+        if (listener != null) {
+            listener.progressChanged(total, total);
+        }
+    }
+
+    /**
+     * Writes employees to a CSV file.
+     *
+     * @param employees The employees to write.
+     * @param total     The number of employees, used for progress notifications.
+     * @param filename  The name of the file to write.
+     * @param sync      Whether to force the file to the storage device before returning.
+     * @param listener  The listener notified of the progress, or null if none is needed.
+     * @throws IOException If an I/O error occurs.
+     */
+    private static <E> void writeCsvFile(Iterable<E> employees, long total, String filename, boolean sync,
+                                         ProgressListener listener) throws IOException {
+        try (CsvEmployeeWriter<E> writer = new CsvEmployeeWriter<>(filename)) {
+            for (E employee : employees) {
+                writer.write(employee);
+                if (listener != null && writer.getRecordCount() % PROGRESS_INTERVAL == 0) {
+                    listener.progressChanged(writer.getRecordCount(), total);
+                }
+            }
+            if (sync) {
+                writer.commit();
+            }
+        }
+        if (listener != null) {
+            listener.progressChanged(total, total);
+        }
+    }
+
+    /**
+     * Retrieves the name of the file holding the encrypted names of a data file's employees.
+     *
+     * @param dataFilename The name of the data file.
+     * @return The name of the names file.
+     */
+    private static String namesFilename(String dataFilename) {
+        return dataFilename + "." + NAMES_EXTENSION;
+    }
+
+    /**
+     * Runs batch tasks on the common fork-join pool and collects their results in order.
+     *
+     * @param tasks The tasks to run.
+     * @param <T>   The type of the results.
+     * @return The results of the tasks, in the order of the tasks.
+     * @throws IOException If a task fails; a wrong passphrase is reported as such.
+     */
+    private static <T> List<T> invokeAllBatches(List<Callable<T>> tasks) throws IOException {
+        List<T> results = new ArrayList<>(tasks.size());
+        try {
+            for (Future<T> result : ForkJoinPool.commonPool().invokeAll(tasks)) {
+                results.add(result.get());
+            }
+        } catch (ExecutionException e) {
+            // The fork-join pool may wrap the task's exception again, so look for a failed authentication anywhere in the chain.
+            for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+                if (cause instanceof AEADBadTagException) {
+                    throw new IOException("Wrong passphrase, or the names file was modified.", cause);
+                }
+            }
+            throw new IOException("Could not encrypt or decrypt the names: " + e.getCause(), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while encrypting or decrypting the names.");
+        }
+        return results;
+    }
+
+    /**
+     * Writes the whole content of a buffer to a channel and clears the buffer.
+     *
+     * @param channel The channel to write to.
+     * @param buffer  The buffer holding the bytes to write.
+     * @throws IOException If an I/O error occurs.
+     */
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
     /**
      * Helper method to get the employee number from an employee type object (in case it's one).
      *
      * @param employee The employee object.
      * @return The employee number.
      */
-    private static <E> int getIdForGenericList(E employee) {
+    public static <E> int getIdForGenericList(E employee) {
         if (employee instanceof Analyst) {
             return ((Analyst) employee).getEmployeeNumber();
         } else if (employee instanceof Programmer) {
@@ -0,0 +1,245 @@
+package controllers;
+
+// For encoding records into buffers.
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import models.Analyst;
+import models.Employee;
+import models.Programmer;
+import models.SalaryExceedsMaxException;
+
+/**
+ * Utility class for encoding employees as fixed-width records, so that the record at any position
+ * of a file can be located with a multiplication instead of reading everything before it.
+ * <p>
+ * Strings are stored in fixed-size fields and truncated (on a character boundary) if they do not fit.
+ */
+final class FixedWidthCodec {
+
+    /**
+     * Magic number identifying fixed-width employee data files ("EMPF").
+     */
+    static final int MAGIC = 0x454D5046;
+
+    /**
+     * Current schema version of the fixed-width format.
+     */
+    static final short VERSION = 1;
+
+    /**
+     * Size in bytes of the file header: magic (4), version (2), flags (2), record size (4),
+     * record count (8) and reserved space (12).
+     */
+    static final int HEADER_SIZE = 32;
+
+    /**
+     * Size in bytes of every record.
+     */
+    static final int RECORD_SIZE = 128;
+
+    /**
+     * Type tag of an empty record slot.
+     */
+    static final byte EMPTY = 0;
+
+    /**
+     * Maximum number of UTF-8 bytes stored for the masked name.
+     */
+    private static final int NAME_BYTES = 40;
+
+    /**
+     * Maximum number of UTF-8 bytes stored for the qualification or main language.
+     */
+    private static final int TEXT_BYTES = 52;
+
+    /**
+     * Length marker used for null strings.
+     */
+    private static final int NULL_LENGTH = 0xFF;
+
+    /**
+     * Marker stored instead of an epoch day when the hire date is not specified.
+     */
+    private static final int NO_DATE = Integer.MIN_VALUE;
+
+    // Offsets of the fields within a record.
+    private static final int TYPE = 0;
+    private static final int NUMBER = 1;
+    private static final int HIRE_DATE = 5;
+    private static final int SALARY = 9;
+    private static final int MAX_SALARY = 17;
+    private static final int EXTRA = 25;
+    private static final int CALCULABLE = 33;
+    private static final int NAME = 34;
+    private static final int TEXT = NAME + 1 + NAME_BYTES;
+
+    /**
+     * Prevents instantiation of this utility class.
+     */
+    private FixedWidthCodec() {
+    }
+
+    /**
+     * Puts a file header into a buffer at its current position.
+     *
+     * @param buffer      The buffer to write the header to.
+     * @param recordCount The number of records stored in the file.
+     */
+    static void putHeader(ByteBuffer buffer, long recordCount) {
+        int start = buffer.position();
+        buffer.putInt(MAGIC);
+        buffer.putShort(VERSION);
+        buffer.putShort((short) 0);
+        buffer.putInt(RECORD_SIZE);
+        buffer.putLong(recordCount);
+        buffer.position(start + HEADER_SIZE);
+    }
+
+    /**
+     * Validates a file header at the start of a buffer and returns the record count it states.
+     *
+     * @param buffer The buffer holding the header at position 0.
+     * @return The record count stored in the header.
+     * @throws IOException If the header does not belong to a supported fixed-width file.
+     */
+    static long readHeader(ByteBuffer buffer) throws IOException {
+        if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new StreamCorruptedException("Not a fixed-width employee data file.");
+        }
+        short version = buffer.getShort(4);
+        if (version != VERSION || buffer.getInt(8) != RECORD_SIZE) {
+            throw new StreamCorruptedException("Unsupported fixed-width employee data file version: " + version);
+        }
+        return buffer.getLong(12);
+    }
+
+    /**
+     * Encodes an employee as a fixed-width record at the buffer's current position.
+     *
+     * @param employee The employee to encode, either an Analyst or a Programmer.
+     * @param buffer   The buffer to write the record to, with at least RECORD_SIZE bytes remaining.
+     * @throws IllegalArgumentException If the object is not a supported employee type.
+     */
+    static void encode(Object employee, ByteBuffer buffer) {
+        int start = buffer.position();
+        Employee common = (Employee) employee;
+        if (employee instanceof Analyst) {
+            Analyst analyst = (Analyst) employee;
+            buffer.put(start + TYPE, EmployeeCodec.ANALYST);
+            buffer.putDouble(start + EXTRA, analyst.getAnnualBonus());
+            buffer.put(start + CALCULABLE, (byte) (analyst.getAnnualBonusCalculable() ? 1 : 0));
+            putString(buffer, start + TEXT, analyst.getAdditionalQualification(), TEXT_BYTES);
+        } else if (employee instanceof Programmer) {
+            Programmer programmer = (Programmer) employee;
+            buffer.put(start + TYPE, EmployeeCodec.PROGRAMMER);
+            buffer.putDouble(start + EXTRA, programmer.getMonthlyExtra());
+            buffer.put(start + CALCULABLE, (byte) (programmer.getMonthlyExtraCalculable() ? 1 : 0));
+            putString(buffer, start + TEXT, programmer.getMainLanguage(), TEXT_BYTES);
+        } else {
+            throw new IllegalArgumentException("Unsupported employee type: " + employee);
+        }
+        buffer.putInt(start + NUMBER, common.getEmployeeNumber());
+        buffer.putInt(start + HIRE_DATE, (common.getHireEpochDay() != Employee.NO_DATE)
+                ? (int) common.getHireEpochDay() : NO_DATE);
+        buffer.putDouble(start + SALARY, common.getSalary());
+        buffer.putDouble(start + MAX_SALARY, common.getMaxSalary());
+        putString(buffer, start + NAME, common.getMaskedName(), NAME_BYTES);
+        buffer.position(start + RECORD_SIZE);
+    }
+
+    /**
+     * Decodes the fixed-width record starting at the given offset, without moving the buffer's position.
+     *
+     * @param buffer The buffer holding the record.
+     * @param offset The offset of the record within the buffer.
+     * @param <E>    The type of elements the caller reads, which the decoded employee is returned as.
+     * @return The decoded Analyst or Programmer, or null if the slot is empty.
+     * @throws IOException If the record is corrupted.
+     */
+    static <E> E decode(ByteBuffer buffer, int offset) throws IOException {
+        byte type = buffer.get(offset + TYPE);
+        Employee employee;
+        if (type == EMPTY) {
+            return null;
+        } else if (type == EmployeeCodec.ANALYST) {
+            Analyst analyst = new Analyst();
+            analyst.setAnnualBonus(buffer.getDouble(offset + EXTRA));
+            analyst.setAnnualBonusCalculable(buffer.get(offset + CALCULABLE) != 0);
+            analyst.setAdditionalQualification(getString(buffer, offset + TEXT));
+            employee = analyst;
+        } else if (type == EmployeeCodec.PROGRAMMER) {
+            Programmer programmer = new Programmer();
+            programmer.setMonthlyExtra(buffer.getDouble(offset + EXTRA));
+            programmer.setMonthlyExtraCalculable(buffer.get(offset + CALCULABLE) != 0);
+            programmer.setMainLanguage(getString(buffer, offset + TEXT));
+            employee = programmer;
+        } else {
+            throw new StreamCorruptedException("Unknown employee record type: " + type);
+        }
+        employee.setEmployeeNumber(buffer.getInt(offset + NUMBER));
+        employee.setMaskedName(getString(buffer, offset + NAME));
+        int epochDay = buffer.getInt(offset + HIRE_DATE);
+        employee.setHireEpochDay((epochDay != NO_DATE) ? epochDay : Employee.NO_DATE);
+        try {
+            employee.setMaxSalary(buffer.getDouble(offset + MAX_SALARY));
+            employee.setSalary(buffer.getDouble(offset + SALARY));
+        } catch (SalaryExceedsMaxException e) {
+            throw new StreamCorruptedException("Record of employee " + employee.getEmployeeNumber() + " has a salary above its maximum.");
+        }
+        return (E) employee;
+    }
+
+    /**
+     * Reads the employee number of the record at the given offset without decoding the rest of it.
+     *
+     * @param buffer The buffer holding the record.
+     * @param offset The offset of the record within the buffer.
+     * @return The employee number stored in the record.
+     */
+    static int readEmployeeNumber(ByteBuffer buffer, int offset) {
+        return buffer.getInt(offset + NUMBER);
+    }
+
+    /**
+     * Puts a string into a fixed-size field as a one-byte length followed by its UTF-8 bytes.
+     *
+     * @param buffer   The buffer to write to.
+     * @param offset   The offset of the field.
+     * @param value    The string to write, possibly null.
+     * @param maxBytes The number of bytes available for the string.
+     */
+    private static void putString(ByteBuffer buffer, int offset, String value, int maxBytes) {
+        if (value == null) {
+            buffer.put(offset, (byte) NULL_LENGTH);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        int length = Math.min(bytes.length, maxBytes);
+        // Step back over UTF-8 continuation bytes so a truncated string never ends in half a character.
+        while (length < bytes.length && length > 0 && (bytes[length] & 0xC0) == 0x80) {
+            length--;
+        }
+        buffer.put(offset, (byte) length);
+        buffer.put(offset + 1, bytes, 0, length);
+    }
+
+    /**
+     * Gets a string written by putString.
+     *
+     * @param buffer The buffer to read from.
+     * @param offset The offset of the field.
+     * @return The string read, possibly null.
+     */
+    private static String getString(ByteBuffer buffer, int offset) {
+        int length = buffer.get(offset) & 0xFF;
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(offset + 1, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,149 @@
+package controllers;
+
+// For reading many records at once through a file channel.
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads employees from a fixed-width data file one record at a time, so that it can be merged or sorted with
+ * other data files without mapping it into memory. Empty records are skipped.
+ *
+ * @param <E> The type of elements read, either Analyst or Programmer instances.
+ */
+public class FixedWidthEmployeeReader<E> implements EmployeeReader<E> {
+
+    /**
+     * Number of records read from the channel at once.
+     */
+    private static final int RECORDS_PER_READ = 8192;
+
+    /**
+     * The channel the records are read from.
+     */
+    private final FileChannel channel;
+
+    /**
+     * The buffer holding the records read from the channel.
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * The number of records in the file, as stated by its header.
+     */
+    private final long recordCount;
+
+    /**
+     * The index of the record at the buffer's position.
+     */
+    private long nextRecord;
+
+    /**
+     * The number of employees read so far.
+     */
+    private long recordsRead;
+
+    /**
+     * Opens the given file and reads its header.
+     *
+     * @param filename The name of the file to read from.
+     * @throws IOException If the file cannot be opened or is not a fixed-width employee data file.
+     */
+    public FixedWidthEmployeeReader(String filename) throws IOException {
+        channel = FileChannel.open(Path.of(filename), StandardOpenOption.READ);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(FixedWidthCodec.HEADER_SIZE);
+            int read = 0;
+            while (header.hasRemaining() && read >= 0) {
+                read = channel.read(header);
+            }
+            // A file shorter than the header is rejected by readHeader.
+            header.flip();
+            recordCount = FixedWidthCodec.readHeader(header);
+            if (recordCount < 0 || channel.size() < FixedWidthCodec.HEADER_SIZE + recordCount * FixedWidthCodec.RECORD_SIZE) {
+                throw new StreamCorruptedException("File is shorter than its header states: " + filename);
+            }
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        buffer = ByteBuffer.allocateDirect(RECORDS_PER_READ * FixedWidthCodec.RECORD_SIZE);
+        buffer.flip();
+    }
+
+    /**
+     * Retrieves the number of records stored in the file.
+     *
+     * @return The record count from the file header.
+     */
+    @Override
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Retrieves the number of employees read so far.
+     *
+     * @return The number of employees returned by read().
+     */
+    @Override
+    public long getRecordsRead() {
+        return recordsRead;
+    }
+
+    /**
+     * Reads the next employee, skipping empty records.
+     *
+     * @return The next employee, or null if every record has been read.
+     * @throws IOException If an I/O error occurs or a record is corrupted.
+     */
+    @Override
+    public E read() throws IOException {
+        while (nextRecord < recordCount) {
+            if (!buffer.hasRemaining()) {
+                fill();
+            }
+            E employee = FixedWidthCodec.decode(buffer, buffer.position());
+            buffer.position(buffer.position() + FixedWidthCodec.RECORD_SIZE);
+            nextRecord++;
+            if (employee != null) {
+                recordsRead++;
+                return employee;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Reads the next records into the buffer.
+     *
+     * @throws IOException If an I/O error occurs or the file is truncated.
+     */
+    private void fill() throws IOException {
+        long records = Math.min(recordCount - nextRecord, RECORDS_PER_READ);
+        buffer.clear();
+        buffer.limit((int) records * FixedWidthCodec.RECORD_SIZE);
+        long position = FixedWidthCodec.HEADER_SIZE + nextRecord * FixedWidthCodec.RECORD_SIZE;
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new StreamCorruptedException("Unexpected end of fixed-width file.");
+            }
+            position += read;
+        }
+        buffer.flip();
+    }
+
+    /**
+     * Closes the file.
+     *
+     * @throws IOException If an I/O error occurs.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -1,9 +1,28 @@
 package controllers;
 
+// For traversing the list without moving its current node.
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+// For tracking the elements changed since the list was last saved.
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+// For finding the duplicate IDs of a merged list.
+import java.util.HashMap;
+import java.util.Map;
+
+import models.Employee;
+import models.EmployeeChangeListener;
+
 /**
  * Utility class for handling doubly linked list operations.
  */
-public class GenericDoublyLinkedList<E> {
+public class GenericDoublyLinkedList<E> implements EmployeeStore<E>, Iterable<E> {
     /**
      * The first node in the doubly linked list.
      */
@@ -19,11 +38,97 @@ public class GenericDoublyLinkedList<E> {
      */
     private Node<E> currentNode;
 
+    /**
+     * The position of the current node, kept up to date as the current node moves so it is not counted from the
+     * first node every time: -1 if there is no current node, or POSITION_UNKNOWN until it is counted again.
+     */
+    private int currentPosition = -1;
+
     /**
      * The total number of elements in the doubly linked list.
      */
     private int totalElements;
 
+    /**
+     * Positional index holding the nodes in list order, so that elements are found by position without walking the
+     * list. Appending keeps the indexed prefix valid; unlinking or relinking nodes discards it.
+     */
+    private ArrayList<Node<E>> positionIndex = new ArrayList<>();
+
+    /**
+     * The number of leading entries of the positional index that match the list.
+     */
+    private int indexedNodes;
+
+    /**
+     * Elements added or modified since the changes were last cleared, compared by identity.
+     */
+    private Set<E> changedElements = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /**
+     * Elements removed since the changes were last cleared.
+     */
+    private final List<E> removedElements = new ArrayList<>();
+
+    /**
+     * Whether the order of the elements changed since the changes were last cleared.
+     */
+    private boolean reordered;
+
+    /**
+     * Listeners notified of the changes made to the list when they are fired.
+     */
+    private final List<ListChangeListener> listChangeListeners = new ArrayList<>();
+
+    /**
+     * Structural changes made since the changes were last fired, in order, as {type, first index, last index}.
+     * Consecutive changes of the same type over adjacent positions are coalesced into a single one.
+     */
+    private final List<int[]> pendingChanges = new ArrayList<>();
+
+    /**
+     * Elements modified or replaced since the changes were last fired, compared by identity.
+     */
+    private final Set<E> pendingChangedElements = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /**
+     * Type of pending change for elements added.
+     */
+    private static final int ADDED = 0;
+
+    /**
+     * Type of pending change for elements removed.
+     */
+    private static final int REMOVED = 1;
+
+    /**
+     * Type of pending change for elements reordered; its first index is unused and its last index is the new size minus one.
+     */
+    private static final int REORDERED = 2;
+
+    /**
+     * Value of the current position once nodes before the current one may have been unlinked or relinked.
+     */
+    private static final int POSITION_UNKNOWN = -2;
+
+    /**
+     * Largest number of modified elements whose positions are found by comparing them directly with every element.
+     */
+    private static final int FEW_CHANGED_ELEMENTS = 16;
+
+    /**
+     * Listener registered on the employees of the list, marking them as changed when their setters are called.
+     */
+    private final EmployeeChangeListener changeListener = employee -> {
+        // The listener is only registered on elements of this list.
+        E element = (E) employee;
+        changedElements.add(element);
+        if (!listChangeListeners.isEmpty()) {
+            pendingChangedElements.add(element);
+        }
+    };
+
+
     /**
      * Constructs an empty doubly linked list.
      */
@@ -32,6 +137,7 @@ public class GenericDoublyLinkedList<E> {
         firstNode = null;
         lastNode = null;
         currentNode = null;
+        currentPosition = -1;
         totalElements = 0;
     }
 
@@ -62,6 +168,13 @@ public class GenericDoublyLinkedList<E> {
         }
         // Increment the total number of elements in the list.
         totalElements++;
+        recordChange(ADDED, totalElements - 1, totalElements - 1);
+
+        // Track the new element and any later modification of it.
+        changedElements.add(data);
+        if (data instanceof Employee) {
+            ((Employee) data).setChangeListener(changeListener);
+        }
     }
 
     /**
@@ -74,6 +187,12 @@ public class GenericDoublyLinkedList<E> {
             return;
         }
 
+        // Views are told the position the element had, which is only counted if a view listens.
+        if (!listChangeListeners.isEmpty()) {
+            int position = getCurrentPosition();
+            recordChange(REMOVED, position, position);
+        }
+
         // Retrieve the previous and next nodes of the current node.
         Node<E> previousNode = currentNode.getPreviousNode();
         Node<E> nextNode = currentNode.getNextNode();
@@ -96,11 +215,436 @@ public class GenericDoublyLinkedList<E> {
             lastNode = previousNode;
         }
 
-        // Move the current node to the next node in the list.
+        // Track the removal and stop tracking modifications of the removed element.
+        E data = currentNode.getData();
+        changedElements.remove(data);
+        removedElements.add(data);
+        if (data instanceof Employee && ((Employee) data).getChangeListener() == changeListener) {
+            ((Employee) data).setChangeListener(null);
+        }
+
+        // Move the current node to the next node in the list, which takes the position of the removed one.
         currentNode = nextNode;
+        if (nextNode == null) {
+            currentPosition = -1;
+        }
 
         // Decrement the total number of elements in the list.
         totalElements--;
+
+        // The nodes after the removed one moved back by one position.
+        indexedNodes = 0;
+    }
+
+    /**
+     * Moves every element of another list to the end of this one, in order, leaving the other list empty.
+     * The two chains of nodes are linked in constant time; the moved elements keep the change state they had
+     * in the other list, and their change listener is pointed at this list in a single pass.
+     *
+     * @param other the list whose elements are moved to the end of this list.
+     */
+    public void addAll(GenericDoublyLinkedList<E> other) {
+        // Nothing to move from an empty list or from this list itself.
+        if (other == this || other.firstNode == null) {
+            return;
+        }
+
+        // Link the last node of this list to the first node of the other list.
+        if (firstNode == null) {
+            firstNode = other.firstNode;
+        } else {
+            lastNode.setNextNode(other.firstNode);
+            other.firstNode.setPreviousNode(lastNode);
+        }
+        lastNode = other.lastNode;
+        recordChange(ADDED, totalElements, totalElements + other.totalElements - 1);
+        totalElements += other.totalElements;
+
+        // Carry over the changes tracked by the other list, and track the moved employees from now on.
+        // The smaller set of changed elements is copied into the larger one, which this list then keeps.
+        if (changedElements.size() < other.changedElements.size()) {
+            Set<E> larger = other.changedElements;
+            other.changedElements = changedElements;
+            changedElements = larger;
+        }
+        changedElements.addAll(other.changedElements);
+        removedElements.addAll(other.removedElements);
+        reordered |= other.reordered;
+        for (Node<E> node = other.firstNode; node != null; node = node.getNextNode()) {
+            if (node.getData() instanceof Employee) {
+                ((Employee) node.getData()).setChangeListener(changeListener);
+            }
+        }
+
+        // Leave the other list empty.
+        other.firstNode = null;
+        other.lastNode = null;
+        other.currentNode = null;
+        other.currentPosition = -1;
+        other.totalElements = 0;
+        other.positionIndex = new ArrayList<>();
+        other.indexedNodes = 0;
+        other.recordChange(REORDERED, 0, -1);
+        other.clearChanges();
+    }
+
+    /**
+     * Moves every element of another list, sorted by ID, into this one, leaving the other list empty. When an ID is
+     * in both lists, only one of the two elements is kept, according to the chosen policy.
+     * <p>
+     * If this list is also sorted by ID, the two chains of nodes are merged in a single pass, so the result stays
+     * sorted. Otherwise the elements whose ID is not already in this list are appended in order, and the duplicates
+     * are found through an index of the other list's IDs.
+     *
+     * @param other           the list whose elements are merged into this one, sorted by ID.
+     * @param replaceExisting whether an element of the other list replaces the element of this list with the same
+     *                        ID, instead of being dropped.
+     * @return the elements left out of this list: the replaced elements, or the dropped elements of the other list.
+     */
+    public List<E> mergeById(GenericDoublyLinkedList<E> other, boolean replaceExisting) {
+        List<E> leftOut = new ArrayList<>();
+
+        // Nothing to merge from an empty list or from this list itself.
+        if (other == this || other.firstNode == null) {
+            return leftOut;
+        }
+
+        if (isSortedById()) {
+            // Relink the nodes of both lists in ID order, taking the smaller ID first.
+            Node<E> existing = firstNode;
+            Node<E> incoming = other.firstNode;
+            Node<E> head = null;
+            Node<E> tail = null;
+            int merged = 0;
+            while (existing != null || incoming != null) {
+                Node<E> taken;
+                if (incoming == null || (existing != null && existing.getId() < incoming.getId())) {
+                    taken = existing;
+                    existing = existing.getNextNode();
+                } else if (existing == null || incoming.getId() < existing.getId()) {
+                    taken = incoming;
+                    incoming = incoming.getNextNode();
+                    adopt(taken.getData());
+
+                    // An element placed before existing ones changes their order.
+                    reordered |= existing != null;
+                } else {
+                    // Both lists hold this ID, so keep the existing node and decide which element it holds.
+                    taken = existing;
+                    if (replaceExisting) {
+                        leftOut.add(replaceData(existing, incoming.getData()));
+                    } else {
+                        leftOut.add(incoming.getData());
+                    }
+                    existing = existing.getNextNode();
+                    incoming = incoming.getNextNode();
+                }
+
+                // Append the taken node to the merged chain.
+                taken.setPreviousNode(tail);
+                if (tail == null) {
+                    head = taken;
+                } else {
+                    tail.setNextNode(taken);
+                }
+                tail = taken;
+                merged++;
+            }
+            tail.setNextNode(null);
+            firstNode = head;
+            lastNode = tail;
+            totalElements = merged;
+
+            // The incoming nodes were placed between the existing ones.
+            indexedNodes = 0;
+            if (currentNode != null) {
+                currentPosition = POSITION_UNKNOWN;
+            }
+            recordChange(REORDERED, 0, totalElements - 1);
+        } else {
+            // Index the other list's nodes by ID, then settle every ID already present in this list.
+            Map<Integer, Node<E>> index = new HashMap<>(Math.max(16, other.totalElements * 4 / 3 + 1));
+            for (Node<E> node = other.firstNode; node != null; node = node.getNextNode()) {
+                index.put(node.getId(), node);
+            }
+            for (Node<E> node = firstNode; node != null; node = node.getNextNode()) {
+                Node<E> duplicate = index.remove(node.getId());
+                if (duplicate == null) {
+                    continue;
+                }
+                if (replaceExisting) {
+                    leftOut.add(replaceData(node, duplicate.getData()));
+                } else {
+                    leftOut.add(duplicate.getData());
+                }
+            }
+
+            // Append the elements of the other list that are still in the index, in their order.
+            for (Node<E> node = other.firstNode; node != null; node = node.getNextNode()) {
+                if (index.get(node.getId()) == node) {
+                    add(node.getData(), node.getId());
+                }
+            }
+        }
+
+        // Leave the other list empty.
+        other.firstNode = null;
+        other.lastNode = null;
+        other.currentNode = null;
+        other.currentPosition = -1;
+        other.totalElements = 0;
+        other.positionIndex = new ArrayList<>();
+        other.indexedNodes = 0;
+        other.recordChange(REORDERED, 0, -1);
+        other.clearChanges();
+        return leftOut;
+    }
+
+    /**
+     * Checks if the IDs of the elements never decrease from the first node to the last.
+     *
+     * @return true if the list is sorted by ID, false otherwise.
+     */
+    private boolean isSortedById() {
+        for (Node<E> node = firstNode; node != null && node.getNextNode() != null; node = node.getNextNode()) {
+            if (node.getId() > node.getNextNode().getId()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Tracks an element that joins this list as changed, along with any later modification of it.
+     *
+     * @param data the element joining this list.
+     */
+    private void adopt(E data) {
+        changedElements.add(data);
+        if (data instanceof Employee) {
+            ((Employee) data).setChangeListener(changeListener);
+        }
+    }
+
+    /**
+     * Replaces the element held by a node, tracking the old element as removed and the new one as changed.
+     *
+     * @param node the node whose element is replaced.
+     * @param data the new element.
+     * @return the element replaced.
+     */
+    private E replaceData(Node<E> node, E data) {
+        E replaced = node.getData();
+        changedElements.remove(replaced);
+        removedElements.add(replaced);
+        if (replaced instanceof Employee && ((Employee) replaced).getChangeListener() == changeListener) {
+            ((Employee) replaced).setChangeListener(null);
+        }
+        node.setData(data);
+        adopt(data);
+        if (!listChangeListeners.isEmpty()) {
+            pendingChangedElements.add(data);
+        }
+        return replaced;
+    }
+
+    /**
+     * Registers a listener notified of the changes made to the list whenever they are fired.
+     * The changes made before the listener was registered are not delivered to it.
+     *
+     * @param listener the listener to register.
+     */
+    public void addListChangeListener(ListChangeListener listener) {
+        fireChanges();
+        listChangeListeners.add(listener);
+    }
+
+    /**
+     * Unregisters a listener, which is no longer notified of the changes made to the list.
+     *
+     * @param listener the listener to unregister.
+     */
+    public void removeListChangeListener(ListChangeListener listener) {
+        listChangeListeners.remove(listener);
+    }
+
+    /**
+     * Delivers the changes made since they were last fired to every listener, as a single batch: first the
+     * structural changes in the order they were made, then the elements modified, by position in the list.
+     * Nothing is recorded while no listener is registered.
+     */
+    public void fireChanges() {
+        if (pendingChanges.isEmpty() && pendingChangedElements.isEmpty()) {
+            return;
+        }
+        List<int[]> changes = new ArrayList<>(pendingChanges);
+        pendingChanges.clear();
+
+        // Find the positions of the modified elements still in the list with a single pass, as ranges. A few
+        // elements are compared directly, which is much faster than hashing every element of the list.
+        List<int[]> changedRanges = new ArrayList<>();
+        if (!pendingChangedElements.isEmpty()) {
+            Object[] few = (pendingChangedElements.size() <= FEW_CHANGED_ELEMENTS) ? pendingChangedElements.toArray() : null;
+            int position = 0;
+            int found = 0;
+            for (Node<E> node = firstNode; node != null && found < pendingChangedElements.size(); node = node.getNextNode(), position++) {
+                if ((few != null) ? containsIdentical(few, node.getData()) : pendingChangedElements.contains(node.getData())) {
+                    found++;
+                    int[] last = changedRanges.isEmpty() ? null : changedRanges.get(changedRanges.size() - 1);
+                    if (last != null && last[1] == position - 1) {
+                        last[1] = position;
+                    } else {
+                        changedRanges.add(new int[] {position, position});
+                    }
+                }
+            }
+            pendingChangedElements.clear();
+        }
+
+        for (ListChangeListener listener : List.copyOf(listChangeListeners)) {
+            for (int[] change : changes) {
+                switch (change[0]) {
+                    case ADDED -> listener.elementsAdded(change[1], change[2]);
+                    case REMOVED -> listener.elementsRemoved(change[1], change[2]);
+                    default -> listener.elementsReordered(change[2] + 1);
+                }
+            }
+            for (int[] range : changedRanges) {
+                listener.elementsChanged(range[0], range[1]);
+            }
+        }
+    }
+
+    /**
+     * Checks if an array holds the given element itself, rather than an equal one.
+     *
+     * @param elements the elements to search.
+     * @param data     the element to search for.
+     * @return true if the array holds the element, false otherwise.
+     */
+    private static boolean containsIdentical(Object[] elements, Object data) {
+        for (Object element : elements) {
+            if (element == data) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Records a structural change to deliver to the listeners, merging it into the previous change when both are
+     * of the same type and cover adjacent positions. Nothing is recorded while no listener is registered.
+     *
+     * @param type       the type of change: ADDED, REMOVED or REORDERED.
+     * @param firstIndex the first position affected.
+     * @param lastIndex  the last position affected, or the new size minus one for REORDERED.
+     */
+    private void recordChange(int type, int firstIndex, int lastIndex) {
+        if (listChangeListeners.isEmpty() || (type != REORDERED && lastIndex < firstIndex)) {
+            return;
+        }
+        int[] last = pendingChanges.isEmpty() ? null : pendingChanges.get(pendingChanges.size() - 1);
+        if (last != null && last[0] == type) {
+            if (type == REORDERED) {
+                // A reordering covers the whole list, so successive ones are delivered as one.
+                last[2] = lastIndex;
+                return;
+            }
+            if (type == ADDED && firstIndex == last[2] + 1) {
+                last[2] = lastIndex;
+                return;
+            }
+            if (type == REMOVED && firstIndex == last[1]) {
+                // Removing at the same position again removes the element that followed the previous one.
+                last[2] += lastIndex - firstIndex + 1;
+                return;
+            }
+            if (type == REMOVED && lastIndex == last[1] - 1) {
+                last[1] = firstIndex;
+                return;
+            }
+        }
+        pendingChanges.add(new int[] {type, firstIndex, lastIndex});
+    }
+
+    /**
+     * Retrieves the elements added or modified since the changes were last cleared.
+     *
+     * @return an unmodifiable view of the changed elements.
+     */
+    public Set<E> getChangedElements() {
+        return Collections.unmodifiableSet(changedElements);
+    }
+
+    /**
+     * Retrieves the elements removed since the changes were last cleared.
+     *
+     * @return an unmodifiable view of the removed elements.
+     */
+    public List<E> getRemovedElements() {
+        return Collections.unmodifiableList(removedElements);
+    }
+
+    /**
+     * Checks if the order of the elements changed since the changes were last cleared.
+     *
+     * @return true if elements were swapped, false otherwise.
+     */
+    public boolean isReordered() {
+        return reordered;
+    }
+
+    /**
+     * Forgets the tracked changes, once the list has been saved or freshly loaded.
+     */
+    public void clearChanges() {
+        changedElements.clear();
+        removedElements.clear();
+        reordered = false;
+    }
+
+    /**
+     * Forgets the changes captured before saving the list in the background, keeping the ones tracked since then.
+     *
+     * @param changed   the elements that were changed when the changes were captured.
+     * @param removed   the elements that were removed when the changes were captured, which are the first ones
+     *                  tracked as removed.
+     * @param reordered whether the list was reordered when the changes were captured.
+     */
+    public void clearChanges(Collection<E> changed, List<E> removed, boolean reordered) {
+        for (E element : changed) {
+            changedElements.remove(element);
+        }
+        removedElements.subList(0, removed.size()).clear();
+        if (reordered) {
+            this.reordered = false;
+        }
+    }
+
+    /**
+     * Removes the element with the specified ID from the doubly linked list.
+     * If it was the current element, the current node moves to the next one, as with remove().
+     *
+     * @param id the ID of the element to remove.
+     * @return true if an element was removed, false if no element has the specified ID.
+     */
+    public boolean removeById(int id) {
+        Node<E> node = findNodeById(id);
+        if (node == null) {
+            return false;
+        }
+
+        // Reuse remove() by temporarily making the found node the current one, then restore the current node
+        // unless it was the one removed.
+        Node<E> previousCurrentNode = currentNode;
+        currentNode = node;
+        currentPosition = POSITION_UNKNOWN;
+        remove();
+        if (previousCurrentNode != node) {
+            currentNode = previousCurrentNode;
+            currentPosition = (previousCurrentNode != null) ? POSITION_UNKNOWN : -1;
+        }
+        return true;
     }
 
     /**
@@ -108,6 +652,7 @@ public class GenericDoublyLinkedList<E> {
      *
      * @return the data of the current element, or null if the list is empty or the current element is null.
      */
+    @Override
     public E getCurrent() {
         // If the current node is not null, return the data of the current node.
         // Otherwise, return null indicating that there is no current element.
@@ -122,6 +667,7 @@ public class GenericDoublyLinkedList<E> {
     public void setCurrent(E data) {
         // Start from the first node in the list.
         Node<E> node = firstNode;
+        int position = 0;
 
         // Iterate through the list until the end is reached or the data is found.
         while (node != null) {
@@ -129,11 +675,13 @@ public class GenericDoublyLinkedList<E> {
             // set the current node and exit the loop.
             if (node.getData().equals(data)) {
                 currentNode = node;
+                currentPosition = position;
                 break;
             }
 
             // Move to the next node in the list.
             node = node.getNextNode();
+            position++;
         }
     }
 
@@ -142,13 +690,21 @@ public class GenericDoublyLinkedList<E> {
      *
      * @return the data of the next element, or null if the list is empty or the end is reached.
      */
+    @Override
     public E next() {
         // If the current node is null, set it to the first node.
         if (currentNode == null) {
             currentNode = firstNode;
+            currentPosition = 0;
         } else {
             // Otherwise, move to the next node in the list.
             currentNode = currentNode.getNextNode();
+            if (currentPosition != POSITION_UNKNOWN) {
+                currentPosition++;
+            }
+        }
+        if (currentNode == null) {
+            currentPosition = -1;
         }
 
         // Return the data of the current element after the move.
@@ -160,13 +716,21 @@ public class GenericDoublyLinkedList<E> {
      *
      * @return the data of the previous element, or null if the list is empty or the beginning is reached.
      */
+    @Override
     public E previous() {
         // If the current node is null, set it to the last node.
         if (currentNode == null) {
             currentNode = lastNode;
+            currentPosition = totalElements - 1;
         } else {
             // Otherwise, move to the previous node in the list.
             currentNode = currentNode.getPreviousNode();
+            if (currentPosition != POSITION_UNKNOWN) {
+                currentPosition--;
+            }
+        }
+        if (currentNode == null) {
+            currentPosition = -1;
         }
 
         // Return the data of the current element after the move.
@@ -178,35 +742,42 @@ public class GenericDoublyLinkedList<E> {
      *
      * @return the total number of elements.
      */
+    @Override
     public int getTotalElements() {
         return totalElements;
     }
 
     /**
-     * Retrieves the current position of the current element in the doubly linked list.
+     * Retrieves the current position of the current element in the doubly linked list. The position is tracked as
+     * the current node moves, and only counted from the first node after nodes before it were relinked.
      *
      * @return the current position of the current element, or -1 if the list is empty or the current element is null.
      */
+    @Override
     public int getCurrentPosition() {
         // If the current node is null, return -1 indicating that there is no current element.
         if (currentNode == null) {
             return -1;
         }
+        if (currentPosition != POSITION_UNKNOWN) {
+            return currentPosition;
+        }
 
         // Start from the first node in the list.
         Node<E> node = firstNode;
 
         // Iterate through the list until the end is reached or the current node is found.
-        int currentPosition = 0;
+        int position = 0;
         while (node != null) {
-            // If the current node is the same as the current node, return the current position.
+            // If the node is the current node, remember and return its position.
             if (node == currentNode) {
-                return currentPosition;
+                currentPosition = position;
+                return position;
             }
 
             // Move to the next node in the list and increment the position.
             node = node.getNextNode();
-            currentPosition++;
+            position++;
         }
 
         // If the current node is not found in the list, return -1.
@@ -217,15 +788,41 @@ public class GenericDoublyLinkedList<E> {
     /**
      * Sets the current node to the first node in the doubly linked list.
      */
+    @Override
     public void moveToFirst() {
         currentNode = firstNode;
+        currentPosition = (firstNode != null) ? 0 : -1;
     }
 
     /**
      * Sets the current node to the last node in the doubly linked list.
      */
+    @Override
     public void moveToLast() {
         currentNode = lastNode;
+        currentPosition = totalElements - 1;
+    }
+
+    /**
+     * Sets the current node to the node at the given position, walking from whichever end of the list is closer.
+     *
+     * @param index the zero-based position of the node, or -1 to clear the current node.
+     */
+    @Override
+    public void moveTo(int index) {
+        currentNode = (index == -1) ? null : findNodeByPosition(index);
+        currentPosition = index;
+    }
+
+    /**
+     * Retrieves the data of the element at the given position without moving the current node.
+     *
+     * @param index the zero-based position of the element.
+     * @return the data of the element at the given position.
+     */
+    @Override
+    public E get(int index) {
+        return findNodeByPosition(index).getData();
     }
 
     /**
@@ -233,6 +830,7 @@ public class GenericDoublyLinkedList<E> {
      *
      * @return true if there is a previous element, false otherwise.
      */
+    @Override
     public boolean hasPrevious() {
         // Returns true if the current node is not null and it has a previous node.
         return currentNode != null && currentNode.getPreviousNode() != null;
@@ -243,6 +841,7 @@ public class GenericDoublyLinkedList<E> {
      *
      * @return true if there is a next element, false otherwise.
      */
+    @Override
     public boolean hasNext() {
         // Returns true if the current node is not null and it has a next node.
         return currentNode != null && currentNode.getNextNode() != null;
@@ -352,6 +951,10 @@ public class GenericDoublyLinkedList<E> {
             // Set the ID and data of node2 to be the temporary ID and data.
             node2.setId(tempId);
             node2.setData(tempData);
+
+            // The elements are no longer in the order in which they were saved.
+            reordered = true;
+            recordChange(REORDERED, 0, totalElements - 1);
         }
     }
 
@@ -381,6 +984,41 @@ public class GenericDoublyLinkedList<E> {
     }
 
 
+    /**
+     * Finds and returns the node at the given position through the positional index, first extending the index
+     * to the whole list if the position is past its valid prefix.
+     *
+     * @param index the zero-based position of the node.
+     * @return the node at the given position.
+     * @throws IndexOutOfBoundsException if the position is out of range.
+     */
+    private Node<E> findNodeByPosition(int index) {
+        if (index < 0 || index >= totalElements) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of range for " + totalElements + " elements.");
+        }
+        if (index >= indexedNodes) {
+            extendPositionIndex();
+        }
+        return positionIndex.get(index);
+    }
+
+    /**
+     * Extends the positional index from the end of its valid prefix to the last node, growing it if needed.
+     */
+    private void extendPositionIndex() {
+        // Drop the entries left over from removed or relinked nodes, so they can be garbage collected.
+        positionIndex.subList(indexedNodes, positionIndex.size()).clear();
+        positionIndex.ensureCapacity(totalElements);
+
+        // Continue after the last indexed node, or from the first node if none is indexed.
+        Node<E> node = (indexedNodes == 0) ? firstNode : positionIndex.get(indexedNodes - 1).getNextNode();
+        while (node != null) {
+            positionIndex.add(node);
+            node = node.getNextNode();
+        }
+        indexedNodes = positionIndex.size();
+    }
+
     /**
      * Retrieves the data of the current element in the doubly linked list.
      *
@@ -404,6 +1042,51 @@ public class GenericDoublyLinkedList<E> {
     }
 
 
+    /**
+     * Captures the elements currently in the list, from first to last, without moving the current node.
+     * Later changes to the list do not affect the returned snapshot.
+     *
+     * @return an unmodifiable list holding the elements of the doubly linked list.
+     */
+    public List<E> snapshot() {
+        List<E> elements = new ArrayList<>(totalElements);
+        for (Node<E> node = firstNode; node != null; node = node.getNextNode()) {
+            elements.add(node.getData());
+        }
+        return Collections.unmodifiableList(elements);
+    }
+
+    /**
+     * Returns an iterator over the elements from first to last.
+     * Unlike next() and previous(), iterating does not move the current node.
+     *
+     * @return an iterator over the elements of the doubly linked list.
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<E>() {
+            /**
+             * The node whose data will be returned by the next call to next().
+             */
+            private Node<E> node = firstNode;
+
+            @Override
+            public boolean hasNext() {
+                return node != null;
+            }
+
+            @Override
+            public E next() {
+                if (node == null) {
+                    throw new NoSuchElementException();
+                }
+                E data = node.getData();
+                node = node.getNextNode();
+                return data;
+            }
+        };
+    }
+
     /**
      * Inner class representing a node in a doubly linked list.
      *
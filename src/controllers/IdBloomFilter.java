@@ -0,0 +1,134 @@
+package controllers;
+
+// For storing the filter next to the block table.
+import java.nio.ByteBuffer;
+
+/**
+ * Bloom filter over the employee numbers of one block of a block data file. It answers whether a block may
+ * hold an employee without reading the block: a negative answer is always right, while a positive one is
+ * wrong for about 1% of the numbers not in the block.
+ * <p>
+ * The filter uses BITS_PER_RECORD bits per employee and HASH_COUNT bit positions per number, derived from
+ * a single 64-bit mix of the number by double hashing.
+ */
+final class IdBloomFilter {
+
+    /**
+     * Number of bits of the filter per employee of the block.
+     */
+    static final int BITS_PER_RECORD = 10;
+
+    /**
+     * Number of bits set for every employee number, close to the optimum for BITS_PER_RECORD.
+     */
+    static final int HASH_COUNT = 7;
+
+    /**
+     * The bits of the filter.
+     */
+    private final long[] words;
+
+    /**
+     * Creates an empty filter sized for the given number of employees.
+     *
+     * @param records The number of employees the filter will hold.
+     */
+    IdBloomFilter(int records) {
+        words = new long[wordCount(records)];
+    }
+
+    /**
+     * Creates a filter from bits read from a file.
+     *
+     * @param words The bits of the filter.
+     */
+    private IdBloomFilter(long[] words) {
+        this.words = words;
+    }
+
+    /**
+     * Calculates the number of 64-bit words of the filter of a block.
+     *
+     * @param records The number of employees of the block.
+     * @return The number of words, so the filters of every block can be located from the block table alone.
+     */
+    static int wordCount(int records) {
+        return Math.max(1, (int) (((long) records * BITS_PER_RECORD + Long.SIZE - 1) / Long.SIZE));
+    }
+
+    /**
+     * Adds an employee number to the filter.
+     *
+     * @param id The employee number.
+     */
+    void add(int id) {
+        long hash = mix(id);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        long bits = (long) words.length * Long.SIZE;
+        for (int i = 0; i < HASH_COUNT; i++) {
+            long bit = Integer.toUnsignedLong(h1 + i * h2) % bits;
+            words[(int) (bit >>> 6)] |= 1L << bit;
+        }
+    }
+
+    /**
+     * Checks if an employee number may have been added to the filter.
+     *
+     * @param id The employee number.
+     * @return false if the number was definitely not added, true if it probably was.
+     */
+    boolean mightContain(int id) {
+        long hash = mix(id);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        long bits = (long) words.length * Long.SIZE;
+        for (int i = 0; i < HASH_COUNT; i++) {
+            long bit = Integer.toUnsignedLong(h1 + i * h2) % bits;
+            if ((words[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Puts the bits of the filter into a buffer.
+     *
+     * @param target The buffer to write to, with at least wordCount words of space left.
+     */
+    void writeTo(ByteBuffer target) {
+        for (long word : words) {
+            target.putLong(word);
+        }
+    }
+
+    /**
+     * Reads the filter of a block from a buffer.
+     *
+     * @param source  The buffer to read from.
+     * @param records The number of employees of the block.
+     * @return The filter.
+     * @throws java.nio.BufferUnderflowException If the buffer does not hold the whole filter.
+     */
+    static IdBloomFilter readFrom(ByteBuffer source, int records) {
+        long[] words = new long[wordCount(records)];
+        for (int i = 0; i < words.length; i++) {
+            words[i] = source.getLong();
+        }
+        return new IdBloomFilter(words);
+    }
+
+    /**
+     * Spreads the bits of an employee number over 64 bits, so consecutive numbers set unrelated bits.
+     *
+     * @param id The employee number.
+     * @return The mixed bits (the SplitMix64 finalizer).
+     */
+    private static long mix(int id) {
+        long z = id * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
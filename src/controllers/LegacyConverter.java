@@ -0,0 +1,166 @@
+package controllers;
+
+// For finding and converting legacy files.
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+// For converting every file on its own virtual thread.
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Command-line tool converting legacy .ser files into compact .emp data files without starting the GUI.
+ * <p>
+ * Every file is streamed one record at a time, keeping only the objects its records share, so memory use does
+ * not depend on its size, and every file is converted on its own virtual thread, so a whole directory of
+ * archives is converted in parallel. Each compact file is written next to its legacy file, or into the output
+ * directory if one is given.
+ * <p>
+ * Usage: {@code java controllers.LegacyConverter [-o <output directory>] <file or directory>...}
+ */
+public final class LegacyConverter {
+
+    /**
+     * Prevents instantiation of this command-line tool.
+     */
+    private LegacyConverter() {
+    }
+
+    /**
+     * Converts the legacy files given on the command line, and those found directly inside the given directories,
+     * printing the number of records and the throughput of every file.
+     *
+     * @param args The optional output directory followed by the files and directories to convert.
+     */
+    public static void main(String... args) {
+        Path outputDirectory = null;
+        List<Path> inputs = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("-o") && i + 1 < args.length) {
+                outputDirectory = Path.of(args[++i]);
+            } else {
+                inputs.add(Path.of(args[i]));
+            }
+        }
+        if (inputs.isEmpty()) {
+            System.out.println("Usage: java controllers.LegacyConverter [-o <output directory>] <file or directory>...");
+            System.exit(2);
+        }
+
+        List<Path> files;
+        try {
+            files = findLegacyFiles(inputs);
+            if (outputDirectory != null) {
+                Files.createDirectories(outputDirectory);
+            }
+        } catch (IOException e) {
+            System.out.println("Could not list the files to convert: " + e.getMessage());
+            System.exit(1);
+            return;
+        }
+
+        // Convert every file on its own virtual thread and report the results in the order the files were found.
+        long startTime = System.nanoTime();
+        long totalRecords = 0;
+        int failures = 0;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Long>> results = new ArrayList<>(files.size());
+            for (Path file : files) {
+                Path target = compactPath(file, outputDirectory);
+                results.add(executor.submit(() -> convert(file, target)));
+            }
+            for (int i = 0; i < files.size(); i++) {
+                try {
+                    totalRecords += results.get(i).get();
+                } catch (ExecutionException e) {
+                    failures++;
+                    System.out.println("FAILED " + files.get(i) + ": " + e.getCause().getMessage());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.out.println("Conversion interrupted.");
+            System.exit(1);
+        }
+
+        double seconds = Math.max(1, System.nanoTime() - startTime) / 1e9;
+        System.out.printf("Converted %d of %d files, %d records in %.2f s (%.0f records/s).%n",
+                files.size() - failures, files.size(), totalRecords, seconds, totalRecords / seconds);
+        if (failures > 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Converts a single legacy file and prints its throughput.
+     *
+     * @param file   The legacy file.
+     * @param target The compact data file to write.
+     * @return The number of records converted.
+     * @throws IOException If the file cannot be converted.
+     */
+    private static long convert(Path file, Path target) throws IOException {
+        long startTime = System.nanoTime();
+        long records = FileHandler.convertLegacyFile(file.toString(), target.toString(), null);
+        double seconds = Math.max(1, System.nanoTime() - startTime) / 1e9;
+        System.out.printf("%s -> %s: %d records in %.2f s (%.0f records/s)%n",
+                file, target.getFileName(), records, seconds, records / seconds);
+        return records;
+    }
+
+    /**
+     * Lists the legacy files to convert: the files given directly, and the .ser files directly inside the
+     * given directories, sorted by name.
+     *
+     * @param inputs The files and directories given on the command line.
+     * @return The legacy files to convert.
+     * @throws IOException If a directory cannot be listed.
+     */
+    private static List<Path> findLegacyFiles(List<Path> inputs) throws IOException {
+        List<Path> files = new ArrayList<>();
+        for (Path input : inputs) {
+            if (Files.isDirectory(input)) {
+                try (Stream<Path> entries = Files.list(input)) {
+                    entries.filter(path -> Files.isRegularFile(path) && isLegacyFile(path))
+                            .sorted()
+                            .forEach(files::add);
+                }
+            } else {
+                files.add(input);
+            }
+        }
+        return files;
+    }
+
+    /**
+     * Checks if a path has the legacy file extension.
+     *
+     * @param path The path to check.
+     * @return true if the path ends with the legacy file extension, false otherwise.
+     */
+    private static boolean isLegacyFile(Path path) {
+        return path.getFileName().toString().toLowerCase().endsWith("." + FileHandler.LEGACY_EXTENSION);
+    }
+
+    /**
+     * Computes the name of the compact data file a legacy file is converted to.
+     *
+     * @param file            The legacy file.
+     * @param outputDirectory The directory to write to, or null to write next to the legacy file.
+     * @return The path of the compact data file.
+     */
+    private static Path compactPath(Path file, Path outputDirectory) {
+        String name = file.getFileName().toString();
+        if (isLegacyFile(file)) {
+            name = name.substring(0, name.length() - FileHandler.LEGACY_EXTENSION.length() - 1);
+        }
+        Path directory = (outputDirectory != null) ? outputDirectory : file.toAbsolutePath().getParent();
+        return directory.resolve(name + "." + FileHandler.COMPACT_EXTENSION);
+    }
+}
@@ -0,0 +1,903 @@
+package controllers;
+
+// For parsing the serialization stream.
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInput;
+import java.io.ObjectStreamConstants;
+import java.io.StreamCorruptedException;
+import java.io.UTFDataFormatException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+
+import models.Analyst;
+import models.Employee;
+import models.Programmer;
+import models.SalaryExceedsMaxException;
+
+/**
+ * Reads employees one at a time from a legacy file written with Java serialization.
+ * <p>
+ * The legacy format does not store how many records it holds, so its end can only be detected when no record
+ * follows the last one; this class keeps that detail away from its callers.
+ * <p>
+ * Two generations of legacy files exist. The original ones were written while Employee, Analyst and Programmer
+ * used default serialization, so they hold the classes' fields (the hire date as a GregorianCalendar, along with
+ * a DateController), from which current employees are built. Later ones were written through the classes'
+ * Externalizable layout and are read by the classes themselves.
+ * <p>
+ * The files were written without ever resetting the stream, so any object may be referred to again by a later
+ * record. An ObjectInputStream keeps every object it reads for that reason, so its memory grows with the file.
+ * This class parses the stream itself instead, and never instantiates any class other than the employees.
+ * The first call to read() scans the whole file once to count the references to every object. The second pass
+ * then keeps only the objects referred to later, and drops each of them after its last reference. Memory use
+ * depends on the number of distinct class descriptors and shared objects, not on the number of records.
+ *
+ * @param <E> The type of elements read.
+ */
+public class LegacyEmployeeReader<E> implements EmployeeReader<E> {
+
+    /**
+     * The serialVersionUIDs computed for the original Serializable employee classes, by class name.
+     */
+    private static final Map<String, Long> LEGACY_UIDS = Map.of(
+            Employee.class.getName(), 1620180416233864858L,
+            Analyst.class.getName(), 6633387936271056362L,
+            Programmer.class.getName(), -10146328600256381L);
+
+    /**
+     * Value of the objects whose content is not needed to build employees, such as arrays and enum constants.
+     */
+    private static final Object SKIPPED = new Object();
+
+    /**
+     * The name of the file being read.
+     */
+    private final String filename;
+
+    /**
+     * The stream the records are parsed from, during the scan and then during the actual read.
+     */
+    private DataInputStream in;
+
+    /**
+     * The stream of the actual read, opened with the reader.
+     */
+    private final DataInputStream recordStream;
+
+    /**
+     * The class descriptors read so far, by handle. They are always kept, as every later record refers to them.
+     */
+    private final Map<Integer, ClassDescriptor> descriptors = new HashMap<>();
+
+    /**
+     * The objects still referred to by a later record, by handle.
+     */
+    private final Map<Integer, Object> sharedObjects = new HashMap<>();
+
+    /**
+     * The number of references left to every object referred to after it was written, keyed by reset count and
+     * handle, or null before the file has been scanned.
+     */
+    private Map<Long, Integer> referenceCounts;
+
+    /**
+     * Whether the file is being scanned, in which case references are counted instead of resolved.
+     */
+    private boolean scanning;
+
+    /**
+     * The handle assigned to the next object read.
+     */
+    private int nextHandle = ObjectStreamConstants.baseWireHandle;
+
+    /**
+     * The number of times the writer reset the stream so far, which starts the handles over.
+     */
+    private int resets;
+
+    /**
+     * The number of records read so far.
+     */
+    private long recordsRead;
+
+    /**
+     * Whether the end of the file has been reached.
+     */
+    private boolean finished;
+
+    /**
+     * Opens the given legacy file.
+     *
+     * @param filename The name of the file to read from.
+     * @throws IOException If the file cannot be opened or does not start with a serialization header.
+     */
+    public LegacyEmployeeReader(String filename) throws IOException {
+        this.filename = filename;
+        recordStream = open(filename);
+    }
+
+    @Override
+    public E read() throws IOException {
+        if (finished) {
+            return null;
+        }
+        if (referenceCounts == null) {
+            scan();
+        }
+        Object record = readRecord();
+        if (record == null) {
+            finished = true;
+            return null;
+        }
+        recordsRead++;
+        return (E) toEmployee(record);
+    }
+
+    @Override
+    public long getRecordCount() {
+        return -1;
+    }
+
+    @Override
+    public long getRecordsRead() {
+        return recordsRead;
+    }
+
+    /**
+     * Retrieves the number of objects currently kept because a later record refers to them.
+     *
+     * @return The number of shared objects kept.
+     */
+    int getSharedObjectCount() {
+        return sharedObjects.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        recordStream.close();
+    }
+
+    /**
+     * Opens a legacy file and checks its serialization header.
+     *
+     * @param filename The name of the file.
+     * @return The stream positioned on the first record.
+     * @throws IOException If the file cannot be opened or does not start with a serialization header.
+     */
+    private static DataInputStream open(String filename) throws IOException {
+        DataInputStream stream = new DataInputStream(new BufferedInputStream(new FileInputStream(filename)));
+        try {
+            if (stream.readShort() != ObjectStreamConstants.STREAM_MAGIC
+                    || stream.readShort() != ObjectStreamConstants.STREAM_VERSION) {
+                throw new StreamCorruptedException("Not a legacy employee file: " + filename);
+            }
+        } catch (IOException e) {
+            stream.close();
+            throw e instanceof EOFException ? new StreamCorruptedException("Not a legacy employee file: " + filename) : e;
+        }
+        return stream;
+    }
+
+    /**
+     * Reads the whole file once, counting how many times every object is referred to after it was written.
+     *
+     * @throws IOException If an I/O error occurs or the file is corrupted.
+     */
+    private void scan() throws IOException {
+        referenceCounts = new HashMap<>();
+        scanning = true;
+        try (DataInputStream scanStream = open(filename)) {
+            in = scanStream;
+            while (readRecord() != null) {
+                // Only the references are of interest while scanning.
+            }
+        } finally {
+            scanning = false;
+            in = recordStream;
+            descriptors.clear();
+            nextHandle = ObjectStreamConstants.baseWireHandle;
+            resets = 0;
+        }
+    }
+
+    /**
+     * Reads the next record.
+     *
+     * @return The record, or null at the end of the file.
+     * @throws IOException If an I/O error occurs or the file ends in the middle of a record.
+     */
+    private Object readRecord() throws IOException {
+        int tag = in.read();
+        while (tag == ObjectStreamConstants.TC_RESET) {
+            reset();
+            tag = in.read();
+        }
+        if (tag < 0) {
+            return null;
+        }
+        try {
+            Object record = readContent(tag);
+            return (record != null) ? record : SKIPPED;
+        } catch (EOFException e) {
+            throw new StreamCorruptedException("Legacy file ends in the middle of record " + (recordsRead + 1) + ".");
+        }
+    }
+
+    /**
+     * Reads an object, a class descriptor or a reference to one of them, whose tag has already been read.
+     *
+     * @param tag The tag of the content.
+     * @return The content read.
+     * @throws IOException If an I/O error occurs or the content is not valid.
+     */
+    private Object readContent(int tag) throws IOException {
+        switch (tag) {
+            case ObjectStreamConstants.TC_NULL:
+                return null;
+            case ObjectStreamConstants.TC_REFERENCE:
+                return readReference();
+            case ObjectStreamConstants.TC_STRING:
+                return assignHandle(in.readUTF());
+            case ObjectStreamConstants.TC_LONGSTRING:
+                return assignHandle(readLongUTF());
+            case ObjectStreamConstants.TC_CLASSDESC:
+            case ObjectStreamConstants.TC_PROXYCLASSDESC:
+                return readClassDescriptor(tag);
+            case ObjectStreamConstants.TC_CLASS:
+                readClassDescriptor(in.readUnsignedByte());
+                return assignHandle(SKIPPED);
+            case ObjectStreamConstants.TC_ENUM:
+                readClassDescriptor(in.readUnsignedByte());
+                assignHandle(SKIPPED);
+                readContent(in.readUnsignedByte());
+                return SKIPPED;
+            case ObjectStreamConstants.TC_ARRAY:
+                return readArray();
+            case ObjectStreamConstants.TC_OBJECT:
+                return readObject();
+            case ObjectStreamConstants.TC_RESET:
+                reset();
+                return readContent(in.readUnsignedByte());
+            case ObjectStreamConstants.TC_EXCEPTION:
+                throw new StreamCorruptedException("Legacy file holds an error raised while it was being written.");
+            default:
+                throw new StreamCorruptedException(String.format("Invalid type code in legacy file: %02X", tag));
+        }
+    }
+
+    /**
+     * Reads a reference to an object read before. While scanning, the reference is only counted.
+     *
+     * @return The object referred to, or null while scanning.
+     * @throws IOException If the handle does not refer to an object read before.
+     */
+    private Object readReference() throws IOException {
+        int handle = in.readInt();
+        if (handle < ObjectStreamConstants.baseWireHandle || handle >= nextHandle) {
+            throw new StreamCorruptedException(String.format("Invalid handle in legacy file: %08X", handle));
+        }
+        ClassDescriptor descriptor = descriptors.get(handle);
+        if (descriptor != null) {
+            return descriptor;
+        }
+        long key = referenceKey(handle);
+        if (scanning) {
+            referenceCounts.merge(key, 1, Integer::sum);
+            return null;
+        }
+
+        // Drop the object after its last reference.
+        Object shared = sharedObjects.get(handle);
+        int remaining = referenceCounts.merge(key, -1, Integer::sum);
+        if (remaining <= 0) {
+            referenceCounts.remove(key);
+            sharedObjects.remove(handle);
+        }
+        return shared;
+    }
+
+    /**
+     * Assigns the next handle to an object, keeping it if a later record refers to it.
+     *
+     * @param object The object read.
+     * @return The object.
+     */
+    private Object assignHandle(Object object) {
+        int handle = nextHandle++;
+        if (!scanning && referenceCounts.containsKey(referenceKey(handle))) {
+            sharedObjects.put(handle, object);
+        }
+        return object;
+    }
+
+    /**
+     * Builds the key identifying a handle among those assigned since the last reset.
+     *
+     * @param handle The handle.
+     * @return The key of the handle in the reference counts.
+     */
+    private long referenceKey(int handle) {
+        return ((long) resets << Integer.SIZE) | (handle & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Forgets every handle, as the writer reset the stream.
+     */
+    private void reset() {
+        descriptors.clear();
+        sharedObjects.clear();
+        nextHandle = ObjectStreamConstants.baseWireHandle;
+        resets++;
+    }
+
+    /**
+     * Reads a class descriptor, a null one or a reference to one read before, whose tag has already been read.
+     *
+     * @param tag The tag of the descriptor.
+     * @return The descriptor, or null if there is none.
+     * @throws IOException If an I/O error occurs or the descriptor is not valid.
+     */
+    private ClassDescriptor readClassDescriptor(int tag) throws IOException {
+        switch (tag) {
+            case ObjectStreamConstants.TC_NULL:
+                return null;
+            case ObjectStreamConstants.TC_REFERENCE:
+                int handle = in.readInt();
+                ClassDescriptor descriptor = descriptors.get(handle);
+                if (descriptor == null) {
+                    throw new StreamCorruptedException(String.format("Invalid class descriptor handle: %08X", handle));
+                }
+                return descriptor;
+            case ObjectStreamConstants.TC_PROXYCLASSDESC: {
+                ClassDescriptor proxy = new ClassDescriptor("proxy", 0, ObjectStreamConstants.SC_SERIALIZABLE);
+                descriptors.put(nextHandle++, proxy);
+                int interfaces = in.readInt();
+                for (int i = 0; i < interfaces; i++) {
+                    in.readUTF();
+                }
+                skipAnnotation();
+                proxy.superDescriptor = readClassDescriptor(in.readUnsignedByte());
+                return proxy;
+            }
+            case ObjectStreamConstants.TC_CLASSDESC: {
+                String name = in.readUTF();
+                long serialVersionUID = in.readLong();
+                int descriptorHandle = nextHandle++;
+                ClassDescriptor result = new ClassDescriptor(name, serialVersionUID, in.readUnsignedByte());
+                descriptors.put(descriptorHandle, result);
+                int fieldCount = in.readShort();
+                for (int i = 0; i < fieldCount; i++) {
+                    char type = (char) in.readUnsignedByte();
+                    String fieldName = in.readUTF();
+                    if (type == 'L' || type == '[') {
+                        readContent(in.readUnsignedByte());
+                    }
+                    result.fieldTypes.add(type);
+                    result.fieldNames.add(fieldName);
+                }
+                skipAnnotation();
+                result.superDescriptor = readClassDescriptor(in.readUnsignedByte());
+
+                // Employees written with their fields must match the original classes, which were never changed.
+                Long legacyUID = LEGACY_UIDS.get(name);
+                if (legacyUID != null && fieldCount > 0 && legacyUID != serialVersionUID) {
+                    throw new InvalidClassException(name, "unknown legacy layout with serialVersionUID " + serialVersionUID);
+                }
+                return result;
+            }
+            default:
+                throw new StreamCorruptedException(String.format("Invalid class descriptor type code: %02X", tag));
+        }
+    }
+
+    /**
+     * Reads an array, keeping none of its elements.
+     *
+     * @return SKIPPED, as arrays are not needed to build employees.
+     * @throws IOException If an I/O error occurs or an element is not valid.
+     */
+    private Object readArray() throws IOException {
+        ClassDescriptor descriptor = readClassDescriptor(in.readUnsignedByte());
+        assignHandle(SKIPPED);
+        int length = in.readInt();
+        if (descriptor == null || descriptor.name.length() < 2 || length < 0) {
+            throw new StreamCorruptedException("Invalid array in legacy file.");
+        }
+        char type = descriptor.name.charAt(1);
+        if (type == 'L' || type == '[') {
+            for (int i = 0; i < length; i++) {
+                readContent(in.readUnsignedByte());
+            }
+        } else {
+            in.skipNBytes((long) length * primitiveSize(type));
+        }
+        return SKIPPED;
+    }
+
+    /**
+     * Reads an ordinary object: the field values of every serializable class from the topmost one down, or the
+     * data written by an Externalizable class.
+     *
+     * @return The object's class and data.
+     * @throws IOException If an I/O error occurs or the data is not valid.
+     */
+    private ObjectData readObject() throws IOException {
+        ClassDescriptor descriptor = readClassDescriptor(in.readUnsignedByte());
+        if (descriptor == null) {
+            throw new StreamCorruptedException("Object without a class in legacy file.");
+        }
+        ObjectData object = new ObjectData(descriptor);
+        assignHandle(object);
+
+        if ((descriptor.flags & ObjectStreamConstants.SC_EXTERNALIZABLE) != 0) {
+            readExternalData(object);
+            return object;
+        }
+        List<ClassDescriptor> hierarchy = new ArrayList<>();
+        for (ClassDescriptor current = descriptor; current != null; current = current.superDescriptor) {
+            hierarchy.add(0, current);
+        }
+        for (ClassDescriptor current : hierarchy) {
+            for (int i = 0; i < current.fieldTypes.size(); i++) {
+                object.fields.put(current.fieldNames.get(i), readFieldValue(current.fieldTypes.get(i)));
+            }
+            if ((current.flags & ObjectStreamConstants.SC_WRITE_METHOD) != 0) {
+                skipAnnotation();
+            }
+        }
+        return object;
+    }
+
+    /**
+     * Reads the data written by an Externalizable class. The employee classes read their own data; that of
+     * any other class can only be skipped if it was written in block data mode.
+     *
+     * @param object The object whose data is read.
+     * @throws IOException If an I/O error occurs or the data cannot be read.
+     */
+    private void readExternalData(ObjectData object) throws IOException {
+        Employee employee = newEmployee(object.descriptor.name);
+        if ((object.descriptor.flags & ObjectStreamConstants.SC_BLOCK_DATA) == 0) {
+            if (employee == null) {
+                throw new InvalidClassException(object.descriptor.name, "externalizable data cannot be skipped");
+            }
+            employee.readExternal(new ExternalInput(in));
+            object.employee = employee;
+            return;
+        }
+
+        // Gather the blocks of data up to their end marker, skipping any object written among them.
+        DataBuffer blocks = new DataBuffer();
+        for (int tag = in.readUnsignedByte(); tag != ObjectStreamConstants.TC_ENDBLOCKDATA; tag = in.readUnsignedByte()) {
+            int length = readBlockLength(tag);
+            if (length >= 0) {
+                blocks.append(in, length);
+            } else {
+                readContent(tag);
+            }
+        }
+        if (employee != null) {
+            employee.readExternal(new ExternalInput(blocks.toInputStream()));
+            object.employee = employee;
+        }
+    }
+
+    /**
+     * Reads the value of a field.
+     *
+     * @param type The type code of the field.
+     * @return The value, boxed for primitive fields.
+     * @throws IOException If an I/O error occurs or the value is not valid.
+     */
+    private Object readFieldValue(char type) throws IOException {
+        switch (type) {
+            case 'B':
+                return in.readByte();
+            case 'C':
+                return in.readChar();
+            case 'D':
+                return in.readDouble();
+            case 'F':
+                return in.readFloat();
+            case 'I':
+                return in.readInt();
+            case 'J':
+                return in.readLong();
+            case 'S':
+                return in.readShort();
+            case 'Z':
+                return in.readBoolean();
+            case 'L':
+            case '[':
+                return readContent(in.readUnsignedByte());
+            default:
+                throw new StreamCorruptedException("Invalid field type code in legacy file: " + type);
+        }
+    }
+
+    /**
+     * Skips the blocks of data and the objects written by a class's own writeObject method or annotation,
+     * up to their end marker.
+     *
+     * @throws IOException If an I/O error occurs or an object is not valid.
+     */
+    private void skipAnnotation() throws IOException {
+        for (int tag = in.readUnsignedByte(); tag != ObjectStreamConstants.TC_ENDBLOCKDATA; tag = in.readUnsignedByte()) {
+            int length = readBlockLength(tag);
+            if (length >= 0) {
+                in.skipNBytes(length);
+            } else {
+                readContent(tag);
+            }
+        }
+    }
+
+    /**
+     * Reads the length of a block of data, if the tag starts one.
+     *
+     * @param tag The tag read.
+     * @return The length of the block, or -1 if the tag starts an object.
+     * @throws IOException If an I/O error occurs or the length is not valid.
+     */
+    private int readBlockLength(int tag) throws IOException {
+        if (tag == ObjectStreamConstants.TC_BLOCKDATA) {
+            return in.readUnsignedByte();
+        }
+        if (tag == ObjectStreamConstants.TC_BLOCKDATALONG) {
+            int length = in.readInt();
+            if (length < 0) {
+                throw new StreamCorruptedException("Invalid block length in legacy file: " + length);
+            }
+            return length;
+        }
+        return -1;
+    }
+
+    /**
+     * Reads a string longer than 65535 bytes, encoded in modified UTF-8 with an 8-byte length.
+     *
+     * @return The string read.
+     * @throws IOException If an I/O error occurs or the encoding is not valid.
+     */
+    private String readLongUTF() throws IOException {
+        long length = in.readLong();
+        if (length < 0 || length > Integer.MAX_VALUE) {
+            throw new StreamCorruptedException("Invalid string length in legacy file: " + length);
+        }
+        byte[] bytes = in.readNBytes((int) length);
+        if (bytes.length < length) {
+            throw new EOFException();
+        }
+        StringBuilder builder = new StringBuilder(bytes.length);
+        for (int i = 0; i < bytes.length; ) {
+            int first = bytes[i++] & 0xFF;
+            if (first < 0x80) {
+                builder.append((char) first);
+            } else if ((first & 0xE0) == 0xC0 && i < bytes.length) {
+                builder.append((char) (((first & 0x1F) << 6) | (bytes[i++] & 0x3F)));
+            } else if ((first & 0xF0) == 0xE0 && i + 1 < bytes.length) {
+                builder.append((char) (((first & 0x0F) << 12) | ((bytes[i] & 0x3F) << 6) | (bytes[i + 1] & 0x3F)));
+                i += 2;
+            } else {
+                throw new UTFDataFormatException("Invalid modified UTF-8 string in legacy file.");
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Builds the employee held by a record.
+     *
+     * @param record The record read.
+     * @return The employee.
+     * @throws IOException If the record is not an employee or its data is not valid.
+     */
+    private static Employee toEmployee(Object record) throws IOException {
+        if (!(record instanceof ObjectData)) {
+            throw new InvalidObjectException("Legacy file holds a record that is not an employee.");
+        }
+        ObjectData data = (ObjectData) record;
+        if (data.employee != null) {
+            return data.employee;
+        }
+        Employee employee = newEmployee(data.descriptor.name);
+        if (employee == null) {
+            throw new InvalidClassException(data.descriptor.name, "not an employee class");
+        }
+        Map<String, Object> fields = data.fields;
+        int employeeNumber = intField(fields, "employeeNumber");
+        employee.setEmployeeNumber(employeeNumber);
+        employee.setMaskedName(stringField(fields, "maskedName"));
+        employee.setHireDate(toCalendar(fields.get("hireDate")));
+        try {
+            employee.setMaxSalary(doubleField(fields, "maxSalary"));
+            employee.setSalary(doubleField(fields, "salary"));
+        } catch (SalaryExceedsMaxException e) {
+            throw new InvalidObjectException("Salary of legacy employee " + employeeNumber + " exceeds its maximum.");
+        }
+        if (employee instanceof Analyst) {
+            Analyst analyst = (Analyst) employee;
+            analyst.setAnnualBonus(doubleField(fields, "annualBonus"));
+            analyst.setAdditionalQualification(stringField(fields, "additionalQualification"));
+            analyst.setAnnualBonusCalculable(booleanField(fields, "annualBonusCalculable"));
+        } else if (employee instanceof Programmer) {
+            Programmer programmer = (Programmer) employee;
+            programmer.setMonthlyExtra(doubleField(fields, "monthlyExtra"));
+            programmer.setMainLanguage(stringField(fields, "mainLanguage"));
+            programmer.setMonthlyExtraCalculable(booleanField(fields, "monthlyExtraCalculable"));
+        }
+        return employee;
+    }
+
+    /**
+     * Builds a calendar holding the same instant, time zone and cutover as a serialized GregorianCalendar.
+     *
+     * @param value The calendar read, or null.
+     * @return The calendar, or null if none was written.
+     * @throws InvalidObjectException If the value is not a GregorianCalendar.
+     */
+    private static GregorianCalendar toCalendar(Object value) throws InvalidObjectException {
+        if (value == null) {
+            return null;
+        }
+        if (!(value instanceof ObjectData) || !((ObjectData) value).descriptor.name.equals(GregorianCalendar.class.getName())) {
+            throw new InvalidObjectException("Hire date of legacy employee is not a GregorianCalendar.");
+        }
+        Map<String, Object> fields = ((ObjectData) value).fields;
+        Object zone = fields.get("zone");
+        Object zoneId = (zone instanceof ObjectData) ? ((ObjectData) zone).fields.get("ID") : null;
+        GregorianCalendar calendar = new GregorianCalendar(
+                (zoneId instanceof String) ? TimeZone.getTimeZone((String) zoneId) : TimeZone.getDefault());
+        if (fields.get("gregorianCutover") instanceof Long) {
+            calendar.setGregorianChange(new Date((Long) fields.get("gregorianCutover")));
+        }
+        if (!(fields.get("time") instanceof Long)) {
+            throw new InvalidObjectException("Hire date of legacy employee has no time.");
+        }
+        calendar.setTimeInMillis((Long) fields.get("time"));
+        return calendar;
+    }
+
+    /**
+     * Creates an empty employee of the class with the given name.
+     *
+     * @param name The name of the class.
+     * @return The employee, or null if the class is not an employee class.
+     */
+    private static Employee newEmployee(String name) {
+        if (name.equals(Analyst.class.getName())) {
+            return new Analyst();
+        }
+        if (name.equals(Programmer.class.getName())) {
+            return new Programmer();
+        }
+        if (name.equals(Employee.class.getName())) {
+            return new Employee();
+        }
+        return null;
+    }
+
+    /**
+     * Retrieves the value of an int field.
+     */
+    private static int intField(Map<String, Object> fields, String name) throws InvalidObjectException {
+        return (Integer) field(fields, name, Integer.class);
+    }
+
+    /**
+     * Retrieves the value of a double field.
+     */
+    private static double doubleField(Map<String, Object> fields, String name) throws InvalidObjectException {
+        return (Double) field(fields, name, Double.class);
+    }
+
+    /**
+     * Retrieves the value of a boolean field.
+     */
+    private static boolean booleanField(Map<String, Object> fields, String name) throws InvalidObjectException {
+        return (Boolean) field(fields, name, Boolean.class);
+    }
+
+    /**
+     * Retrieves the value of a String field, which may be null.
+     */
+    private static String stringField(Map<String, Object> fields, String name) throws InvalidObjectException {
+        Object value = fields.get(name);
+        if (value != null && !(value instanceof String)) {
+            throw new InvalidObjectException("Field " + name + " of legacy employee is not a String.");
+        }
+        return (String) value;
+    }
+
+    /**
+     * Retrieves the value of a primitive field, checking its type.
+     */
+    private static Object field(Map<String, Object> fields, String name, Class<?> type) throws InvalidObjectException {
+        Object value = fields.get(name);
+        if (!type.isInstance(value)) {
+            throw new InvalidObjectException("Field " + name + " of legacy employee is missing or has the wrong type.");
+        }
+        return value;
+    }
+
+    /**
+     * Retrieves the number of bytes of a primitive array element.
+     *
+     * @param type The type code of the elements.
+     * @return The size of an element.
+     * @throws StreamCorruptedException If the type code is not a primitive one.
+     */
+    private static int primitiveSize(char type) throws StreamCorruptedException {
+        switch (type) {
+            case 'B':
+            case 'Z':
+                return 1;
+            case 'C':
+            case 'S':
+                return 2;
+            case 'I':
+            case 'F':
+                return 4;
+            case 'J':
+            case 'D':
+                return 8;
+            default:
+                throw new StreamCorruptedException("Invalid array type code in legacy file: " + type);
+        }
+    }
+
+    /**
+     * Class descriptor read from the stream: the class name, its flags, its serializable fields in stream order
+     * and the descriptor of its serializable superclass.
+     */
+    private static final class ClassDescriptor {
+
+        /**
+         * The name of the class.
+         */
+        final String name;
+
+        /**
+         * The serialVersionUID of the class.
+         */
+        final long serialVersionUID;
+
+        /**
+         * The SC_ flags of the class.
+         */
+        final int flags;
+
+        /**
+         * The type codes of the fields.
+         */
+        final List<Character> fieldTypes = new ArrayList<>();
+
+        /**
+         * The names of the fields.
+         */
+        final List<String> fieldNames = new ArrayList<>();
+
+        /**
+         * The descriptor of the serializable superclass, or null if there is none.
+         */
+        ClassDescriptor superDescriptor;
+
+        /**
+         * Creates a descriptor without fields.
+         *
+         * @param name             The name of the class.
+         * @param serialVersionUID The serialVersionUID of the class.
+         * @param flags            The SC_ flags of the class.
+         */
+        ClassDescriptor(String name, long serialVersionUID, int flags) {
+            this.name = name;
+            this.serialVersionUID = serialVersionUID;
+            this.flags = flags;
+        }
+    }
+
+    /**
+     * Object read from the stream: its class and either its field values or the employee that read its own data.
+     */
+    private static final class ObjectData {
+
+        /**
+         * The descriptor of the object's class.
+         */
+        final ClassDescriptor descriptor;
+
+        /**
+         * The values of the fields of every serializable class of the object, by field name.
+         */
+        final Map<String, Object> fields = new HashMap<>();
+
+        /**
+         * The employee that read its own data, if the object is an Externalizable employee.
+         */
+        Employee employee;
+
+        /**
+         * Creates an object without data.
+         *
+         * @param descriptor The descriptor of the object's class.
+         */
+        ObjectData(ClassDescriptor descriptor) {
+            this.descriptor = descriptor;
+        }
+    }
+
+    /**
+     * Growable buffer gathering the blocks of data written by an Externalizable class.
+     */
+    private static final class DataBuffer {
+
+        /**
+         * The bytes gathered, followed by free space.
+         */
+        private byte[] bytes = new byte[256];
+
+        /**
+         * The number of bytes gathered.
+         */
+        private int size;
+
+        /**
+         * Appends bytes read from a stream.
+         *
+         * @param in     The stream to read from.
+         * @param length The number of bytes to read.
+         * @throws IOException If an I/O error occurs or the stream ends first.
+         */
+        void append(DataInputStream in, int length) throws IOException {
+            if (size + length > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + length));
+            }
+            in.readFully(bytes, size, length);
+            size += length;
+        }
+
+        /**
+         * Retrieves a stream over the bytes gathered.
+         *
+         * @return The stream.
+         */
+        InputStream toInputStream() {
+            return new ByteArrayInputStream(bytes, 0, size);
+        }
+    }
+
+    /**
+     * Input handed to readExternal, reading the primitive data of an Externalizable employee. The employee
+     * classes never write objects in their external data.
+     */
+    private static final class ExternalInput extends DataInputStream implements ObjectInput {
+
+        /**
+         * Creates an input reading from the given stream.
+         *
+         * @param in The stream holding the external data.
+         */
+        ExternalInput(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public Object readObject() throws IOException {
+            throw new InvalidObjectException("Employee data in legacy file holds an object.");
+        }
+    }
+}
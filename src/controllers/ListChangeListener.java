@@ -0,0 +1,40 @@
+package controllers;
+
+/**
+ * Listener notified of the changes made to a GenericDoublyLinkedList, so that a view only updates the rows that
+ * changed. The changes are collected by the list and delivered in a batch when its changes are fired; within a
+ * batch, every position refers to the list as it was right after the previous change of the batch.
+ */
+public interface ListChangeListener {
+
+    /**
+     * Called for elements inserted at consecutive positions.
+     *
+     * @param firstIndex The position of the first element added.
+     * @param lastIndex  The position of the last element added.
+     */
+    void elementsAdded(int firstIndex, int lastIndex);
+
+    /**
+     * Called for elements removed from consecutive positions.
+     *
+     * @param firstIndex The position the first element removed had.
+     * @param lastIndex  The position the last element removed had.
+     */
+    void elementsRemoved(int firstIndex, int lastIndex);
+
+    /**
+     * Called for elements at consecutive positions whose fields were modified or that were replaced.
+     *
+     * @param firstIndex The position of the first element changed.
+     * @param lastIndex  The position of the last element changed.
+     */
+    void elementsChanged(int firstIndex, int lastIndex);
+
+    /**
+     * Called when the elements were reordered or relinked, so that any of them may now be at another position.
+     *
+     * @param size The number of elements in the list after the change.
+     */
+    void elementsReordered(int size);
+}
@@ -0,0 +1,83 @@
+package controllers;
+
+// For mapping the file into memory.
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Read-only view of a fixed-width employee data file mapped into memory.
+ * <p>
+ * Opening the file only maps it and reads its header, so it takes the same time whatever the number of
+ * employees. Files larger than a single mapping allows are browsed through PagedEmployeeStore instead.
+ *
+ * @param <E> The type of elements in the file.
+ */
+public class MappedEmployeeFile<E> extends FileEmployeeStore<E> {
+
+    /**
+     * The read-only mapping of the whole file.
+     */
+    private final MappedByteBuffer buffer;
+
+    /**
+     * Maps the given file into memory and validates its header.
+     *
+     * @param filename The name of the fixed-width file to open.
+     * @throws IOException If the file cannot be mapped or is not a valid fixed-width employee data file.
+     */
+    public MappedEmployeeFile(String filename) throws IOException {
+        try (FileChannel channel = FileChannel.open(Path.of(filename), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("File is too large to be mapped at once: " + filename);
+            }
+            // The mapping stays valid after the channel is closed.
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+        long recordCount = FixedWidthCodec.readHeader(buffer);
+        if (FixedWidthCodec.HEADER_SIZE + recordCount * FixedWidthCodec.RECORD_SIZE > buffer.limit()) {
+            throw new IOException("File is shorter than its header states: " + filename);
+        }
+        totalElements = (int) recordCount;
+    }
+
+    /**
+     * Retrieves the employee number of the element at the given position without materializing it.
+     *
+     * @param index the zero-based position of the element.
+     * @return the employee number stored at the given position.
+     */
+    @Override
+    public int getId(int index) {
+        return FixedWidthCodec.readEmployeeNumber(buffer, offsetOf(index));
+    }
+
+    /**
+     * Decodes the record at the given position, bypassing the cache.
+     *
+     * @param index the zero-based position of the record.
+     * @return the decoded employee.
+     */
+    @Override
+    protected E decode(int index) {
+        try {
+            return FixedWidthCodec.decode(buffer, offsetOf(index));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Computes the offset of the record at the given position within the mapping.
+     *
+     * @param index the zero-based position of the record.
+     * @return the offset of the record.
+     */
+    private static int offsetOf(int index) {
+        return FixedWidthCodec.HEADER_SIZE + index * FixedWidthCodec.RECORD_SIZE;
+    }
+}
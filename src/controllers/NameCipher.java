@@ -0,0 +1,191 @@
+package controllers;
+
+// For encrypting batches of names with AES-GCM.
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.PBEKeySpec;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Encrypts and decrypts batches of employee names with AES-256-GCM, using a key derived from a passphrase.
+ * <p>
+ * Deriving the key with PBKDF2 is deliberately slow, so it is done once per salt and the key is kept for the rest
+ * of the session. Names are encrypted in batches rather than one by one, every batch being a separate GCM message
+ * with its own random IV, so batches can be encrypted and decrypted on several threads at the same time. Each
+ * thread reuses its own Cipher instance. GCM authenticates every batch, together with the header of the file it
+ * is stored in and its index, so a wrong passphrase, a modified header or batches that were swapped, dropped or
+ * added are detected instead of producing garbled or missing names.
+ */
+public final class NameCipher {
+
+    /**
+     * Size in bytes of the salt the key is derived with.
+     */
+    public static final int SALT_SIZE = 16;
+
+    /**
+     * Number of PBKDF2 iterations used for new keys.
+     */
+    public static final int ITERATIONS = 210_000;
+
+    /**
+     * Size in bytes of the IV stored in front of every batch.
+     */
+    static final int IV_SIZE = 12;
+
+    /**
+     * Size in bits of the authentication tag appended to every batch.
+     */
+    static final int TAG_BITS = 128;
+
+    /**
+     * Size in bits of the AES key.
+     */
+    private static final int KEY_BITS = 256;
+
+    /**
+     * Source of salts and IVs.
+     */
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    /**
+     * Cipher instance of every thread, reused for every batch that thread handles.
+     */
+    private static final ThreadLocal<Cipher> CIPHERS = ThreadLocal.withInitial(() -> {
+        try {
+            return Cipher.getInstance("AES/GCM/NoPadding");
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("AES-GCM is not available.", e);
+        }
+    });
+
+    /**
+     * Copy of the passphrase, kept to derive the keys of files saved with another salt.
+     */
+    private final char[] passphrase;
+
+    /**
+     * Salt of the key new batches are encrypted with.
+     */
+    private final byte[] salt;
+
+    /**
+     * Keys derived so far, by salt and iteration count.
+     */
+    private final Map<String, SecretKey> keys = new HashMap<>();
+
+    /**
+     * Creates a cipher for the given passphrase, with a new random salt for the names it encrypts.
+     *
+     * @param passphrase The passphrase the keys are derived from, which the caller may clear afterwards.
+     */
+    public NameCipher(char[] passphrase) {
+        this.passphrase = passphrase.clone();
+        salt = new byte[SALT_SIZE];
+        RANDOM.nextBytes(salt);
+    }
+
+    /**
+     * Retrieves the salt of the key new batches are encrypted with, to be stored next to them.
+     *
+     * @return A copy of the salt.
+     */
+    public byte[] getSalt() {
+        return salt.clone();
+    }
+
+    /**
+     * Encrypts a batch of names with this cipher's salt and ITERATIONS.
+     *
+     * @param plaintext The array holding the encoded names.
+     * @param length    The number of bytes to encrypt.
+     * @param header    The header of the file the batch is stored in, authenticated with it so it cannot be altered.
+     * @param batch     The index of the batch, authenticated with it so batches cannot be swapped.
+     * @return The IV followed by the ciphertext and its authentication tag.
+     * @throws GeneralSecurityException If the batch cannot be encrypted.
+     */
+    public byte[] encryptBatch(byte[] plaintext, int length, byte[] header, int batch) throws GeneralSecurityException {
+        SecretKey key = key(salt, ITERATIONS);
+        byte[] iv = new byte[IV_SIZE];
+        RANDOM.nextBytes(iv);
+
+        Cipher cipher = CIPHERS.get();
+        cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, iv));
+        updateAAD(cipher, header, batch);
+        byte[] encrypted = new byte[IV_SIZE + cipher.getOutputSize(length)];
+        System.arraycopy(iv, 0, encrypted, 0, IV_SIZE);
+        cipher.doFinal(plaintext, 0, length, encrypted, IV_SIZE);
+        return encrypted;
+    }
+
+    /**
+     * Decrypts a batch of names encrypted with the given salt and iteration count.
+     *
+     * @param batchSalt  The salt the batch's key was derived with.
+     * @param iterations The iteration count the batch's key was derived with.
+     * @param encrypted  The IV followed by the ciphertext and its authentication tag.
+     * @param header     The header of the file the batch is stored in, or null for files whose header was not
+     *                   authenticated.
+     * @param batch      The index of the batch.
+     * @return The encoded names.
+     * @throws javax.crypto.AEADBadTagException If the passphrase is wrong or the batch or header was modified.
+     * @throws GeneralSecurityException         If the batch cannot be decrypted.
+     */
+    public byte[] decryptBatch(byte[] batchSalt, int iterations, byte[] encrypted, byte[] header, int batch)
+            throws GeneralSecurityException {
+        SecretKey key = key(batchSalt, iterations);
+        Cipher cipher = CIPHERS.get();
+        cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, encrypted, 0, IV_SIZE));
+        updateAAD(cipher, header, batch);
+        return cipher.doFinal(encrypted, IV_SIZE, encrypted.length - IV_SIZE);
+    }
+
+    /**
+     * Passes the data authenticated along with a batch to an initialized cipher: the file header, if any,
+     * followed by the index of the batch.
+     *
+     * @param cipher The cipher, initialized for the batch.
+     * @param header The header of the file the batch is stored in, or null if it is not authenticated.
+     * @param batch  The index of the batch.
+     */
+    private static void updateAAD(Cipher cipher, byte[] header, int batch) {
+        if (header != null) {
+            cipher.updateAAD(header);
+        }
+        cipher.updateAAD(ByteBuffer.allocate(Integer.BYTES).putInt(0, batch).array());
+    }
+
+    /**
+     * Retrieves the key for a salt and iteration count, deriving it from the passphrase the first time only.
+     *
+     * @param keySalt    The salt.
+     * @param iterations The PBKDF2 iteration count.
+     * @return The AES key.
+     * @throws GeneralSecurityException If the key cannot be derived.
+     */
+    private synchronized SecretKey key(byte[] keySalt, int iterations) throws GeneralSecurityException {
+        String id = Base64.getEncoder().encodeToString(keySalt) + ":" + iterations;
+        SecretKey key = keys.get(id);
+        if (key == null) {
+            PBEKeySpec spec = new PBEKeySpec(passphrase, keySalt, iterations, KEY_BITS);
+            try {
+                byte[] bytes = SecretKeyFactory.getInstance("PBKDF2WithHmacSHA256").generateSecret(spec).getEncoded();
+                key = new SecretKeySpec(bytes, "AES");
+                Arrays.fill(bytes, (byte) 0);
+            } finally {
+                spec.clearPassword();
+            }
+            keys.put(id, key);
+        }
+        return key;
+    }
+}
@@ -0,0 +1,353 @@
+package controllers;
+
+// For reading fixed-size pages of the file through a file channel.
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+// For prefetching pages in the background.
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Read-only view of a fixed-width employee data file of any size, read through a buffer pool of fixed-size pages.
+ * <p>
+ * The file is divided into pages of PAGE_SIZE bytes. Pages are read into the pool when a record on them is
+ * asked for, and once the pool reaches its memory budget the least recently used page is evicted and its buffer
+ * reused for the next page read, so memory use stays within the budget however large the file is. When browsing
+ * moves to another page, the next pages in the same direction are read ahead on a background thread, so
+ * scrolling or stepping through the employees rarely waits for the disk.
+ *
+ * @param <E> The type of elements in the file.
+ */
+public class PagedEmployeeStore<E> extends FileEmployeeStore<E> {
+
+    /**
+     * Size in bytes of every page, a whole number of records.
+     */
+    public static final int PAGE_SIZE = 512 * FixedWidthCodec.RECORD_SIZE;
+
+    /**
+     * Memory budget of the buffer pool when none is given.
+     */
+    public static final long DEFAULT_POOL_BYTES = 64L << 20;
+
+    /**
+     * Minimum number of pages in the pool, enough for the visible rows and the pages read ahead.
+     */
+    private static final int MIN_POOL_PAGES = 8;
+
+    /**
+     * Number of pages read ahead in the browsing direction.
+     */
+    private static final int PREFETCH_PAGES = 2;
+
+    /**
+     * Number of records on every page.
+     */
+    private static final int RECORDS_PER_PAGE = PAGE_SIZE / FixedWidthCodec.RECORD_SIZE;
+
+    /**
+     * The channel the pages are read from.
+     */
+    private final FileChannel channel;
+
+    /**
+     * Maximum number of pages in the pool.
+     */
+    private final int poolPages;
+
+    /**
+     * The pages in the pool, by page number, in least recently used order.
+     */
+    private final LinkedHashMap<Integer, ByteBuffer> pool;
+
+    /**
+     * Buffers of evicted pages, reused for the next pages read.
+     */
+    private final ArrayDeque<ByteBuffer> freeBuffers = new ArrayDeque<>();
+
+    /**
+     * Pages being read ahead, so they are not requested twice.
+     */
+    private final Set<Integer> pendingPages = new HashSet<>();
+
+    /**
+     * The thread reading pages ahead.
+     */
+    private final ExecutorService prefetcher;
+
+    /**
+     * The page of the last record asked for, to know the browsing direction.
+     */
+    private int lastPage = -1;
+
+    /**
+     * The number of record accesses served by a page already in the pool.
+     */
+    private long hits;
+
+    /**
+     * The number of record accesses that had to read their page.
+     */
+    private long misses;
+
+    /**
+     * Opens the given file with the default memory budget.
+     *
+     * @param filename The name of the fixed-width file to open.
+     * @throws IOException If the file cannot be opened or is not a valid fixed-width employee data file.
+     */
+    public PagedEmployeeStore(String filename) throws IOException {
+        this(filename, DEFAULT_POOL_BYTES);
+    }
+
+    /**
+     * Opens the given file and reads its header.
+     *
+     * @param filename  The name of the fixed-width file to open.
+     * @param poolBytes The memory budget of the buffer pool, in bytes.
+     * @throws IOException If the file cannot be opened or is not a valid fixed-width employee data file.
+     */
+    public PagedEmployeeStore(String filename, long poolBytes) throws IOException {
+        channel = FileChannel.open(Path.of(filename), StandardOpenOption.READ);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(FixedWidthCodec.HEADER_SIZE);
+            readFully(header, 0);
+            long recordCount = FixedWidthCodec.readHeader(header);
+            if (recordCount > Integer.MAX_VALUE) {
+                throw new StreamCorruptedException("File holds more employees than can be browsed: " + recordCount);
+            }
+            if (FixedWidthCodec.HEADER_SIZE + recordCount * FixedWidthCodec.RECORD_SIZE > channel.size()) {
+                throw new IOException("File is shorter than its header states: " + filename);
+            }
+            totalElements = (int) recordCount;
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+
+        poolPages = (int) Math.max(MIN_POOL_PAGES, Math.min(Integer.MAX_VALUE, poolBytes / PAGE_SIZE));
+        pool = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, ByteBuffer> eldest) {
+                if (size() <= poolPages) {
+                    return false;
+                }
+                freeBuffers.push(eldest.getValue());
+                return true;
+            }
+        };
+        prefetcher = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "Page prefetcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Retrieves the employee number of the element at the given position without materializing it.
+     *
+     * @param index the zero-based position of the element.
+     * @return the employee number stored at the given position.
+     * @throws UncheckedIOException if the page cannot be read.
+     */
+    @Override
+    public int getId(int index) {
+        return withPage(index / RECORDS_PER_PAGE, page -> FixedWidthCodec.readEmployeeNumber(page, offsetOf(index)));
+    }
+
+    /**
+     * Retrieves the number of record accesses served by a page already in the pool.
+     *
+     * @return The number of pool hits.
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * Retrieves the number of record accesses that had to wait for their page to be read.
+     *
+     * @return The number of pool misses.
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Stops reading ahead and closes the file.
+     *
+     * @throws IOException If an I/O error occurs.
+     */
+    @Override
+    public void close() throws IOException {
+        prefetcher.shutdown();
+        channel.close();
+    }
+
+    /**
+     * Decodes the record at the given position from its page, reading the page if it is not in the pool.
+     *
+     * @param index the zero-based position of the record.
+     * @return the decoded employee.
+     * @throws UncheckedIOException if the page cannot be read or the record is corrupted.
+     */
+    @Override
+    protected E decode(int index) {
+        int pageNumber = index / RECORDS_PER_PAGE;
+        E employee = withPage(pageNumber, page -> FixedWidthCodec.<E>decode(page, offsetOf(index)));
+
+        // Read ahead in the direction browsing moves in, once per page change.
+        if (pageNumber != lastPage) {
+            prefetch(pageNumber, (pageNumber < lastPage) ? -1 : 1);
+            lastPage = pageNumber;
+        }
+        return employee;
+    }
+
+    /**
+     * Reads something from a page while holding the pool's lock, so the page cannot be evicted and its buffer
+     * reused in the meantime. The page is read from the file first if it is not in the pool.
+     *
+     * @param pageNumber The number of the page.
+     * @param access     The code reading from the page.
+     * @param <T>        The type of the value read.
+     * @return The value read from the page.
+     * @throws UncheckedIOException if the page cannot be read or the record is corrupted.
+     */
+    private <T> T withPage(int pageNumber, PageAccess<T> access) {
+        try {
+            boolean missed = false;
+            while (true) {
+                synchronized (this) {
+                    ByteBuffer page = pool.get(pageNumber);
+                    if (page != null) {
+                        if (missed) {
+                            misses++;
+                        } else {
+                            hits++;
+                        }
+                        return access.read(page);
+                    }
+                }
+                // Read the page without holding the lock, so reading ahead and browsing do not wait for each other.
+                load(pageNumber);
+                missed = true;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Reads a page into a free buffer and adds it to the pool, unless another thread already did.
+     *
+     * @param pageNumber The number of the page.
+     * @throws IOException If an I/O error occurs.
+     */
+    private void load(int pageNumber) throws IOException {
+        ByteBuffer page;
+        synchronized (this) {
+            page = freeBuffers.isEmpty() ? ByteBuffer.allocate(PAGE_SIZE) : freeBuffers.pop();
+        }
+        long records = Math.min(RECORDS_PER_PAGE, totalElements - (long) pageNumber * RECORDS_PER_PAGE);
+        page.clear();
+        page.limit((int) (records * FixedWidthCodec.RECORD_SIZE));
+        readFully(page, FixedWidthCodec.HEADER_SIZE + (long) pageNumber * PAGE_SIZE);
+        page.clear();
+
+        synchronized (this) {
+            if (pool.putIfAbsent(pageNumber, page) != null) {
+                freeBuffers.push(page);
+            }
+        }
+    }
+
+    /**
+     * Reads the next pages in the given direction on the background thread, if they are not in the pool yet.
+     *
+     * @param pageNumber The number of the page being browsed.
+     * @param direction  1 when browsing forward, -1 when browsing backwards.
+     */
+    private void prefetch(int pageNumber, int direction) {
+        int pageCount = (totalElements + RECORDS_PER_PAGE - 1) / RECORDS_PER_PAGE;
+        for (int i = 1; i <= PREFETCH_PAGES; i++) {
+            int next = pageNumber + i * direction;
+            if (next < 0 || next >= pageCount) {
+                return;
+            }
+            synchronized (this) {
+                if (pool.containsKey(next) || !pendingPages.add(next)) {
+                    continue;
+                }
+            }
+            prefetcher.execute(() -> {
+                try {
+                    load(next);
+                } catch (IOException e) {
+                    // The page is read again, and the error reported, when it is actually needed.
+                } finally {
+                    synchronized (this) {
+                        pendingPages.remove(next);
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Reads from a position of the file until the buffer is full.
+     *
+     * @param buffer   The buffer to fill.
+     * @param position The position of the first byte to read.
+     * @throws IOException If an I/O error occurs or the file is truncated.
+     */
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new EOFException("Unexpected end of file at position " + position + ".");
+            }
+            position += read;
+        }
+    }
+
+    /**
+     * Code reading a value from a page of the pool.
+     *
+     * @param <T> The type of the value read.
+     */
+    @FunctionalInterface
+    private interface PageAccess<T> {
+
+        /**
+         * Reads a value from a page.
+         *
+         * @param page The buffer holding the page.
+         * @return The value read.
+         * @throws IOException If the page holds a corrupted record.
+         */
+        T read(ByteBuffer page) throws IOException;
+    }
+
+    /**
+     * Computes the offset of the record at the given position within its page.
+     *
+     * @param index the zero-based position of the record.
+     * @return the offset of the record.
+     */
+    private static int offsetOf(int index) {
+        return (index % RECORDS_PER_PAGE) * FixedWidthCodec.RECORD_SIZE;
+    }
+}
@@ -0,0 +1,511 @@
+package controllers;
+
+// For reading the bytes allocated by the calling thread.
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+// For recording from the Swing UI thread and the background tasks at the same time.
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Records how long the operations of the application take and how much memory they allocate, so their
+ * percentiles can be looked at while the application runs.
+ * <p>
+ * An operation is measured by taking its start time and allocation counter before it runs and passing both to
+ * {@link #record}. Every value lands in a log-linear histogram of fixed size, with 8 buckets per power of two,
+ * so recording never allocates and only increments an array element, and every percentile read back is at most
+ * 12.5% above the true value. The allocated bytes are those of the calling thread, as counted by the JVM for
+ * every thread; an operation handing its work over to other threads only reports its own share.
+ */
+public final class PerformanceMonitor {
+
+    /**
+     * The operations being measured.
+     */
+    public enum Operation {
+        /**
+         * Moving to the previous, next, first or last employee.
+         */
+        NAVIGATION("Navigation"),
+
+        /**
+         * Selecting an employee in the list.
+         */
+        SELECTION("Selection"),
+
+        /**
+         * Showing an employee's details.
+         */
+        RENDER("Render"),
+
+        /**
+         * Sorting the employees.
+         */
+        SORT("Sort"),
+
+        /**
+         * Saving the employees to a file.
+         */
+        SAVE("Save"),
+
+        /**
+         * Loading the employees from one or more files.
+         */
+        LOAD("Load"),
+
+        /**
+         * Calculating an employee's salary modification.
+         */
+        CALCULATE("Calculate");
+
+        /**
+         * The name shown to the user.
+         */
+        private final String displayName;
+
+        /**
+         * Creates an operation.
+         *
+         * @param displayName The name shown to the user.
+         */
+        Operation(String displayName) {
+            this.displayName = displayName;
+        }
+
+        /**
+         * Retrieves the name shown to the user.
+         *
+         * @return The name of the operation.
+         */
+        public String getDisplayName() {
+            return displayName;
+        }
+    }
+
+    /**
+     * The statistics of one operation, taken at one point in time.
+     */
+    public static final class Statistics {
+
+        /**
+         * The number of times the operation was recorded.
+         */
+        private final long count;
+
+        /**
+         * The median duration, in nanoseconds.
+         */
+        private final long latencyP50;
+
+        /**
+         * The 99th percentile of the duration, in nanoseconds.
+         */
+        private final long latencyP99;
+
+        /**
+         * The longest duration, in nanoseconds.
+         */
+        private final long latencyMax;
+
+        /**
+         * The median number of bytes allocated, or -1 if allocations are not measured.
+         */
+        private final long allocatedP50;
+
+        /**
+         * The 99th percentile of the bytes allocated, or -1 if allocations are not measured.
+         */
+        private final long allocatedP99;
+
+        /**
+         * The bytes allocated by every recorded run, or -1 if allocations are not measured.
+         */
+        private final long allocatedTotal;
+
+        /**
+         * Creates the statistics of an operation.
+         *
+         * @param count          The number of times the operation was recorded.
+         * @param latencyP50     The median duration, in nanoseconds.
+         * @param latencyP99     The 99th percentile of the duration, in nanoseconds.
+         * @param latencyMax     The longest duration, in nanoseconds.
+         * @param allocatedP50   The median number of bytes allocated, or -1 if allocations are not measured.
+         * @param allocatedP99   The 99th percentile of the bytes allocated, or -1 if allocations are not measured.
+         * @param allocatedTotal The bytes allocated by every recorded run, or -1 if allocations are not measured.
+         */
+        private Statistics(long count, long latencyP50, long latencyP99, long latencyMax,
+                           long allocatedP50, long allocatedP99, long allocatedTotal) {
+            this.count = count;
+            this.latencyP50 = latencyP50;
+            this.latencyP99 = latencyP99;
+            this.latencyMax = latencyMax;
+            this.allocatedP50 = allocatedP50;
+            this.allocatedP99 = allocatedP99;
+            this.allocatedTotal = allocatedTotal;
+        }
+
+        /**
+         * Retrieves the number of times the operation was recorded.
+         *
+         * @return The number of runs.
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * Retrieves the median duration.
+         *
+         * @return The median duration, in nanoseconds.
+         */
+        public long getLatencyP50() {
+            return latencyP50;
+        }
+
+        /**
+         * Retrieves the 99th percentile of the duration.
+         *
+         * @return The 99th percentile, in nanoseconds.
+         */
+        public long getLatencyP99() {
+            return latencyP99;
+        }
+
+        /**
+         * Retrieves the longest duration.
+         *
+         * @return The longest duration, in nanoseconds.
+         */
+        public long getLatencyMax() {
+            return latencyMax;
+        }
+
+        /**
+         * Retrieves the median number of bytes allocated.
+         *
+         * @return The median, or -1 if allocations are not measured.
+         */
+        public long getAllocatedP50() {
+            return allocatedP50;
+        }
+
+        /**
+         * Retrieves the 99th percentile of the bytes allocated.
+         *
+         * @return The 99th percentile, or -1 if allocations are not measured.
+         */
+        public long getAllocatedP99() {
+            return allocatedP99;
+        }
+
+        /**
+         * Retrieves the bytes allocated by every recorded run.
+         *
+         * @return The total, or -1 if allocations are not measured.
+         */
+        public long getAllocatedTotal() {
+            return allocatedTotal;
+        }
+    }
+
+    /**
+     * Number of bits of a value kept below its highest bit, giving 8 buckets per power of two.
+     */
+    private static final int SUB_BUCKET_BITS = 3;
+
+    /**
+     * Number of buckets per power of two.
+     */
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * Number of buckets of a histogram, enough for every non-negative long.
+     */
+    private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    /**
+     * The JVM's thread bean, if it counts the bytes allocated by each thread, or null otherwise.
+     */
+    private static final com.sun.management.ThreadMXBean ALLOCATION_BEAN = allocationBean();
+
+    /**
+     * The durations of every operation, in nanoseconds, indexed by ordinal.
+     */
+    private static final Histogram[] LATENCIES = new Histogram[Operation.values().length];
+
+    /**
+     * The bytes allocated by every operation, indexed by ordinal.
+     */
+    private static final Histogram[] ALLOCATIONS = new Histogram[Operation.values().length];
+
+    static {
+        for (int i = 0; i < LATENCIES.length; i++) {
+            LATENCIES[i] = new Histogram();
+            ALLOCATIONS[i] = new Histogram();
+        }
+    }
+
+    /**
+     * Whether operations are recorded.
+     */
+    private static volatile boolean enabled = true;
+
+    /**
+     * Prevents instantiation of this utility class.
+     */
+    private PerformanceMonitor() {
+    }
+
+    /**
+     * Retrieves the JVM's thread bean and turns on its allocation counting, if the JVM supports it.
+     *
+     * @return The thread bean, or null if the JVM does not count the bytes allocated by each thread.
+     */
+    private static com.sun.management.ThreadMXBean allocationBean() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean)) {
+            return null;
+        }
+        com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) bean;
+        if (!allocationBean.isThreadAllocatedMemorySupported()) {
+            return null;
+        }
+        try {
+            allocationBean.setThreadAllocatedMemoryEnabled(true);
+        } catch (UnsupportedOperationException | SecurityException e) {
+            return null;
+        }
+        return allocationBean.isThreadAllocatedMemoryEnabled() ? allocationBean : null;
+    }
+
+    /**
+     * Checks whether operations are recorded.
+     *
+     * @return true if operations are recorded, false otherwise.
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Turns the recording of operations on or off. The statistics recorded so far are kept.
+     *
+     * @param enabled Whether operations are recorded.
+     */
+    public static void setEnabled(boolean enabled) {
+        PerformanceMonitor.enabled = enabled;
+    }
+
+    /**
+     * Checks whether the bytes allocated by the operations are measured.
+     *
+     * @return true if the JVM counts the bytes allocated by each thread, false otherwise.
+     */
+    public static boolean isAllocationMeasured() {
+        return ALLOCATION_BEAN != null;
+    }
+
+    /**
+     * Takes the start time of an operation.
+     *
+     * @return The current time in nanoseconds, or 0 if operations are not recorded.
+     */
+    public static long startTime() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Takes the allocation counter of the calling thread at the start of an operation.
+     *
+     * @return The bytes allocated so far by the calling thread, or 0 if they are not measured.
+     */
+    public static long startAllocation() {
+        return (enabled && ALLOCATION_BEAN != null) ? ALLOCATION_BEAN.getCurrentThreadAllocatedBytes() : 0;
+    }
+
+    /**
+     * Records one run of an operation, from its start time and allocation counter to now. Nothing is recorded if
+     * operations were not recorded when it started.
+     *
+     * @param operation       The operation that ran.
+     * @param startTime       The start time, as returned by {@link #startTime()}.
+     * @param startAllocation The allocation counter, as returned by {@link #startAllocation()} on the same thread.
+     */
+    public static void record(Operation operation, long startTime, long startAllocation) {
+        if (startTime == 0 || !enabled) {
+            return;
+        }
+        // Read the allocation counter first, so the clock does not count the time taken to read it.
+        long allocated = (ALLOCATION_BEAN != null) ? ALLOCATION_BEAN.getCurrentThreadAllocatedBytes() - startAllocation : 0;
+        long elapsed = System.nanoTime() - startTime;
+        LATENCIES[operation.ordinal()].record(elapsed);
+        if (ALLOCATION_BEAN != null) {
+            ALLOCATIONS[operation.ordinal()].record(allocated);
+        }
+    }
+
+    /**
+     * Retrieves the statistics recorded for an operation. Runs recorded while they are read may be partly counted.
+     *
+     * @param operation The operation.
+     * @return The statistics of the operation.
+     */
+    public static Statistics getStatistics(Operation operation) {
+        Histogram latency = LATENCIES[operation.ordinal()];
+        Histogram allocation = ALLOCATIONS[operation.ordinal()];
+        boolean measured = ALLOCATION_BEAN != null;
+        return new Statistics(latency.count(), latency.percentile(0.50), latency.percentile(0.99), latency.max(),
+                measured ? allocation.percentile(0.50) : -1, measured ? allocation.percentile(0.99) : -1,
+                measured ? allocation.sum() : -1);
+    }
+
+    /**
+     * Forgets every operation recorded so far.
+     */
+    public static void reset() {
+        for (int i = 0; i < LATENCIES.length; i++) {
+            LATENCIES[i].reset();
+            ALLOCATIONS[i].reset();
+        }
+    }
+
+    /**
+     * Computes the bucket holding a value: values below 8 have a bucket each, and every higher power of two is
+     * split into 8 buckets by the 3 bits following its highest bit.
+     *
+     * @param value The value, negative values counting as 0.
+     * @return The index of the bucket.
+     */
+    static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) Math.max(0, value);
+        }
+        int highestBit = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (highestBit - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (highestBit - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * Computes the highest value held by a bucket.
+     *
+     * @param bucket The index of the bucket.
+     * @return The highest value of the bucket.
+     */
+    static long highestValueOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = bucket / SUB_BUCKETS - 1;
+        long lowest = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+
+    /**
+     * A histogram of non-negative values, safe to record into from several threads at once.
+     */
+    private static final class Histogram {
+
+        /**
+         * The number of values recorded in each bucket.
+         */
+        private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+        /**
+         * The sum of the values recorded.
+         */
+        private final AtomicLong sum = new AtomicLong();
+
+        /**
+         * The highest value recorded.
+         */
+        private final AtomicLong max = new AtomicLong();
+
+        /**
+         * Records a value.
+         *
+         * @param value The value, negative values counting as 0.
+         */
+        void record(long value) {
+            long clamped = Math.max(0, value);
+            counts.incrementAndGet(bucketOf(clamped));
+            sum.addAndGet(clamped);
+            // Only values above the current maximum pay for a compare-and-set.
+            long currentMax = max.get();
+            while (clamped > currentMax && !max.compareAndSet(currentMax, clamped)) {
+                currentMax = max.get();
+            }
+        }
+
+        /**
+         * Computes the number of values recorded.
+         *
+         * @return The number of values.
+         */
+        long count() {
+            long count = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                count += counts.get(i);
+            }
+            return count;
+        }
+
+        /**
+         * Retrieves the sum of the values recorded.
+         *
+         * @return The sum of the values.
+         */
+        long sum() {
+            return sum.get();
+        }
+
+        /**
+         * Retrieves the highest value recorded.
+         *
+         * @return The highest value, or 0 if none was recorded.
+         */
+        long max() {
+            return max.get();
+        }
+
+        /**
+         * Computes a percentile of the values recorded, rounded up to the highest value of its bucket.
+         *
+         * @param fraction The percentile, as a fraction between 0 and 1.
+         * @return The percentile, at most the highest value recorded, or 0 if none was recorded.
+         */
+        long percentile(double fraction) {
+            long[] snapshot = new long[BUCKETS];
+            long count = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                snapshot[i] = counts.get(i);
+                count += snapshot[i];
+            }
+            if (count == 0) {
+                return 0;
+            }
+
+            // Find the bucket holding the value of the requested rank.
+            long rank = Math.max(1, (long) Math.ceil(fraction * count));
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += snapshot[i];
+                if (seen >= rank) {
+                    return Math.min(highestValueOf(i), max.get());
+                }
+            }
+            return max.get();
+        }
+
+        /**
+         * Forgets every value recorded.
+         */
+        void reset() {
+            for (int i = 0; i < BUCKETS; i++) {
+                counts.set(i, 0);
+            }
+            sum.set(0);
+            max.set(0);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package controllers;
+
+/**
+ * Callback interface for reporting the progress of long-running file operations.
+ */
+@FunctionalInterface
+public interface ProgressListener {
+
+    /**
+     * Called periodically while an operation advances, and once more when it completes.
+     *
+     * @param completed The number of records processed so far.
+     * @param total     The total number of records to process, or -1 if it is not known in advance.
+     */
+    void progressChanged(long completed, long total);
+}
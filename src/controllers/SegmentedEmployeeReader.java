@@ -0,0 +1,156 @@
+package controllers;
+
+// For reading whole segments through a file channel.
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import models.Employee;
+
+/**
+ * Reads employees from a segmented data file, skipping the slots of removed employees.
+ * Every employee read remembers its slot in this file, so that saving it again only rewrites its own segment.
+ *
+ * @param <E> The type of elements read, either Analyst or Programmer instances.
+ */
+public class SegmentedEmployeeReader<E> implements EmployeeReader<E> {
+
+    /**
+     * Number of segments read from the channel at once.
+     */
+    private static final int SEGMENTS_PER_READ = 8;
+
+    /**
+     * The channel the records are read from.
+     */
+    private final FileChannel channel;
+
+    /**
+     * The path identifying the file in the storage slots of the employees read.
+     */
+    private final Path storageFile;
+
+    /**
+     * The buffer holding the segments read from the channel.
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * The number of slots in the file, including empty ones.
+     */
+    private final long slotCount;
+
+    /**
+     * The number of employees stored in the file.
+     */
+    private final long recordCount;
+
+    /**
+     * The slot of the record at the buffer's position.
+     */
+    private long nextSlot;
+
+    /**
+     * The number of records read so far.
+     */
+    private long recordsRead;
+
+    /**
+     * Opens the given file, finishing or discarding any interrupted update, and reads its header.
+     *
+     * @param filename The name of the file to read from.
+     * @throws IOException If the file cannot be opened or is not a segmented employee data file.
+     */
+    public SegmentedEmployeeReader(String filename) throws IOException {
+        SegmentedFileUpdater.recoverPendingUpdate(Path.of(filename));
+        storageFile = SegmentedFileUpdater.storageFile(Path.of(filename));
+        channel = FileChannel.open(storageFile, StandardOpenOption.READ);
+        try {
+            long[] counts = SegmentedFileUpdater.readHeader(channel);
+            slotCount = counts[0];
+            recordCount = counts[1];
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        buffer = ByteBuffer.allocateDirect(SEGMENTS_PER_READ * SegmentedFileUpdater.SEGMENT_RECORDS * FixedWidthCodec.RECORD_SIZE);
+        buffer.flip();
+    }
+
+    /**
+     * Retrieves the number of employees stored in the file.
+     *
+     * @return The live record count from the file header.
+     */
+    @Override
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Retrieves the number of employees read so far.
+     *
+     * @return The number of employees returned by read().
+     */
+    @Override
+    public long getRecordsRead() {
+        return recordsRead;
+    }
+
+    /**
+     * Reads the next employee, skipping empty slots.
+     *
+     * @return The next employee, or null if every slot has been read.
+     * @throws IOException If an I/O error occurs or a record is corrupted.
+     */
+    @Override
+    public E read() throws IOException {
+        while (nextSlot < slotCount) {
+            if (!buffer.hasRemaining()) {
+                fill();
+            }
+            E employee = FixedWidthCodec.decode(buffer, buffer.position());
+            buffer.position(buffer.position() + FixedWidthCodec.RECORD_SIZE);
+            long slot = nextSlot++;
+            if (employee != null) {
+                ((Employee) employee).setStorageSlot(storageFile, slot);
+                recordsRead++;
+                return employee;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Reads the next segments into the buffer.
+     *
+     * @throws IOException If an I/O error occurs or the file is truncated.
+     */
+    private void fill() throws IOException {
+        long slots = Math.min(slotCount - nextSlot, buffer.capacity() / FixedWidthCodec.RECORD_SIZE);
+        buffer.clear();
+        buffer.limit((int) slots * FixedWidthCodec.RECORD_SIZE);
+        long position = SegmentedFileUpdater.slotOffset(nextSlot);
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new StreamCorruptedException("Unexpected end of segmented file.");
+            }
+            position += read;
+        }
+        buffer.flip();
+    }
+
+    /**
+     * Closes the file.
+     *
+     * @throws IOException If an I/O error occurs.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
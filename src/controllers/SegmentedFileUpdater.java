@@ -0,0 +1,417 @@
+package controllers;
+
+// For reading and patching segments of the file through a channel.
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import models.Employee;
+
+/**
+ * Utility class for segmented data files, in which fixed-width records are grouped into segments so that saving
+ * after a few changes only rewrites the segments holding the changed records.
+ * <p>
+ * Every employee keeps the slot of its record along with the file holding it, so that employees brought in from
+ * another segmented file are appended instead of overwriting the records in the same slots of this one. Removed
+ * employees leave an empty record (a tombstone) in their slot and new employees are appended after the last slot.
+ * The patched segments are first written to a ".pending" file next to the data file and only then copied into
+ * place, so an update interrupted by a crash is either finished or ignored the next time the file is opened.
+ */
+final class SegmentedFileUpdater {
+
+    /**
+     * Magic number identifying segmented employee data files ("EMPS").
+     */
+    static final int MAGIC = 0x454D5053;
+
+    /**
+     * Current schema version of the segmented format.
+     */
+    static final short VERSION = 1;
+
+    /**
+     * Size in bytes of the file header: magic (4), version (2), flags (2), record size (4),
+     * records per segment (4), slot count (8) and live record count (8).
+     */
+    static final int HEADER_SIZE = 32;
+
+    /**
+     * Number of records in every segment.
+     */
+    static final int SEGMENT_RECORDS = 1024;
+
+    /**
+     * Suffix appended to the data file name to get the name of the file holding an update in progress.
+     */
+    private static final String PENDING_SUFFIX = ".pending";
+
+    /**
+     * Offset written after the last patch of a complete pending update.
+     */
+    private static final long END_OF_UPDATE = -1;
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private SegmentedFileUpdater() {
+    }
+
+    /**
+     * Puts a segmented file header at the buffer's position.
+     *
+     * @param buffer    The buffer to write the header to.
+     * @param slotCount The number of record slots, including empty ones.
+     * @param liveCount The number of records holding an employee.
+     */
+    static void putHeader(ByteBuffer buffer, long slotCount, long liveCount) {
+        buffer.putInt(MAGIC);
+        buffer.putShort(VERSION);
+        buffer.putShort((short) 0);
+        buffer.putInt(FixedWidthCodec.RECORD_SIZE);
+        buffer.putInt(SEGMENT_RECORDS);
+        buffer.putLong(slotCount);
+        buffer.putLong(liveCount);
+    }
+
+    /**
+     * Reads and validates a segmented file header from the buffer's position.
+     *
+     * @param buffer The buffer holding the header.
+     * @return An array holding the slot count and the live record count.
+     * @throws IOException If the header does not describe a supported segmented file.
+     */
+    static long[] readHeader(ByteBuffer buffer) throws IOException {
+        if (buffer.getInt() != MAGIC) {
+            throw new StreamCorruptedException("Not a segmented employee data file.");
+        }
+        short version = buffer.getShort();
+        if (version != VERSION) {
+            throw new StreamCorruptedException("Unsupported segmented file version: " + version);
+        }
+        buffer.getShort();
+        if (buffer.getInt() != FixedWidthCodec.RECORD_SIZE || buffer.getInt() != SEGMENT_RECORDS) {
+            throw new StreamCorruptedException("Unsupported segmented file layout.");
+        }
+        long slotCount = buffer.getLong();
+        long liveCount = buffer.getLong();
+        if (slotCount < 0 || liveCount < 0 || liveCount > slotCount) {
+            throw new StreamCorruptedException("Invalid record counts in segmented file header.");
+        }
+        return new long[] {slotCount, liveCount};
+    }
+
+    /**
+     * Reads the header of a segmented file.
+     *
+     * @param channel The channel of the file.
+     * @return An array holding the slot count and the live record count.
+     * @throws IOException If the header cannot be read or is not valid.
+     */
+    static long[] readHeader(FileChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        readFully(channel, header, 0);
+        header.flip();
+        long[] counts = readHeader(header);
+        if (channel.size() < HEADER_SIZE + counts[0] * FixedWidthCodec.RECORD_SIZE) {
+            throw new StreamCorruptedException("Segmented file is shorter than its header claims.");
+        }
+        return counts;
+    }
+
+    /**
+     * Writes every employee to a new segmented file, one slot after the other, and forces it to disk.
+     *
+     * @param employees The employees to write.
+     * @param total     The number of employees.
+     * @param path      The path of the file to write.
+     * @param listener  The listener notified of the progress, or null if none is needed.
+     * @param <E>       The type of elements written.
+     * @throws IOException If an I/O error occurs.
+     */
+    static <E> void writeAll(Iterable<E> employees, long total, Path path, ProgressListener listener) throws IOException {
+        long written = 0;
+        ByteBuffer buffer = ByteBuffer.allocateDirect(EmployeeFileWriter.BUFFER_SIZE);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            putHeader(buffer, total, total);
+            for (E employee : employees) {
+                if (buffer.remaining() < FixedWidthCodec.RECORD_SIZE) {
+                    writeFully(channel, buffer);
+                }
+                FixedWidthCodec.encode(employee, buffer);
+                written++;
+                if (listener != null && written % SEGMENT_RECORDS == 0) {
+                    listener.progressChanged(written, total);
+                }
+            }
+            writeFully(channel, buffer);
+            channel.force(true);
+        }
+        if (listener != null) {
+            listener.progressChanged(total, total);
+        }
+    }
+
+    /**
+     * Saves the changes made to employees stored in an existing segmented file by rewriting only the segments
+     * holding their records. Changed employees without a slot in this file are appended and removed ones become
+     * tombstones. The slots of the appended employees are only recorded once the update is complete.
+     *
+     * @param path     The path of the segmented file.
+     * @param changed  The employees added or modified since the file was loaded or saved.
+     * @param removed  The employees removed since the file was loaded or saved.
+     * @param listener The listener notified of the progress, or null if none is needed.
+     * @return The number of records written.
+     * @throws IOException If an I/O error occurs or the file is not a valid segmented file.
+     */
+    static long writeChanges(Path path, Collection<?> changed, Collection<?> removed, ProgressListener listener) throws IOException {
+        recoverPendingUpdate(path);
+        Path storageFile = storageFile(path);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long[] counts = readHeader(channel);
+            long oldSlotCount = counts[0];
+            long liveCount = counts[1];
+
+            // Collect the record to write in every affected slot, a null record standing for a tombstone.
+            TreeMap<Long, Employee> patches = new TreeMap<>();
+            for (Object element : removed) {
+                long slot = ((Employee) element).getStorageSlot(storageFile);
+                if (slot >= 0 && slot < oldSlotCount && !patches.containsKey(slot)) {
+                    patches.put(slot, null);
+                    liveCount--;
+                }
+            }
+            Map<Employee, Long> newSlots = new IdentityHashMap<>();
+            long slotCount = oldSlotCount;
+            for (Object element : changed) {
+                Employee employee = (Employee) element;
+                long slot = employee.getStorageSlot(storageFile);
+                if (slot < 0 || slot >= oldSlotCount) {
+                    slot = slotCount++;
+                    newSlots.put(employee, slot);
+                    liveCount++;
+                } else if (patches.containsKey(slot)) {
+                    // The slot of a removed employee now holds the one read again from it in its place.
+                    liveCount++;
+                }
+                patches.put(slot, employee);
+            }
+
+            // Build every affected segment from its current content and its patched records.
+            Map<Long, ByteBuffer> segments = new TreeMap<>();
+            long segmentsDone = 0;
+            long segmentsTotal = 0;
+            long previous = -1;
+            for (long slot : patches.keySet()) {
+                if (slot / SEGMENT_RECORDS != previous) {
+                    previous = slot / SEGMENT_RECORDS;
+                    segmentsTotal++;
+                }
+            }
+            for (Map.Entry<Long, Employee> patch : patches.entrySet()) {
+                long segment = patch.getKey() / SEGMENT_RECORDS;
+                long firstSlot = segment * SEGMENT_RECORDS;
+                ByteBuffer buffer = segments.get(firstSlot);
+                if (buffer == null) {
+                    int slots = (int) Math.min(SEGMENT_RECORDS, slotCount - firstSlot);
+                    int storedSlots = (int) Math.max(0, Math.min(slots, oldSlotCount - firstSlot));
+                    buffer = ByteBuffer.allocate(slots * FixedWidthCodec.RECORD_SIZE);
+                    buffer.limit(storedSlots * FixedWidthCodec.RECORD_SIZE);
+                    readFully(channel, buffer, slotOffset(firstSlot));
+                    buffer.clear();
+                    segments.put(firstSlot, buffer);
+                    if (listener != null) {
+                        listener.progressChanged(++segmentsDone, segmentsTotal);
+                    }
+                }
+                int offset = (int) (patch.getKey() - firstSlot) * FixedWidthCodec.RECORD_SIZE;
+                buffer.position(offset);
+                buffer.put(new byte[FixedWidthCodec.RECORD_SIZE]);
+                if (patch.getValue() != null) {
+                    buffer.position(offset);
+                    FixedWidthCodec.encode(patch.getValue(), buffer);
+                }
+                buffer.clear();
+            }
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            putHeader(header, slotCount, liveCount);
+            header.flip();
+
+            // Make the update durable on its own first, then apply it to the data file.
+            List<Map.Entry<Long, ByteBuffer>> update = new ArrayList<>();
+            for (Map.Entry<Long, ByteBuffer> segment : segments.entrySet()) {
+                update.add(Map.entry(slotOffset(segment.getKey()), segment.getValue()));
+            }
+            update.add(Map.entry(0L, header));
+            Path pending = pendingPath(path);
+            writePendingUpdate(pending, update);
+            applyUpdate(channel, update);
+            Files.delete(pending);
+
+            // The appended employees are now stored in their new slots.
+            for (Map.Entry<Employee, Long> entry : newSlots.entrySet()) {
+                entry.getKey().setStorageSlot(storageFile, entry.getValue());
+            }
+            return patches.size();
+        }
+    }
+
+    /**
+     * Finishes an update that was interrupted after its pending file was complete, or discards an incomplete one,
+     * which was never applied to the data file.
+     *
+     * @param path The path of the segmented file.
+     * @throws IOException If the pending update cannot be read or applied.
+     */
+    static void recoverPendingUpdate(Path path) throws IOException {
+        Path pending = pendingPath(path);
+        if (!Files.exists(pending)) {
+            return;
+        }
+        ByteBuffer content = ByteBuffer.wrap(Files.readAllBytes(pending));
+        List<Map.Entry<Long, ByteBuffer>> update = new ArrayList<>();
+        boolean complete = false;
+        while (content.remaining() >= Long.BYTES) {
+            long offset = content.getLong();
+            if (offset == END_OF_UPDATE) {
+                complete = true;
+                break;
+            }
+            if (content.remaining() < Integer.BYTES) {
+                break;
+            }
+            int length = content.getInt();
+            if (length < 0 || length > content.remaining()) {
+                break;
+            }
+            update.add(Map.entry(offset, content.slice(content.position(), length)));
+            content.position(content.position() + length);
+        }
+        if (complete) {
+            System.out.println("Finishing an interrupted update of " + path);
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                applyUpdate(channel, update);
+            }
+        }
+        Files.delete(pending);
+    }
+
+    /**
+     * Retrieves the position of a slot's record in the file.
+     *
+     * @param slot The slot.
+     * @return The offset of the record from the start of the file.
+     */
+    static long slotOffset(long slot) {
+        return HEADER_SIZE + slot * FixedWidthCodec.RECORD_SIZE;
+    }
+
+    /**
+     * Retrieves the path identifying a segmented file in the storage slots of its employees.
+     *
+     * @param path The path of the segmented file.
+     * @return Its absolute, normalized path.
+     */
+    static Path storageFile(Path path) {
+        return path.toAbsolutePath().normalize();
+    }
+
+    /**
+     * Retrieves the path of the file holding an update in progress.
+     *
+     * @param path The path of the segmented file.
+     * @return The path of its pending update file.
+     */
+    private static Path pendingPath(Path path) {
+        return Path.of(path + PENDING_SUFFIX);
+    }
+
+    /**
+     * Writes the offset, length and bytes of every patch to the pending file, followed by an end marker,
+     * and forces it to disk.
+     *
+     * @param pending The path of the pending update file.
+     * @param update  The patches, as pairs of file offset and bytes.
+     * @throws IOException If an I/O error occurs.
+     */
+    private static void writePendingUpdate(Path pending, List<Map.Entry<Long, ByteBuffer>> update) throws IOException {
+        try (FileChannel channel = FileChannel.open(pending, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer prefix = ByteBuffer.allocate(Long.BYTES + Integer.BYTES);
+            for (Map.Entry<Long, ByteBuffer> patch : update) {
+                prefix.clear();
+                prefix.putLong(patch.getKey()).putInt(patch.getValue().remaining());
+                writeFully(channel, prefix);
+                ByteBuffer bytes = patch.getValue().duplicate();
+                while (bytes.hasRemaining()) {
+                    channel.write(bytes);
+                }
+            }
+            prefix.clear();
+            prefix.putLong(END_OF_UPDATE);
+            writeFully(channel, prefix);
+            channel.force(true);
+        }
+    }
+
+    /**
+     * Writes every patch at its offset in the data file and forces it to disk.
+     *
+     * @param channel The channel of the data file.
+     * @param update  The patches, as pairs of file offset and bytes.
+     * @throws IOException If an I/O error occurs.
+     */
+    private static void applyUpdate(FileChannel channel, List<Map.Entry<Long, ByteBuffer>> update) throws IOException {
+        for (Map.Entry<Long, ByteBuffer> patch : update) {
+            ByteBuffer bytes = patch.getValue().duplicate();
+            long position = patch.getKey();
+            while (bytes.hasRemaining()) {
+                position += channel.write(bytes, position);
+            }
+        }
+        channel.force(true);
+    }
+
+    /**
+     * Reads bytes from a position of a channel until the buffer is full.
+     *
+     * @param channel  The channel to read from.
+     * @param buffer   The buffer to fill.
+     * @param position The position of the first byte to read.
+     * @throws IOException If an I/O error occurs or the end of the file is reached first.
+     */
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new StreamCorruptedException("Unexpected end of segmented file.");
+            }
+            position += read;
+        }
+    }
+
+    /**
+     * Writes the content of a buffer to a channel and clears the buffer.
+     *
+     * @param channel The channel to write to.
+     * @param buffer  The buffer holding the bytes to write.
+     * @throws IOException If an I/O error occurs.
+     */
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
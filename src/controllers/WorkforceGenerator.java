@@ -0,0 +1,380 @@
+package controllers;
+
+// For writing the generated employees.
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.SplittableRandom;
+
+import models.Analyst;
+import models.Employee;
+import models.Programmer;
+import models.ProgrammerLanguages;
+import models.SalaryExceedsMaxException;
+
+/**
+ * Command-line tool writing synthetic but realistic employee files of any size, reproducible from a seed.
+ * <p>
+ * The same seed, count and share of programmers always produce the same employees, so the files written are
+ * identical byte for byte from one run, machine or format to the next, and a benchmark or a bug report can be
+ * reproduced from its command line alone. The employees are generated one at a time while they are written,
+ * so memory use does not depend on the size of the file:
+ * <ul>
+ *     <li>Employee numbers are distinct, chosen at random in ascending order by selection sampling within
+ *     1 to 9,999,999, or up to the number of employees if there are more.</li>
+ *     <li>Names combine common first names and surnames, the most common ones being drawn more often.</li>
+ *     <li>Hire dates go from 01-01-1907 to LATEST_HIRE_DATE, recent hires being more frequent.</li>
+ *     <li>Salaries follow a log-normal spread that grows with seniority, always below the maximum salary.</li>
+ *     <li>Programmers get a monthly extra of 1% to 10% of their salary and a language from ProgrammerLanguages;
+ *     analysts get an annual bonus of 5% to 20% of their salary and a qualification.</li>
+ * </ul>
+ * The format of every output file is chosen from its extension, as in the Save dialog. Only real names are
+ * written to CSV files; the data files store masked names, as they do when saved from the application.
+ * <p>
+ * Usage: {@code java controllers.WorkforceGenerator -n <count> [-s <seed>] [-p <programmer %>] <output file>...}
+ */
+public final class WorkforceGenerator {
+
+    /**
+     * Seed used when none is given.
+     */
+    public static final long DEFAULT_SEED = 42;
+
+    /**
+     * Percentage of programmers used when none is given.
+     */
+    public static final int DEFAULT_PROGRAMMER_PERCENT = 50;
+
+    /**
+     * Latest hire date generated. It is fixed rather than today's date, so the files do not change from one day to the next.
+     */
+    public static final LocalDate LATEST_HIRE_DATE = LocalDate.of(2023, 12, 31);
+
+    /**
+     * Earliest hire date accepted by the application.
+     */
+    private static final LocalDate EARLIEST_HIRE_DATE = LocalDate.of(1907, 1, 1);
+
+    /**
+     * Highest employee number given while the employees fit the seven digits of the Employee Number field.
+     */
+    private static final int MAX_EMPLOYEE_NUMBER = 9_999_999;
+
+    /**
+     * Average seniority of the employees in days, about ten years.
+     */
+    private static final double MEAN_SENIORITY_DAYS = 3652.5;
+
+    /**
+     * First names, from the most to the least common. Every combination with a surname fits in 20 characters.
+     */
+    private static final String[] FIRST_NAMES = {
+            "Maria", "Jose", "Antonio", "Carmen", "Juan", "Ana", "Manuel", "Laura", "David", "Isabel",
+            "Francisco", "Lucia", "Javier", "Marta", "Daniel", "Elena", "Carlos", "Sara", "Miguel", "Paula",
+            "James", "Mary", "John", "Emma", "Robert", "Olivia", "Michael", "Sophia", "William", "Grace",
+            "Pablo", "Julia", "Sergio", "Alba", "Alejandro", "Irene", "Adrian", "Nuria", "Hugo", "Noelia"};
+
+    /**
+     * Surnames, from the most to the least common.
+     */
+    private static final String[] SURNAMES = {
+            "Garcia", "Rodriguez", "Gonzalez", "Fernandez", "Lopez", "Martinez", "Sanchez", "Perez", "Gomez", "Martin",
+            "Jimenez", "Ruiz", "Hernandez", "Diaz", "Moreno", "Alvarez", "Romero", "Navarro", "Torres", "Dominguez",
+            "Smith", "Johnson", "Williams", "Brown", "Jones", "Miller", "Davis", "Wilson", "Taylor", "Clark",
+            "Vazquez", "Ramos", "Gil", "Serrano", "Blanco", "Molina", "Castro", "Ortiz", "Rubio", "Marin"};
+
+    /**
+     * Qualifications of the analysts, from the most to the least common.
+     */
+    private static final String[] QUALIFICATIONS = {
+            "None", "MBA", "PMP", "CBAP", "Six Sigma Green Belt", "ITIL Foundation", "Scrum Master", "PhD", "CFA", "TOGAF"};
+
+    /**
+     * Programming languages of the programmers, with their weights in LANGUAGE_WEIGHTS.
+     */
+    private static final ProgrammerLanguages[] LANGUAGES = {
+            ProgrammerLanguages.Java, ProgrammerLanguages.Python, ProgrammerLanguages.CSharp,
+            ProgrammerLanguages.CPlusPlus, ProgrammerLanguages.C};
+
+    /**
+     * Relative weights of the languages in LANGUAGES, out of 100.
+     */
+    private static final int[] LANGUAGE_WEIGHTS = {32, 30, 16, 14, 8};
+
+    /**
+     * Prevents instantiation of this command-line tool.
+     */
+    private WorkforceGenerator() {
+    }
+
+    /**
+     * Writes the requested employees to every output file and prints the throughput of each one.
+     *
+     * @param args The options followed by the output files.
+     */
+    public static void main(String... args) {
+        int count = -1;
+        long seed = DEFAULT_SEED;
+        int programmerPercent = DEFAULT_PROGRAMMER_PERCENT;
+        List<Path> outputs = new ArrayList<>();
+        try {
+            for (int i = 0; i < args.length; i++) {
+                if (args[i].equals("-n") && i + 1 < args.length) {
+                    count = Integer.parseInt(args[++i]);
+                } else if (args[i].equals("-s") && i + 1 < args.length) {
+                    seed = Long.parseLong(args[++i]);
+                } else if (args[i].equals("-p") && i + 1 < args.length) {
+                    programmerPercent = Integer.parseInt(args[++i]);
+                } else {
+                    outputs.add(Path.of(args[i]));
+                }
+            }
+        } catch (NumberFormatException e) {
+            count = -1;
+        }
+        if (count < 0 || programmerPercent < 0 || programmerPercent > 100 || outputs.isEmpty()) {
+            System.out.println("Usage: java controllers.WorkforceGenerator -n <count> [-s <seed>] [-p <programmer %>] <output file>...");
+            System.exit(2);
+        }
+
+        // Every file is written from a new generator with the same seed, so they all hold the same employees.
+        int failures = 0;
+        for (Path output : outputs) {
+            long startTime = System.nanoTime();
+            try {
+                FileHandler.writeAtomically(generate(count, programmerPercent, seed), count, output.toString(),
+                        CompressionCodec.DEFLATE, CompressionCodec.DEFAULT_LEVEL, null);
+            } catch (IOException e) {
+                failures++;
+                System.out.println("FAILED " + output + ": " + e.getMessage());
+                continue;
+            }
+            double seconds = Math.max(1, System.nanoTime() - startTime) / 1e9;
+            System.out.printf("%s: %d employees in %.2f s (%.0f employees/s)%n", output, count, seconds, count / seconds);
+        }
+        if (failures > 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Generates employees reproducibly from a seed. Each traversal of the returned Iterable generates the same
+     * employees again, one at a time and in ascending order of employee number, without keeping them.
+     *
+     * @param count             The number of employees.
+     * @param programmerPercent The percentage of programmers among them, from 0 to 100.
+     * @param seed              The seed the employees are generated from.
+     * @return The employees, generated while they are traversed.
+     */
+    public static Iterable<Employee> generate(int count, int programmerPercent, long seed) {
+        if (count < 0 || programmerPercent < 0 || programmerPercent > 100) {
+            throw new IllegalArgumentException("Invalid count or percentage: " + count + ", " + programmerPercent + "%.");
+        }
+        return () -> new WorkforceIterator(count, Math.round(count * (programmerPercent / 100.0)), seed);
+    }
+
+    /**
+     * Iterator generating the employees of one traversal.
+     */
+    private static final class WorkforceIterator implements Iterator<Employee> {
+        /**
+         * The number of employees to generate.
+         */
+        private final int count;
+
+        /**
+         * The number of programmers not generated yet.
+         */
+        private long programmersLeft;
+
+        /**
+         * The lowest employee number not considered yet.
+         */
+        private long candidate = 1;
+
+        /**
+         * The number of employee numbers not considered yet.
+         */
+        private long candidatesLeft;
+
+        /**
+         * The number of employees generated so far.
+         */
+        private int generated;
+
+        /**
+         * Random numbers choosing the employee numbers, kept apart so the numbers do not depend on the other fields.
+         */
+        private final SplittableRandom numberRandom;
+
+        /**
+         * Random numbers choosing every other field.
+         */
+        private final SplittableRandom fieldRandom;
+
+        /**
+         * Creates the iterator of one traversal.
+         *
+         * @param count       The number of employees to generate.
+         * @param programmers The number of programmers among them.
+         * @param seed        The seed the employees are generated from.
+         */
+        WorkforceIterator(int count, long programmers, long seed) {
+            this.count = count;
+            this.programmersLeft = programmers;
+            this.candidatesLeft = Math.max(MAX_EMPLOYEE_NUMBER, count);
+            this.numberRandom = new SplittableRandom(seed);
+            this.fieldRandom = numberRandom.split();
+        }
+
+        /**
+         * Checks if employees are left to generate.
+         *
+         * @return true if there are employees left, false otherwise.
+         */
+        @Override
+        public boolean hasNext() {
+            return generated < count;
+        }
+
+        /**
+         * Generates the next employee.
+         *
+         * @return The next employee.
+         */
+        @Override
+        public Employee next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            // Selection sampling: keep each candidate number with the probability that leaves exactly count numbers.
+            while (numberRandom.nextLong(candidatesLeft) >= count - generated) {
+                candidate++;
+                candidatesLeft--;
+            }
+            int employeeNumber = (int) candidate++;
+            candidatesLeft--;
+
+            // The programmers are spread the same way among the employees, so their share is exact.
+            boolean programmer = fieldRandom.nextLong(count - generated) < programmersLeft;
+            if (programmer) {
+                programmersLeft--;
+            }
+            generated++;
+            return createEmployee(employeeNumber, programmer);
+        }
+
+        /**
+         * Creates an employee with realistic random fields.
+         *
+         * @param employeeNumber The employee number.
+         * @param programmer     Whether the employee is a programmer rather than an analyst.
+         * @return The employee.
+         */
+        private Employee createEmployee(int employeeNumber, boolean programmer) {
+            String name = pickCommon(FIRST_NAMES) + " " + pickCommon(SURNAMES);
+            long hireDay = hireDay();
+            double years = (LATEST_HIRE_DATE.toEpochDay() - hireDay) / 365.25;
+
+            // Salaries spread log-normally around a median that grows by 2% per year of seniority, up to 40 years.
+            double median = (programmer ? 2600 : 3000) * (1 + 0.02 * Math.min(40, years));
+            double salary = roundToCents(median * StrictMath.exp(0.3 * standardNormal()));
+            double maxSalary = roundToCents(salary * (1.1 + 0.5 * fieldRandom.nextDouble()));
+
+            Employee employee;
+            if (programmer) {
+                Programmer created = new Programmer();
+                // The monthly extra is a percentage of the salary, low percentages being the most common.
+                double share = fieldRandom.nextDouble();
+                created.setMonthlyExtra(1 + Math.floor(10 * share * share));
+                created.setMainLanguage(pickWeighted(LANGUAGES, LANGUAGE_WEIGHTS).name());
+                employee = created;
+            } else {
+                Analyst created = new Analyst();
+                // The annual bonus is an amount, of 5% to 20% of the salary.
+                created.setAnnualBonus(roundToCents(salary * (0.05 + 0.15 * fieldRandom.nextDouble())));
+                created.setAdditionalQualification(pickCommon(QUALIFICATIONS));
+                employee = created;
+            }
+            employee.setEmployeeNumber(employeeNumber);
+            employee.setName(name);
+            employee.nameMasker();
+            employee.setHireEpochDay(hireDay);
+            try {
+                employee.setMaxSalary(maxSalary);
+                employee.setSalary(salary);
+            } catch (SalaryExceedsMaxException e) {
+                throw new IllegalStateException("Generated a salary above its maximum for employee " + employeeNumber + ".", e);
+            }
+            return employee;
+        }
+
+        /**
+         * Draws a hire date, recent ones being more frequent: the seniority follows an exponential distribution,
+         * and the rare dates it would place before 1907 are drawn uniformly instead.
+         *
+         * @return The hire date, as a number of days since 01-01-1970.
+         */
+        private long hireDay() {
+            long latest = LATEST_HIRE_DATE.toEpochDay();
+            long earliest = EARLIEST_HIRE_DATE.toEpochDay();
+            long day = latest - (long) (-StrictMath.log(1 - fieldRandom.nextDouble()) * MEAN_SENIORITY_DAYS);
+            return (day >= earliest) ? day : earliest + fieldRandom.nextLong(latest - earliest + 1);
+        }
+
+        /**
+         * Draws an approximately normal value from the sum of four uniform ones, which, unlike nextGaussian,
+         * only uses arithmetic that gives the same result on every platform.
+         *
+         * @return A value with mean 0 and standard deviation 1.
+         */
+        private double standardNormal() {
+            double sum = fieldRandom.nextDouble() + fieldRandom.nextDouble() + fieldRandom.nextDouble() + fieldRandom.nextDouble();
+            return (sum - 2) * Math.sqrt(3);
+        }
+
+        /**
+         * Picks a value, the first ones of the array being drawn more often than the last ones.
+         *
+         * @param values The values, from the most to the least common.
+         * @return The value picked.
+         */
+        private String pickCommon(String[] values) {
+            double u = fieldRandom.nextDouble();
+            return values[(int) (values.length * u * u)];
+        }
+
+        /**
+         * Picks a language according to its weight.
+         *
+         * @param values  The languages.
+         * @param weights The weight of every language, adding up to 100.
+         * @return The language picked.
+         */
+        private ProgrammerLanguages pickWeighted(ProgrammerLanguages[] values, int[] weights) {
+            int draw = fieldRandom.nextInt(100);
+            for (int i = 0; i < values.length; i++) {
+                draw -= weights[i];
+                if (draw < 0) {
+                    return values[i];
+                }
+            }
+            return values[values.length - 1];
+        }
+
+        /**
+         * Rounds an amount to cents.
+         *
+         * @param amount The amount.
+         * @return The amount rounded to two decimals.
+         */
+        private static double roundToCents(double amount) {
+            return Math.round(amount * 100) / 100.0;
+        }
+    }
+}
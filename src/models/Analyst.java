@@ -1,5 +1,11 @@
 package models;
 
+// For the compact serialized field layout.
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.io.Serial;
+import java.nio.ByteBuffer;
 // For working with dates.
 import java.util.GregorianCalendar;
 
@@ -8,10 +14,11 @@ import java.util.GregorianCalendar;
  */
 public class Analyst extends Employee implements DateCalculator {
     /**
-     * Stores a unique ID for object identification purposes throughout serialization.
+     * Stores a unique ID for object identification purposes throughout serialization, pinned to the value computed
+     * for the original Serializable class.
      */
-    //@Serial
-    //private static final long serialVersionUID = 3L;*/
+    @Serial
+    private static final long serialVersionUID = 6633387936271056362L;
 
     /**
      * Stores the annual bonus as a percentage extra on the monthly salary applied annually.
@@ -26,6 +33,18 @@ public class Analyst extends Employee implements DateCalculator {
     // In Analyst class
     private boolean annualBonusCalculable = true;
 
+    /**
+     * Version of the Analyst-specific field layout written by writeExternal.
+     */
+    private static final int ANALYST_EXTERNAL_VERSION = 1;
+
+    /**
+     * No-argument constructor required by Externalizable to rebuild objects before calling readExternal.
+     * Not meant to be used for creating new Analysts.
+     */
+    public Analyst() {
+    }
+
     /**
      * Constructor for creating an Analyst object.
      *
@@ -83,6 +102,7 @@ public class Analyst extends Employee implements DateCalculator {
      */
     public void setAnnualBonus(double annualBonus) {
         this.annualBonus = annualBonus;
+        fireChanged();
     }
 
     /**
@@ -92,6 +112,7 @@ public class Analyst extends Employee implements DateCalculator {
      */
     public void setAdditionalQualification(String additionalQualification) {
         this.additionalQualification = additionalQualification;
+        fireChanged();
     }
 
     /**
@@ -99,6 +120,63 @@ public class Analyst extends Employee implements DateCalculator {
      */
     public void setAnnualBonusCalculable(boolean annualBonusCalculable) {
         this.annualBonusCalculable = annualBonusCalculable;
+        fireChanged();
+    }
+
+    /**
+     * Writes the common employee fields followed by the Analyst-specific ones.
+     *
+     * @param out The stream to write the fields to.
+     * @throws IOException If an I/O error occurs.
+     */
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException {
+        super.writeExternal(out);
+        out.writeByte(ANALYST_EXTERNAL_VERSION);
+        out.writeDouble(annualBonus);
+        writeString(out, additionalQualification);
+        out.writeBoolean(annualBonusCalculable);
+    }
+
+    /**
+     * Reads the fields in the same order writeExternal wrote them.
+     *
+     * @param in The stream to read the fields from.
+     * @throws IOException If an I/O error occurs or the layout version is unknown.
+     */
+    @Override
+    public void readExternal(ObjectInput in) throws IOException {
+        super.readExternal(in);
+        checkExternalVersion(in.readUnsignedByte(), ANALYST_EXTERNAL_VERSION);
+        annualBonus = in.readDouble();
+        additionalQualification = readString(in);
+        annualBonusCalculable = in.readBoolean();
+    }
+
+    /**
+     * Writes the common employee fields followed by the Analyst-specific ones into a buffer.
+     *
+     * @param buffer The buffer to write the fields to.
+     */
+    @Override
+    public void writeTo(ByteBuffer buffer) {
+        super.writeTo(buffer);
+        buffer.putDouble(annualBonus);
+        putString(buffer, additionalQualification);
+        buffer.put((byte) (annualBonusCalculable ? 1 : 0));
+    }
+
+    /**
+     * Reads the fields from a buffer in the same order writeTo wrote them.
+     *
+     * @param buffer The buffer to read the fields from.
+     */
+    @Override
+    public void readFrom(ByteBuffer buffer) {
+        super.readFrom(buffer);
+        annualBonus = buffer.getDouble();
+        additionalQualification = getString(buffer);
+        annualBonusCalculable = buffer.get() != 0;
     }
 
     /**
@@ -1,7 +1,18 @@
 package models;
 
-// For allowing serialization.
-import java.io.Serializable;
+// For allowing serialization through a compact, hand-written field layout.
+import java.io.Externalizable;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.io.Serial;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+// For identifying the segmented data file holding the employee's record.
+import java.nio.file.Path;
 // For formatting dates.
 import java.text.SimpleDateFormat;
 // For working with dates.
@@ -12,7 +23,24 @@ import controllers.DateController;
 /**
  * Class for storing and managing employee information.
  */
-public class Employee implements Serializable, Comparable<Employee> {
+public class Employee implements Externalizable, Comparable<Employee> {
+
+    /**
+     * Stores a unique ID for object identification purposes throughout serialization, pinned to the value computed
+     * for the original Serializable class, so legacy files are still recognized by LegacyEmployeeReader.
+     */
+    @Serial
+    private static final long serialVersionUID = 1620180416233864858L;
+
+    /**
+     * Version of the field layout written by writeExternal, checked again by readExternal.
+     */
+    private static final int EXTERNAL_VERSION = 1;
+
+    /**
+     * Epoch day standing for a hire date that is not specified.
+     */
+    public static final long NO_DATE = Long.MIN_VALUE;
 
     /**
      * Stores the unique identifier for the employee.
@@ -30,9 +58,15 @@ public class Employee implements Serializable, Comparable<Employee> {
     private String maskedName;
 
     /**
-     * Stores the date when the employee was hired.
+     * Stores the date when the employee was hired, as a number of days since 1970-01-01, or NO_DATE if not specified.
+     */
+    private long hireEpochDay = NO_DATE;
+
+    /**
+     * Caches the date when the employee was hired as a calendar, only created once it is asked for,
+     * so employees read from files or imported in bulk do not each build a calendar.
      */
-    private GregorianCalendar hireDate;
+    private transient GregorianCalendar hireDate;
 
     /**
      * Stores the employee's salary.
@@ -49,6 +83,30 @@ public class Employee implements Serializable, Comparable<Employee> {
      */
     DateController dateController = new DateController();
 
+    /**
+     * Listener notified when a setter modifies the employee, or null if nobody is tracking its changes.
+     */
+    private transient EmployeeChangeListener changeListener;
+
+    /**
+     * Position of the employee's record in the segmented data file it was last loaded from or saved to,
+     * or -1 if it has not been stored in one.
+     */
+    private transient long storageSlot = -1;
+
+    /**
+     * Absolute path of the segmented data file holding the employee's record, or null if it has not been stored
+     * in one. The slot is only meaningful in that file.
+     */
+    private transient Path storageFile;
+
+    /**
+     * No-argument constructor required by Externalizable to rebuild objects before calling readExternal.
+     * Not meant to be used for creating new employees.
+     */
+    public Employee() {
+    }
+
     /**
      * Constructor for creating an EmployeeModel object.
      *
@@ -97,6 +155,7 @@ public class Employee implements Serializable, Comparable<Employee> {
             e.printStackTrace();
         }
 
+        this.hireEpochDay = (this.hireDate != null) ? dateController.toEpochDay(this.hireDate) : NO_DATE;
         this.salary = salary;
         this.maxSalary = maxSalary;
     }
@@ -136,9 +195,21 @@ public class Employee implements Serializable, Comparable<Employee> {
      * @return A GregorianCalendar instance representing the date of hire.
      */
     public GregorianCalendar getHireDate() {
+        if (hireDate == null && hireEpochDay != NO_DATE) {
+            hireDate = dateController.fromEpochDay(hireEpochDay);
+        }
         return hireDate;
     }
 
+    /**
+     * Getter method for retrieving the date when the employee was hired without building a calendar.
+     *
+     * @return The number of days from 1970-01-01 to the date of hire, or NO_DATE if not specified.
+     */
+    public long getHireEpochDay() {
+        return hireEpochDay;
+    }
+
     /**
      * Getter method for retrieving the employee's salary.
      *
@@ -166,6 +237,7 @@ public class Employee implements Serializable, Comparable<Employee> {
      */
     public void setEmployeeNumber(int employeeNumber) {
         this.employeeNumber = employeeNumber;
+        fireChanged();
     }
 
     /**
@@ -175,6 +247,17 @@ public class Employee implements Serializable, Comparable<Employee> {
      */
     public void setName(String name) {
         this.name = name;
+        fireChanged();
+    }
+
+    /**
+     * Setter method for restoring the masked name of an employee loaded from a file, whose name was not saved.
+     *
+     * @param maskedName The masked name of the employee.
+     */
+    public void setMaskedName(String maskedName) {
+        this.maskedName = maskedName;
+        fireChanged();
     }
 
     /**
@@ -184,6 +267,19 @@ public class Employee implements Serializable, Comparable<Employee> {
      */
     public void setHireDate(GregorianCalendar hireDate) {
         this.hireDate = hireDate;
+        this.hireEpochDay = (hireDate != null) ? dateController.toEpochDay(hireDate) : NO_DATE;
+        fireChanged();
+    }
+
+    /**
+     * Setter method for modifying the date when the employee was hired without building a calendar.
+     *
+     * @param hireEpochDay The number of days from 1970-01-01 to the new date of hire, or NO_DATE if not specified.
+     */
+    public void setHireEpochDay(long hireEpochDay) {
+        this.hireEpochDay = hireEpochDay;
+        this.hireDate = null;
+        fireChanged();
     }
 
     /**
@@ -197,6 +293,7 @@ public class Employee implements Serializable, Comparable<Employee> {
             throw new SalaryExceedsMaxException("Employee salary exceeds the maximum salary.");
         }
         this.salary = salary;
+        fireChanged();
     }
 
     /**
@@ -210,6 +307,7 @@ public class Employee implements Serializable, Comparable<Employee> {
             throw new SalaryExceedsMaxException("Employee salary exceeds the new maximum salary.");
         }
         this.maxSalary = maxSalary;
+        fireChanged();
     }
 
     /**
@@ -219,6 +317,202 @@ public class Employee implements Serializable, Comparable<Employee> {
     public void nameMasker() {
         int nameLength = name.length();
         this.maskedName = "*".repeat(nameLength);
+        fireChanged();
+    }
+
+    /**
+     * Sets the listener notified when a setter modifies the employee.
+     *
+     * @param changeListener The listener, or null to stop notifying changes.
+     */
+    public void setChangeListener(EmployeeChangeListener changeListener) {
+        this.changeListener = changeListener;
+    }
+
+    /**
+     * Getter method for retrieving the listener notified when a setter modifies the employee.
+     *
+     * @return The listener, or null if nobody is tracking the employee's changes.
+     */
+    public EmployeeChangeListener getChangeListener() {
+        return changeListener;
+    }
+
+    /**
+     * Getter method for retrieving the position of the employee's record in a segmented data file.
+     *
+     * @param storageFile The absolute, normalized path of the segmented data file.
+     * @return The slot of the record, or -1 if the employee was not last loaded from or saved to that file.
+     */
+    public long getStorageSlot(Path storageFile) {
+        return storageFile.equals(this.storageFile) ? storageSlot : -1;
+    }
+
+    /**
+     * Setter method for recording the position of the employee's record in a segmented data file.
+     *
+     * @param storageFile The absolute, normalized path of the segmented data file.
+     * @param storageSlot The slot of the record in that file.
+     */
+    public void setStorageSlot(Path storageFile, long storageSlot) {
+        this.storageFile = storageFile;
+        this.storageSlot = storageSlot;
+    }
+
+    /**
+     * Notifies the change listener, if any, that the employee has been modified.
+     * Subclasses call it from their own setters.
+     */
+    protected void fireChanged() {
+        if (changeListener != null) {
+            changeListener.employeeChanged(this);
+        }
+    }
+
+    /**
+     * Writes the employee's fields using a compact, versioned layout: primitives, the hire date as an
+     * epoch day and length-prefixed UTF-8 strings. Only the masked name is written, as the name is transient.
+     *
+     * @param out The stream to write the fields to.
+     * @throws IOException If an I/O error occurs.
+     */
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException {
+        out.writeByte(EXTERNAL_VERSION);
+        out.writeInt(employeeNumber);
+        writeString(out, maskedName);
+        out.writeLong(hireEpochDay);
+        out.writeDouble(salary);
+        out.writeDouble(maxSalary);
+    }
+
+    /**
+     * Reads the employee's fields in the same order writeExternal wrote them.
+     *
+     * @param in The stream to read the fields from.
+     * @throws IOException If an I/O error occurs or the layout version is unknown.
+     */
+    @Override
+    public void readExternal(ObjectInput in) throws IOException {
+        checkExternalVersion(in.readUnsignedByte(), EXTERNAL_VERSION);
+        employeeNumber = in.readInt();
+        maskedName = readString(in);
+        hireEpochDay = in.readLong();
+        hireDate = null;
+        salary = in.readDouble();
+        maxSalary = in.readDouble();
+    }
+
+    /**
+     * Writes the employee's fields into a buffer using the same layout as writeExternal, minus the version byte,
+     * which the file formats built on top of this method store once in their header instead.
+     *
+     * @param buffer The buffer to write the fields to.
+     * @throws java.nio.BufferOverflowException If the buffer does not have enough space left.
+     */
+    public void writeTo(ByteBuffer buffer) {
+        buffer.putInt(employeeNumber);
+        putString(buffer, maskedName);
+        buffer.putLong(hireEpochDay);
+        buffer.putDouble(salary);
+        buffer.putDouble(maxSalary);
+    }
+
+    /**
+     * Reads the employee's fields from a buffer in the same order writeTo wrote them.
+     *
+     * @param buffer The buffer to read the fields from.
+     * @throws java.nio.BufferUnderflowException If the buffer does not hold the whole record.
+     */
+    public void readFrom(ByteBuffer buffer) {
+        employeeNumber = buffer.getInt();
+        maskedName = getString(buffer);
+        hireEpochDay = buffer.getLong();
+        hireDate = null;
+        salary = buffer.getDouble();
+        maxSalary = buffer.getDouble();
+    }
+
+    /**
+     * Puts a string into a buffer as its UTF-8 byte length followed by the bytes themselves, or -1 for null.
+     *
+     * @param buffer The buffer to write to.
+     * @param value  The string to write, possibly null.
+     */
+    protected static void putString(ByteBuffer buffer, String value) {
+        if (value == null) {
+            buffer.putInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        buffer.putInt(bytes.length);
+        buffer.put(bytes);
+    }
+
+    /**
+     * Gets a string written by putString from a buffer.
+     *
+     * @param buffer The buffer to read from.
+     * @return The string read, possibly null.
+     */
+    protected static String getString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes a string as its UTF-8 byte length followed by the bytes themselves, or -1 for null.
+     *
+     * @param out   The output to write to.
+     * @param value The string to write, possibly null.
+     * @throws IOException If an I/O error occurs.
+     */
+    protected static void writeString(DataOutput out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Reads a string written by writeString.
+     *
+     * @param in The input to read from.
+     * @return The string read, possibly null.
+     * @throws IOException If an I/O error occurs or the length is invalid.
+     */
+    protected static String readString(DataInput in) throws IOException {
+        int length = in.readInt();
+        if (length == -1) {
+            return null;
+        }
+        if (length < -1) {
+            throw new StreamCorruptedException("Invalid string length: " + length);
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Verifies that a layout version read from a stream is one this class knows how to read.
+     *
+     * @param version  The version read from the stream.
+     * @param expected The newest version supported by the reading class.
+     * @throws IOException If the version is not supported.
+     */
+    protected static void checkExternalVersion(int version, int expected) throws IOException {
+        if (version < 1 || version > expected) {
+            throw new StreamCorruptedException("Unsupported employee layout version: " + version);
+        }
     }
 
     /**
@@ -244,7 +538,7 @@ public class Employee implements Serializable, Comparable<Employee> {
         return "Employee{" +
                 "employeeNumber=" + employeeNumber +
                 ", name=" +  maskedName +
-                ", hireDate=" + dateController.calendarToString(hireDate) +
+                ", hireDate=" + dateController.calendarToString(getHireDate()) +
                 ", salary=" + salary +
                 ", maxSalary=" + maxSalary +
                 '}';
@@ -0,0 +1,16 @@
+package models;
+
+/**
+ * Listener notified whenever a setter modifies one of an employee's fields,
+ * so that only the employees that changed need to be saved again.
+ */
+@FunctionalInterface
+public interface EmployeeChangeListener {
+
+    /**
+     * Called after a field of the employee has been modified.
+     *
+     * @param employee The employee that changed.
+     */
+    void employeeChanged(Employee employee);
+}
@@ -0,0 +1,15 @@
+package models;
+
+/**
+ * Exception class for handling situations where a range of employee numbers has fewer unused numbers than requested.
+ */
+public class EmployeeNumberRangeExhaustedException extends Exception {
+    /**
+     * Constructs a new EmployeeNumberRangeExhaustedException with the specified detail message.
+     *
+     * @param message The detail message for the exception.
+     */
+    public EmployeeNumberRangeExhaustedException(String message) {
+        super(message);
+    }
+}
@@ -1,5 +1,11 @@
 package models;
 
+// For the compact serialized field layout.
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.io.Serial;
+import java.nio.ByteBuffer;
 // For working with dates.
 import java.util.GregorianCalendar;
 
@@ -8,10 +14,12 @@ import java.util.GregorianCalendar;
  */
 public class Programmer extends Employee implements DateCalculator {
 
-    /*
-     * Stores a unique ID for object identification purposes throughout serialization.
+    /**
+     * Stores a unique ID for object identification purposes throughout serialization, pinned to the value computed
+     * for the original Serializable class.
+     */
     @Serial
-    private static final long serialVersionUID = 2L;*/
+    private static final long serialVersionUID = -10146328600256381L;
 
     /**
      * Stores the monthly extra salary specific to Programmers.
@@ -25,6 +33,18 @@ public class Programmer extends Employee implements DateCalculator {
 
     private boolean monthlyExtraCalculable = true;
 
+    /**
+     * Version of the Programmer-specific field layout written by writeExternal.
+     */
+    private static final int PROGRAMMER_EXTERNAL_VERSION = 1;
+
+    /**
+     * No-argument constructor required by Externalizable to rebuild objects before calling readExternal.
+     * Not meant to be used for creating new Programmers.
+     */
+    public Programmer() {
+    }
+
     /**
      * Constructor for creating a Programmer object.
      *
@@ -82,6 +102,7 @@ public class Programmer extends Employee implements DateCalculator {
      */
     public void setMonthlyExtra(double monthlyExtra) {
         this.monthlyExtra = monthlyExtra;
+        fireChanged();
     }
 
     /**
@@ -91,10 +112,68 @@ public class Programmer extends Employee implements DateCalculator {
      */
     public void setMainLanguage(String mainLanguage) {
         this.mainLanguage = mainLanguage;
+        fireChanged();
     }
 
     public void setMonthlyExtraCalculable(boolean monthlyExtraCalculable) {
         this.monthlyExtraCalculable = monthlyExtraCalculable;
+        fireChanged();
+    }
+
+    /**
+     * Writes the common employee fields followed by the Programmer-specific ones.
+     *
+     * @param out The stream to write the fields to.
+     * @throws IOException If an I/O error occurs.
+     */
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException {
+        super.writeExternal(out);
+        out.writeByte(PROGRAMMER_EXTERNAL_VERSION);
+        out.writeDouble(monthlyExtra);
+        writeString(out, mainLanguage);
+        out.writeBoolean(monthlyExtraCalculable);
+    }
+
+    /**
+     * Reads the fields in the same order writeExternal wrote them.
+     *
+     * @param in The stream to read the fields from.
+     * @throws IOException If an I/O error occurs or the layout version is unknown.
+     */
+    @Override
+    public void readExternal(ObjectInput in) throws IOException {
+        super.readExternal(in);
+        checkExternalVersion(in.readUnsignedByte(), PROGRAMMER_EXTERNAL_VERSION);
+        monthlyExtra = in.readDouble();
+        mainLanguage = readString(in);
+        monthlyExtraCalculable = in.readBoolean();
+    }
+
+    /**
+     * Writes the common employee fields followed by the Programmer-specific ones into a buffer.
+     *
+     * @param buffer The buffer to write the fields to.
+     */
+    @Override
+    public void writeTo(ByteBuffer buffer) {
+        super.writeTo(buffer);
+        buffer.putDouble(monthlyExtra);
+        putString(buffer, mainLanguage);
+        buffer.put((byte) (monthlyExtraCalculable ? 1 : 0));
+    }
+
+    /**
+     * Reads the fields from a buffer in the same order writeTo wrote them.
+     *
+     * @param buffer The buffer to read the fields from.
+     */
+    @Override
+    public void readFrom(ByteBuffer buffer) {
+        super.readFrom(buffer);
+        monthlyExtra = buffer.getDouble();
+        mainLanguage = getString(buffer);
+        monthlyExtraCalculable = buffer.get() != 0;
     }
 
     /**
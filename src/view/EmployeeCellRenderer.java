@@ -0,0 +1,163 @@
+package view;
+
+// Imports for the employee classes whose rows are rendered.
+import models.Analyst;
+import models.Employee;
+import models.Programmer;
+
+// For rendering the rows of the JList.
+import javax.swing.DefaultListCellRenderer;
+import javax.swing.JList;
+import javax.swing.ListModel;
+import javax.swing.event.ListDataEvent;
+import javax.swing.event.ListDataListener;
+import java.awt.Component;
+import java.util.Arrays;
+
+/**
+ * Cell renderer for the employee JList that builds each row's text once and reuses it on every repaint.
+ * <p>
+ * The texts are kept in a small direct-mapped cache indexed by row, with the employee they were built for, so
+ * a row that now shows another employee is rebuilt while the rows scrolled past are simply overwritten. Rows
+ * whose employee changed are dropped from the cache when the list model announces them, so the cache follows
+ * whichever model the JList shows.
+ */
+public class EmployeeCellRenderer extends DefaultListCellRenderer implements ListDataListener {
+
+    /**
+     * Number of rows whose text is cached, a power of two well above the rows visible at once.
+     */
+    private static final int CACHE_SIZE = 4096;
+
+    /**
+     * The employee each cached text was built for, by row modulo the cache size.
+     */
+    private final Object[] cachedEmployees = new Object[CACHE_SIZE];
+
+    /**
+     * The cached texts, by row modulo the cache size.
+     */
+    private final String[] cachedTexts = new String[CACHE_SIZE];
+
+    /**
+     * The list model the renderer currently listens to.
+     */
+    private ListModel<?> model;
+
+    /**
+     * Creates a renderer for the given JList and follows the models it is given from now on.
+     *
+     * @param list The JList the renderer is installed on.
+     */
+    public EmployeeCellRenderer(JList<?> list) {
+        listenTo(list.getModel());
+        list.addPropertyChangeListener("model", e -> listenTo((ListModel<?>) e.getNewValue()));
+    }
+
+    /**
+     * Configures the renderer for a row, building the employee's text only if it is not cached.
+     *
+     * @param list         The JList being painted.
+     * @param value        The element of the row.
+     * @param index        The position of the row.
+     * @param isSelected   Whether the row is selected.
+     * @param cellHasFocus Whether the row has the focus.
+     * @return This renderer, configured for the row.
+     */
+    @Override
+    public Component getListCellRendererComponent(JList<?> list, Object value, int index, boolean isSelected, boolean cellHasFocus) {
+        if (value instanceof Employee && index >= 0) {
+            int slot = index & (CACHE_SIZE - 1);
+            if (cachedEmployees[slot] != value) {
+                cachedEmployees[slot] = value;
+                cachedTexts[slot] = rowText((Employee) value);
+            }
+            // Passing the text itself keeps the default renderer from calling the employee's toString.
+            return super.getListCellRendererComponent(list, cachedTexts[slot], index, isSelected, cellHasFocus);
+        }
+        if (value instanceof Employee) {
+            return super.getListCellRendererComponent(list, rowText((Employee) value), index, isSelected, cellHasFocus);
+        }
+        return super.getListCellRendererComponent(list, value, index, isSelected, cellHasFocus);
+    }
+
+    /**
+     * Builds the text of an employee's row: its kind, its real name (or masked name) and its employee number.
+     *
+     * @param employee The employee.
+     * @return The text of the row.
+     */
+    static String rowText(Employee employee) {
+        String kind = (employee instanceof Analyst) ? "ANALYST" : (employee instanceof Programmer) ? "PROGRAMMER" : "EMPLOYEE";
+        String name = (employee.getName() != null) ? employee.getName() : employee.getMaskedName();
+        return kind + " - " + name + " (Number: " + employee.getEmployeeNumber() + ")";
+    }
+
+    /**
+     * Drops the cached texts of rows added at the given positions; the rows after them shift and are rebuilt
+     * when their employee no longer matches.
+     *
+     * @param e The event describing the rows added.
+     */
+    @Override
+    public void intervalAdded(ListDataEvent e) {
+        forget(e.getIndex0(), e.getIndex1());
+    }
+
+    /**
+     * Drops the cached texts of rows removed from the given positions.
+     *
+     * @param e The event describing the rows removed.
+     */
+    @Override
+    public void intervalRemoved(ListDataEvent e) {
+        forget(e.getIndex0(), e.getIndex1());
+    }
+
+    /**
+     * Drops the cached texts of rows whose employee changed.
+     *
+     * @param e The event describing the rows changed.
+     */
+    @Override
+    public void contentsChanged(ListDataEvent e) {
+        forget(e.getIndex0(), e.getIndex1());
+    }
+
+    /**
+     * Moves the renderer's listener to a new list model and empties the cache.
+     *
+     * @param newModel The model the JList now shows.
+     */
+    private void listenTo(ListModel<?> newModel) {
+        if (model != null) {
+            model.removeListDataListener(this);
+        }
+        model = newModel;
+        if (model != null) {
+            model.addListDataListener(this);
+        }
+        Arrays.fill(cachedEmployees, null);
+        Arrays.fill(cachedTexts, null);
+    }
+
+    /**
+     * Drops the cached texts of a range of rows, or of every row if the range is larger than the cache.
+     *
+     * @param first The first row of the range.
+     * @param last  The last row of the range.
+     */
+    private void forget(int first, int last) {
+        int from = Math.min(first, last);
+        int to = Math.max(first, last);
+        if (from < 0 || to - from + 1 >= CACHE_SIZE) {
+            Arrays.fill(cachedEmployees, null);
+            Arrays.fill(cachedTexts, null);
+            return;
+        }
+        for (int row = from; row <= to; row++) {
+            cachedEmployees[row & (CACHE_SIZE - 1)] = null;
+            cachedTexts[row & (CACHE_SIZE - 1)] = null;
+        }
+    }
+}
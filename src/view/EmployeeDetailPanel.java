@@ -0,0 +1,193 @@
+package view;
+
+// Imports for the date formatting in the controllers package and the employee classes in the models package.
+import controllers.DateController;
+import models.Analyst;
+import models.Employee;
+import models.Programmer;
+
+// For building the panel out of labels.
+import javax.swing.BorderFactory;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.SwingConstants;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.GridBagConstraints;
+import java.awt.GridBagLayout;
+import java.awt.Insets;
+
+/**
+ * Panel showing the details of the selected employee.
+ * <p>
+ * Its labels are built once, and showing another employee only replaces the text of the values that differ, so
+ * nothing has to be parsed and the panel keeps the same size. Programmers and analysts are told apart by the
+ * colors of the panel and by the captions of their two specific fields.
+ */
+public class EmployeeDetailPanel extends JPanel {
+
+    /**
+     * Background color of the panel for a programmer.
+     */
+    private static final Color PROGRAMMER_BACKGROUND = new Color(0xE6F7FF);
+
+    /**
+     * Caption color for a programmer.
+     */
+    private static final Color PROGRAMMER_CAPTION = new Color(0x336699);
+
+    /**
+     * Background color of the panel for an analyst.
+     */
+    private static final Color ANALYST_BACKGROUND = new Color(0xFFE6F7);
+
+    /**
+     * Caption color for an analyst.
+     */
+    private static final Color ANALYST_CAPTION = new Color(0xCC3366);
+
+    /**
+     * Captions of the fields shared by every employee, in display order.
+     */
+    private static final String[] COMMON_CAPTIONS = {"Name:", "Employee Number:", "Hire Date:", "Salary:", "Max Salary:"};
+
+    /**
+     * Label showing the position of the employee in the list.
+     */
+    private final JLabel positionLabel = new JLabel(" ", SwingConstants.CENTER);
+
+    /**
+     * Labels showing the captions, the shared ones first and then the two specific ones.
+     */
+    private final JLabel[] captionLabels = new JLabel[COMMON_CAPTIONS.length + 2];
+
+    /**
+     * Labels showing the values, in the same order as the captions.
+     */
+    private final JLabel[] valueLabels = new JLabel[COMMON_CAPTIONS.length + 2];
+
+    /**
+     * Buffer the hire date is formatted into.
+     */
+    private final char[] dateBuffer = new char[10];
+
+    /**
+     * Formats the hire dates.
+     */
+    private final DateController dateController = new DateController();
+
+    /**
+     * Whether the panel currently shows a programmer, an analyst, or nothing (null).
+     */
+    private Boolean showingProgrammer;
+
+    /**
+     * Builds the labels of the panel and fixes its size to fit long values.
+     */
+    public EmployeeDetailPanel() {
+        super(new GridBagLayout());
+        setBorder(BorderFactory.createCompoundBorder(BorderFactory.createEmptyBorder(0, 10, 0, 10),
+                BorderFactory.createCompoundBorder(BorderFactory.createLineBorder(new Color(0xCCCCCC), 2),
+                        BorderFactory.createEmptyBorder(10, 10, 10, 10))));
+
+        // The position spans both columns above the fields.
+        GridBagConstraints gbc = new GridBagConstraints();
+        gbc.gridx = 0;
+        gbc.gridy = 0;
+        gbc.gridwidth = 2;
+        gbc.insets = new Insets(0, 0, 8, 0);
+        positionLabel.setFont(positionLabel.getFont().deriveFont(Font.BOLD, 12f));
+        add(positionLabel, gbc);
+
+        // One row per field, with its caption on the left and its value on the right.
+        gbc.gridwidth = 1;
+        gbc.insets = new Insets(1, 0, 1, 6);
+        for (int i = 0; i < captionLabels.length; i++) {
+            captionLabels[i] = new JLabel(i < COMMON_CAPTIONS.length ? COMMON_CAPTIONS[i] : " ");
+            captionLabels[i].setFont(captionLabels[i].getFont().deriveFont(Font.BOLD, 12f));
+            valueLabels[i] = new JLabel(" ");
+            valueLabels[i].setFont(valueLabels[i].getFont().deriveFont(Font.PLAIN, 12f));
+
+            gbc.gridy = i + 1;
+            gbc.gridx = 0;
+            gbc.anchor = GridBagConstraints.LINE_END;
+            add(captionLabels[i], gbc);
+            gbc.gridx = 1;
+            gbc.anchor = GridBagConstraints.LINE_START;
+            add(valueLabels[i], gbc);
+        }
+
+        // Measure the panel with long values once, so showing another employee never resizes it.
+        positionLabel.setText("Employee #1000000 of 1000000");
+        captionLabels[captionLabels.length - 1].setText("Additional Qualification:");
+        for (JLabel valueLabel : valueLabels) {
+            valueLabel.setText("Maximiliano Fernandez de la V");
+        }
+        setPreferredSize(getPreferredSize());
+        clear();
+    }
+
+    /**
+     * Shows an employee's details, replacing only the texts and colors that differ from those shown.
+     *
+     * @param employee The employee to show.
+     * @param position The one-based position of the employee in the list.
+     * @param total    The number of employees in the list.
+     */
+    public void showEmployee(Employee employee, int position, int total) {
+        boolean programmer = employee instanceof Programmer;
+        if (!Boolean.valueOf(programmer).equals(showingProgrammer)) {
+            showingProgrammer = programmer;
+            setBackground(programmer ? PROGRAMMER_BACKGROUND : ANALYST_BACKGROUND);
+            Color captionColor = programmer ? PROGRAMMER_CAPTION : ANALYST_CAPTION;
+            positionLabel.setForeground(captionColor);
+            for (JLabel captionLabel : captionLabels) {
+                captionLabel.setForeground(captionColor);
+            }
+            captionLabels[COMMON_CAPTIONS.length].setText(programmer ? "Monthly Extra:" : "Annual Bonus:");
+            captionLabels[COMMON_CAPTIONS.length + 1].setText(programmer ? "Main Language:" : "Additional Qualification:");
+        }
+
+        positionLabel.setText("Employee #" + position + " of " + total);
+        String name = (employee.getName() != null) ? employee.getName() : employee.getMaskedName();
+        valueLabels[0].setText(name);
+        valueLabels[1].setText(Integer.toString(employee.getEmployeeNumber()));
+        dateController.formatEpochDay(employee.getHireEpochDay(), dateBuffer, 0);
+        valueLabels[2].setText(new String(dateBuffer));
+        valueLabels[3].setText(Double.toString(employee.getSalary()));
+        valueLabels[4].setText(Double.toString(employee.getMaxSalary()));
+        if (employee instanceof Programmer) {
+            valueLabels[5].setText(Double.toString(((Programmer) employee).getMonthlyExtra()));
+            valueLabels[6].setText(String.valueOf(((Programmer) employee).getMainLanguage()));
+        } else if (employee instanceof Analyst) {
+            valueLabels[5].setText(Double.toString(((Analyst) employee).getAnnualBonus()));
+            valueLabels[6].setText(String.valueOf(((Analyst) employee).getAdditionalQualification()));
+        }
+        setLabelsVisible(true);
+    }
+
+    /**
+     * Empties the panel when there is no employee to show.
+     */
+    public void clear() {
+        showingProgrammer = null;
+        setBackground(null);
+        positionLabel.setText(" ");
+        setLabelsVisible(false);
+    }
+
+    /**
+     * Shows or hides the captions and values.
+     *
+     * @param visible Whether they are shown.
+     */
+    private void setLabelsVisible(boolean visible) {
+        if (captionLabels[0].isVisible() == visible) {
+            return;
+        }
+        for (int i = 0; i < captionLabels.length; i++) {
+            captionLabels[i].setVisible(visible);
+            valueLabels[i].setVisible(visible);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package view;
+
+// Import for the EmployeeStore interface and the list's change events in the controllers package.
+import controllers.EmployeeStore;
+import controllers.GenericDoublyLinkedList;
+import controllers.ListChangeListener;
+
+// For implementing a custom list model.
+import javax.swing.AbstractListModel;
+
+/**
+ * List model that reads its elements straight from an EmployeeStore instead of keeping a copy of them,
+ * so the JList only asks for (and materializes) the rows it actually displays. Both the employee list,
+ * through its positional index, and the file stores find a row by position in constant time.
+ * <p>
+ * When the store is a GenericDoublyLinkedList, the model listens to its changes and forwards each batch as
+ * interval events for the affected rows only, so the JList repaints nothing else. The size reported to the
+ * JList is the one those events announced, which stays consistent until the next batch is fired.
+ *
+ * @param <E> The type of elements in the store.
+ */
+public class EmployeeStoreListModel<E> extends AbstractListModel<E> implements ListChangeListener {
+
+    /**
+     * The store the elements are read from.
+     */
+    private final EmployeeStore<E> store;
+
+    /**
+     * The number of elements announced to the JList.
+     */
+    private int size;
+
+    /**
+     * Constructor for the EmployeeStoreListModel class.
+     *
+     * @param store The store the elements are read from.
+     */
+    public EmployeeStoreListModel(EmployeeStore<E> store) {
+        this.store = store;
+        if (store instanceof GenericDoublyLinkedList) {
+            ((GenericDoublyLinkedList<E>) store).addListChangeListener(this);
+        }
+        this.size = store.getTotalElements();
+    }
+
+    /**
+     * Retrieves the store the elements are read from.
+     *
+     * @return The store.
+     */
+    public EmployeeStore<E> getStore() {
+        return store;
+    }
+
+    /**
+     * Fires the changes made to the store since the last refresh, if it reports them.
+     */
+    public void refresh() {
+        if (store instanceof GenericDoublyLinkedList) {
+            ((GenericDoublyLinkedList<E>) store).fireChanges();
+        }
+    }
+
+    /**
+     * Stops listening to the store, once the model is no longer displayed.
+     */
+    public void detach() {
+        if (store instanceof GenericDoublyLinkedList) {
+            ((GenericDoublyLinkedList<E>) store).removeListChangeListener(this);
+        }
+    }
+
+    /**
+     * Retrieves the number of elements announced to the JList.
+     *
+     * @return The number of elements.
+     */
+    @Override
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Retrieves the element at the given position in the store.
+     *
+     * @param index The zero-based position of the element.
+     * @return The element at the given position, or null if the store no longer has it before its changes are fired.
+     */
+    @Override
+    public E getElementAt(int index) {
+        return (index < store.getTotalElements()) ? store.get(index) : null;
+    }
+
+    /**
+     * Announces rows added to the store.
+     *
+     * @param firstIndex The position of the first element added.
+     * @param lastIndex  The position of the last element added.
+     */
+    @Override
+    public void elementsAdded(int firstIndex, int lastIndex) {
+        size += lastIndex - firstIndex + 1;
+        fireIntervalAdded(this, firstIndex, lastIndex);
+    }
+
+    /**
+     * Announces rows removed from the store.
+     *
+     * @param firstIndex The position the first element removed had.
+     * @param lastIndex  The position the last element removed had.
+     */
+    @Override
+    public void elementsRemoved(int firstIndex, int lastIndex) {
+        size -= lastIndex - firstIndex + 1;
+        fireIntervalRemoved(this, firstIndex, lastIndex);
+    }
+
+    /**
+     * Announces rows whose element was modified or replaced.
+     *
+     * @param firstIndex The position of the first element changed.
+     * @param lastIndex  The position of the last element changed.
+     */
+    @Override
+    public void elementsChanged(int firstIndex, int lastIndex) {
+        fireContentsChanged(this, firstIndex, lastIndex);
+    }
+
+    /**
+     * Announces that every row may now hold another element, after adjusting the number of rows.
+     *
+     * @param newSize The number of elements in the store after the change.
+     */
+    @Override
+    public void elementsReordered(int newSize) {
+        int oldSize = size;
+        size = newSize;
+        if (newSize > oldSize) {
+            fireIntervalAdded(this, oldSize, newSize - 1);
+        } else if (newSize < oldSize) {
+            fireIntervalRemoved(this, newSize, oldSize - 1);
+        }
+        if (size > 0) {
+            fireContentsChanged(this, 0, size - 1);
+        }
+    }
+}
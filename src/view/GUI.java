@@ -4,9 +4,7 @@ package view;
 import controllers.GenericDoublyLinkedList;
 
 // Imports for the different employee-related classes in the models package, pertinent exceptions included.
-import models.Analyst;
 import models.InvalidDateException;
-import models.Programmer;
 import models.SalaryExceedsMaxException;
 
 // For utilizing various Swing components in the javax.swing package.
@@ -31,9 +29,14 @@ public class GUI<E> extends JFrame {
     private JList<E> myList;
 
     /**
-     * Label for displaying employee information.
+     * Panel for displaying employee information.
      */
-    private JLabel employeeInfoLabel;
+    private EmployeeDetailPanel employeeInfoPanel;
+
+    /**
+     * Panel showing the progress of background tasks.
+     */
+    private TaskProgressPanel progressPanel;
 
     /**
      * Utility class for handling GUI interactions.
@@ -90,6 +93,11 @@ public class GUI<E> extends JFrame {
      */
     private JButton calculateButton;
 
+    /**
+     * Button for showing the performance statistics of the operations.
+     */
+    private JButton performanceButton;
+
     /**
      * Constructor for the GUI class.
      *
@@ -108,11 +116,14 @@ public class GUI<E> extends JFrame {
         initComponents();
 
         // Create an instance of GUITools and pass the GenericDoublyLinkedList and JList.
-        guiTools = new GUITools<>(this, employees, myList, employeeInfoLabel, listModel);
+        guiTools = new GUITools<>(this, employees, myList, employeeInfoPanel, listModel);
 
         // Set the buttons in GUITools.
         guiTools.setButtons(backButton, nextButton, firstButton, lastButton, calculateButton, loadButton, saveButton);
 
+        // Set the progress panel in GUITools for background tasks.
+        guiTools.setProgressPanel(progressPanel);
+
         // Populate the JList with data.
         guiTools.updateJList();
         // Update employee info label.
@@ -129,9 +140,8 @@ public class GUI<E> extends JFrame {
         // Create and configure the JList and JScrollPane.
         JScrollPane listScrollPane = new JScrollPane(myList);
 
-        employeeInfoLabel = new JLabel("<html>Sample Line 1<br>Sample Line 2</html>");
-        employeeInfoLabel.setHorizontalAlignment(SwingConstants.CENTER); // Align to center
-        employeeInfoLabel.setBorder(BorderFactory.createEmptyBorder(0, 10, 0, 10)); // Add left and right margins
+        // The detail panel builds its labels and margins once; selections only change their values.
+        employeeInfoPanel = new EmployeeDetailPanel();
 
         // Create buttons.
         backButton = new JButton("◀");
@@ -144,6 +154,7 @@ public class GUI<E> extends JFrame {
         createButton = new JButton("Create");
         massivelyCreateButton = new JButton("Massively Create");
         calculateButton = new JButton("Calculate");
+        performanceButton = new JButton("Performance");
 
         // Set background colors for buttons
         backButton.setBackground(new java.awt.Color(204, 247, 255)); // Pastel blue
@@ -156,6 +167,7 @@ public class GUI<E> extends JFrame {
         createButton.setBackground(new java.awt.Color(204, 204, 255)); // Pastel lavender
         massivelyCreateButton.setBackground(new java.awt.Color(255, 204, 204)); // Pastel peach
         calculateButton.setBackground(new java.awt.Color(204, 204, 204)); // Pastel gray
+        performanceButton.setBackground(new java.awt.Color(229, 255, 204)); // Pastel lime
 
         // Sets an icon for the window.
         Image icon = Toolkit.getDefaultToolkit().getImage("rulai.png");
@@ -175,14 +187,15 @@ public class GUI<E> extends JFrame {
         listButtonPanel.add(nextButton);
         listButtonPanel.add(lastButton);
 
-        // Create a panel for the rest of the buttons with a GridLayout (2 rows, 3 columns).
-        JPanel restButtonPanel = new JPanel(new GridLayout(2, 3, 10, 10));
+        // Create a panel for the rest of the buttons with a GridLayout (2 rows, 4 columns).
+        JPanel restButtonPanel = new JPanel(new GridLayout(2, 4, 10, 10));
         restButtonPanel.add(sortButton);
         restButtonPanel.add(loadButton);
         restButtonPanel.add(saveButton);
         restButtonPanel.add(createButton);
         restButtonPanel.add(massivelyCreateButton);
         restButtonPanel.add(calculateButton);
+        restButtonPanel.add(performanceButton);
         // Add left and right margins.
         restButtonPanel.setBorder(BorderFactory.createEmptyBorder(0, 10, 0, 10));
 
@@ -215,7 +228,7 @@ public class GUI<E> extends JFrame {
         gbc.weighty = 0.0;
         contentPanel.add(listButtonPanel, gbc);
 
-        // Add the employeeInfoLabel to the right of the JList.
+        // Add the employeeInfoPanel to the right of the JList.
         gbc.gridx = 1;
         gbc.gridy = 0;
         gbc.gridwidth = 1;
@@ -223,9 +236,9 @@ public class GUI<E> extends JFrame {
         gbc.fill = GridBagConstraints.HORIZONTAL;
         gbc.weightx = 0.0;
         gbc.weighty = 1.0;
-        contentPanel.add(employeeInfoLabel, gbc);
+        contentPanel.add(employeeInfoPanel, gbc);
 
-        // Add the restButtonImagePanel below the employeeInfoLabel.
+        // Add the restButtonImagePanel below the employeeInfoPanel.
         gbc.gridx = 1;
         gbc.gridy = 4;
         gbc.gridwidth = 1;
@@ -235,33 +248,15 @@ public class GUI<E> extends JFrame {
         gbc.weighty = 0.0;
         contentPanel.add(restButtonImagePanel, gbc);
 
-        /**
-         * Set a custom cell renderer for the JList.
-         */
-        myList.setCellRenderer(new DefaultListCellRenderer() {
-            @Override
-            public Component getListCellRendererComponent(JList<?> list, Object value, int index, boolean isSelected, boolean cellHasFocus) {
-                super.getListCellRendererComponent(list, value, index, isSelected, cellHasFocus);
-
-                // Check if the value is an instance of Analyst.
-                if (value instanceof Analyst) {
-                    Analyst analyst = (Analyst) value;
-                    String name = (analyst.getName() != null) ? analyst.getName() : analyst.getMaskedName();
-                    // Set the text to display the Analyst's name and employee number using getter methods.
-                    setText("ANALYST - " + name + " (Number: " + analyst.getEmployeeNumber() + ")");
-                }
-
-                // Check if the value is an instance of Programmer.
-                if (value instanceof Programmer) {
-                    Programmer programmer = (Programmer) value;
-                    String name = (programmer.getName() != null) ? programmer.getName() : programmer.getMaskedName();
-                    // Set the text to display the Programmer's name and employee number using getter methods.
-                    setText("PROGRAMMER - " + name + " (Number: " + programmer.getEmployeeNumber() + ")");
-                }
-
-                return this;
-            }
-        });
+        // Set a custom cell renderer for the JList, which caches the text of every row it paints.
+        EmployeeCellRenderer renderer = new EmployeeCellRenderer(myList);
+        myList.setCellRenderer(renderer);
+
+        // Give every row the size of a typical long row, so the JList never measures every employee to lay itself out.
+        Component prototypeRow = renderer.getListCellRendererComponent(myList,
+                "PROGRAMMER - Maximiliano Fernandez de la Vega (Number: 1000000)", -1, false, false);
+        myList.setFixedCellWidth(prototypeRow.getPreferredSize().width);
+        myList.setFixedCellHeight(prototypeRow.getPreferredSize().height);
 
         // Add a ListSelectionListener to the JList in order to update the employee's information in real time.
         myList.addListSelectionListener(e -> {
@@ -296,20 +291,18 @@ public class GUI<E> extends JFrame {
             }
         });
 
-        massivelyCreateButton.addActionListener(e -> {
-            try {
-                guiTools.massiveCreateButtonClicked();
-            } catch (SalaryExceedsMaxException ex) {
-                JOptionPane.showMessageDialog(this, "Salary cannot exceed max salary.", "Error", JOptionPane.ERROR_MESSAGE);
-            } catch (InvalidDateException ex) {
-                JOptionPane.showMessageDialog(this, "Invalid date.", "Error", JOptionPane.ERROR_MESSAGE);
-            }
-        });
+        massivelyCreateButton.addActionListener(e -> guiTools.massiveCreateButtonClicked());
 
         sortButton.addActionListener(e -> guiTools.sortButtonClicked());
 
-        // Finally, add the built content panel to the frame.
-        add(contentPanel);
+        performanceButton.addActionListener(e -> guiTools.performanceButtonClicked());
+
+        // Create the progress panel for background tasks, hidden until one starts.
+        progressPanel = new TaskProgressPanel();
+
+        // Finally, add the built content panel and the progress panel to the frame.
+        add(contentPanel, BorderLayout.CENTER);
+        add(progressPanel, BorderLayout.SOUTH);
     }
 
     /**
@@ -322,12 +315,12 @@ public class GUI<E> extends JFrame {
     }
 
     /**
-     * Getter for the employeeInfoLabel.
+     * Getter for the employeeInfoPanel.
      *
-     * @return The JLabel displaying employee information.
+     * @return The panel displaying employee information.
      */
-    public JLabel getEmployeeInfoLabel() {
-        return employeeInfoLabel;
+    public EmployeeDetailPanel getEmployeeInfoPanel() {
+        return employeeInfoPanel;
     }
 
     /**
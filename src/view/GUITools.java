@@ -15,11 +15,16 @@ import java.awt.event.FocusListener;
 
 // For read/write functionalities.
 import java.io.File;
+import java.io.IOException;
 
 // For working with dates.
 import java.text.SimpleDateFormat;
 import java.util.*;
 
+// For waiting on background tasks and passing chunks of employees to the Swing UI thread.
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
 // For FileChooser functionalities.
 import javax.swing.*;
 import javax.swing.filechooser.FileNameExtensionFilter;
@@ -47,15 +52,25 @@ public class GUITools<E> {
      */
     private GenericDoublyLinkedList<E> employeeList;
 
+    /**
+     * Fixed-width data file being browsed without loading it, or null when browsing employeeList.
+     */
+    private FileEmployeeStore<E> mappedFile;
+
     /**
      * Reference to the JList component displaying employee data.
      */
     private JList<E> jList;
 
     /**
-     * Reference to the JLabel displaying detailed information about the selected employee.
+     * Reference to the panel displaying detailed information about the selected employee.
+     */
+    private EmployeeDetailPanel employeeInfoPanel;
+
+    /**
+     * Timer coalescing the refreshes of employeeInfoPanel requested in quick succession.
      */
-    private JLabel employeeInfoLabel;
+    private final javax.swing.Timer employeeInfoTimer = new javax.swing.Timer(EMPLOYEE_INFO_DELAY, e -> refreshEmployeeInfo());
 
     /**
      * Reference to the DefaultListModel associated with the JList for managing employee data.
@@ -98,7 +113,82 @@ public class GUITools<E> {
     private JButton saveButton;
 
     /**
-     * ArrayList to store created employees during mass creation.
+     * Panel showing the progress of background tasks such as loading.
+     */
+    private TaskProgressPanel progressPanel;
+
+    /**
+     * Whether a snapshot is being saved in the background, during which salaries cannot be modified.
+     */
+    private boolean saveInProgress;
+
+    /**
+     * Whether employees are being generated in the background, during which no other generation can start.
+     */
+    private boolean generationInProgress;
+
+    /**
+     * Rough heap size in bytes of one employee loaded in memory, used to tell if a file can be loaded for editing.
+     */
+    private static final int ESTIMATED_EMPLOYEE_BYTES = 256;
+
+    /**
+     * Number of journal entries after which the journal is compacted into a new data file.
+     */
+    private static final int COMPACTION_THRESHOLD = 10000;
+
+    /**
+     * Delay in milliseconds between a selection and the refresh of the employee details it causes.
+     */
+    private static final int EMPLOYEE_INFO_DELAY = 50;
+
+    /**
+     * Number of employees proposed in the Massive Creation dialog.
+     */
+    private static final int DEFAULT_GENERATED_EMPLOYEES = 10020;
+
+    /**
+     * Smallest number of employees that can be created at once.
+     */
+    private static final int MIN_GENERATED_EMPLOYEES = 1000;
+
+    /**
+     * Largest number of employees that can be created at once.
+     */
+    private static final int MAX_GENERATED_EMPLOYEES = 10_000_000;
+
+    /**
+     * Highest employee number given to generated employees, the largest that fits the seven digits of the Employee Number field.
+     */
+    private static final int MAX_EMPLOYEE_NUMBER = 9_999_999;
+
+    /**
+     * Journal of the changes made since the data file was last saved, or null if the employees are not tied to a data file.
+     */
+    private EmployeeJournal<E> journal;
+
+    /**
+     * Cipher encrypting and decrypting real names in this session, created once the user gives the passphrase.
+     */
+    private NameCipher nameCipher;
+
+    /**
+     * Name of the data file the employees were loaded from or last saved to, or null if there is none.
+     */
+    private String dataFilename;
+
+    /**
+     * Codec compressing block data files, as last chosen in the Save dialog.
+     */
+    private CompressionCodec compressionCodec = CompressionCodec.DEFLATE;
+
+    /**
+     * Compression level used with the codec, as last chosen in the Save dialog.
+     */
+    private int compressionLevel = CompressionCodec.DEFAULT_LEVEL;
+
+    /**
+     * ArrayList holding a copy of the employees, sorted to compare its sorting time with the list's.
      */
     private ArrayList createdEmployees = new ArrayList();
 
@@ -113,13 +203,15 @@ public class GUITools<E> {
      * @param frame             The JFrame associated with the GUI.
      * @param employeeList      Reference to the GenericDoublyLinkedList containing employee data.
      * @param jList             Reference to the JList component displaying employee data.
-     * @param employeeInfoLabel Reference to the JLabel displaying detailed information about the selected employee.
+     * @param employeeInfoPanel Reference to the panel displaying detailed information about the selected employee.
      * @param listModel         Reference to the DefaultListModel used for the JList.
      */
-    public GUITools(JFrame frame, GenericDoublyLinkedList<E> employeeList, JList<E> jList, JLabel employeeInfoLabel, DefaultListModel<E> listModel) {
+    public GUITools(JFrame frame, GenericDoublyLinkedList<E> employeeList, JList<E> jList, EmployeeDetailPanel employeeInfoPanel, DefaultListModel<E> listModel) {
+        this.frame = frame;
         this.employeeList = employeeList;
         this.jList = jList;
-        this.employeeInfoLabel = employeeInfoLabel;
+        this.employeeInfoPanel = employeeInfoPanel;
+        this.employeeInfoTimer.setRepeats(false);
         this.listModel = listModel;
     }
 
@@ -145,53 +237,90 @@ public class GUITools<E> {
         this.saveButton = saveButton;
     }
 
+    /**
+     * Sets the panel used to show the progress of background tasks.
+     *
+     * @param progressPanel TaskProgressPanel shown while loading or saving in the background.
+     */
+    public void setProgressPanel(TaskProgressPanel progressPanel) {
+        this.progressPanel = progressPanel;
+    }
+
     /**
      * Handles the action when the back button is clicked, moving to the previous employee.
      */
     public void backButtonClicked() {
+        // Take the start of the move for the performance statistics.
+        long startTime = PerformanceMonitor.startTime();
+        long startAllocation = PerformanceMonitor.startAllocation();
+
         // Call the previous method to move to the previous item
-        employeeList.previous();
+        store().previous();
         updateEmployeeInfo();
         // Update the enabled/disabled state of buttons
         updateButtonStates();
         setJListSelection();
+
+        // Record how long the move took, the selection of the new row included.
+        PerformanceMonitor.record(PerformanceMonitor.Operation.NAVIGATION, startTime, startAllocation);
     }
 
     /**
      * Handles the action when the next button is clicked, moving to the next employee.
      */
     public void nextButtonClicked() {
+        // Take the start of the move for the performance statistics.
+        long startTime = PerformanceMonitor.startTime();
+        long startAllocation = PerformanceMonitor.startAllocation();
+
         // Call the next method to move to the next item
-        employeeList.next();
+        store().next();
        // updateJListAndEmployeeInfo();
         updateEmployeeInfo();
         // Update the enabled/disabled state of buttons
         updateButtonStates();
         setJListSelection();
+
+        // Record how long the move took, the selection of the new row included.
+        PerformanceMonitor.record(PerformanceMonitor.Operation.NAVIGATION, startTime, startAllocation);
     }
 
     /**
      * Handles the action when the first button is clicked, moving to the first employee.
      */
     public void firstButtonClicked() {
+        // Take the start of the move for the performance statistics.
+        long startTime = PerformanceMonitor.startTime();
+        long startAllocation = PerformanceMonitor.startAllocation();
+
         // Call the moveToFirst method to move to the first item
-        employeeList.moveToFirst();
+        store().moveToFirst();
         updateEmployeeInfo();
         // Update the enabled/disabled state of buttons
         updateButtonStates();
         setJListSelection();
+
+        // Record how long the move took, the selection of the new row included.
+        PerformanceMonitor.record(PerformanceMonitor.Operation.NAVIGATION, startTime, startAllocation);
     }
 
     /**
      * Handles the action when the last button is clicked, moving to the last employee.
      */
     public void lastButtonClicked() {
+        // Take the start of the move for the performance statistics.
+        long startTime = PerformanceMonitor.startTime();
+        long startAllocation = PerformanceMonitor.startAllocation();
+
         // Call the moveToLast method to move to the last item
-        employeeList.moveToLast();
+        store().moveToLast();
         updateEmployeeInfo();
         // Update the enabled/disabled state of buttons
         updateButtonStates();
         setJListSelection();
+
+        // Record how long the move took, the selection of the new row included.
+        PerformanceMonitor.record(PerformanceMonitor.Operation.NAVIGATION, startTime, startAllocation);
     }
 
     /*public void calculateButtonClicked() throws SalaryExceedsMaxException {
@@ -247,6 +376,15 @@ public class GUITools<E> {
      * @throws SalaryExceedsMaxException If the calculated salary exceeds the maximum allowed.
      */
     public void calculateButtonClicked() throws SalaryExceedsMaxException {
+        // Salaries can only be modified on employees loaded in memory.
+        if (!ensureEditable()) {
+            return;
+        }
+
+        // Take the start of the calculation for the performance statistics.
+        long startTime = PerformanceMonitor.startTime();
+        long startAllocation = PerformanceMonitor.startAllocation();
+
         // Get the currently selected employee
         E currentEmployee = employeeList.getCurrent();
 
@@ -279,12 +417,20 @@ public class GUITools<E> {
             analyst.setAnnualBonusCalculable(false);
         }
 
-        // After calculating, update the JList and employee information
-        updateEmployeeInfo();
+        // Record the new salary in the journal instead of requiring a full save.
+        if (currentEmployee instanceof Employee) {
+            logSalaryChange((Employee) currentEmployee);
+        }
+
+        // After calculating, update the JList and employee information; only the modified row is repainted.
+        updateJListAndEmployeeInfo();
 
         // Update the button states
         updateButtonStates();
 
+        // Record how long the calculation took, before the message waits for the user.
+        PerformanceMonitor.record(PerformanceMonitor.Operation.CALCULATE, startTime, startAllocation);
+
         JOptionPane.showMessageDialog(frame, "Salary has been modified.", "Info", JOptionPane.INFORMATION_MESSAGE);
     }
 
@@ -295,23 +441,46 @@ public class GUITools<E> {
         // Create a file chooser dialog.
         JFileChooser fileChooser = new JFileChooser();
 
-        // Set the file filter to only show data files with the .ser extension.
-        FileNameExtensionFilter filter = new FileNameExtensionFilter("Data Files", "ser");
+        // Set the file filter to show compact, fixed-width, segmented and block data files, as well as legacy .ser files that can still be imported.
+        FileNameExtensionFilter filter = new FileNameExtensionFilter("Data Files", FileHandler.COMPACT_EXTENSION,
+                FileHandler.FIXED_WIDTH_EXTENSION, FileHandler.SEGMENTED_EXTENSION, FileHandler.BLOCK_EXTENSION,
+                FileHandler.CSV_EXTENSION, FileHandler.LEGACY_EXTENSION);
         fileChooser.setFileFilter(filter);
 
+        // Several files can be selected to merge them into the current employees.
+        fileChooser.setMultiSelectionEnabled(true);
+
         // Show the file chooser dialog and get the user's selection.
         int returnValue = fileChooser.showOpenDialog(frame);
 
-        // If the user selected a file.
-        if (returnValue == JFileChooser.APPROVE_OPTION) {
+        // If the user selected several files, merge them instead of replacing the employees.
+        if (returnValue == JFileChooser.APPROVE_OPTION && fileChooser.getSelectedFiles().length > 1) {
+            startMergeLoad(fileChooser.getSelectedFiles());
+        } else if (returnValue == JFileChooser.APPROVE_OPTION) {
             // Get the selected file
             File selectedFile = fileChooser.getSelectedFile();
 
-            // Load employee data from the selected file.
-            employeeList = FileHandler.loadDataFromFile(selectedFile.getPath());
+            // Fixed-width files are mapped instantly, other files are loaded in the background.
+            if (FileHandler.isFixedWidthFile(selectedFile.getPath())) {
+                try {
+                    FileEmployeeStore<E> store = FileHandler.openFileStore(selectedFile.getPath());
+                    closeMappedFile();
+                    mappedFile = store;
+                } catch (IOException e) {
+                    JOptionPane.showMessageDialog(frame, "Could not load the file: " + e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+                    return;
+                }
 
-            // Update the JList and employee information display.
-            updateJListAndEmployeeInfo();
+                // Update the JList and employee information display.
+                updateJListAndEmployeeInfo();
+
+                // Apply the changes journaled since the file was saved.
+                openJournal(selectedFile.getPath());
+            } else if (FileHandler.isBlockFile(selectedFile.getPath())) {
+                startParallelLoad(selectedFile.getPath());
+            } else {
+                startBackgroundLoad(selectedFile.getPath());
+            }
         } else {
             // If the user canceled or closed the dialog, print a message.
             System.out.println("Load operation canceled or closed by the user.");
@@ -319,23 +488,818 @@ public class GUITools<E> {
     }
 
     /**
-     * Handles the action when the save button is clicked, saving employee data to a file.
+     * Starts merging several data files into the current employees on a background thread, after asking the user
+     * which employee to keep when an employee number is found more than once. The files are merged into a list
+     * sorted by employee number, which is then merged into the employee list in a single pass once complete.
+     *
+     * @param files The files to merge, in the order they were selected.
+     */
+    private void startMergeLoad(File[] files) {
+        // Employees cannot be added while a snapshot is being saved.
+        if (isSaveInProgress()) {
+            return;
+        }
+
+        // The files can only be merged into employees loaded in memory.
+        if (!ensureEditable()) {
+            return;
+        }
+
+        // Ask which employee wins when an employee number is found in several places.
+        Object[] options = {"Keep existing", "Replace with later files", "Cancel"};
+        int choice = JOptionPane.showOptionDialog(frame, "When an employee number is found more than once, keep the employee\n"
+                        + "already in the list (or in the first file), or the one from the last file?", "Merge Files",
+                JOptionPane.YES_NO_CANCEL_OPTION, JOptionPane.QUESTION_MESSAGE, null, options, options[0]);
+        if (choice != JOptionPane.YES_OPTION && choice != JOptionPane.NO_OPTION) {
+            System.out.println("Merge operation canceled by the user.");
+            return;
+        }
+
+        // Real names saved next to any of the files are decrypted while they load.
+        List<String> filenames = new ArrayList<>(files.length);
+        boolean hasNames = false;
+        for (File file : files) {
+            filenames.add(file.getPath());
+            hasNames |= FileHandler.hasEncryptedNames(file.getPath());
+        }
+        NameCipher cipher = hasNames ? getNameCipher() : null;
+
+        // Loading and saving at the same time as another load is not allowed.
+        loadButton.setEnabled(false);
+        saveButton.setEnabled(false);
+
+        MergeWorker worker = new MergeWorker(filenames, choice == JOptionPane.NO_OPTION, cipher);
+        progressPanel.start("Merging " + files.length + " files", () -> worker.cancel(true));
+        worker.execute();
+    }
+
+    /**
+     * Background task merging several data files into a list sorted by employee number, which is then merged into
+     * the employee list on the Swing UI thread.
+     */
+    private class MergeWorker extends SwingWorker<GenericDoublyLinkedList<E>, long[]> {
+        /**
+         * Names of the files being merged, in order of precedence.
+         */
+        private final List<String> filenames;
+
+        /**
+         * Whether an employee found more than once is replaced by the last one, instead of keeping the first one.
+         */
+        private final boolean replaceDuplicates;
+
+        /**
+         * Cipher decrypting the real names saved next to the files, or null if they are not restored.
+         */
+        private final NameCipher cipher;
+
+        /**
+         * Error that prevented restoring the real names, or null if there was none.
+         */
+        private IOException namesError;
+
+        /**
+         * Constructor for the MergeWorker class.
+         *
+         * @param filenames         Names of the files being merged, in order of precedence.
+         * @param replaceDuplicates Whether an employee found more than once is replaced by the last one.
+         * @param cipher            Cipher decrypting the real names saved next to the files, or null if they are not restored.
+         */
+        MergeWorker(List<String> filenames, boolean replaceDuplicates, NameCipher cipher) {
+            this.filenames = filenames;
+            this.replaceDuplicates = replaceDuplicates;
+            this.cipher = cipher;
+        }
+
+        /**
+         * Decrypts the real names of every file, then merges the files on a background thread.
+         *
+         * @return The employees of every file, one per employee number, sorted by employee number.
+         * @throws IOException If an I/O error occurs, a file is corrupted, or the merge is canceled.
+         */
+        @Override
+        protected GenericDoublyLinkedList<E> doInBackground() throws IOException {
+            // Take the start of the load for the performance statistics.
+            long startTime = PerformanceMonitor.startTime();
+            long startAllocation = PerformanceMonitor.startAllocation();
+
+            List<Map<Integer, String>> names = new ArrayList<>(filenames.size());
+            for (String filename : filenames) {
+                Map<Integer, String> fileNames = new HashMap<>();
+                if (cipher != null && namesError == null && FileHandler.hasEncryptedNames(filename)) {
+                    try {
+                        fileNames = FileHandler.loadEncryptedNames(filename, cipher);
+                    } catch (IOException e) {
+                        namesError = e;
+                    }
+                }
+                names.add(fileNames);
+            }
+            GenericDoublyLinkedList<E> merged = FileHandler.loadMergedFiles(filenames, replaceDuplicates, names,
+                    (completed, total) -> publish(new long[] {completed, total}));
+
+            // Record how long the merge took; only the allocations of this thread are counted.
+            PerformanceMonitor.record(PerformanceMonitor.Operation.LOAD, startTime, startAllocation);
+            return merged;
+        }
+
+        /**
+         * Shows the latest progress on the Swing UI thread.
+         *
+         * @param progress The progress updates published since the last call, as {completed, total} pairs.
+         */
+        @Override
+        protected void process(List<long[]> progress) {
+            long[] latest = progress.get(progress.size() - 1);
+            progressPanel.setProgress(latest[0], latest[1]);
+        }
+
+        /**
+         * Merges the loaded employees into the employee list, journals them and reports the result.
+         */
+        @Override
+        protected void done() {
+            progressPanel.finish();
+            loadButton.setEnabled(true);
+            saveButton.setEnabled(true);
+
+            if (isCancelled()) {
+                updateButtonStates();
+                JOptionPane.showMessageDialog(frame, "Merging canceled; the employees were left unchanged.", "Info", JOptionPane.INFORMATION_MESSAGE);
+                return;
+            }
+            try {
+                GenericDoublyLinkedList<E> merged = get();
+                int loaded = merged.getTotalElements();
+
+                // The merged employees are only kept aside to journal them.
+                List<E> incoming = (journal != null) ? merged.snapshot() : List.of();
+                List<E> leftOut = employeeList.mergeById(merged, replaceDuplicates);
+
+                // Journal the replaced employees as removed, and the employees that joined the list as created.
+                if (journal != null && replaceDuplicates) {
+                    for (E employee : leftOut) {
+                        logRemoved(FileHandler.getIdForGenericList(employee));
+                    }
+                    logCreatedAll(incoming);
+                } else if (journal != null) {
+                    Set<E> dropped = Collections.newSetFromMap(new IdentityHashMap<>());
+                    dropped.addAll(leftOut);
+                    List<E> added = new ArrayList<>(incoming.size() - dropped.size());
+                    for (E employee : incoming) {
+                        if (!dropped.contains(employee)) {
+                            added.add(employee);
+                        }
+                    }
+                    logCreatedAll(added);
+                }
+
+                updateJListAndEmployeeInfo();
+                updateButtonStates();
+                reportNamesError(namesError);
+                System.out.println("Data merged from " + filenames.size() + " files.");
+                JOptionPane.showMessageDialog(frame, "Merged " + loaded + " employees from " + filenames.size() + " files; "
+                        + leftOut.size() + (replaceDuplicates ? " existing employees were replaced." : " duplicates were skipped."),
+                        "Info", JOptionPane.INFORMATION_MESSAGE);
+            } catch (ExecutionException e) {
+                updateButtonStates();
+                JOptionPane.showMessageDialog(frame, "Could not merge the files: " + e.getCause().getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Starts loading a compact, segmented or legacy data file on a background thread. The employee list is replaced by an
+     * empty one that is filled in, along with the JList, as chunks of decoded employees arrive, so the first
+     * rows can be browsed while the rest of the file is still being read.
+     *
+     * @param filename The name of the file to load.
+     */
+    private void startBackgroundLoad(String filename) {
+        EmployeeReader<E> reader;
+        try {
+            reader = FileHandler.openReader(filename);
+        } catch (IOException e) {
+            JOptionPane.showMessageDialog(frame, "Could not load the file: " + e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+
+        // Real names saved next to the file are decrypted while it loads.
+        NameCipher cipher = FileHandler.hasEncryptedNames(filename) ? getNameCipher() : null;
+
+        // The journal of the previous data file does not apply to the employees being loaded.
+        closeJournal();
+
+        // Start from an empty list that the worker fills in, shown by a model announcing each chunk it receives.
+        employeeList = new GenericDoublyLinkedList<>();
+        closeMappedFile();
+        updateJList();
+        updateEmployeeInfo();
+
+        // Loading and saving at the same time as another load is not allowed.
+        loadButton.setEnabled(false);
+        saveButton.setEnabled(false);
+
+        LoadWorker worker = new LoadWorker(reader, employeeList, filename, cipher);
+        progressPanel.start("Loading " + new File(filename).getName(), () -> worker.cancel(false));
+        worker.execute();
+    }
+
+    /**
+     * Starts loading a block data file on a background thread, which decodes its blocks in parallel.
+     * The employees are shown once every block has been decoded and spliced into a new list.
+     *
+     * @param filename The name of the file to load.
+     */
+    private void startParallelLoad(String filename) {
+        // Read the header first, to report an invalid file right away and to save it again with the same codec.
+        try (BlockFileReader<E> reader = new BlockFileReader<>(filename)) {
+            compressionCodec = reader.getCodec();
+            compressionLevel = reader.getLevel();
+        } catch (IOException e) {
+            JOptionPane.showMessageDialog(frame, "Could not load the file: " + e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+
+        // Real names saved next to the file are decrypted while it loads.
+        NameCipher cipher = FileHandler.hasEncryptedNames(filename) ? getNameCipher() : null;
+
+        // The journal of the previous data file does not apply to the employees being loaded.
+        closeJournal();
+
+        // Show an empty list until the whole file is decoded.
+        employeeList = new GenericDoublyLinkedList<>();
+        closeMappedFile();
+        updateJListAndEmployeeInfo();
+
+        // Loading and saving at the same time as another load is not allowed.
+        loadButton.setEnabled(false);
+        saveButton.setEnabled(false);
+
+        ParallelLoadWorker worker = new ParallelLoadWorker(filename, cipher);
+        progressPanel.start("Loading " + new File(filename).getName(), () -> worker.cancel(true));
+        worker.execute();
+    }
+
+    /**
+     * Background task loading a block data file by decoding its blocks in parallel.
+     */
+    private class ParallelLoadWorker extends SwingWorker<GenericDoublyLinkedList<E>, long[]> {
+        /**
+         * Name of the file being loaded.
+         */
+        private final String filename;
+
+        /**
+         * Cipher decrypting the real names saved next to the file, or null if they are not restored.
+         */
+        private final NameCipher cipher;
+
+        /**
+         * Error that prevented restoring the real names, or null if there was none.
+         */
+        private IOException namesError;
+
+        /**
+         * Constructor for the ParallelLoadWorker class.
+         *
+         * @param filename Name of the file being loaded.
+         * @param cipher   Cipher decrypting the real names saved next to the file, or null if they are not restored.
+         */
+        ParallelLoadWorker(String filename, NameCipher cipher) {
+            this.filename = filename;
+            this.cipher = cipher;
+        }
+
+        /**
+         * Loads the file on a background thread, which waits for the blocks decoded on the fork-join pool,
+         * and gives the employees back their real names.
+         *
+         * @return The list holding every employee of the file.
+         * @throws IOException If an I/O error occurs or the file is corrupted.
+         */
+        @Override
+        protected GenericDoublyLinkedList<E> doInBackground() throws IOException {
+            // Take the start of the load for the performance statistics.
+            long startTime = PerformanceMonitor.startTime();
+            long startAllocation = PerformanceMonitor.startAllocation();
+
+            Map<Integer, String> names = new HashMap<>();
+            if (cipher != null) {
+                try {
+                    names = FileHandler.loadEncryptedNames(filename, cipher);
+                } catch (IOException e) {
+                    namesError = e;
+                }
+            }
+            GenericDoublyLinkedList<E> list = FileHandler.loadBlockFile(filename, (completed, total) -> publish(new long[] {completed, total}));
+            if (!names.isEmpty()) {
+                for (E employee : list) {
+                    FileHandler.restoreName(employee, names);
+                }
+                list.clearChanges();
+            }
+
+            // Record how long the load took; only the allocations of this thread are counted.
+            PerformanceMonitor.record(PerformanceMonitor.Operation.LOAD, startTime, startAllocation);
+            return list;
+        }
+
+        /**
+         * Shows the latest progress on the Swing UI thread.
+         *
+         * @param progress The progress notifications received since the last call, as pairs of completed and total counts.
+         */
+        @Override
+        protected void process(List<long[]> progress) {
+            long[] latest = progress.get(progress.size() - 1);
+            progressPanel.setProgress(latest[0], latest[1]);
+        }
+
+        /**
+         * Shows the loaded employees, or reports errors or cancellation, once the worker stops.
+         */
+        @Override
+        protected void done() {
+            progressPanel.finish();
+            loadButton.setEnabled(true);
+            saveButton.setEnabled(true);
+
+            if (isCancelled()) {
+                updateButtonStates();
+                JOptionPane.showMessageDialog(frame, "Loading canceled.", "Info", JOptionPane.INFORMATION_MESSAGE);
+                return;
+            }
+            try {
+                // Keep any employee created while the file was loading after the loaded ones, still marked as changed.
+                GenericDoublyLinkedList<E> loaded = get();
+                loaded.addAll(employeeList);
+                employeeList = loaded;
+                updateJListAndEmployeeInfo();
+                reportNamesError(namesError);
+
+                // Apply the changes journaled since the file was saved.
+                openJournal(filename);
+            } catch (ExecutionException e) {
+                updateButtonStates();
+                JOptionPane.showMessageDialog(frame, "Could not load the file: " + e.getCause().getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Background task decoding employees from a data file and publishing them to the GUI in chunks.
+     */
+    private class LoadWorker extends SwingWorker<Long, List<E>> {
+        /**
+         * Number of employees decoded before they are handed to the Swing UI thread.
+         */
+        private static final int CHUNK_SIZE = 2048;
+
+        /**
+         * Reader the employees are decoded from.
+         */
+        private final EmployeeReader<E> reader;
+
+        /**
+         * List receiving the decoded employees.
+         */
+        private final GenericDoublyLinkedList<E> targetList;
+
+        /**
+         * Name of the file being loaded.
+         */
+        private final String filename;
+
+        /**
+         * Cipher decrypting the real names saved next to the file, or null if they are not restored.
+         */
+        private final NameCipher cipher;
+
+        /**
+         * Error that prevented restoring the real names, or null if there was none.
+         */
+        private IOException namesError;
+
+        /**
+         * Constructor for the LoadWorker class.
+         *
+         * @param reader      Reader the employees are decoded from.
+         * @param targetList  List receiving the decoded employees.
+         * @param filename    Name of the file being loaded.
+         * @param cipher      Cipher decrypting the real names saved next to the file, or null if they are not restored.
+         */
+        LoadWorker(EmployeeReader<E> reader, GenericDoublyLinkedList<E> targetList, String filename, NameCipher cipher) {
+            this.reader = reader;
+            this.targetList = targetList;
+            this.filename = filename;
+            this.cipher = cipher;
+        }
+
+        /**
+         * Decodes the file in chunks on a background thread.
+         *
+         * @return The number of employees read.
+         * @throws IOException If an I/O error occurs or the file is corrupted.
+         */
+        @Override
+        protected Long doInBackground() throws IOException {
+            // Take the start of the load for the performance statistics.
+            long startTime = PerformanceMonitor.startTime();
+            long startAllocation = PerformanceMonitor.startAllocation();
+
+            try (reader) {
+                // Decrypt the real names first, so every employee gets its name before it is shown.
+                Map<Integer, String> names = new HashMap<>();
+                if (cipher != null) {
+                    try {
+                        names = FileHandler.loadEncryptedNames(filename, cipher);
+                    } catch (IOException e) {
+                        namesError = e;
+                    }
+                }
+
+                List<E> chunk = new ArrayList<>(CHUNK_SIZE);
+                E employee;
+                while (!isCancelled() && (employee = reader.read()) != null) {
+                    FileHandler.restoreName(employee, names);
+                    chunk.add(employee);
+                    if (chunk.size() == CHUNK_SIZE) {
+                        publish(chunk);
+                        chunk = new ArrayList<>(CHUNK_SIZE);
+                    }
+                }
+                if (!chunk.isEmpty()) {
+                    publish(chunk);
+                }
+
+                // Record how long decoding the file took, unless it was canceled; the chunks are added to the list
+                // on the Swing UI thread.
+                if (!isCancelled()) {
+                    PerformanceMonitor.record(PerformanceMonitor.Operation.LOAD, startTime, startAllocation);
+                }
+                return reader.getRecordsRead();
+            }
+        }
+
+        /**
+         * Appends the published chunks to the list and the JList on the Swing UI thread.
+         *
+         * @param chunks The chunks of employees decoded since the last call.
+         */
+        @Override
+        protected void process(List<List<E>> chunks) {
+            // The loaded employees match the file, so they are spliced in without being tracked as changed,
+            // unlike the employees created or modified while the file is loading.
+            GenericDoublyLinkedList<E> batch = new GenericDoublyLinkedList<>();
+            for (List<E> chunk : chunks) {
+                for (E employee : chunk) {
+                    batch.add(employee, FileHandler.getIdForGenericList(employee));
+                }
+            }
+            batch.clearChanges();
+            targetList.addAll(batch);
+
+            // The chunks were appended one after the other, so the JList gets a single interval event.
+            updateJList();
+            progressPanel.setProgress(targetList.getTotalElements(), reader.getRecordCount());
+            updateButtonStates();
+        }
+
+        /**
+         * Hides the progress panel and reports errors or cancellation once the worker stops.
+         */
+        @Override
+        protected void done() {
+            progressPanel.finish();
+            loadButton.setEnabled(true);
+            saveButton.setEnabled(true);
+
+            // Make sure the JList shows every loaded employee.
+            updateJList();
+            updateEmployeeInfo();
+
+            if (isCancelled()) {
+                JOptionPane.showMessageDialog(frame, "Loading canceled after " + targetList.getTotalElements() + " employees.", "Info", JOptionPane.INFORMATION_MESSAGE);
+                return;
+            }
+            try {
+                get();
+                System.out.println("Data loaded from file: " + filename);
+                reportNamesError(namesError);
+
+                // Compact the journal of a block data file with the codec the file was written with.
+                if (reader instanceof BlockFileReader) {
+                    compressionCodec = ((BlockFileReader<E>) reader).getCodec();
+                    compressionLevel = ((BlockFileReader<E>) reader).getLevel();
+                }
+
+                // Apply the changes journaled since the file was saved; legacy and CSV files are only imported and have no journal.
+                if (hasJournal(filename) && targetList == employeeList) {
+                    openJournal(filename);
+                }
+            } catch (ExecutionException e) {
+                JOptionPane.showMessageDialog(frame, "Could not load the file: " + e.getCause().getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Handles the action when the save button is clicked, saving employee data to a compact data file,
+     * or to a fixed-width, segmented or block one if the chosen name has that extension. Block data files are
+     * compressed with the codec chosen in the dialog, which is also used when no extension is given. The file is written in the
+     * background from a snapshot of the list and only replaces the previous file once it is complete, except
+     * when saving to the segmented file the employees came from, which only rewrites the segments that changed.
      */
     public void saveButtonClicked() {
         JFileChooser fileChooser = new JFileChooser();
-        FileNameExtensionFilter filter = new FileNameExtensionFilter("Data Files", "ser");
+        FileNameExtensionFilter filter = new FileNameExtensionFilter("Data Files", FileHandler.COMPACT_EXTENSION,
+                FileHandler.FIXED_WIDTH_EXTENSION, FileHandler.SEGMENTED_EXTENSION, FileHandler.BLOCK_EXTENSION,
+                FileHandler.CSV_EXTENSION);
         fileChooser.setFileFilter(filter);
 
+        // Let the user choose how block data files are compressed.
+        JComboBox<CompressionCodec> codecComboBox = new JComboBox<>(CompressionCodec.values());
+        codecComboBox.setSelectedItem(compressionCodec);
+        JComboBox<Integer> levelComboBox = new JComboBox<>(new Integer[] {1, 2, 3, 4, 5, 6, 7, 8, 9});
+        levelComboBox.setSelectedItem(compressionLevel);
+        levelComboBox.setEnabled(compressionCodec.hasLevel());
+        codecComboBox.addActionListener(e -> levelComboBox.setEnabled(((CompressionCodec) codecComboBox.getSelectedItem()).hasLevel()));
+
+        JPanel compressionPanel = new JPanel(new GridLayout(4, 1, 0, 2));
+        compressionPanel.setBorder(BorderFactory.createTitledBorder("Compression (." + FileHandler.BLOCK_EXTENSION + ")"));
+        compressionPanel.add(new JLabel("Codec:"));
+        compressionPanel.add(codecComboBox);
+        compressionPanel.add(new JLabel("Level (1 fastest, 9 smallest):"));
+        compressionPanel.add(levelComboBox);
+        JPanel accessory = new JPanel(new BorderLayout());
+        accessory.add(compressionPanel, BorderLayout.NORTH);
+        fileChooser.setAccessory(accessory);
+
         int returnValue = fileChooser.showSaveDialog(frame);
 
         if (returnValue == JFileChooser.APPROVE_OPTION) {
-            File selectedFile = fileChooser.getSelectedFile();
-            FileHandler.saveDataToFile(employeeList, selectedFile.getPath());
+            compressionCodec = (CompressionCodec) codecComboBox.getSelectedItem();
+            compressionLevel = (Integer) levelComboBox.getSelectedItem();
+            startSave(withCompactExtension(fileChooser.getSelectedFile().getPath()), false);
         } else {
             System.out.println("Save operation canceled or closed by the user.");
         }
     }
 
+    /**
+     * Starts saving a snapshot of the employees in the background.
+     *
+     * @param path       The name of the file to save to.
+     * @param compaction Whether the save compacts the journal of the current data file, in which case it is not reported on success.
+     */
+    private void startSave(String path, boolean compaction) {
+        if (!ensureEditable()) {
+            return;
+        }
+
+        // Capture the employees to save on this thread, along with the changes tracked for a segmented file,
+        // which only needs them if the employees came from it in the same order.
+        boolean segmented = FileHandler.isSegmentedFile(path);
+        boolean reordered = employeeList.isReordered();
+        boolean incremental = segmented && path.equals(dataFilename) && !reordered;
+        List<E> snapshot = employeeList.snapshot();
+        List<E> changed = segmented ? new ArrayList<>(employeeList.getChangedElements()) : null;
+        List<E> removed = segmented ? new ArrayList<>(employeeList.getRemovedElements()) : null;
+
+        // Real names are encrypted next to every data file; a compaction only does so if a passphrase was already given.
+        NameCipher cipher = null;
+        if (!FileHandler.isCsvFile(path) && hasRealNames()) {
+            cipher = compaction ? nameCipher : getNameCipher();
+        }
+
+        // Loading, saving again and modifying employees are not allowed until the snapshot is written,
+        // so the journal can be emptied once it is.
+        saveInProgress = true;
+        loadButton.setEnabled(false);
+        saveButton.setEnabled(false);
+        updateButtonStates();
+
+        progressPanel.start((compaction ? "Compacting " : "Saving ") + new File(path).getName(), null);
+        new SaveWorker(employeeList, snapshot, changed, removed, reordered, path, incremental, compressionCodec,
+                compressionLevel, compaction, cipher).execute();
+    }
+
+    /**
+     * Background task writing a snapshot of the employees to a file and replacing the previous file atomically,
+     * or writing only the changed segments of a segmented file.
+     */
+    private class SaveWorker extends SwingWorker<Long, long[]> {
+        /**
+         * List the employees to save were captured from, only accessed on the Swing UI thread.
+         */
+        private final GenericDoublyLinkedList<E> list;
+
+        /**
+         * Employees to save, captured when the save started.
+         */
+        private final List<E> snapshot;
+
+        /**
+         * Employees changed when the save started, or null if not saving to a segmented file.
+         */
+        private final List<E> changed;
+
+        /**
+         * Employees removed when the save started, or null if not saving to a segmented file.
+         */
+        private final List<E> removed;
+
+        /**
+         * Whether the list had been reordered when the save started.
+         */
+        private final boolean reordered;
+
+        /**
+         * Name of the file to save to.
+         */
+        private final String filename;
+
+        /**
+         * Whether only the changes of the list need to be written to the segmented file.
+         */
+        private final boolean incremental;
+
+        /**
+         * Codec compressing the blocks, if saving to a block data file.
+         */
+        private final CompressionCodec codec;
+
+        /**
+         * Compression level used with the codec.
+         */
+        private final int level;
+
+        /**
+         * Whether the save compacts the journal of the current data file.
+         */
+        private final boolean compaction;
+
+        /**
+         * Cipher encrypting the real names next to the file, or null if they are not saved.
+         */
+        private final NameCipher cipher;
+
+        /**
+         * Number of employee records written, set once the file is saved.
+         */
+        private long written;
+
+        /**
+         * Constructor for the SaveWorker class.
+         *
+         * @param list        List of the employees to save, whose captured changes are cleared once saved.
+         * @param snapshot    Employees to save, captured when the save started.
+         * @param changed     Employees changed when the save started, or null if not saving to a segmented file.
+         * @param removed     Employees removed when the save started, or null if not saving to a segmented file.
+         * @param reordered   Whether the list had been reordered when the save started.
+         * @param filename    Name of the file to save to.
+         * @param incremental Whether only the changes of the list need to be written to the segmented file.
+         * @param codec       Codec compressing the blocks, if saving to a block data file.
+         * @param level       Compression level used with the codec.
+         * @param compaction  Whether the save compacts the journal of the current data file.
+         * @param cipher      Cipher encrypting the real names next to the file, or null if they are not saved.
+         */
+        SaveWorker(GenericDoublyLinkedList<E> list, List<E> snapshot, List<E> changed, List<E> removed, boolean reordered,
+                   String filename, boolean incremental, CompressionCodec codec, int level, boolean compaction,
+                   NameCipher cipher) {
+            this.list = list;
+            this.snapshot = snapshot;
+            this.changed = changed;
+            this.removed = removed;
+            this.reordered = reordered;
+            this.filename = filename;
+            this.incremental = incremental;
+            this.codec = codec;
+            this.level = level;
+            this.compaction = compaction;
+            this.cipher = cipher;
+        }
+
+        /**
+         * Writes the snapshot on a background thread.
+         *
+         * @return The elapsed time in nanoseconds.
+         * @throws IOException If an I/O error occurs.
+         */
+        @Override
+        protected Long doInBackground() throws IOException {
+            long startTime = System.nanoTime();
+            long monitorStartTime = PerformanceMonitor.startTime();
+            long monitorStartAllocation = PerformanceMonitor.startAllocation();
+            ProgressListener listener = (completed, total) -> publish(new long[] {completed, total});
+            if (changed != null) {
+                written = FileHandler.saveSegmentedFile(snapshot, changed, removed, filename, incremental, listener);
+            } else {
+                FileHandler.saveSnapshotAtomically(snapshot, filename, codec, level, listener);
+                written = snapshot.size();
+            }
+
+            // The data file only holds masked names, so the real ones are saved encrypted next to it.
+            if (cipher != null) {
+                FileHandler.saveEncryptedNames(snapshot, filename, cipher);
+            }
+
+            // Record how long the save took; only the allocations of this thread are counted.
+            PerformanceMonitor.record(PerformanceMonitor.Operation.SAVE, monitorStartTime, monitorStartAllocation);
+            return System.nanoTime() - startTime;
+        }
+
+        /**
+         * Shows the latest progress on the Swing UI thread.
+         *
+         * @param progress The progress notifications received since the last call, as pairs of completed and total counts.
+         */
+        @Override
+        protected void process(List<long[]> progress) {
+            long[] latest = progress.get(progress.size() - 1);
+            progressPanel.setProgress(latest[0], latest[1]);
+        }
+
+        /**
+         * Hides the progress panel and reports the throughput or the error once the worker stops.
+         */
+        @Override
+        protected void done() {
+            progressPanel.finish();
+            saveInProgress = false;
+            loadButton.setEnabled(true);
+            saveButton.setEnabled(true);
+            updateButtonStates();
+
+            try {
+                long elapsedNanos = Math.max(1, get());
+
+                // The segmented file now holds the captured changes, but not the ones made since the save started.
+                if (changed != null) {
+                    list.clearChanges(changed, removed, reordered);
+                }
+
+                // The saved file now holds every journaled change, so start a new journal for it.
+                // An exported CSV file has no journal, so changes keep being journaled for the data file.
+                if (hasJournal(filename)) {
+                    try {
+                        resetJournal(filename);
+                    } catch (IOException e) {
+                        closeJournal();
+                        JOptionPane.showMessageDialog(frame, "Could not reset the journal: " + e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+                    }
+                }
+
+                if (compaction) {
+                    System.out.println("Journal compacted into " + filename + " in " + elapsedNanos / 1_000_000 + " ms.");
+                    return;
+                }
+                if (incremental) {
+                    String message = String.format("Saved %d changed employee records to %s in %d ms.",
+                            written, new File(filename).getName(), elapsedNanos / 1_000_000);
+                    JOptionPane.showMessageDialog(frame, message, "Info", JOptionPane.INFORMATION_MESSAGE);
+                    return;
+                }
+                double seconds = elapsedNanos / 1e9;
+                double megabytes = new File(filename).length() / (1024.0 * 1024.0);
+                String message = String.format("Saved %d employees to %s in %d ms%n(%.0f employees/s, %.1f MB/s).",
+                        written, new File(filename).getName(), elapsedNanos / 1_000_000,
+                        written / seconds, megabytes / seconds);
+                JOptionPane.showMessageDialog(frame, message, "Info", JOptionPane.INFORMATION_MESSAGE);
+            } catch (ExecutionException e) {
+                JOptionPane.showMessageDialog(frame, "Could not save the file: " + e.getCause().getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Makes sure a file path ends with a data file extension, replacing the legacy one if present.
+     *
+     * @param path The path chosen by the user.
+     * @return The path, with the block data file extension if it had no data file extension and compression
+     * was chosen, or the compact data file extension otherwise.
+     */
+    private String withCompactExtension(String path) {
+        if (FileHandler.isCompactFile(path) || FileHandler.isFixedWidthFile(path) || FileHandler.isSegmentedFile(path)
+                || FileHandler.isBlockFile(path) || FileHandler.isCsvFile(path)) {
+            return path;
+        }
+        if (path.toLowerCase().endsWith("." + FileHandler.LEGACY_EXTENSION)) {
+            path = path.substring(0, path.length() - FileHandler.LEGACY_EXTENSION.length() - 1);
+        }
+        String extension = (compressionCodec != CompressionCodec.NONE) ? FileHandler.BLOCK_EXTENSION : FileHandler.COMPACT_EXTENSION;
+        return path + "." + extension;
+    }
+
     /**
      * Handles the action when the create button is clicked, creating a new employee.
      *
@@ -345,6 +1309,16 @@ public class GUITools<E> {
     public void createButtonClicked() throws SalaryExceedsMaxException, InvalidDateException {
         boolean employeeTypeSelected = false;
 
+        // Employees cannot be added while a snapshot is being saved.
+        if (isSaveInProgress()) {
+            return;
+        }
+
+        // New employees can only be added to employees loaded in memory.
+        if (!ensureEditable()) {
+            return;
+        }
+
         do {
             // Create a panel with radio buttons for Programmer and Analyst.
             JPanel panel = new JPanel();
@@ -593,7 +1567,9 @@ public class GUITools<E> {
                 try {
                     // Create a new Programmer object and add it to the employee list.
                     Programmer programmer = new Programmer(employeeNumber, name, hireDate, salary, maxSalary, monthlyExtra, mainLanguage);
-                    employeeList.add((E) programmer, programmer.getEmployeeNumber());
+                    E created = (E) programmer;
+                    employeeList.add(created, programmer.getEmployeeNumber());
+                    logCreated(created);
                 } catch (SalaryExceedsMaxException salex) {
                     JOptionPane.showOptionDialog(frame, "Max Salary cannot exceed Salary.", "Error", JOptionPane.DEFAULT_OPTION, JOptionPane.ERROR_MESSAGE, null, null, null);
                     return createProgrammerDialog(enteredData);
@@ -830,7 +1806,9 @@ public class GUITools<E> {
                 try {
                     // Create an Analyst object and add it to the employeeList.
                     Analyst analyst = new Analyst(employeeNumber, name, hireDate, salary, maxSalary, annualBonus, additionalQualifications);
-                    employeeList.add((E) analyst, analyst.getEmployeeNumber());
+                    E created = (E) analyst;
+                    employeeList.add(created, analyst.getEmployeeNumber());
+                    logCreated(created);
                 } catch (SalaryExceedsMaxException salex) {
                     // Show an error message and recall the method with entered data if Salary exceeds Max Salary.
                     JOptionPane.showOptionDialog(frame, "Salary cannot exceed Max Salary.", "Error", JOptionPane.DEFAULT_OPTION, JOptionPane.ERROR_MESSAGE, null, null, null);
@@ -945,87 +1923,170 @@ public class GUITools<E> {
     }
 
     /**
-     * Creates a specified number of random employees and adds them to the employee list.
-     *
-     * @throws SalaryExceedsMaxException if salary exceeds max salary.
-     * @throws InvalidDateException      if the date is invalid or in the future.
+     * Asks how many employees to create and which share of them are programmers, then generates them on a
+     * background thread. The employees receive random employee numbers not used in the list, and are added to it
+     * in a single step once they are all generated.
      */
-    public void massiveCreateButtonClicked() throws SalaryExceedsMaxException, InvalidDateException {
-        Random random = new Random();
+    public void massiveCreateButtonClicked() {
+        // Employees cannot be added while a snapshot is being saved, nor while other employees are being generated.
+        if (isSaveInProgress() || generationInProgress) {
+            return;
+        }
 
-        // Create 10.000 employees with random employee numbers between 2.001 and 1.000.000.
-        for (int i = 0; i < 10000; i++) {
-            // Ensure the employee number is unique.
-            int randomEmployeeNumber = random.nextInt(999000) + 1001;
-            while (employeeList.exists(randomEmployeeNumber)) {
-                randomEmployeeNumber = random.nextInt(999000) + 1001;
-            }
-            createRandomEmployee(randomEmployeeNumber);
+        // New employees can only be added to employees loaded in memory.
+        if (!ensureEditable()) {
+            return;
         }
 
-        // Create 20 employees with numbers between 1 and 2.000.
-        for (int i = 0; i < 20; i++) {
-            int randomEmployeeNumber = random.nextInt(2000) + 1;
-            while (employeeList.exists(randomEmployeeNumber)) {
-                randomEmployeeNumber = random.nextInt(2000) + 1;
-            }
-            createRandomEmployee(randomEmployeeNumber);
+        // Ask for the number of employees and the share of programmers among them.
+        JSpinner countSpinner = new JSpinner(new SpinnerNumberModel(DEFAULT_GENERATED_EMPLOYEES, MIN_GENERATED_EMPLOYEES,
+                MAX_GENERATED_EMPLOYEES, 1000));
+        JSpinner programmerSpinner = new JSpinner(new SpinnerNumberModel(50, 0, 100, 5));
+        JPanel panel = new JPanel(new GridLayout(2, 2, 10, 5));
+        panel.add(new JLabel("Number of employees:"));
+        panel.add(countSpinner);
+        panel.add(new JLabel("Programmers (%):"));
+        panel.add(programmerSpinner);
+        int result = JOptionPane.showConfirmDialog(frame, panel, "Massive Creation", JOptionPane.OK_CANCEL_OPTION, JOptionPane.PLAIN_MESSAGE);
+        if (result != JOptionPane.OK_OPTION) {
+            return;
         }
+        int count = (Integer) countSpinner.getValue();
+        int programmerPercent = (Integer) programmerSpinner.getValue();
 
-        // After creating, update the JList and employee information.
-        updateJListAndEmployeeInfo();
+        // Mark the employee numbers of the list as used, so the new employees are given other ones.
+        EmployeeNumberAllocator allocator = new EmployeeNumberAllocator(1, MAX_EMPLOYEE_NUMBER);
+        for (E employee : employeeList) {
+            allocator.markUsed(FileHandler.getIdForGenericList(employee));
+        }
+        if (count > allocator.getFreeCount()) {
+            JOptionPane.showMessageDialog(frame, "Only " + allocator.getFreeCount() + " employee numbers are left between 1 and "
+                    + MAX_EMPLOYEE_NUMBER + ".", "Error", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
 
-        // Update the button states.
-        updateButtonStates();
+        // Loading and saving while the employees are generated is not allowed.
+        generationInProgress = true;
+        loadButton.setEnabled(false);
+        saveButton.setEnabled(false);
 
-        // Inform the user via a dialog.
-        JOptionPane.showMessageDialog(frame, "Massive employee creation completed.", "Info", JOptionPane.INFORMATION_MESSAGE);
+        GenerateWorker worker = new GenerateWorker(count, programmerPercent, allocator);
+        progressPanel.start("Creating " + count + " employees", () -> worker.cancel(true));
+        worker.execute();
     }
 
     /**
-     * Creates a random employee with the given employee number and adds it to the employee list.
-     *
-     * @param employeeNumber The employee number for the random employee.
-     * @throws SalaryExceedsMaxException if salary exceeds max salary.
-     * @throws InvalidDateException      if the date is invalid or in the future.
+     * Background task generating employees in parallel, which are then added to the employee list on the Swing UI thread.
      */
-    private void createRandomEmployee(int employeeNumber) throws SalaryExceedsMaxException, InvalidDateException {
-        E employee;
+    private class GenerateWorker extends SwingWorker<GenericDoublyLinkedList<E>, long[]> {
+        /**
+         * Number of employees to generate.
+         */
+        private final int count;
+
+        /**
+         * Percentage of programmers among the generated employees.
+         */
+        private final int programmerPercent;
+
+        /**
+         * Allocator handing out the employee numbers not used in the list.
+         */
+        private final EmployeeNumberAllocator allocator;
+
+        /**
+         * Constructor for the GenerateWorker class.
+         *
+         * @param count             Number of employees to generate.
+         * @param programmerPercent Percentage of programmers among the generated employees.
+         * @param allocator         Allocator handing out the employee numbers not used in the list.
+         */
+        GenerateWorker(int count, int programmerPercent, EmployeeNumberAllocator allocator) {
+            this.count = count;
+            this.programmerPercent = programmerPercent;
+            this.allocator = allocator;
+        }
 
-        // Check if the employee number is within the range of programmers (1 to 2.000).
-        if (employeeNumber <= 2000) {
-            // Create a dummy Programmer with default values.
-            Programmer programmer = new Programmer(employeeNumber, "ProgrammerDummy", "10-10-1910", 0, 0, 0, "None");
-            programmer.setEmployeeNumber(employeeNumber);
+        /**
+         * Allocates the employee numbers, then generates the employees on the common fork-join pool.
+         *
+         * @return The generated employees, in order of employee number.
+         * @throws EmployeeNumberRangeExhaustedException If not enough employee numbers are left.
+         * @throws InterruptedException                  If the generation is canceled.
+         */
+        @Override
+        protected GenericDoublyLinkedList<E> doInBackground() throws EmployeeNumberRangeExhaustedException, InterruptedException {
+            int[] numbers = allocator.allocate(count, new SplittableRandom());
+            return EmployeeGenerator.generate(numbers, programmerPercent,
+                    (completed, total) -> publish(new long[] {completed, total}));
+        }
 
-            // Add the dummy Programmer to the employee list.
-            employeeList.add((E) programmer, programmer.getEmployeeNumber());
+        /**
+         * Shows the latest progress on the Swing UI thread.
+         *
+         * @param progress The progress updates published since the last call, as {completed, total} pairs.
+         */
+        @Override
+        protected void process(List<long[]> progress) {
+            long[] latest = progress.get(progress.size() - 1);
+            progressPanel.setProgress(latest[0], latest[1]);
+        }
 
-            // Set the employee variable to the created Programmer.
-            employee = (E) programmer;
-        } else {
-            // Create a dummy Analyst with default values.
-            Analyst analyst = new Analyst(employeeNumber, "AnalystDummy", "10-10-1910", 0, 0, 0, "None");
-            analyst.setEmployeeNumber(employeeNumber);
+        /**
+         * Adds the generated employees to the employee list, journals them and reports the result.
+         */
+        @Override
+        protected void done() {
+            generationInProgress = false;
+            progressPanel.finish();
+            loadButton.setEnabled(true);
+            saveButton.setEnabled(true);
+
+            if (isCancelled()) {
+                updateButtonStates();
+                JOptionPane.showMessageDialog(frame, "Massive creation canceled; no employees were added.", "Info", JOptionPane.INFORMATION_MESSAGE);
+                return;
+            }
+            try {
+                GenericDoublyLinkedList<E> generated = get();
+                int created = generated.getTotalElements();
 
-            // Add the dummy Analyst to the employee list.
-            employeeList.add((E) analyst, analyst.getEmployeeNumber());
+                // The generated employees are only kept aside to journal them.
+                List<E> incoming = (journal != null) ? generated.snapshot() : List.of();
+                employeeList.addAll(generated);
+                logCreatedAll(incoming);
 
-            // Set the employee variable to the created Analyst.
-            employee = (E) analyst;
+                // After creating, update the JList and employee information.
+                updateJListAndEmployeeInfo();
+                updateButtonStates();
+
+                // Inform the user via a dialog.
+                JOptionPane.showMessageDialog(frame, "Massive employee creation completed: " + created + " employees were added.", "Info", JOptionPane.INFORMATION_MESSAGE);
+            } catch (ExecutionException e) {
+                updateButtonStates();
+                JOptionPane.showMessageDialog(frame, "Could not create the employees: " + e.getCause().getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
         }
-
-        // Add the created employee to the collection of created employees.
-        createdEmployees.add(employee);
     }
 
-
     /**
      * Handles the sorting of employees and measures the time it takes for both the list and the collection.
      */
     public void sortButtonClicked() {
         long startTime, endTime;
 
+        // The employees cannot be reordered while a snapshot is being saved.
+        if (isSaveInProgress()) {
+            return;
+        }
+
+        // Sorting reorders the employees in memory.
+        if (!ensureEditable()) {
+            return;
+        }
+
         // Clear the collection of created employees.
         createdEmployees.clear();
 
@@ -1038,20 +2099,24 @@ public class GUITools<E> {
         }
 
         // Measure the sorting time for the list using employeeList.sort().
-        startTime = System.currentTimeMillis();
+        // A single run is only indicative; SortBenchmark in the benchmarks module measures both sorts properly.
+        long monitorStartTime = PerformanceMonitor.startTime();
+        long monitorStartAllocation = PerformanceMonitor.startAllocation();
+        startTime = System.nanoTime();
         employeeList.sort();
-        endTime = System.currentTimeMillis();
-        long listSortingTime = endTime - startTime;
+        endTime = System.nanoTime();
+        PerformanceMonitor.record(PerformanceMonitor.Operation.SORT, monitorStartTime, monitorStartAllocation);
+        double listSortingTime = (endTime - startTime) / 1_000_000.0;
 
         // Measure the sorting time for the collection using Collections.sort().
-        startTime = System.currentTimeMillis();
+        startTime = System.nanoTime();
         Collections.sort(createdEmployees);
-        endTime = System.currentTimeMillis();
-        long collectionSortingTime = endTime - startTime;
+        endTime = System.nanoTime();
+        double collectionSortingTime = (endTime - startTime) / 1_000_000.0;
 
         // Show the sorting timers in a JOptionPane.
-        String message = "List sorting time: " + listSortingTime + " ms\n"
-                + "Collection sorting time: " + collectionSortingTime + " ms";
+        String message = String.format("List sorting time: %.3f ms\nCollection sorting time: %.3f ms",
+                listSortingTime, collectionSortingTime);
 
         JOptionPane.showMessageDialog(frame, message, "Sorting Times", JOptionPane.INFORMATION_MESSAGE);
 
@@ -1080,6 +2145,82 @@ public class GUITools<E> {
         updateJListAndEmployeeInfo();
     }
 
+    /**
+     * Shows the performance statistics of every operation recorded by PerformanceMonitor, and lets the user reset them.
+     */
+    public void performanceButtonClicked() {
+        // One row per operation, with its latency percentiles and the bytes it allocated.
+        String[] columns = {"Operation", "Count", "p50", "p99", "Max", "Alloc p50", "Alloc p99"};
+        PerformanceMonitor.Operation[] operations = PerformanceMonitor.Operation.values();
+        Object[][] rows = new Object[operations.length][];
+        for (int i = 0; i < operations.length; i++) {
+            PerformanceMonitor.Statistics statistics = PerformanceMonitor.getStatistics(operations[i]);
+            boolean recorded = statistics.getCount() > 0;
+            rows[i] = new Object[] {
+                    operations[i].getDisplayName(),
+                    statistics.getCount(),
+                    recorded ? formatNanos(statistics.getLatencyP50()) : "-",
+                    recorded ? formatNanos(statistics.getLatencyP99()) : "-",
+                    recorded ? formatNanos(statistics.getLatencyMax()) : "-",
+                    recorded ? formatBytes(statistics.getAllocatedP50()) : "-",
+                    recorded ? formatBytes(statistics.getAllocatedP99()) : "-"
+            };
+        }
+
+        // The table is read-only and sized to show every operation without scrolling.
+        JTable table = new JTable(rows, columns) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+        table.setPreferredScrollableViewportSize(new Dimension(600, table.getRowHeight() * operations.length));
+        JPanel panel = new JPanel(new BorderLayout(0, 8));
+        panel.add(new JScrollPane(table), BorderLayout.CENTER);
+        String note = PerformanceMonitor.isAllocationMeasured()
+                ? "Percentiles are rounded up by at most 12.5%. Allocations only count the thread running the operation."
+                : "This JVM does not measure the memory allocated by each thread.";
+        panel.add(new JLabel(note), BorderLayout.SOUTH);
+
+        // Show the statistics, resetting them if asked to.
+        Object[] options = {"Reset", "Close"};
+        int choice = JOptionPane.showOptionDialog(frame, panel, "Performance", JOptionPane.DEFAULT_OPTION,
+                JOptionPane.PLAIN_MESSAGE, null, options, options[1]);
+        if (choice == 0) {
+            PerformanceMonitor.reset();
+        }
+    }
+
+    /**
+     * Formats a duration for the performance statistics.
+     *
+     * @param nanos The duration in nanoseconds.
+     * @return The duration in microseconds below one millisecond, in milliseconds otherwise.
+     */
+    private static String formatNanos(long nanos) {
+        if (nanos < 1_000_000) {
+            return String.format("%.1f µs", nanos / 1_000.0);
+        }
+        return String.format("%.3f ms", nanos / 1_000_000.0);
+    }
+
+    /**
+     * Formats a number of bytes for the performance statistics.
+     *
+     * @param bytes The number of bytes, or -1 if it is not measured.
+     * @return The number of bytes in B, KB or MB, or "n/a" if it is not measured.
+     */
+    private static String formatBytes(long bytes) {
+        if (bytes < 0) {
+            return "n/a";
+        } else if (bytes < 1024) {
+            return bytes + " B";
+        } else if (bytes < 1024 * 1024) {
+            return String.format("%.1f KB", bytes / 1024.0);
+        }
+        return String.format("%.1f MB", bytes / (1024.0 * 1024.0));
+    }
+
     /**
      * Updates the JList and employee information display one after another.
      */
@@ -1092,31 +2233,18 @@ public class GUITools<E> {
      * Updates the JList component with the current list of employees.
      */
     public void updateJList() {
-        // Remember the currently selected employee to maintain selection after the update.
-        E rememberedEmployee = employeeList.getCurrent();
-
-        // Create a new DefaultListModel to update the JList.
-        DefaultListModel<E> newListModel = new DefaultListModel<>();
-        jList.setModel(newListModel);
-
-        // Move the iterator to the beginning of the linked list.
-        employeeList.moveToFirst();
-
-        // Iterate through the linked list and add each employee to the new list model.
-        while (employeeList.getCurrent() != null) {
-            E currentEmployee = employeeList.getCurrent();
-            newListModel.addElement(currentEmployee);
-            employeeList.next();
-        }
-
-        // Ensure that the remembered employee is in the list model.
-        if (rememberedEmployee != null && !newListModel.contains(rememberedEmployee)) {
-            newListModel.addElement(rememberedEmployee);
+        // The JList reads the employees straight from the list or the mapped file, so no copy is made.
+        EmployeeStore<E> store = (mappedFile != null) ? mappedFile : employeeList;
+        if (jList.getModel() instanceof EmployeeStoreListModel<E> model && model.getStore() == store) {
+            // Only the rows that changed since the last update are announced to the JList.
+            model.refresh();
+        } else {
+            if (jList.getModel() instanceof EmployeeStoreListModel<E> model) {
+                model.detach();
+            }
+            jList.setModel(new EmployeeStoreListModel<>(store));
         }
 
-        // Set the iterator back to the remembered employee.
-        employeeList.setCurrent(rememberedEmployee);
-
         // Update the button states based on the current state of the linked list.
         updateButtonStates();
     }
@@ -1126,16 +2254,23 @@ public class GUITools<E> {
      * Updates the selected employee information.
      */
     public void updateSelectedEmployee() {
-        // Get the currently selected employee from the JList.
-        E selectedEmployee = jList.getSelectedValue();
+        // Get the position of the currently selected employee in the JList.
+        int selectedIndex = jList.getSelectedIndex();
 
         // Check if a valid employee is selected.
-        if (selectedEmployee != null) {
-            // Set the iterator's current position to the selected employee.
-            employeeList.setCurrent(selectedEmployee);
+        if (selectedIndex >= 0 && selectedIndex < store().getTotalElements()) {
+            // Take the start of the selection for the performance statistics.
+            long startTime = PerformanceMonitor.startTime();
+            long startAllocation = PerformanceMonitor.startAllocation();
+
+            // Set the iterator's current position to the selected employee, without searching for it by value.
+            store().moveTo(selectedIndex);
 
             // Update the employee information display.
             updateEmployeeInfo();
+
+            // Record how long the selection took; the panel itself is rendered later by the timer.
+            PerformanceMonitor.record(PerformanceMonitor.Operation.SELECTION, startTime, startAllocation);
         }
     }
 
@@ -1143,88 +2278,55 @@ public class GUITools<E> {
      * Sets the JList selection to the current employee in the list.
      */
     private void setJListSelection() {
-        // Get the current employee from the iterator.
-        E currentEmployee = employeeList.getCurrent();
-
-        // Set the JList selection to the current employee.
-        // The second parameter (true) indicates that the selection should be scrolled into view.
-        jList.setSelectedValue(currentEmployee, true);
+        // Get the position of the current employee from the iterator.
+        int currentPosition = store().getCurrentPosition();
+
+        // Set the JList selection to the current employee and scroll it into view.
+        // Selecting by position avoids comparing every row of the list (and materializing mapped ones).
+        if (currentPosition >= 0) {
+            jList.setSelectedIndex(currentPosition);
+            jList.ensureIndexIsVisible(currentPosition);
+        } else {
+            jList.clearSelection();
+        }
     }
 
     /**
-     * Updates the displayed information for the current employee in the employeeInfoLabel.
+     * Updates the displayed information for the current employee in the employeeInfoPanel.
+     * <p>
+     * The buttons follow at once, while the panel itself is refreshed by employeeInfoTimer, so a burst of
+     * selections (an arrow key held down on the JList) refreshes it at most once per timer delay.
      */
     public void updateEmployeeInfo() {
-        // System.out.println("Update Employee Info called");
+        // Update the state of buttons based on the current employee.
+        updateButtonStates();
 
-        // Retrieve the current employee from the linked list.
-        E currentEmployee = employeeList.getCurrent();
+        // Schedule the panel refresh, unless one is already pending, which will show the latest employee.
+        if (!employeeInfoTimer.isRunning()) {
+            employeeInfoTimer.start();
+        }
+    }
 
-        // Check if there is a current employee to display information.
-        if (currentEmployee != null) {
-            // Get the current position and total elements in the list.
-            int currentPosition = employeeList.getCurrentPosition() + 1; // Adding 1 to convert from 0-based to 1-based index.
-            int totalElements = employeeList.getTotalElements();
-
-            // Display the current position and total elements in the list.
-            String positionText = "Employee #" + currentPosition + " of " + totalElements;
-
-            // Update the employeeInfoLabel based on the type of employee (Programmer or Analyst).
-            if (currentEmployee instanceof Programmer) {
-                Programmer programmer = (Programmer) currentEmployee;
-                System.out.println("Updating with Programmer data");
-
-                // Determine the name to display, considering masking if necessary.
-                String name = (programmer.getName() != null) ? programmer.getName() : programmer.getMaskedName();
-
-                // Construct the HTML-formatted label text for Programmer information.
-                String labelText = "<html><style>" +
-                        "body { font-size: 12px; margin: 10px; padding: 10px; background-color: #E6F7FF; border: 2px solid #CCCCCC; }" +
-                        "b { color: #336699; }" +
-                        "</style>" +
-                        "<center><b>" + positionText + "</b></center><br>" +
-                        "<b>Name:</b> " + name +
-                        "<br><b>Employee Number:</b> " + programmer.getEmployeeNumber() +
-                        "<br><b>Hire Date:</b> " + dateController.calendarToString(programmer.getHireDate()) +
-                        "<br><b>Salary:</b> " + programmer.getSalary() +
-                        "<br><b>Max Salary:</b> " + programmer.getMaxSalary() +
-                        "<br><b>Monthly Extra:</b> " + programmer.getMonthlyExtra() +
-                        "<br><b>Main Language:</b> " + programmer.getMainLanguage() + "</html>";
-
-                // Set the label text in the employeeInfoLabel.
-                employeeInfoLabel.setText(labelText);
-            } else if (currentEmployee instanceof Analyst) {
-                Analyst analyst = (Analyst) currentEmployee;
-                System.out.println("Updating with Analyst data");
-
-                // Determine the name to display, considering masking if necessary.
-                String name = (analyst.getName() != null) ? analyst.getName() : analyst.getMaskedName();
-
-                // Construct the HTML-formatted label text for Analyst information.
-                String labelText = "<html><style>" +
-                        "body { font-size: 12px; margin: 10px; padding: 10px; background-color: #FFE6F7; border: 2px solid #CCCCCC; }" +
-                        "b { color: #CC3366; }" +
-                        "</style>" +
-                        "<center><b>" + positionText + "</b></center><br>" +
-                        "<b>Name:</b> " + name +
-                        "<br><b>Employee Number:</b> " + analyst.getEmployeeNumber() +
-                        "<br><b>Hire Date:</b> " + dateController.calendarToString(analyst.getHireDate()) +
-                        "<br><b>Salary:</b> " + analyst.getSalary() +
-                        "<br><b>Max Salary:</b> " + analyst.getMaxSalary() +
-                        "<br><b>Annual Bonus:</b> " + analyst.getAnnualBonus() +
-                        "<br><b>Additional Qualification:</b> " + analyst.getAdditionalQualification() + "</html>";
-
-                // Set the label text in the employeeInfoLabel.
-                employeeInfoLabel.setText(labelText);
-            }
+    /**
+     * Shows the current employee in the employeeInfoPanel, or empties it if there is none.
+     */
+    private void refreshEmployeeInfo() {
+        // Take the start of the rendering for the performance statistics.
+        long startTime = PerformanceMonitor.startTime();
+        long startAllocation = PerformanceMonitor.startAllocation();
+
+        // Retrieve the current employee from the linked list or mapped file.
+        E currentEmployee = store().getCurrent();
+
+        if (currentEmployee instanceof Employee) {
+            // Adding 1 to the position to convert from 0-based to 1-based index.
+            employeeInfoPanel.showEmployee((Employee) currentEmployee, store().getCurrentPosition() + 1, store().getTotalElements());
         } else {
-            // Clear the employeeInfoLabel if there is no current employee.
-            System.out.println("No current employee");
-            employeeInfoLabel.setText("");
+            employeeInfoPanel.clear();
         }
 
-        // Update the state of buttons based on the current employee.
-        updateButtonStates();
+        // Record how long the panel took to update; Swing paints it afterwards.
+        PerformanceMonitor.record(PerformanceMonitor.Operation.RENDER, startTime, startAllocation);
     }
 
     /**
@@ -1284,10 +2386,6 @@ public class GUITools<E> {
         double monthlyExtraPercentage = programmer.getMonthlyExtra() / 100.0;
         double totalMonthlyExtras = Math.max(0, elapsedMonths) * (programmer.getSalary() * monthlyExtraPercentage);
 
-        System.out.println("Elapsed Months: " + elapsedMonths);
-        System.out.println("Monthly Extra Percentage: " + monthlyExtraPercentage);
-        System.out.println("Total Monthly Extras: " + totalMonthlyExtras);
-
         return totalMonthlyExtras;
     }
 
@@ -1299,7 +2397,7 @@ public class GUITools<E> {
      */
     private boolean canCalculate() {
         // Get the current employee from the employee list.
-        E currentEmployee = employeeList.getCurrent();
+        E currentEmployee = store().getCurrent();
 
         // Check if the current employee is an instance of Analyst.
         if (currentEmployee instanceof Analyst) {
@@ -1330,7 +2428,7 @@ public class GUITools<E> {
      */
     private boolean checkBonusCalculations() {
         // Get the current employee from the employee list.
-        E currentEmployee = employeeList.getCurrent();
+        E currentEmployee = store().getCurrent();
 
         // Check if the current employee is an instance of Analyst.
         if (currentEmployee instanceof Analyst) {
@@ -1355,20 +2453,301 @@ public class GUITools<E> {
     }
 
 
+    /**
+     * Retrieves the store currently being browsed: the mapped file if one is open, the employee list otherwise.
+     *
+     * @return The EmployeeStore backing the JList.
+     */
+    private EmployeeStore<E> store() {
+        return (mappedFile != null) ? mappedFile : employeeList;
+    }
+
+    /**
+     * Tells the user to wait if a snapshot is being saved in the background.
+     *
+     * @return true if a save is in progress, false otherwise.
+     */
+    private boolean isSaveInProgress() {
+        if (saveInProgress) {
+            JOptionPane.showMessageDialog(frame, "Please wait until the data has been saved.", "Info", JOptionPane.INFORMATION_MESSAGE);
+        }
+        return saveInProgress;
+    }
+
+    /**
+     * Retrieves the cipher of the session's names, asking the user for the passphrase the first time.
+     * The key is then derived only once for the rest of the session.
+     *
+     * @return The cipher, or null if the user gave no passphrase, in which case names are neither saved nor restored.
+     */
+    private NameCipher getNameCipher() {
+        if (nameCipher == null) {
+            JPasswordField passwordField = new JPasswordField(20);
+            JPanel panel = new JPanel(new GridLayout(2, 1));
+            panel.add(new JLabel("Passphrase encrypting the employees' real names:"));
+            panel.add(passwordField);
+            int result = JOptionPane.showConfirmDialog(frame, panel, "Name Encryption", JOptionPane.OK_CANCEL_OPTION,
+                    JOptionPane.PLAIN_MESSAGE);
+            char[] passphrase = passwordField.getPassword();
+            if (result == JOptionPane.OK_OPTION && passphrase.length > 0) {
+                nameCipher = new NameCipher(passphrase);
+            } else {
+                System.out.println("No passphrase given; real names are not saved or restored.");
+            }
+            Arrays.fill(passphrase, '\0');
+        }
+        return nameCipher;
+    }
+
+    /**
+     * Checks if any employee in memory has a real name, which is only the case for employees created or
+     * loaded with their names in this session.
+     *
+     * @return true if at least one real name would be lost by saving only masked names, false otherwise.
+     */
+    private boolean hasRealNames() {
+        for (E employee : employeeList) {
+            if (((Employee) employee).getName() != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Tells the user that the real names could not be restored, forgetting the passphrase if it was wrong.
+     *
+     * @param error The error that prevented restoring the names, or null if there was none.
+     */
+    private void reportNamesError(IOException error) {
+        if (error != null) {
+            nameCipher = null;
+            JOptionPane.showMessageDialog(frame, "The real names could not be restored: " + error.getMessage(),
+                    "Warning", JOptionPane.WARNING_MESSAGE);
+        }
+    }
+
+    /**
+     * Checks if changes to the employees of a file are journaled next to it. Legacy and CSV files are only
+     * imported or exported, so they have no journal.
+     *
+     * @param filename The name of the file.
+     * @return true if the file has a journal, false otherwise.
+     */
+    private boolean hasJournal(String filename) {
+        return !FileHandler.isCsvFile(filename) && !filename.toLowerCase().endsWith("." + FileHandler.LEGACY_EXTENSION);
+    }
+
+    /**
+     * Opens the journal of a data file that has just been loaded and replays its entries,
+     * loading the employees of a mapped file in memory first if there are entries to replay.
+     *
+     * @param filename The name of the data file.
+     */
+    private void openJournal(String filename) {
+        closeJournal();
+        try {
+            // A file too large to load can only be browsed as it was saved.
+            if (EmployeeJournal.hasEntries(filename) && !ensureEditable()) {
+                updateButtonStates();
+                return;
+            }
+            journal = new EmployeeJournal<>(filename);
+            dataFilename = filename;
+            if (mappedFile == null) {
+                long replayed = journal.replay(employeeList);
+                if (replayed > 0) {
+                    System.out.println("Replayed " + replayed + " journal entries.");
+                    updateJListAndEmployeeInfo();
+                }
+            }
+        } catch (IOException e) {
+            closeJournal();
+            JOptionPane.showMessageDialog(frame, "Could not replay the journal: " + e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+        }
+        updateButtonStates();
+    }
+
+    /**
+     * Starts an empty journal for a data file that has just been saved, replacing the journal of the previous data file.
+     *
+     * @param filename The name of the saved data file.
+     * @throws IOException If the journal cannot be opened or emptied.
+     */
+    private void resetJournal(String filename) throws IOException {
+        if (journal == null || !filename.equals(dataFilename)) {
+            closeJournal();
+            journal = new EmployeeJournal<>(filename);
+            dataFilename = filename;
+        }
+        journal.truncate();
+    }
+
+    /**
+     * Closes the journal, if any, so further changes are not recorded until the employees are saved.
+     */
+    private void closeJournal() {
+        if (journal != null) {
+            try {
+                journal.close();
+            } catch (IOException e) {
+                System.out.println("Could not close the journal: " + e.getMessage());
+            }
+        }
+        journal = null;
+        dataFilename = null;
+    }
+
+    /**
+     * Records a new employee in the journal, if any.
+     *
+     * @param employee The employee added.
+     */
+    private void logCreated(E employee) {
+        if (journal == null) {
+            return;
+        }
+        try {
+            journal.logCreate(employee);
+        } catch (IOException e) {
+            journalFailed(e);
+            return;
+        }
+        compactIfNeeded();
+    }
+
+    /**
+     * Records several new employees in the journal, if any.
+     *
+     * @param employees The employees added.
+     */
+    private void logCreatedAll(List<E> employees) {
+        if (journal == null || employees.isEmpty()) {
+            return;
+        }
+        try {
+            journal.logCreateAll(employees);
+        } catch (IOException | RuntimeException e) {
+            // A batch may be the result of a background load or generation, so an unexpected encoding error is
+            // reported as well rather than escaping into the code that finished it.
+            journalFailed(e);
+            return;
+        }
+        compactIfNeeded();
+    }
+
+    /**
+     * Records the removal of an employee in the journal, if any.
+     *
+     * @param employeeNumber The employee number of the employee removed.
+     */
+    private void logRemoved(int employeeNumber) {
+        if (journal == null) {
+            return;
+        }
+        try {
+            journal.logRemove(employeeNumber);
+        } catch (IOException e) {
+            journalFailed(e);
+        }
+    }
+
+    /**
+     * Records an employee's new salary and bonus calculation flag in the journal, if any.
+     *
+     * @param employee The employee modified.
+     */
+    private void logSalaryChange(Employee employee) {
+        if (journal == null) {
+            return;
+        }
+        try {
+            journal.logSalaryUpdate(employee.getEmployeeNumber(), employee.getSalary());
+            if (employee instanceof Analyst) {
+                journal.logFlagChange(employee.getEmployeeNumber(), ((Analyst) employee).getAnnualBonusCalculable());
+            } else if (employee instanceof Programmer) {
+                journal.logFlagChange(employee.getEmployeeNumber(), ((Programmer) employee).getMonthlyExtraCalculable());
+            }
+        } catch (IOException e) {
+            journalFailed(e);
+            return;
+        }
+        compactIfNeeded();
+    }
+
+    /**
+     * Stops journaling after an entry could not be appended and tells the user to save the data instead.
+     *
+     * @param e The error that occurred.
+     */
+    private void journalFailed(Exception e) {
+        closeJournal();
+        JOptionPane.showMessageDialog(frame, "Could not write to the journal: " + e.getMessage()
+                + "\nSave the data to keep the latest changes.", "Error", JOptionPane.ERROR_MESSAGE);
+    }
+
+    /**
+     * Compacts the journal into a new data file in the background once it has grown past the threshold.
+     */
+    private void compactIfNeeded() {
+        if (journal != null && journal.getEntryCount() >= COMPACTION_THRESHOLD && !saveInProgress && loadButton.isEnabled()) {
+            startSave(dataFilename, true);
+        }
+    }
+
+    /**
+     * Makes sure the employees being browsed are loaded in memory before they are modified,
+     * materializing every row of the mapped file into the employee list if one is open.
+     * Files too large for the heap can only be browsed, which the user is told.
+     *
+     * @return true if the employees can be modified, false otherwise.
+     */
+    private boolean ensureEditable() {
+        if (mappedFile == null) {
+            return true;
+        }
+        Runtime runtime = Runtime.getRuntime();
+        long available = runtime.maxMemory() - (runtime.totalMemory() - runtime.freeMemory());
+        if ((long) mappedFile.getTotalElements() * ESTIMATED_EMPLOYEE_BYTES > available) {
+            JOptionPane.showMessageDialog(frame, "This file holds too many employees to be modified in memory; it can only be browsed.",
+                    "Info", JOptionPane.INFORMATION_MESSAGE);
+            return false;
+        }
+        employeeList = mappedFile.toList();
+        closeMappedFile();
+        updateJListAndEmployeeInfo();
+        return true;
+    }
+
+    /**
+     * Closes the fixed-width data file being browsed, if any, so browsing continues from employeeList.
+     */
+    private void closeMappedFile() {
+        if (mappedFile != null) {
+            try {
+                mappedFile.close();
+            } catch (IOException e) {
+                System.out.println("Could not close the file being browsed: " + e.getMessage());
+            }
+            mappedFile = null;
+        }
+    }
+
     /**
      * Updates the enabled/disabled state of buttons based on the current state of the employee list.
      */
     public void updateButtonStates() {
         // Update the enabled/disabled state of navigation buttons based on list conditions.
-        backButton.setEnabled(employeeList.hasPrevious());
-        nextButton.setEnabled(employeeList.hasNext());
-        firstButton.setEnabled(employeeList.hasPrevious());
-        lastButton.setEnabled(employeeList.hasNext());
+        backButton.setEnabled(store().hasPrevious());
+        nextButton.setEnabled(store().hasNext());
+        firstButton.setEnabled(store().hasPrevious());
+        lastButton.setEnabled(store().hasNext());
 
         // Enable the 'Calculate' button if both conditions are met:
         // 1. The current employee type allows bonus calculations (checkBonusCalculations()).
         // 2. The time conditions are satisfied for either Analyst (years passed) or Programmer (months passed) (canCalculate()).
-        calculateButton.setEnabled(canCalculate() && checkBonusCalculations());
+        // Salaries are also left untouched while a snapshot of them is being saved.
+        calculateButton.setEnabled(!saveInProgress && canCalculate() && checkBonusCalculations());
     }
 
 
@@ -0,0 +1,104 @@
+package view;
+
+// For utilizing various Swing components in the javax.swing package.
+import javax.swing.*;
+// For utilizing various AWT components in the java.awt package.
+import java.awt.*;
+
+/**
+ * Panel shown at the bottom of the window while a long-running task works in the background,
+ * displaying its progress and letting the user cancel it.
+ */
+public class TaskProgressPanel extends JPanel {
+
+    /**
+     * Label describing the task in progress.
+     */
+    private final JLabel taskLabel = new JLabel();
+
+    /**
+     * Progress bar showing how much of the task has been completed.
+     */
+    private final JProgressBar progressBar = new JProgressBar(0, 100);
+
+    /**
+     * Button for canceling the task.
+     */
+    private final JButton cancelButton = new JButton("Cancel");
+
+    /**
+     * Action run when the cancel button is clicked, or null if the task cannot be canceled.
+     */
+    private Runnable cancelAction;
+
+    /**
+     * Constructor for the TaskProgressPanel class. The panel stays hidden until a task starts.
+     */
+    public TaskProgressPanel() {
+        super(new BorderLayout(10, 0));
+        setBorder(BorderFactory.createEmptyBorder(0, 10, 10, 10));
+
+        progressBar.setStringPainted(true);
+        cancelButton.setBackground(new java.awt.Color(255, 204, 204)); // Pastel peach
+        cancelButton.addActionListener(e -> {
+            if (cancelAction != null) {
+                cancelButton.setEnabled(false);
+                cancelAction.run();
+            }
+        });
+
+        add(taskLabel, BorderLayout.WEST);
+        add(progressBar, BorderLayout.CENTER);
+        add(cancelButton, BorderLayout.EAST);
+        setVisible(false);
+    }
+
+    /**
+     * Shows the panel for a new task.
+     *
+     * @param taskName     The description of the task shown next to the progress bar.
+     * @param cancelAction The action run when the user cancels the task, or null if it cannot be canceled.
+     */
+    public void start(String taskName, Runnable cancelAction) {
+        this.cancelAction = cancelAction;
+        taskLabel.setText(taskName);
+        cancelButton.setEnabled(cancelAction != null);
+        setProgress(0, -1);
+        setVisible(true);
+    }
+
+    /**
+     * Updates the progress bar. An unknown total switches it to indeterminate mode.
+     *
+     * @param completed The number of items processed so far.
+     * @param total     The total number of items, or a negative value if it is not known.
+     */
+    public void setProgress(long completed, long total) {
+        if (total > 0) {
+            progressBar.setIndeterminate(false);
+            progressBar.setValue((int) Math.min(100, completed * 100 / total));
+            progressBar.setString(completed + " / " + total);
+        } else {
+            progressBar.setIndeterminate(true);
+            progressBar.setString(String.valueOf(completed));
+        }
+    }
+
+    /**
+     * Hides the panel once the task has finished or been canceled.
+     */
+    public void finish() {
+        cancelAction = null;
+        progressBar.setIndeterminate(false);
+        setVisible(false);
+    }
+
+    /**
+     * Checks whether a task is currently shown by the panel.
+     *
+     * @return true if a task is in progress, false otherwise.
+     */
+    public boolean isBusy() {
+        return isVisible();
+    }
+}
@@ -0,0 +1,121 @@
+package controllers;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import models.Employee;
+import models.Programmer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests appending entries to the journal and replaying them.
+ */
+class EmployeeJournalTest {
+
+    /**
+     * Size of the buffer the journal encodes its entries into.
+     */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Size of an entry header plus its operation code.
+     */
+    private static final int ENTRY_OVERHEAD = 9;
+
+    /**
+     * Temporary directory for the journal files.
+     */
+    @TempDir
+    Path directory;
+
+    @Test
+    void replaysBatchSpanningSeveralBuffers() throws Exception {
+        // Pick a language long enough that the entries leave less than a header free at the end of each buffer,
+        // so every refill starts when not even the header of the next entry fits.
+        String language = null;
+        int entrySize = 0;
+        for (int length = 1; language == null; length++) {
+            String candidate = "J".repeat(length);
+            entrySize = ENTRY_OVERHEAD + encodedSize(programmer(1, candidate));
+            if (BUFFER_SIZE % entrySize < ENTRY_OVERHEAD - 1) {
+                language = candidate;
+            }
+        }
+        int count = 4 * (BUFFER_SIZE / entrySize) + 10;
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            employees.add(programmer(i, language));
+        }
+
+        String dataFilename = directory.resolve("employees.emp").toString();
+        try (EmployeeJournal<Employee> journal = new EmployeeJournal<>(dataFilename)) {
+            journal.logCreateAll(employees);
+            assertEquals(count, journal.getEntryCount());
+        }
+
+        GenericDoublyLinkedList<Employee> list = new GenericDoublyLinkedList<>();
+        try (EmployeeJournal<Employee> journal = new EmployeeJournal<>(dataFilename)) {
+            assertEquals(count, journal.replay(list));
+        }
+        assertEquals(count, list.getTotalElements());
+        int expected = 1;
+        for (Employee employee : list) {
+            assertEquals(expected++, employee.getEmployeeNumber());
+            assertEquals(language, ((Programmer) employee).getMainLanguage());
+        }
+    }
+
+    @Test
+    void replaysSingleEntries() throws Exception {
+        String dataFilename = directory.resolve("employees.emp").toString();
+        try (EmployeeJournal<Employee> journal = new EmployeeJournal<>(dataFilename)) {
+            journal.logCreate(programmer(1, "Java"));
+            journal.logCreate(programmer(2, "Go"));
+            journal.logSalaryUpdate(1, 1500);
+            journal.logFlagChange(2, false);
+            journal.logRemove(1);
+        }
+        assertTrue(EmployeeJournal.hasEntries(dataFilename));
+
+        GenericDoublyLinkedList<Employee> list = new GenericDoublyLinkedList<>();
+        try (EmployeeJournal<Employee> journal = new EmployeeJournal<>(dataFilename)) {
+            assertEquals(5, journal.replay(list));
+        }
+        assertEquals(1, list.getTotalElements());
+        Programmer programmer = (Programmer) list.snapshot().get(0);
+        assertEquals(2, programmer.getEmployeeNumber());
+        assertFalse(programmer.getMonthlyExtraCalculable());
+    }
+
+    /**
+     * Builds a programmer through its setters.
+     */
+    private static Programmer programmer(int number, String language) throws Exception {
+        Programmer programmer = new Programmer();
+        programmer.setEmployeeNumber(number);
+        programmer.setName("Ada");
+        programmer.nameMasker();
+        programmer.setHireEpochDay(16506);
+        programmer.setMaxSalary(4000);
+        programmer.setSalary(2500);
+        programmer.setMonthlyExtra(150);
+        programmer.setMainLanguage(language);
+        return programmer;
+    }
+
+    /**
+     * Computes the number of bytes an employee is encoded into.
+     */
+    private static int encodedSize(Employee employee) {
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        EmployeeCodec.encode(employee, buffer);
+        return buffer.position();
+    }
+}
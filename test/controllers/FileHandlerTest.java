@@ -0,0 +1,314 @@
+package controllers;
+
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.Map;
+
+import models.Analyst;
+import models.Employee;
+import models.Programmer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests reading, writing and converting the files handled by FileHandler.
+ */
+class FileHandlerTest {
+
+    /**
+     * File written by the original Serializable classes: two Analysts and three Programmers.
+     */
+    private static final String BASELINE_FILE = "/baseline-employees.ser";
+
+    /**
+     * Size of the header of an encrypted names file.
+     */
+    private static final int NAMES_HEADER_SIZE = 40;
+
+    /**
+     * Offset of the reserved field in the header of an encrypted names file.
+     */
+    private static final int RESERVED_OFFSET = 6;
+
+    /**
+     * Offset of the batch count in the header of an encrypted names file.
+     */
+    private static final int BATCH_COUNT_OFFSET = 28;
+
+    /**
+     * Temporary directory for the files written by the tests.
+     */
+    @TempDir
+    Path directory;
+
+    @Test
+    void convertsLegacyFileWrittenByTheOriginalClasses() throws Exception {
+        String legacyFilename = Path.of(FileHandlerTest.class.getResource(BASELINE_FILE).toURI()).toString();
+        String compactFilename = directory.resolve("converted." + FileHandler.COMPACT_EXTENSION).toString();
+        List<Long> progress = new ArrayList<>();
+
+        long converted = FileHandler.convertLegacyFile(legacyFilename, compactFilename,
+                (completed, total) -> progress.add(total));
+
+        assertEquals(5, converted);
+        assertEquals(5, (long) progress.get(progress.size() - 1));
+        // Nothing but the converted file is left behind.
+        assertEquals(1, directory.toFile().list().length);
+        assertTrue(FileHandler.isCompactFile(compactFilename));
+
+        GenericDoublyLinkedList<Employee> list = FileHandler.loadCompactFile(compactFilename, null);
+        // A freshly loaded file has nothing left to save.
+        assertTrue(list.getChangedElements().isEmpty());
+        List<Employee> employees = list.snapshot();
+        assertEquals(5, employees.size());
+        int[] numbers = {1, 2, 4, 3, 7};
+        for (int i = 0; i < numbers.length; i++) {
+            assertEquals(numbers[i], employees.get(i).getEmployeeNumber());
+        }
+
+        assertInstanceOf(Analyst.class, employees.get(1));
+        Analyst alice = (Analyst) employees.get(1);
+        assertEquals("*****", alice.getMaskedName());
+        assertEquals(4800.0, alice.getSalary());
+        assertEquals(5900.0, alice.getMaxSalary());
+        assertEquals(400.0, alice.getAnnualBonus());
+        assertEquals("Experienced Analyst", alice.getAdditionalQualification());
+        assertFalse(alice.getAnnualBonusCalculable());
+
+        assertInstanceOf(Programmer.class, employees.get(4));
+        Programmer nunez = (Programmer) employees.get(4);
+        GregorianCalendar hireDate = nunez.getHireDate();
+        assertEquals(1908, hireDate.get(Calendar.YEAR));
+        assertEquals(Calendar.FEBRUARY, hireDate.get(Calendar.MONTH));
+        assertEquals(29, hireDate.get(Calendar.DAY_OF_MONTH));
+        assertNull(nunez.getMainLanguage());
+    }
+
+    @Test
+    void mergesSortedAndUnsortedFiles() throws Exception {
+        String sorted = saveCompact("sorted", 1, 3, 5, 7);
+        String unsorted = saveCompact("unsorted", 6, 2, 3, 8);
+
+        List<Employee> firstWins = FileHandler.<Employee>loadMergedFiles(List.of(sorted, unsorted), false, null, null)
+                .snapshot();
+        List<Employee> lastWins = FileHandler.<Employee>loadMergedFiles(List.of(sorted, unsorted), true, null, null)
+                .snapshot();
+
+        int[] numbers = {1, 2, 3, 5, 6, 7, 8};
+        assertEquals(numbers.length, firstWins.size());
+        assertEquals(numbers.length, lastWins.size());
+        for (int i = 0; i < numbers.length; i++) {
+            assertEquals(numbers[i], firstWins.get(i).getEmployeeNumber());
+            assertEquals(numbers[i], lastWins.get(i).getEmployeeNumber());
+        }
+        // Employee 3 is in both files, with the name of the file it was saved to as its language.
+        assertEquals("sorted", ((Programmer) firstWins.get(2)).getMainLanguage());
+        assertEquals("unsorted", ((Programmer) lastWins.get(2)).getMainLanguage());
+    }
+
+    @Test
+    void mergesFixedWidthFiles() throws Exception {
+        String compact = saveCompact("compact", 4, 1);
+        GenericDoublyLinkedList<Employee> list = new GenericDoublyLinkedList<>();
+        for (int number : new int[] {3, 2, 5}) {
+            Programmer programmer = new Programmer();
+            programmer.setEmployeeNumber(number);
+            list.add(programmer, number);
+        }
+        String fixedWidth = directory.resolve("fixed." + FileHandler.FIXED_WIDTH_EXTENSION).toString();
+        FileHandler.saveFixedWidthFile(list, fixedWidth, null);
+
+        List<Employee> merged = FileHandler.<Employee>loadMergedFiles(List.of(compact, fixedWidth), false, null, null)
+                .snapshot();
+
+        assertEquals(5, merged.size());
+        for (int i = 0; i < merged.size(); i++) {
+            assertEquals(i + 1, merged.get(i).getEmployeeNumber());
+        }
+    }
+
+    /**
+     * Saves programmers with the given employee numbers, in that order, to a compact file named after its
+     * programmers' main language.
+     */
+    private String saveCompact(String language, int... numbers) throws Exception {
+        GenericDoublyLinkedList<Employee> list = new GenericDoublyLinkedList<>();
+        for (int number : numbers) {
+            Programmer programmer = new Programmer();
+            programmer.setEmployeeNumber(number);
+            programmer.setMainLanguage(language);
+            list.add(programmer, number);
+        }
+        String filename = directory.resolve(language + "." + FileHandler.COMPACT_EXTENSION).toString();
+        FileHandler.saveCompactFile(list, filename, null);
+        return filename;
+    }
+
+    @Test
+    void savesEmployeesMergedFromAnotherSegmentedFileIncrementally() throws Exception {
+        String first = saveSegmented("first", 1, 2, 3);
+        String second = saveSegmented("second", 10, 11);
+        GenericDoublyLinkedList<Employee> list = loadSegmented(first);
+        list.mergeById(loadSegmented(second), false);
+
+        FileHandler.saveSegmentedFile(list, first, true, null);
+
+        // The records of the first file are kept in their slots, and the merged employees are appended after them.
+        List<Employee> employees = loadSegmented(first).snapshot();
+        assertEquals(5, employees.size());
+        for (int i = 0; i < 3; i++) {
+            assertEquals(i + 1, employees.get(i).getEmployeeNumber());
+        }
+        assertEquals(21, employees.get(3).getEmployeeNumber() + employees.get(4).getEmployeeNumber());
+        // The second file is left as it was.
+        assertEquals(2, loadSegmented(second).getTotalElements());
+    }
+
+    @Test
+    void savesEmployeesReplacedFromTheSameSegmentedFileIncrementally() throws Exception {
+        String filename = saveSegmented("same", 1, 2, 3);
+        GenericDoublyLinkedList<Employee> list = loadSegmented(filename);
+        list.mergeById(loadSegmented(filename), true);
+
+        FileHandler.saveSegmentedFile(list, filename, true, null);
+
+        try (EmployeeReader<Employee> reader = FileHandler.openReader(filename)) {
+            assertEquals(3, reader.getRecordCount());
+        }
+        assertEquals(3, loadSegmented(filename).getTotalElements());
+    }
+
+    /**
+     * Saves programmers with the given employee numbers, in that order, to a new segmented file named after their
+     * main language.
+     */
+    private String saveSegmented(String language, int... numbers) throws Exception {
+        GenericDoublyLinkedList<Employee> list = new GenericDoublyLinkedList<>();
+        for (int number : numbers) {
+            Programmer programmer = new Programmer();
+            programmer.setEmployeeNumber(number);
+            programmer.setMainLanguage(language);
+            list.add(programmer, number);
+        }
+        String filename = directory.resolve(language + "." + FileHandler.SEGMENTED_EXTENSION).toString();
+        FileHandler.saveSegmentedFile(list, filename, false, null);
+        return filename;
+    }
+
+    /**
+     * Loads a segmented file the way the application does, with no change tracked once it is loaded.
+     */
+    private static GenericDoublyLinkedList<Employee> loadSegmented(String filename) throws Exception {
+        GenericDoublyLinkedList<Employee> list = new GenericDoublyLinkedList<>();
+        try (EmployeeReader<Employee> reader = FileHandler.openReader(filename)) {
+            for (Employee employee = reader.read(); employee != null; employee = reader.read()) {
+                list.add(employee, employee.getEmployeeNumber());
+            }
+        }
+        list.clearChanges();
+        return list;
+    }
+
+    @Test
+    void savesAndLoadsEncryptedNames() throws Exception {
+        NameCipher cipher = new NameCipher("secret".toCharArray());
+        String dataFilename = saveNames(cipher, 5000);
+
+        Map<Integer, String> names = FileHandler.loadEncryptedNames(dataFilename, cipher);
+
+        assertEquals(5000, names.size());
+        assertEquals(name(1), names.get(1));
+        assertEquals(name(5000), names.get(5000));
+    }
+
+    @Test
+    void detectsModifiedNamesHeader() throws Exception {
+        NameCipher cipher = new NameCipher("secret".toCharArray());
+        String dataFilename = saveNames(cipher, 5000);
+        Path namesFile = Path.of(dataFilename + "." + FileHandler.NAMES_EXTENSION);
+        byte[] original = Files.readAllBytes(namesFile);
+        ByteBuffer header = ByteBuffer.wrap(original);
+        int batchCount = header.getInt(BATCH_COUNT_OFFSET);
+        assertTrue(batchCount > 1);
+
+        // A reserved field, which the loader otherwise ignores.
+        ByteBuffer modified = ByteBuffer.wrap(original.clone());
+        modified.putShort(RESERVED_OFFSET, (short) 1);
+        Files.write(namesFile, modified.array());
+        assertThrows(IOException.class, () -> FileHandler.loadEncryptedNames(dataFilename, cipher));
+
+        // The last batch dropped, along with the batch count.
+        int lastBatch = original.length;
+        ByteBuffer batches = ByteBuffer.wrap(original, NAMES_HEADER_SIZE, original.length - NAMES_HEADER_SIZE);
+        for (int i = 0; i < batchCount; i++) {
+            lastBatch = batches.position();
+            batches.position(batches.position() + Integer.BYTES + batches.getInt(batches.position()));
+        }
+        modified = ByteBuffer.wrap(Arrays.copyOf(original, lastBatch));
+        modified.putInt(BATCH_COUNT_OFFSET, batchCount - 1);
+        Files.write(namesFile, modified.array());
+        assertThrows(IOException.class, () -> FileHandler.loadEncryptedNames(dataFilename, cipher));
+
+        // Bytes after the last batch.
+        Files.write(namesFile, Arrays.copyOf(original, original.length + 1));
+        assertThrows(StreamCorruptedException.class, () -> FileHandler.loadEncryptedNames(dataFilename, cipher));
+    }
+
+    @Test
+    void loadsNamesFileWhoseHeaderIsNotAuthenticated() throws Exception {
+        NameCipher cipher = new NameCipher("secret".toCharArray());
+        ByteBuffer plaintext = ByteBuffer.allocate(64);
+        byte[] name = name(7).getBytes(StandardCharsets.UTF_8);
+        plaintext.putInt(7).putShort((short) name.length).put(name);
+        byte[] encrypted = cipher.encryptBatch(plaintext.array(), plaintext.position(), null, 0);
+
+        // Version 1 header, holding one batch of one name.
+        ByteBuffer file = ByteBuffer.allocate(NAMES_HEADER_SIZE + Integer.BYTES + encrypted.length);
+        file.putInt(0x454D504E).putShort((short) 1).putShort((short) 0).putInt(NameCipher.ITERATIONS);
+        file.put(cipher.getSalt()).putInt(1).putLong(1);
+        file.putInt(encrypted.length).put(encrypted);
+        String dataFilename = directory.resolve("version1." + FileHandler.COMPACT_EXTENSION).toString();
+        Files.write(Path.of(dataFilename + "." + FileHandler.NAMES_EXTENSION), file.array());
+
+        assertEquals(Map.of(7, name(7)), FileHandler.loadEncryptedNames(dataFilename, cipher));
+    }
+
+    /**
+     * Saves the encrypted names of programmers numbered from 1 to the given count next to a data file.
+     */
+    private String saveNames(NameCipher cipher, int count) throws Exception {
+        List<Employee> employees = new ArrayList<>(count);
+        for (int number = 1; number <= count; number++) {
+            Programmer programmer = new Programmer();
+            programmer.setEmployeeNumber(number);
+            programmer.setName(name(number));
+            employees.add(programmer);
+        }
+        String dataFilename = directory.resolve("names." + FileHandler.COMPACT_EXTENSION).toString();
+        assertEquals(count, FileHandler.saveEncryptedNames(employees, dataFilename, cipher));
+        return dataFilename;
+    }
+
+    /**
+     * Builds the name of an employee, long enough for a few thousand names to need several batches.
+     */
+    private static String name(int number) {
+        return "Employee number " + number + " of the names file";
+    }
+}
@@ -0,0 +1,141 @@
+package controllers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the position of the current element as the list is browsed and modified.
+ */
+class GenericDoublyLinkedListTest {
+
+    @Test
+    void tracksCurrentPositionThroughEveryOperation() {
+        SplittableRandom random = new SplittableRandom(42);
+        GenericDoublyLinkedList<String> list = new GenericDoublyLinkedList<>();
+        int sequence = 0;
+        while (sequence < 20) {
+            add(list, random.nextInt(1000), sequence++);
+        }
+
+        for (int step = 0; step < 5000; step++) {
+            int size = list.getTotalElements();
+            switch (random.nextInt(12)) {
+                case 0 -> list.next();
+                case 1 -> list.previous();
+                case 2 -> list.moveToFirst();
+                case 3 -> list.moveToLast();
+                case 4 -> list.moveTo(size == 0 ? -1 : random.nextInt(-1, size));
+                case 5 -> {
+                    if (size > 0) {
+                        list.setCurrent(list.get(random.nextInt(size)));
+                    }
+                }
+                case 6 -> list.remove();
+                case 7 -> {
+                    if (size > 0) {
+                        String data = list.get(random.nextInt(size));
+                        list.removeById(Integer.parseInt(data.substring(0, data.indexOf(':'))));
+                    }
+                }
+                case 8 -> add(list, random.nextInt(1000), sequence++);
+                case 9 -> {
+                    GenericDoublyLinkedList<String> other = new GenericDoublyLinkedList<>();
+                    add(other, random.nextInt(1000), sequence++);
+                    other.next();
+                    list.addAll(other);
+                    assertEquals(-1, other.getCurrentPosition());
+                }
+                case 10 -> {
+                    GenericDoublyLinkedList<String> other = new GenericDoublyLinkedList<>();
+                    int id = random.nextInt(1000);
+                    add(other, id, sequence++);
+                    add(other, id + 1, sequence++);
+                    list.mergeById(other, random.nextBoolean());
+                }
+                default -> list.sort();
+            }
+            assertEquals(countedPosition(list), list.getCurrentPosition(), "Position after step " + step);
+        }
+    }
+
+    @Test
+    void keepsPositionOfNextElementAfterRemovingCurrentOne() {
+        GenericDoublyLinkedList<String> list = new GenericDoublyLinkedList<>();
+        for (int id = 0; id < 5; id++) {
+            add(list, id, id);
+        }
+        list.moveTo(2);
+        list.remove();
+        assertEquals(2, list.getCurrentPosition());
+        assertEquals("3:3", list.getCurrent());
+
+        list.moveToLast();
+        list.remove();
+        assertEquals(-1, list.getCurrentPosition());
+
+        list.moveToLast();
+        list.removeById(0);
+        assertEquals(1, list.getCurrentPosition());
+        assertEquals("3:3", list.getCurrent());
+    }
+
+    @Test
+    void keepsChangesTrackedAfterTheCapturedOnes() {
+        GenericDoublyLinkedList<String> list = new GenericDoublyLinkedList<>();
+        for (int id = 0; id < 5; id++) {
+            add(list, id, id);
+        }
+        list.clearChanges();
+        add(list, 9, 5);
+        list.removeById(0);
+
+        // Capture the changes, as when a save starts, then keep changing the list while it runs.
+        List<String> changed = new ArrayList<>(list.getChangedElements());
+        List<String> removed = new ArrayList<>(list.getRemovedElements());
+        boolean reordered = list.isReordered();
+        add(list, 7, 6);
+        list.removeById(1);
+        list.sort();
+
+        list.clearChanges(changed, removed, reordered);
+        assertEquals(List.of("7:6"), new ArrayList<>(list.getChangedElements()));
+        assertEquals(List.of("1:1"), list.getRemovedElements());
+        assertTrue(list.isReordered());
+
+        list.clearChanges(new ArrayList<>(list.getChangedElements()), new ArrayList<>(list.getRemovedElements()), true);
+        assertTrue(list.getChangedElements().isEmpty());
+        assertTrue(list.getRemovedElements().isEmpty());
+        assertFalse(list.isReordered());
+    }
+
+    /**
+     * Adds an element made of its ID and a sequence number, so every element is distinct.
+     */
+    private static void add(GenericDoublyLinkedList<String> list, int id, int sequence) {
+        list.add(id + ":" + sequence, id);
+    }
+
+    /**
+     * Counts the position of the current element from the first one.
+     */
+    private static int countedPosition(GenericDoublyLinkedList<String> list) {
+        String current = list.getCurrent();
+        if (current == null) {
+            return -1;
+        }
+        List<String> elements = list.snapshot();
+        for (int i = 0; i < elements.size(); i++) {
+            if (elements.get(i) == current) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,170 @@
+package controllers;
+
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.List;
+
+import models.Analyst;
+import models.Employee;
+import models.Programmer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests reading the files saved with serialization, including one written by the original Serializable classes.
+ */
+class LegacyEmployeeReaderTest {
+
+    /**
+     * File written by the original Serializable classes: two Analysts and three Programmers.
+     */
+    private static final String BASELINE_FILE = "/baseline-employees.ser";
+
+    /**
+     * Temporary directory for the files written by the tests.
+     */
+    @TempDir
+    Path directory;
+
+    @Test
+    void readsEmployeesWrittenByTheOriginalClasses() throws Exception {
+        List<Employee> employees = readAll(baselineFile());
+
+        assertEquals(5, employees.size());
+        Analyst john = assertAnalyst(employees.get(0), 1, "****", 2021, Calendar.JANUARY, 1, 5000, 5100);
+        assertEquals(200.0, john.getAnnualBonus());
+        assertEquals("Certified Analyst", john.getAdditionalQualification());
+        assertTrue(john.getAnnualBonusCalculable());
+
+        Analyst alice = assertAnalyst(employees.get(1), 2, "*****", 2022, Calendar.FEBRUARY, 15, 4800, 5900);
+        assertEquals(400.0, alice.getAnnualBonus());
+        assertEquals("Experienced Analyst", alice.getAdditionalQualification());
+        assertFalse(alice.getAnnualBonusCalculable());
+
+        Programmer bob = assertProgrammer(employees.get(2), 4, "***", 2023, Calendar.AUGUST, 11, 5500, 6100);
+        assertEquals(12.0, bob.getMonthlyExtra());
+        assertEquals("Java", bob.getMainLanguage());
+        assertTrue(bob.getMonthlyExtraCalculable());
+
+        Programmer sasque = assertProgrammer(employees.get(3), 3, "******", 2023, Calendar.AUGUST, 14, 5000, 100000);
+        assertEquals(100.0, sasque.getMonthlyExtra());
+        assertEquals("Python", sasque.getMainLanguage());
+        assertFalse(sasque.getMonthlyExtraCalculable());
+
+        Programmer nunez = assertProgrammer(employees.get(4), 7, "*****", 1908, Calendar.FEBRUARY, 29, 0, 0);
+        assertNull(nunez.getMainLanguage());
+    }
+
+    @Test
+    void loadsFileWrittenByTheOriginalClasses() throws Exception {
+        GenericDoublyLinkedList<Employee> list = FileHandler.loadDataFromFile(baselineFile());
+
+        assertEquals(5, list.getTotalElements());
+        assertTrue(list.exists(7));
+    }
+
+    @Test
+    void readsFileWrittenByTheCurrentClasses() throws Exception {
+        GenericDoublyLinkedList<Employee> list = FileHandler.loadDataFromFile(baselineFile());
+        String filename = directory.resolve("current.ser").toString();
+        FileHandler.saveDataToFile(list, filename);
+
+        List<Employee> employees = readAll(filename);
+
+        assertEquals(5, employees.size());
+        Programmer nunez = assertProgrammer(employees.get(4), 7, "*****", 1908, Calendar.FEBRUARY, 29, 0, 0);
+        assertNull(nunez.getMainLanguage());
+    }
+
+    @Test
+    void dropsSharedObjectsAfterTheirLastReference() throws Exception {
+        try (LegacyEmployeeReader<Employee> reader = new LegacyEmployeeReader<>(baselineFile())) {
+            assertInstanceOf(Analyst.class, reader.read());
+            while (reader.read() != null) {
+                // Read every record.
+            }
+            assertEquals(5, reader.getRecordsRead());
+            assertEquals(0, reader.getSharedObjectCount());
+        }
+    }
+
+    @Test
+    void rejectsFileEndingInTheMiddleOfARecord() throws Exception {
+        byte[] bytes = Files.readAllBytes(Path.of(baselineFile()));
+        Path truncated = directory.resolve("truncated.ser");
+        Files.write(truncated, Arrays.copyOf(bytes, bytes.length - 10));
+
+        assertThrows(StreamCorruptedException.class, () -> readAll(truncated.toString()));
+    }
+
+    /**
+     * Reads every employee of a file with a LegacyEmployeeReader.
+     */
+    private static List<Employee> readAll(String filename) throws IOException {
+        List<Employee> employees = new ArrayList<>();
+        try (LegacyEmployeeReader<Employee> reader = new LegacyEmployeeReader<>(filename)) {
+            Employee employee;
+            while ((employee = reader.read()) != null) {
+                employees.add(employee);
+            }
+            assertEquals(employees.size(), reader.getRecordsRead());
+        }
+        return employees;
+    }
+
+    /**
+     * Checks the fields shared by every employee and that the employee is an Analyst.
+     */
+    private static Analyst assertAnalyst(Employee employee, int number, String maskedName, int year, int month,
+                                         int day, double salary, double maxSalary) {
+        assertInstanceOf(Analyst.class, employee);
+        assertEmployee(employee, number, maskedName, year, month, day, salary, maxSalary);
+        return (Analyst) employee;
+    }
+
+    /**
+     * Checks the fields shared by every employee and that the employee is a Programmer.
+     */
+    private static Programmer assertProgrammer(Employee employee, int number, String maskedName, int year, int month,
+                                               int day, double salary, double maxSalary) {
+        assertInstanceOf(Programmer.class, employee);
+        assertEmployee(employee, number, maskedName, year, month, day, salary, maxSalary);
+        return (Programmer) employee;
+    }
+
+    /**
+     * Checks the fields shared by every employee.
+     */
+    private static void assertEmployee(Employee employee, int number, String maskedName, int year, int month,
+                                       int day, double salary, double maxSalary) {
+        assertEquals(number, employee.getEmployeeNumber());
+        assertEquals(maskedName, employee.getMaskedName());
+        GregorianCalendar hireDate = employee.getHireDate();
+        assertEquals(year, hireDate.get(Calendar.YEAR));
+        assertEquals(month, hireDate.get(Calendar.MONTH));
+        assertEquals(day, hireDate.get(Calendar.DAY_OF_MONTH));
+        assertEquals(salary, employee.getSalary());
+        assertEquals(maxSalary, employee.getMaxSalary());
+    }
+
+    /**
+     * Returns the path of the file written by the original Serializable classes.
+     */
+    private static String baselineFile() throws URISyntaxException {
+        return Path.of(LegacyEmployeeReaderTest.class.getResource(BASELINE_FILE).toURI()).toString();
+    }
+}